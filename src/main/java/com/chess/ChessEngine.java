@@ -0,0 +1,17 @@
+package com.chess;
+
+import com.chess.uci.UciEngine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Point d'entrée du moteur en mode UCI, pour les interfaces et gestionnaires de tournoi.
+ */
+public class ChessEngine {
+    public static void main(String[] args) throws IOException {
+        BufferedReader input = new BufferedReader(new InputStreamReader(System.in));
+        new UciEngine(input, System.out).run();
+    }
+}
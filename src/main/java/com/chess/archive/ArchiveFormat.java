@@ -0,0 +1,47 @@
+package com.chess.archive;
+
+import com.chess.pgn.PgnGame;
+
+/**
+ * Constantes et utilitaires du format d'archive de parties (.cga), gros-boutiste.
+ *
+ * En-tête de fichier (12 octets) : magie, version, taille cible des blocs.
+ * Chaque bloc : identifiant de sa première partie (long), nombre de parties (int),
+ * taille décodée (int), taille stockée (int), codage (octet), puis les données stockées ;
+ * en codage de Huffman, elles commencent par les 256 longueurs de code.
+ * Données décodées, par partie : nombre de demi-coups (varint), octet résultat | 4 si FEN,
+ * FEN éventuelle (varint longueur + UTF-8), puis un octet par demi-coup (rang du coup).
+ * Après les blocs, l'index : (position du bloc, première partie) par bloc, puis le pied
+ * de 24 octets : position de l'index, nombre de blocs, nombre de parties, magie.
+ */
+final class ArchiveFormat {
+    static final int MAGIC = 0x43474131;
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 12;
+    static final int BLOCK_HEADER_SIZE = 21;
+    static final int INDEX_ENTRY_SIZE = 16;
+    static final int FOOTER_SIZE = 24;
+    static final byte CODING_RAW = 0;
+    static final byte CODING_HUFFMAN = 1;
+    static final int FLAG_FEN = 4;
+
+    private static final String[] RESULTS = {
+        PgnGame.UNKNOWN, PgnGame.WHITE_WINS, PgnGame.BLACK_WINS, PgnGame.DRAW
+    };
+
+    private ArchiveFormat() {
+    }
+
+    static int resultCode(String result) {
+        for (int i = 1; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    static String resultOf(int code) {
+        return RESULTS[code & 3];
+    }
+}
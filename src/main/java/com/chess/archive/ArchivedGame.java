@@ -0,0 +1,116 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.board.Piece;
+import com.chess.board.Position;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.pgn.PgnGame;
+import com.chess.rules.MoveHistory;
+
+import java.util.Arrays;
+
+/**
+ * Partie lue dans une archive : position de départ, coups encodés (voir engine.Move) et résultat.
+ */
+public class ArchivedGame {
+    private final long id;
+    private final String startFen;
+    private final int[] moves;
+    private final String result;
+
+    /**
+     * Constructeur pour créer une partie.
+     * @param id le numéro de la partie dans l'archive
+     * @param startFen la position de départ, ou null pour la position initiale standard
+     * @param moves les coups encodés
+     * @param result le résultat (voir PgnGame)
+     */
+    public ArchivedGame(long id, String startFen, int[] moves, String result) {
+        this.id = id;
+        this.startFen = startFen;
+        this.moves = moves;
+        this.result = result;
+    }
+
+    /**
+     * Crée un plateau dans la position de départ de la partie.
+     * @return le plateau en position de départ
+     */
+    public Board startBoard() {
+        if (startFen != null) {
+            return Fen.parse(startFen);
+        }
+        Board board = new Board();
+        board.initializeBoard();
+        return board;
+    }
+
+    /**
+     * Rejoue la partie sur un plateau et l'enregistre dans un historique.
+     * @param history l'historique à remplir (vidé au préalable)
+     * @return le plateau dans la position finale
+     */
+    public Board replay(MoveHistory history) {
+        Board board = startBoard();
+        history.start(board);
+        for (int move : moves) {
+            Position from = Move.fromPosition(move);
+            Position to = Move.toPosition(move);
+            Piece piece = board.getPieceAt(from);
+            Piece captured = MoveGenerator.isEnPassant(board, move)
+                ? board.getPieceAt(from.getRow(), to.getColumn())
+                : board.getPieceAt(to);
+            MoveGenerator.makeMove(board, move);
+            history.addMove(from, to, piece, captured, board);
+        }
+        return board;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retourne la position de départ.
+     * @return la FEN, ou null pour la position initiale standard
+     */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    public int[] getMoves() {
+        return moves;
+    }
+
+    public int getPlyCount() {
+        return moves.length;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ArchivedGame other)) {
+            return false;
+        }
+        return id == other.id && Arrays.equals(moves, other.moves) && result.equals(other.result)
+            && (startFen == null ? other.startFen == null : startFen.equals(other.startFen));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id) * 31 + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + (result != null ? result : PgnGame.UNKNOWN) + " (" + moves.length + " demi-coups)";
+    }
+}
@@ -0,0 +1,279 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lit une archive écrite par GameArchiveWriter, séquentiellement ou par numéro de partie.
+ *
+ * L'index des blocs est chargé à l'ouverture : l'accès à une partie ne lit et ne décode
+ * que son bloc, dont la dernière version décodée est conservée pour les accès voisins.
+ * Le décodage rejoue chaque partie sur un plateau réutilisé. Une instance par thread ;
+ * plusieurs lecteurs peuvent ouvrir la même archive, par exemple un par bloc.
+ */
+public class GameArchiveReader implements Closeable {
+    private final FileChannel channel;
+    private final long[] blockOffsets;
+    private final long[] blockFirstGames;
+    private final long gameCount;
+    private final MoveIndexCodec codec = new MoveIndexCodec();
+    private final Board standardBoard = new Board();
+
+    private int cachedBlock = -1;
+    private int cachedGames;
+    private byte[] raw = new byte[0];
+    private int cursor;
+    private byte[] stored = new byte[0];
+    private int[] moveBuffer = new int[512];
+
+    /**
+     * Reçoit les parties décodées, et si besoin chaque position traversée.
+     */
+    public interface GameVisitor {
+        /**
+         * Appelé une fois la partie entièrement décodée.
+         * @param game la partie
+         */
+        void game(ArchivedGame game);
+
+        /**
+         * Appelé pour chaque position de la partie, de la position de départ (demi-coup 0)
+         * à la position finale, pendant le décodage.
+         * @param gameId le numéro de la partie
+         * @param ply le nombre de demi-coups joués
+         * @param board le plateau, à ne pas modifier
+         */
+        default void position(long gameId, int ply, Board board) {
+        }
+    }
+
+    /**
+     * Ouvre une archive et charge l'index de ses blocs.
+     * @param path le fichier de l'archive
+     * @throws IOException en cas d'erreur de lecture ou si le fichier n'est pas une archive
+     */
+    public GameArchiveReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, ArchiveFormat.FILE_HEADER_SIZE);
+            long size = channel.size();
+            if (header.getInt() != ArchiveFormat.MAGIC || header.getInt() != ArchiveFormat.VERSION
+                || size < ArchiveFormat.FILE_HEADER_SIZE + ArchiveFormat.FOOTER_SIZE) {
+                throw new IOException("Archive de parties invalide : " + path);
+            }
+            ByteBuffer footer = read(size - ArchiveFormat.FOOTER_SIZE, ArchiveFormat.FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            this.gameCount = footer.getLong();
+            if (footer.getInt() != ArchiveFormat.MAGIC) {
+                throw new IOException("Archive de parties incomplète : " + path);
+            }
+            ByteBuffer index = read(indexOffset, blockCount * ArchiveFormat.INDEX_ENTRY_SIZE);
+            this.blockOffsets = new long[blockCount];
+            this.blockFirstGames = new long[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockOffsets[i] = index.getLong();
+                blockFirstGames[i] = index.getLong();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retourne le nombre de parties de l'archive.
+     * @return le nombre de parties
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Retourne le nombre de blocs de l'archive.
+     * @return le nombre de blocs
+     */
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Lit une partie par son numéro.
+     * @param id le numéro de la partie, entre 0 et getGameCount() - 1
+     * @return la partie
+     * @throws IOException en cas d'erreur de lecture ou d'archive corrompue
+     */
+    public ArchivedGame readGame(long id) throws IOException {
+        if (id < 0 || id >= gameCount) {
+            throw new IndexOutOfBoundsException("Partie inexistante : " + id);
+        }
+        int block = findBlock(id);
+        loadBlock(block);
+        cursor = 0;
+        for (long skip = id - blockFirstGames[block]; skip > 0; skip--) {
+            skipGame();
+        }
+        ArchivedGame[] result = new ArchivedGame[1];
+        decodeGame(id, game -> result[0] = game);
+        return result[0];
+    }
+
+    /**
+     * Décode toutes les parties de l'archive, dans l'ordre.
+     * @param visitor le destinataire des parties
+     * @throws IOException en cas d'erreur de lecture ou d'archive corrompue
+     */
+    public void scan(GameVisitor visitor) throws IOException {
+        for (int block = 0; block < blockOffsets.length; block++) {
+            scanBlock(block, visitor);
+        }
+    }
+
+    /**
+     * Décode les parties d'un bloc, par exemple pour répartir une archive entre plusieurs threads.
+     * @param block le numéro du bloc
+     * @param visitor le destinataire des parties
+     * @throws IOException en cas d'erreur de lecture ou d'archive corrompue
+     */
+    public void scanBlock(int block, GameVisitor visitor) throws IOException {
+        loadBlock(block);
+        cursor = 0;
+        long id = blockFirstGames[block];
+        for (int i = 0; i < cachedGames; i++) {
+            decodeGame(id++, visitor);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int findBlock(long id) {
+        int low = 0;
+        int high = blockFirstGames.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blockFirstGames[middle] <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void loadBlock(int block) throws IOException {
+        if (block == cachedBlock) {
+            return;
+        }
+        cachedBlock = -1;
+        ByteBuffer header = read(blockOffsets[block], ArchiveFormat.BLOCK_HEADER_SIZE);
+        header.getLong();
+        int games = header.getInt();
+        int rawLength = header.getInt();
+        int storedLength = header.getInt();
+        byte coding = header.get();
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        long dataOffset = blockOffsets[block] + ArchiveFormat.BLOCK_HEADER_SIZE;
+        if (coding == ArchiveFormat.CODING_RAW) {
+            readFully(dataOffset, raw, storedLength);
+        } else if (coding == ArchiveFormat.CODING_HUFFMAN) {
+            if (stored.length < storedLength) {
+                stored = new byte[storedLength];
+            }
+            readFully(dataOffset, stored, storedLength);
+            byte[] lengths = new byte[HuffmanCoder.SYMBOLS];
+            System.arraycopy(stored, 0, lengths, 0, HuffmanCoder.SYMBOLS);
+            HuffmanCoder.decode(stored, HuffmanCoder.SYMBOLS, storedLength, lengths, raw, rawLength);
+        } else {
+            throw new IOException("Codage de bloc inconnu : " + coding);
+        }
+        cachedGames = games;
+        cachedBlock = block;
+    }
+
+    /**
+     * Décode la partie commençant à la position courante du bloc et avance jusqu'à la suivante.
+     */
+    private void decodeGame(long id, GameVisitor visitor) throws IOException {
+        int plies = readVarInt();
+        int flags = raw[cursor++];
+        String fen = null;
+        Board board;
+        if ((flags & ArchiveFormat.FLAG_FEN) != 0) {
+            int length = readVarInt();
+            fen = new String(raw, cursor, length, StandardCharsets.UTF_8);
+            cursor += length;
+            board = Fen.parse(fen);
+        } else {
+            board = standardBoard;
+            board.initializeBoard();
+        }
+        if (moveBuffer.length < plies) {
+            moveBuffer = new int[Math.max(plies, moveBuffer.length * 2)];
+        }
+        for (int ply = 0; ply < plies; ply++) {
+            visitor.position(id, ply, board);
+            int move = codec.moveAt(board, raw[cursor++] & 0xFF);
+            if (move == Move.NONE) {
+                throw new IOException("Archive corrompue : partie " + id + ", demi-coup " + ply);
+            }
+            moveBuffer[ply] = move;
+            MoveGenerator.makeMove(board, move);
+        }
+        visitor.position(id, plies, board);
+        int[] moves = new int[plies];
+        System.arraycopy(moveBuffer, 0, moves, 0, plies);
+        visitor.game(new ArchivedGame(id, fen, moves, ArchiveFormat.resultOf(flags)));
+    }
+
+    private void skipGame() {
+        int plies = readVarInt();
+        int flags = raw[cursor++];
+        if ((flags & ArchiveFormat.FLAG_FEN) != 0) {
+            int length = readVarInt();
+            cursor += length;
+        }
+        cursor += plies;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = raw[cursor++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        readFully(offset, bytes, length);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private void readFully(long offset, byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Fin de fichier inattendue dans l'archive");
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.pgn.PgnGame;
+import com.chess.pgn.PgnReader;
+import com.chess.pgn.SanParser;
+import com.chess.rules.MoveHistory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Écrit une archive binaire de parties : chaque demi-coup est codé par son rang dans la liste
+ * triée des coups légaux (un octet), les parties sont regroupées en blocs d'environ 64 Ko,
+ * éventuellement compressés par un codage de Huffman, et un index final des blocs permet
+ * l'accès direct à une partie. Voir ArchiveFormat pour la disposition du fichier.
+ */
+public class GameArchiveWriter implements Closeable {
+    /** Taille cible par défaut des blocs, en octets décodés. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final boolean entropyCoding;
+    private final int blockSize;
+    private final MoveIndexCodec codec = new MoveIndexCodec();
+
+    private byte[] block;
+    private int blockLength;
+    private int blockGames;
+    private long blockFirstGame;
+    private long offset;
+    private long[] index = new long[64];
+    private int blockCount;
+    private long gameCount;
+    private byte[] encoded = new byte[0];
+
+    /**
+     * Constructeur avec la taille de bloc par défaut.
+     * @param path le fichier à créer
+     * @param entropyCoding true pour compresser les blocs par un codage de Huffman
+     * @throws IOException en cas d'erreur de création du fichier
+     */
+    public GameArchiveWriter(Path path, boolean entropyCoding) throws IOException {
+        this(path, entropyCoding, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructeur pour créer une archive.
+     * @param path le fichier à créer
+     * @param entropyCoding true pour compresser les blocs par un codage de Huffman
+     * @param blockSize la taille cible des blocs, en octets décodés
+     * @throws IOException en cas d'erreur de création du fichier
+     */
+    public GameArchiveWriter(Path path, boolean entropyCoding, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Taille de bloc invalide : " + blockSize);
+        }
+        this.entropyCoding = entropyCoding;
+        this.blockSize = blockSize;
+        this.block = new byte[blockSize + 1024];
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        out.writeInt(ArchiveFormat.MAGIC);
+        out.writeInt(ArchiveFormat.VERSION);
+        out.writeInt(blockSize);
+        offset = ArchiveFormat.FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Ajoute une partie enregistrée dans un historique, depuis sa position de départ.
+     * @param history l'historique de la partie
+     * @param result le résultat (voir PgnGame)
+     * @return le numéro de la partie dans l'archive
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public long append(MoveHistory history, String result) throws IOException {
+        Board start = new Board();
+        history.seek(0, start);
+        String fen = Fen.toFen(start);
+        List<MoveHistory.Move> played = history.getMoves();
+        int[] moves = new int[played.size()];
+        for (int i = 0; i < moves.length; i++) {
+            MoveHistory.Move move = played.get(i);
+            moves[i] = Move.encode(move.getFrom(), move.getTo(), move.getPromotion());
+        }
+        return append(fen.equals(Fen.START_POSITION) ? null : fen, moves, moves.length, result);
+    }
+
+    /**
+     * Ajoute une partie.
+     * @param startFen la position de départ, ou null pour la position initiale standard
+     * @param moves les coups encodés (voir engine.Move)
+     * @param count le nombre de coups
+     * @param result le résultat (voir PgnGame)
+     * @return le numéro de la partie dans l'archive
+     * @throws IllegalArgumentException si un coup est illégal ; la partie n'est pas ajoutée
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public long append(String startFen, int[] moves, int count, String result) throws IOException {
+        Board board;
+        if (startFen != null) {
+            board = Fen.parse(startFen);
+        } else {
+            board = new Board();
+            board.initializeBoard();
+        }
+        byte[] fenBytes = startFen != null ? startFen.getBytes(StandardCharsets.UTF_8) : null;
+        ensureCapacity(blockLength + 10 + 1 + (fenBytes != null ? fenBytes.length + 5 : 0) + count);
+
+        // La partie est écrite à la suite du bloc et n'est validée qu'une fois tous les coups codés
+        int position = writeVarInt(block, blockLength, count);
+        block[position++] = (byte) (ArchiveFormat.resultCode(result) | (fenBytes != null ? ArchiveFormat.FLAG_FEN : 0));
+        if (fenBytes != null) {
+            position = writeVarInt(block, position, fenBytes.length);
+            System.arraycopy(fenBytes, 0, block, position, fenBytes.length);
+            position += fenBytes.length;
+        }
+        for (int ply = 0; ply < count; ply++) {
+            int rank = codec.indexOf(board, moves[ply]);
+            if (rank < 0) {
+                throw new IllegalArgumentException("Coup illégal au demi-coup " + ply + " : " + Move.toUci(moves[ply]));
+            }
+            block[position++] = (byte) rank;
+            MoveGenerator.makeMove(board, moves[ply]);
+        }
+
+        blockLength = position;
+        blockGames++;
+        long id = gameCount++;
+        if (blockLength >= blockSize) {
+            flushBlock();
+        }
+        return id;
+    }
+
+    /**
+     * Retourne le nombre de parties ajoutées.
+     * @return le nombre de parties
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Écrit le dernier bloc, l'index des blocs et le pied de fichier.
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            long indexOffset = offset;
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(index[2 * i]);
+                out.writeLong(index[2 * i + 1]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(blockCount);
+            out.writeLong(gameCount);
+            out.writeInt(ArchiveFormat.MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockGames == 0) {
+            return;
+        }
+        byte coding = ArchiveFormat.CODING_RAW;
+        byte[] stored = block;
+        int storedLength = blockLength;
+        if (entropyCoding) {
+            int[] frequencies = new int[HuffmanCoder.SYMBOLS];
+            for (int i = 0; i < blockLength; i++) {
+                frequencies[block[i] & 0xFF]++;
+            }
+            byte[] lengths = HuffmanCoder.codeLengths(frequencies);
+            int codedLength = HuffmanCoder.SYMBOLS + HuffmanCoder.encodedSize(frequencies, lengths);
+            // Un bloc trop petit ou peu compressible reste stocké tel quel
+            if (codedLength < blockLength) {
+                if (encoded.length < codedLength) {
+                    encoded = new byte[codedLength];
+                }
+                System.arraycopy(lengths, 0, encoded, 0, HuffmanCoder.SYMBOLS);
+                HuffmanCoder.encode(block, blockLength, lengths, encoded, HuffmanCoder.SYMBOLS);
+                coding = ArchiveFormat.CODING_HUFFMAN;
+                stored = encoded;
+                storedLength = codedLength;
+            }
+        }
+
+        if (2 * blockCount + 2 > index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[2 * blockCount] = offset;
+        index[2 * blockCount + 1] = blockFirstGame;
+        blockCount++;
+
+        out.writeLong(blockFirstGame);
+        out.writeInt(blockGames);
+        out.writeInt(blockLength);
+        out.writeInt(storedLength);
+        out.writeByte(coding);
+        out.write(stored, 0, storedLength);
+        offset += ArchiveFormat.BLOCK_HEADER_SIZE + storedLength;
+
+        blockFirstGame = gameCount;
+        blockGames = 0;
+        blockLength = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > block.length) {
+            block = Arrays.copyOf(block, Math.max(capacity, block.length * 2));
+        }
+    }
+
+    private static int writeVarInt(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Convertit des fichiers PGN en archive binaire.
+     * Usage : GameArchiveWriter archive.cga partie1.pgn [partie2.pgn ...]
+     * @param args l'archive puis les fichiers PGN
+     * @throws IOException en cas d'erreur de lecture ou d'écriture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : GameArchiveWriter <archive> <pgn>...");
+            System.exit(1);
+        }
+        SanParser sanParser = new SanParser();
+        int[] moves = new int[1024];
+        long rejected = 0;
+        try (GameArchiveWriter writer = new GameArchiveWriter(Path.of(args[0]), true)) {
+            for (int i = 1; i < args.length; i++) {
+                try (PgnReader reader = new PgnReader(Files.newBufferedReader(Path.of(args[i])))) {
+                    PgnGame game;
+                    while ((game = reader.nextGame()) != null) {
+                        String fen = game.getTag("FEN");
+                        try {
+                            Board board = fen != null ? Fen.parse(fen) : null;
+                            if (board == null) {
+                                board = new Board();
+                                board.initializeBoard();
+                            }
+                            List<String> sans = game.getMoves();
+                            if (sans.size() > moves.length) {
+                                moves = new int[sans.size()];
+                            }
+                            for (int ply = 0; ply < sans.size(); ply++) {
+                                moves[ply] = sanParser.parse(board, sans.get(ply));
+                                if (moves[ply] == Move.NONE) {
+                                    throw new IllegalArgumentException("Coup invalide : " + sans.get(ply));
+                                }
+                                MoveGenerator.makeMove(board, moves[ply]);
+                            }
+                            writer.append(fen, moves, sans.size(), game.getResult());
+                        } catch (IllegalArgumentException e) {
+                            rejected++;
+                        }
+                    }
+                }
+            }
+            System.out.println(writer.getGameCount() + " parties archivées, " + rejected + " rejetées");
+        }
+    }
+}
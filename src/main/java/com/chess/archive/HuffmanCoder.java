@@ -0,0 +1,191 @@
+package com.chess.archive;
+
+import java.util.PriorityQueue;
+
+/**
+ * Codage de Huffman canonique des octets d'un bloc, avec des codes limités à 15 bits
+ * pour un décodage par table de 2^15 entrées. Seules les longueurs des codes (256 octets)
+ * sont stockées ; les codes s'en déduisent.
+ */
+final class HuffmanCoder {
+    static final int SYMBOLS = 256;
+    static final int MAX_CODE_LENGTH = 15;
+
+    private HuffmanCoder() {
+    }
+
+    /**
+     * Calcule les longueurs de code à partir des fréquences des octets.
+     * @param frequencies les fréquences des 256 octets
+     * @return les longueurs (0 pour un octet absent)
+     */
+    static byte[] codeLengths(int[] frequencies) {
+        int[] weights = frequencies.clone();
+        while (true) {
+            byte[] lengths = buildLengths(weights);
+            int max = 0;
+            for (byte length : lengths) {
+                max = Math.max(max, length);
+            }
+            if (max <= MAX_CODE_LENGTH) {
+                return lengths;
+            }
+            // Aplatir la distribution jusqu'à ce que l'arbre soit assez peu profond
+            for (int i = 0; i < SYMBOLS; i++) {
+                if (weights[i] > 0) {
+                    weights[i] = (weights[i] >>> 1) | 1;
+                }
+            }
+        }
+    }
+
+    private static byte[] buildLengths(int[] weights) {
+        byte[] lengths = new byte[SYMBOLS];
+        // Nœuds : 0..255 feuilles, puis nœuds internes ; parent[] permet de calculer les profondeurs
+        int[] parent = new int[2 * SYMBOLS];
+        long[] nodeWeight = new long[2 * SYMBOLS];
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> {
+            int byWeight = Long.compare(nodeWeight[a], nodeWeight[b]);
+            return byWeight != 0 ? byWeight : Integer.compare(a, b);
+        });
+        for (int i = 0; i < SYMBOLS; i++) {
+            if (weights[i] > 0) {
+                nodeWeight[i] = weights[i];
+                queue.add(i);
+            }
+        }
+        if (queue.size() == 1) {
+            lengths[queue.poll()] = 1;
+            return lengths;
+        }
+        int next = SYMBOLS;
+        while (queue.size() > 1) {
+            int a = queue.poll();
+            int b = queue.poll();
+            nodeWeight[next] = nodeWeight[a] + nodeWeight[b];
+            parent[a] = next;
+            parent[b] = next;
+            queue.add(next++);
+        }
+        int root = next - 1;
+        for (int i = 0; i < SYMBOLS; i++) {
+            if (weights[i] > 0) {
+                int depth = 0;
+                for (int node = i; node != root; node = parent[node]) {
+                    depth++;
+                }
+                lengths[i] = (byte) Math.min(depth, 127);
+            }
+        }
+        return lengths;
+    }
+
+    /**
+     * Attribue les codes canoniques : par longueur croissante puis par valeur d'octet.
+     */
+    private static int[] canonicalCodes(byte[] lengths) {
+        int[] countPerLength = new int[MAX_CODE_LENGTH + 1];
+        for (byte length : lengths) {
+            countPerLength[length]++;
+        }
+        countPerLength[0] = 0;
+        int[] nextCode = new int[MAX_CODE_LENGTH + 2];
+        int code = 0;
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + countPerLength[length - 1]) << 1;
+            nextCode[length] = code;
+        }
+        int[] codes = new int[SYMBOLS];
+        for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+            if (lengths[symbol] != 0) {
+                codes[symbol] = nextCode[lengths[symbol]]++;
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Calcule la taille du flux codé.
+     * @param frequencies les fréquences des octets
+     * @param lengths les longueurs de code
+     * @return la taille en octets
+     */
+    static int encodedSize(int[] frequencies, byte[] lengths) {
+        long bits = 0;
+        for (int i = 0; i < SYMBOLS; i++) {
+            bits += (long) frequencies[i] * lengths[i];
+        }
+        return (int) ((bits + 7) >>> 3);
+    }
+
+    /**
+     * Code des octets.
+     * @param data les octets à coder
+     * @param length le nombre d'octets
+     * @param lengths les longueurs de code
+     * @param out le tampon de sortie, d'au moins encodedSize octets
+     * @param offset la position d'écriture dans out
+     * @return la position après le dernier octet écrit
+     */
+    static int encode(byte[] data, int length, byte[] lengths, byte[] out, int offset) {
+        int[] codes = canonicalCodes(lengths);
+        long accumulator = 0;
+        int bitCount = 0;
+        int position = offset;
+        for (int i = 0; i < length; i++) {
+            int symbol = data[i] & 0xFF;
+            accumulator = (accumulator << lengths[symbol]) | codes[symbol];
+            bitCount += lengths[symbol];
+            while (bitCount >= 8) {
+                bitCount -= 8;
+                out[position++] = (byte) (accumulator >>> bitCount);
+            }
+        }
+        if (bitCount > 0) {
+            out[position++] = (byte) (accumulator << (8 - bitCount));
+        }
+        return position;
+    }
+
+    /**
+     * Décode un flux par une table indexée par les 15 prochains bits.
+     * @param in le flux codé
+     * @param offset la position du flux dans in
+     * @param end la fin du flux dans in
+     * @param lengths les longueurs de code
+     * @param out le tampon de sortie
+     * @param length le nombre d'octets à décoder
+     */
+    static void decode(byte[] in, int offset, int end, byte[] lengths, byte[] out, int length) {
+        int[] codes = canonicalCodes(lengths);
+        // Entrée : octet | longueur << 8, répétée pour toutes les suites de bits complétant le code
+        int[] table = new int[1 << MAX_CODE_LENGTH];
+        for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+            int codeLength = lengths[symbol];
+            if (codeLength == 0) {
+                continue;
+            }
+            int first = codes[symbol] << (MAX_CODE_LENGTH - codeLength);
+            int count = 1 << (MAX_CODE_LENGTH - codeLength);
+            int entry = symbol | (codeLength << 8);
+            for (int i = 0; i < count; i++) {
+                table[first + i] = entry;
+            }
+        }
+
+        long buffer = 0;
+        int bitCount = 0;
+        int position = offset;
+        for (int i = 0; i < length; i++) {
+            while (bitCount <= 56) {
+                int next = position < end ? in[position] & 0xFF : 0;
+                position++;
+                buffer = (buffer << 8) | next;
+                bitCount += 8;
+            }
+            int entry = table[(int) (buffer >>> (bitCount - MAX_CODE_LENGTH)) & ((1 << MAX_CODE_LENGTH) - 1)];
+            out[i] = (byte) entry;
+            bitCount -= entry >>> 8;
+        }
+    }
+}
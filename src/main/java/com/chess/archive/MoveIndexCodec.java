@@ -0,0 +1,101 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.King;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+
+/**
+ * Code un coup par son rang dans la liste triée des coups légaux de la position :
+ * au plus 218 coups légaux, le rang tient toujours dans un octet.
+ *
+ * Les coups pseudo-légaux sont triés par leur entier encodé ; la légalité n'est vérifiée que
+ * pour les coups qui précèdent le rang cherché. Hors échec, un coup qui n'est ni un coup du roi
+ * ni une prise en passant, joué par une pièce non alignée avec son roi, ne peut pas être clouée :
+ * il est légal sans avoir à le jouer et le déjouer.
+ * Une instance par thread (tampons réutilisés).
+ */
+public class MoveIndexCodec {
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final MoveList pseudoLegal = new MoveList();
+    private int[] sorted = new int[256];
+    private int size;
+    private boolean inCheck;
+    private int kingSquare;
+
+    /**
+     * Retourne le rang d'un coup parmi les coups légaux triés.
+     * @param board le plateau avant le coup
+     * @param move le coup encodé
+     * @return le rang, ou -1 si le coup n'est pas légal
+     */
+    public int indexOf(Board board, int move) {
+        generateSorted(board);
+        int index = 0;
+        for (int i = 0; i < size && sorted[i] <= move; i++) {
+            if (isLegal(board, sorted[i])) {
+                if (sorted[i] == move) {
+                    return index;
+                }
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne le coup légal d'un rang donné.
+     * @param board le plateau
+     * @param index le rang parmi les coups légaux triés
+     * @return le coup encodé, ou Move.NONE si la position a moins de coups légaux
+     */
+    public int moveAt(Board board, int index) {
+        generateSorted(board);
+        int remaining = index;
+        for (int i = 0; i < size; i++) {
+            if (isLegal(board, sorted[i])) {
+                if (remaining == 0) {
+                    return sorted[i];
+                }
+                remaining--;
+            }
+        }
+        return Move.NONE;
+    }
+
+    private boolean isLegal(Board board, int move) {
+        int from = Move.from(move);
+        if (inCheck || from == kingSquare || MoveGenerator.isEnPassant(board, move)) {
+            return moveGenerator.isLegal(board, move);
+        }
+        int rowDistance = Math.abs(from / 8 - kingSquare / 8);
+        int columnDistance = Math.abs(from % 8 - kingSquare % 8);
+        if (rowDistance != 0 && columnDistance != 0 && rowDistance != columnDistance) {
+            return true;
+        }
+        return moveGenerator.isLegal(board, move);
+    }
+
+    private void generateSorted(Board board) {
+        King king = board.findKing(board.getCurrentPlayer());
+        kingSquare = king.getPosition().getIndex();
+        inCheck = board.isInCheck(board.getCurrentPlayer());
+        pseudoLegal.clear();
+        moveGenerator.generateAll(board, pseudoLegal);
+        size = pseudoLegal.size();
+        if (size > sorted.length) {
+            sorted = new int[size];
+        }
+        // Tri par insertion : une quarantaine de coups en moyenne
+        for (int i = 0; i < size; i++) {
+            int move = pseudoLegal.get(i);
+            int j = i;
+            while (j > 0 && sorted[j - 1] > move) {
+                sorted[j] = sorted[j - 1];
+                j--;
+            }
+            sorted[j] = move;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.io.MappedFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Index des positions d'une archive de parties (voir PositionIndexBuilder) : pour une clé
+ * de Zobrist, la liste triée des numéros des parties passées par cette position.
+ * Le fichier est projeté en mémoire et la clé cherchée par dichotomie, sans chargement préalable.
+ *
+ * Disposition, gros-boutiste : en-tête de 32 octets (signature, version, nombre de parties
+ * de l'archive, nombre de clés, nombre de références), puis les listes de parties bout à bout
+ * (4 octets par numéro de partie), complétées jusqu'à un multiple de 16 octets, puis la table
+ * des clés triées (clé, indice de sa première référence ; 16 octets chacune) terminée par une
+ * entrée sentinelle portant le nombre total de références.
+ *
+ * Deux positions différentes peuvent partager une clé : une partie trouvée peut être vérifiée
+ * en la relisant avec GameArchiveReader.
+ */
+public class PositionIndex implements Closeable {
+    static final int MAGIC = 0x43504931;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int KEY_ENTRY_SIZE = 16;
+    static final int POSTING_SIZE = 4;
+
+    private static final long[] NO_GAMES = new long[0];
+
+    private final MappedFile file;
+    private final long gameCount;
+    private final long keyCount;
+    private final long postingCount;
+    private final long keyTableOffset;
+
+    /**
+     * Ouvre un fichier d'index.
+     * @param path le chemin du fichier
+     * @throws IOException en cas d'erreur de lecture ou si le fichier n'est pas un index de positions
+     */
+    public PositionIndex(Path path) throws IOException {
+        this.file = new MappedFile(path);
+        if (file.size() < HEADER_SIZE || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+            file.close();
+            throw new IOException("Fichier d'index de positions invalide : " + path);
+        }
+        this.gameCount = file.getLong(8);
+        this.keyCount = file.getLong(16);
+        this.postingCount = file.getLong(24);
+        this.keyTableOffset = keyTableOffset(postingCount);
+        if (keyTableOffset + (keyCount + 1) * KEY_ENTRY_SIZE != file.size()) {
+            file.close();
+            throw new IOException("Fichier d'index de positions tronqué : " + path);
+        }
+    }
+
+    /**
+     * Retourne la position de la table des clés, alignée sur 16 octets pour qu'aucune entrée
+     * ne chevauche deux segments de MappedFile.
+     */
+    static long keyTableOffset(long postingCount) {
+        long end = HEADER_SIZE + postingCount * POSTING_SIZE;
+        return (end + KEY_ENTRY_SIZE - 1) & -KEY_ENTRY_SIZE;
+    }
+
+    /**
+     * Retourne le nombre de parties de l'archive indexée.
+     * @return le nombre de parties
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Retourne le nombre de positions distinctes (clés) de l'index.
+     * @return le nombre de clés
+     */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Retourne le nombre total de références (position, partie) de l'index.
+     * @return le nombre de références
+     */
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    /**
+     * Retourne les parties passées par une position.
+     * @param board le plateau
+     * @return les numéros des parties, croissants
+     */
+    public long[] lookup(Board board) {
+        return lookup(board.getZobristKey());
+    }
+
+    /**
+     * Retourne les parties passées par une position.
+     * @param key la clé de Zobrist de la position
+     * @return les numéros des parties, croissants ; un tableau vide si la position est inconnue
+     */
+    public long[] lookup(long key) {
+        long entry = find(key);
+        if (entry < 0) {
+            return NO_GAMES;
+        }
+        long first = postingAt(entry);
+        long[] games = new long[(int) Math.min(postingAt(entry + 1) - first, Integer.MAX_VALUE - 8)];
+        long offset = HEADER_SIZE + first * POSTING_SIZE;
+        for (int i = 0; i < games.length; i++) {
+            games[i] = file.getInt(offset + (long) i * POSTING_SIZE) & 0xFFFFFFFFL;
+        }
+        return games;
+    }
+
+    /**
+     * Retourne le nombre de parties passées par une position, sans lire leur liste.
+     * @param key la clé de Zobrist de la position
+     * @return le nombre de parties
+     */
+    public long count(long key) {
+        long entry = find(key);
+        return entry < 0 ? 0 : postingAt(entry + 1) - postingAt(entry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Cherche l'entrée d'une clé par dichotomie dans l'ordre non signé.
+     * @return l'indice de l'entrée, ou -1 si la clé est absente
+     */
+    private long find(long key) {
+        long low = 0;
+        long high = keyCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < keyCount && keyAt(low) == key ? low : -1;
+    }
+
+    private long keyAt(long entry) {
+        return file.getLong(keyTableOffset + entry * KEY_ENTRY_SIZE);
+    }
+
+    private long postingAt(long entry) {
+        return file.getLong(keyTableOffset + entry * KEY_ENTRY_SIZE + 8);
+    }
+}
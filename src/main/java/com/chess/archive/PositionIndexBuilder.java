@@ -0,0 +1,244 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.io.ExternalSorter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outil de construction de l'index des positions d'une archive de parties (voir PositionIndex).
+ *
+ * Chaque thread ouvre son propre GameArchiveReader et décode les blocs de l'archive qu'il
+ * prend à tour de rôle ; chaque position rejouée produit un enregistrement (clé de Zobrist,
+ * numéro de partie) confié à un ExternalSorter. La fusion regroupe les enregistrements par clé,
+ * les numéros de partie arrivant triés et une position répétée dans une partie n'étant
+ * comptée qu'une fois, puis écrit les listes de parties et la table des clés.
+ * La mémoire est bornée par la taille des runs et le nombre de fichiers ouverts par le degré
+ * de fusion de l'ExternalSorter, qui fusionne les runs en plusieurs passes si nécessaire.
+ */
+public class PositionIndexBuilder {
+    private static final int DEFAULT_RECORDS_PER_RUN = 1 << 20;
+
+    private final int threads;
+    private final int recordsPerRun;
+    private final Path tempDirectory;
+    private final AtomicLong gamesProcessed = new AtomicLong();
+    private final AtomicLong positionsProcessed = new AtomicLong();
+
+    /**
+     * Constructeur avec les réglages par défaut.
+     * @param tempDirectory le répertoire des fichiers temporaires
+     */
+    public PositionIndexBuilder(Path tempDirectory) {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_RECORDS_PER_RUN, tempDirectory);
+    }
+
+    /**
+     * Constructeur pour créer un constructeur d'index.
+     * @param threads le nombre de threads de rejeu
+     * @param recordsPerRun le nombre d'enregistrements gardés en mémoire par thread (24 octets chacun)
+     * @param tempDirectory le répertoire des fichiers temporaires
+     */
+    public PositionIndexBuilder(int threads, int recordsPerRun, Path tempDirectory) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Réglages invalides : threads=" + threads);
+        }
+        this.threads = threads;
+        this.recordsPerRun = recordsPerRun;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Construit l'index d'une archive.
+     * @param archive l'archive de parties (voir GameArchiveWriter)
+     * @param output le fichier d'index à écrire
+     * @return le nombre de positions distinctes de l'index
+     * @throws IOException en cas d'erreur de lecture ou d'écriture, ou si l'archive compte
+     *                     plus de 2^32 parties
+     */
+    public long build(Path archive, Path output) throws IOException {
+        gamesProcessed.set(0);
+        positionsProcessed.set(0);
+        long gameCount;
+        int blockCount;
+        try (GameArchiveReader reader = new GameArchiveReader(archive)) {
+            gameCount = reader.getGameCount();
+            blockCount = reader.getBlockCount();
+        }
+        if (gameCount > 0xFFFFFFFFL) {
+            throw new IOException("Trop de parties pour l'index : " + gameCount);
+        }
+        try (ExternalSorter sorter = new ExternalSorter(tempDirectory, recordsPerRun)) {
+            replayAll(archive, blockCount, sorter);
+            return writeIndex(sorter, gameCount, output);
+        }
+    }
+
+    public long getGamesProcessed() {
+        return gamesProcessed.get();
+    }
+
+    /**
+     * Retourne le nombre de positions rejouées, répétitions comprises.
+     * @return le nombre de positions
+     */
+    public long getPositionsProcessed() {
+        return positionsProcessed.get();
+    }
+
+    private void replayAll(Path archive, int blockCount, ExternalSorter sorter) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger nextBlock = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> {
+                    replayBlocks(archive, blockCount, nextBlock, sorter.newWriter());
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Construction interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Échec du rejeu des parties", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Boucle d'un thread de rejeu : les blocs sont pris un par un, ce qui équilibre la charge
+     * entre threads même si la longueur des parties varie d'un bloc à l'autre.
+     */
+    private void replayBlocks(Path archive, int blockCount, AtomicInteger nextBlock,
+                              ExternalSorter.Writer writer) throws IOException {
+        long[] positions = new long[1];
+        GameArchiveReader.GameVisitor visitor = new GameArchiveReader.GameVisitor() {
+            @Override
+            public void game(ArchivedGame game) {
+                gamesProcessed.incrementAndGet();
+            }
+
+            @Override
+            public void position(long gameId, int ply, Board board) {
+                writer.add(board.getZobristKey(), gameId, 1);
+                positions[0]++;
+            }
+        };
+        try (GameArchiveReader reader = new GameArchiveReader(archive)) {
+            int block;
+            while ((block = nextBlock.getAndIncrement()) < blockCount) {
+                reader.scanBlock(block, visitor);
+            }
+        }
+        writer.flush();
+        positionsProcessed.addAndGet(positions[0]);
+    }
+
+    /**
+     * Fusionne les runs triés : les listes de parties sont écrites directement dans l'index,
+     * la table des clés dans un fichier temporaire recopié ensuite à la suite.
+     */
+    private long writeIndex(ExternalSorter sorter, long gameCount, Path output) throws IOException {
+        Path keyTable = Files.createTempFile(tempDirectory, "keys", ".tmp");
+        try {
+            PostingWriter postings;
+            try (DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(output), 1 << 16));
+                 DataOutputStream keys = new DataOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(keyTable), 1 << 16))) {
+                out.write(new byte[PositionIndex.HEADER_SIZE]);
+                postings = new PostingWriter(out, keys);
+                sorter.merge(postings::accept);
+                keys.writeLong(0);
+                keys.writeLong(postings.postings);
+                long end = PositionIndex.HEADER_SIZE + postings.postings * PositionIndex.POSTING_SIZE;
+                out.write(new byte[(int) (PositionIndex.keyTableOffset(postings.postings) - end)]);
+            }
+            try (OutputStream out = Files.newOutputStream(output, StandardOpenOption.APPEND)) {
+                Files.copy(keyTable, out);
+            }
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(PositionIndex.HEADER_SIZE);
+                header.putInt(PositionIndex.MAGIC).putInt(PositionIndex.VERSION)
+                      .putLong(gameCount).putLong(postings.keys).putLong(postings.postings);
+                header.rewind();
+                channel.write(header, 0);
+            }
+            return postings.keys;
+        } finally {
+            Files.deleteIfExists(keyTable);
+        }
+    }
+
+    /**
+     * Écrit les numéros de partie fusionnés et une entrée de table par nouvelle clé.
+     */
+    private static final class PostingWriter {
+        private final DataOutputStream out;
+        private final DataOutputStream keyTable;
+        private boolean started;
+        private long key;
+        private long keys;
+        private long postings;
+
+        PostingWriter(DataOutputStream out, DataOutputStream keyTable) {
+            this.out = out;
+            this.keyTable = keyTable;
+        }
+
+        void accept(long recordKey, long gameId, long weight) throws IOException {
+            if (!started || recordKey != key) {
+                keyTable.writeLong(recordKey);
+                keyTable.writeLong(postings);
+                key = recordKey;
+                keys++;
+                started = true;
+            }
+            out.writeInt((int) gameId);
+            postings++;
+        }
+    }
+
+    /**
+     * Construit un index en ligne de commande.
+     * Usage : PositionIndexBuilder index.bin archive.cga
+     * @param args le fichier d'index puis l'archive
+     * @throws IOException en cas d'erreur de lecture ou d'écriture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage : PositionIndexBuilder <index> <archive>");
+            System.exit(1);
+        }
+        Path output = Path.of(args[0]).toAbsolutePath();
+        PositionIndexBuilder builder = new PositionIndexBuilder(output.getParent());
+        long start = System.currentTimeMillis();
+        long keys = builder.build(Path.of(args[1]), output);
+        System.out.println(builder.getGamesProcessed() + " parties, " + builder.getPositionsProcessed()
+            + " positions, " + keys + " positions distinctes en " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
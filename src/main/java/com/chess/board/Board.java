@@ -1,6 +1,9 @@
 package com.chess.board;
 
+import com.chess.metrics.Metrics;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -9,9 +12,36 @@ import java.util.List;
  */
 public class Board {
     private static final int BOARD_SIZE = 8;
+    private static final int[][] KNIGHT_OFFSETS = {
+        {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    private static final int[][] KING_OFFSETS = {
+        {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+    };
     private Piece[][] squares;
     private Color currentPlayer;
     private List<Piece> capturedPieces;
+    // Nombre de pièces capturées par couleur et par type, tenu à jour avec capturedPieces
+    private final int[][] capturedCounts;
+    
+    // Scores d'évaluation maintenus incrémentalement, indexés par Color.ordinal()
+    private final int[] midgameScores;
+    private final int[] endgameScores;
+    private final int[] nonPawnMaterial;
+    private final int[][] pieceCounts;
+    private int gamePhase;
+    private long pawnKey;
+    private long pieceKey;
+    
+    // Case traversée par le dernier double pas de pion (cible d'une prise en passant), ou null
+    private Position enPassantTarget;
+    
+    // Demi-coups joués depuis la dernière prise ou le dernier coup de pion (règle des 50 coups)
+    private int halfmoveClock;
+    
+    // Pile des coups joués via makeMove, réutilisée pour éviter les allocations
+    private UndoEntry[] undoStack;
+    private int undoSize;
     
     /**
      * Constructeur pour créer un plateau vide.
@@ -20,10 +50,23 @@ public class Board {
         this.squares = new Piece[BOARD_SIZE][BOARD_SIZE];
         this.currentPlayer = Color.WHITE;
         this.capturedPieces = new ArrayList<>();
+        this.midgameScores = new int[2];
+        this.endgameScores = new int[2];
+        this.nonPawnMaterial = new int[2];
+        this.pieceCounts = new int[2][PieceType.values().length];
+        this.capturedCounts = new int[2][PieceType.values().length];
+        this.gamePhase = 0;
+        this.pawnKey = 0L;
+        this.pieceKey = 0L;
+        this.enPassantTarget = null;
+        this.halfmoveClock = 0;
+        this.undoStack = new UndoEntry[64];
+        this.undoSize = 0;
     }
     
     /**
-     * Initialise le plateau avec les pièces en position de départ.
+     * Initialise le plateau avec les pièces en position de départ, les blancs au trait.
+     * Un plateau déjà utilisé est entièrement réinitialisé et peut ainsi être réutilisé.
      */
     public void initializeBoard() {
         // Vider le plateau
@@ -37,14 +80,29 @@ public class Board {
     }
     
     /**
-     * Vide le plateau.
+     * Vide le plateau et réinitialise l'état de la partie (trait, prises, pile d'annulation).
      */
-    private void clearBoard() {
+    void clearBoard() {
         for (int row = 0; row < BOARD_SIZE; row++) {
             for (int col = 0; col < BOARD_SIZE; col++) {
                 squares[row][col] = null;
             }
         }
+        Arrays.fill(midgameScores, 0);
+        Arrays.fill(endgameScores, 0);
+        Arrays.fill(nonPawnMaterial, 0);
+        Arrays.fill(pieceCounts[0], 0);
+        Arrays.fill(pieceCounts[1], 0);
+        gamePhase = 0;
+        pawnKey = 0L;
+        pieceKey = 0L;
+        enPassantTarget = null;
+        halfmoveClock = 0;
+        undoSize = 0;
+        currentPlayer = Color.WHITE;
+        capturedPieces.clear();
+        Arrays.fill(capturedCounts[0], 0);
+        Arrays.fill(capturedCounts[1], 0);
     }
     
     /**
@@ -99,20 +157,57 @@ public class Board {
         return squares[position.getRow()][position.getColumn()];
     }
     
+    /**
+     * Retourne la pièce à une case donnée, sans créer de Position.
+     * @param row la ligne (0-7)
+     * @param column la colonne (0-7)
+     * @return la pièce sur cette case, ou null si la case est vide
+     */
+    public Piece getPieceAt(int row, int column) {
+        return squares[row][column];
+    }
+    
     /**
      * Place une pièce à une position donnée.
+     * Les scores d'évaluation incrémentaux sont mis à jour pour la pièce retirée et la pièce posée.
      * @param position la position
      * @param piece la pièce à placer
      */
     public void setPieceAt(Position position, Piece piece) {
         if (position != null && position.isValid()) {
-            squares[position.getRow()][position.getColumn()] = piece;
+            int row = position.getRow();
+            int column = position.getColumn();
+            Piece previous = squares[row][column];
+            if (previous != null) {
+                updateScores(previous, row, column, -1);
+            }
+            squares[row][column] = piece;
             if (piece != null) {
+                updateScores(piece, row, column, 1);
                 piece.setPosition(position);
             }
         }
     }
     
+    /**
+     * Ajoute (sign = 1) ou retire (sign = -1) la contribution d'une pièce aux scores incrémentaux.
+     */
+    private void updateScores(Piece piece, int row, int column, int sign) {
+        PieceType type = piece.getType();
+        int side = piece.getColor().ordinal();
+        midgameScores[side] += sign * PieceSquareTables.midgame(type, piece.getColor(), row, column);
+        endgameScores[side] += sign * PieceSquareTables.endgame(type, piece.getColor(), row, column);
+        pieceCounts[side][type.ordinal()] += sign;
+        gamePhase += sign * PieceSquareTables.phaseWeight(type);
+        long key = Zobrist.pieceKey(type, piece.getColor(), row, column);
+        pieceKey ^= key;
+        if (type.isPawn()) {
+            pawnKey ^= key;
+        } else if (!type.isKing()) {
+            nonPawnMaterial[side] += sign * PieceSquareTables.materialValue(type);
+        }
+    }
+    
     /**
      * Retourne le joueur dont c'est le tour.
      * @return la couleur du joueur actuel
@@ -153,7 +248,7 @@ public class Board {
         // Capturer la pièce à la position d'arrivée si elle existe
         Piece capturedPiece = getPieceAt(to);
         if (capturedPiece != null) {
-            capturedPieces.add(capturedPiece);
+            addCapturedPiece(capturedPiece);
         }
         
         // Effectuer le déplacement
@@ -161,6 +256,8 @@ public class Board {
         setPieceAt(to, piece);
         piece.setPosition(to);
         piece.markAsMoved();
+        updateEnPassantTarget(piece, from, to);
+        updateHalfmoveClock(piece, capturedPiece);
         
         // Changer de joueur après un coup valide
         switchPlayer();
@@ -228,23 +325,83 @@ public class Board {
      * @return true si le roi est en échec
      */
     public boolean isInCheck(Color color) {
+        if (Metrics.ENABLED) {
+            Metrics.Counter.CHECK_TESTS.increment();
+        }
         King king = findKing(color);
         if (king == null) {
             return false;
         }
         
-        Color opponentColor = color.opposite();
-        List<Piece> opponentPieces = getPiecesOfColor(opponentColor);
+        Position kingPosition = king.getPosition();
+        return isSquareAttacked(kingPosition.getRow(), kingPosition.getColumn(), color.opposite());
+    }
+    
+    /**
+     * Vérifie si une case est attaquée par une couleur, en parcourant les rayons depuis la case
+     * plutôt qu'en interrogeant chaque pièce adverse.
+     * @param row la ligne de la case
+     * @param column la colonne de la case
+     * @param attacker la couleur attaquante
+     * @return true si au moins une pièce de cette couleur attaque la case
+     */
+    public boolean isSquareAttacked(int row, int column, Color attacker) {
+        // Pions : un pion attaquant se trouve une ligne "en arrière" selon sa direction
+        int pawnRow = row - attacker.getPawnDirection();
+        if (pawnRow >= 0 && pawnRow < BOARD_SIZE) {
+            if (column > 0 && isPieceOf(squares[pawnRow][column - 1], attacker, PieceType.PAWN)) {
+                return true;
+            }
+            if (column < BOARD_SIZE - 1 && isPieceOf(squares[pawnRow][column + 1], attacker, PieceType.PAWN)) {
+                return true;
+            }
+        }
         
-        for (Piece piece : opponentPieces) {
-            if (piece.canCapture(king.getPosition(), this)) {
+        for (int[] offset : KNIGHT_OFFSETS) {
+            int r = row + offset[0];
+            int c = column + offset[1];
+            if (Position.isValid(r, c) && isPieceOf(squares[r][c], attacker, PieceType.KNIGHT)) {
                 return true;
             }
         }
         
+        for (int[] offset : KING_OFFSETS) {
+            int r = row + offset[0];
+            int c = column + offset[1];
+            if (Position.isValid(r, c) && isPieceOf(squares[r][c], attacker, PieceType.KING)) {
+                return true;
+            }
+        }
+        
+        for (int[] direction : KING_OFFSETS) {
+            boolean diagonal = direction[0] != 0 && direction[1] != 0;
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while (Position.isValid(r, c)) {
+                Piece piece = squares[r][c];
+                if (piece != null) {
+                    if (piece.getColor() == attacker) {
+                        PieceType type = piece.getType();
+                        if (type == PieceType.QUEEN
+                            || (diagonal && type == PieceType.BISHOP)
+                            || (!diagonal && type == PieceType.ROOK)) {
+                            return true;
+                        }
+                    }
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        
         return false;
     }
     
+    private static boolean isPieceOf(Piece piece, Color color, PieceType type) {
+        return piece != null && piece.getColor() == color && piece.getType() == type;
+    }
+    
     /**
      * Vérifie si un roi serait en échec après un déplacement.
      * @param from la position de départ
@@ -253,6 +410,9 @@ public class Board {
      * @return true si le roi serait en échec
      */
     public boolean wouldBeInCheckAfterMove(Position from, Position to, Color color) {
+        if (Metrics.ENABLED) {
+            Metrics.Counter.WOULD_BE_IN_CHECK_TESTS.increment();
+        }
         // Sauvegarder l'état actuel
         Piece originalPiece = getPieceAt(from);
         Piece capturedPiece = getPieceAt(to);
@@ -271,6 +431,223 @@ public class Board {
         return inCheck;
     }
     
+    /**
+     * Joue un coup de manière réversible, y compris le roque, la prise en passant et la promotion.
+     * Le coup est supposé conforme au déplacement de la pièce : seule la légalité vis-à-vis
+     * de l'échec reste à vérifier par l'appelant. Le coup peut être annulé par unmakeMove.
+     * @param from la position de départ
+     * @param to la position d'arrivée
+     * @param promotionType le type de pièce en cas de promotion (dame si null)
+     */
+    public void makeMove(Position from, Position to, PieceType promotionType) {
+        Piece piece = getPieceAt(from);
+        UndoEntry entry = pushUndoEntry();
+        entry.piece = piece;
+        entry.from = from;
+        entry.to = to;
+        entry.movedBefore = piece.hasMoved();
+        entry.previousEnPassantTarget = enPassantTarget;
+        entry.previousHalfmoveClock = halfmoveClock;
+        entry.rook = null;
+        
+        Piece captured = getPieceAt(to);
+        Position capturedAt = to;
+        
+        // Prise en passant : le pion se déplace en diagonale vers une case vide
+        if (piece.getType().isPawn() && from.getColumn() != to.getColumn() && captured == null) {
+            capturedAt = Position.of(from.getRow(), to.getColumn());
+            captured = getPieceAt(capturedAt);
+            setPieceAt(capturedAt, null);
+        }
+        entry.captured = captured;
+        entry.capturedAt = capturedAt;
+        if (captured != null) {
+            addCapturedPiece(captured);
+        }
+        
+        // Roque : le roi se déplace de deux colonnes, la tour le suit
+        if (piece.getType().isKing() && from.getColumnDistance(to) == 2) {
+            boolean kingside = to.getColumn() > from.getColumn();
+            Position rookFrom = Position.of(from.getRow(), kingside ? 7 : 0);
+            Position rookTo = Position.of(from.getRow(), kingside ? 5 : 3);
+            Piece rook = getPieceAt(rookFrom);
+            entry.rook = rook;
+            entry.rookFrom = rookFrom;
+            entry.rookTo = rookTo;
+            entry.rookMovedBefore = rook.hasMoved();
+            setPieceAt(rookFrom, null);
+            setPieceAt(rookTo, rook);
+            rook.markAsMoved();
+        }
+        
+        setPieceAt(from, null);
+        int promotionRow = piece.getColor() == Color.WHITE ? BOARD_SIZE - 1 : 0;
+        if (piece.getType().isPawn() && to.getRow() == promotionRow) {
+            Piece promoted = createPiece(promotionType != null ? promotionType : PieceType.QUEEN,
+                                         piece.getColor(), to);
+            promoted.markAsMoved();
+            setPieceAt(to, promoted);
+        } else {
+            setPieceAt(to, piece);
+        }
+        piece.markAsMoved();
+        
+        updateEnPassantTarget(piece, from, to);
+        updateHalfmoveClock(piece, captured);
+        switchPlayer();
+    }
+    
+    /**
+     * Passe le trait sans jouer de coup (coup nul), de manière réversible.
+     */
+    public void makeNullMove() {
+        UndoEntry entry = pushUndoEntry();
+        entry.piece = null;
+        entry.previousEnPassantTarget = enPassantTarget;
+        entry.previousHalfmoveClock = halfmoveClock;
+        enPassantTarget = null;
+        switchPlayer();
+    }
+    
+    /**
+     * Annule le dernier coup joué par makeMove ou makeNullMove.
+     * Les pièces capturées, l'état des roques et les indicateurs de déplacement sont restaurés.
+     * @throws IllegalStateException si aucun coup n'est à annuler
+     */
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("Aucun coup à annuler");
+        }
+        UndoEntry entry = undoStack[--undoSize];
+        switchPlayer();
+        enPassantTarget = entry.previousEnPassantTarget;
+        halfmoveClock = entry.previousHalfmoveClock;
+        if (entry.piece == null) {
+            return;
+        }
+        
+        setPieceAt(entry.to, null);
+        setPieceAt(entry.from, entry.piece);
+        entry.piece.setHasMoved(entry.movedBefore);
+        
+        if (entry.rook != null) {
+            setPieceAt(entry.rookTo, null);
+            setPieceAt(entry.rookFrom, entry.rook);
+            entry.rook.setHasMoved(entry.rookMovedBefore);
+        }
+        
+        if (entry.captured != null) {
+            setPieceAt(entry.capturedAt, entry.captured);
+            capturedPieces.remove(capturedPieces.size() - 1);
+            capturedCounts[entry.captured.getColor().ordinal()][entry.captured.getType().ordinal()]--;
+        }
+    }
+    
+    /**
+     * Retourne le nombre de coups annulables par unmakeMove.
+     * @return la profondeur de la pile d'annulation
+     */
+    public int getUndoDepth() {
+        return undoSize;
+    }
+    
+    /**
+     * Retourne la case cible d'une éventuelle prise en passant.
+     * @return la case traversée par le dernier double pas de pion, ou null
+     */
+    public Position getEnPassantTarget() {
+        return enPassantTarget;
+    }
+    
+    /**
+     * Définit la case cible d'une éventuelle prise en passant.
+     * @param enPassantTarget la case traversée par un double pas de pion, ou null
+     */
+    public void setEnPassantTarget(Position enPassantTarget) {
+        this.enPassantTarget = enPassantTarget;
+    }
+    
+    /**
+     * Retourne le nombre de demi-coups joués depuis la dernière prise ou le dernier coup de pion.
+     * @return le compteur de la règle des 50 coups
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+    
+    /**
+     * Définit le compteur de demi-coups de la règle des 50 coups (lecture d'une FEN).
+     * @param halfmoveClock le nombre de demi-coups depuis la dernière prise ou le dernier coup de pion
+     */
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+    
+    private void updateHalfmoveClock(Piece piece, Piece captured) {
+        if (piece.getType().isPawn() || captured != null) {
+            halfmoveClock = 0;
+        } else {
+            halfmoveClock++;
+        }
+    }
+    
+    private void updateEnPassantTarget(Piece piece, Position from, Position to) {
+        if (piece.getType().isPawn() && from.getRowDistance(to) == 2) {
+            enPassantTarget = Position.of((from.getRow() + to.getRow()) / 2, from.getColumn());
+        } else {
+            enPassantTarget = null;
+        }
+    }
+    
+    private UndoEntry pushUndoEntry() {
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        UndoEntry entry = undoStack[undoSize];
+        if (entry == null) {
+            entry = new UndoEntry();
+            undoStack[undoSize] = entry;
+        }
+        undoSize++;
+        return entry;
+    }
+    
+    /**
+     * Crée une pièce d'un type donné.
+     * @param type le type de pièce
+     * @param color la couleur
+     * @param position la position
+     * @return la nouvelle pièce
+     */
+    public static Piece createPiece(PieceType type, Color color, Position position) {
+        return switch (type) {
+            case KING -> new King(color, position);
+            case QUEEN -> new Queen(color, position);
+            case ROOK -> new Rook(color, position);
+            case BISHOP -> new Bishop(color, position);
+            case KNIGHT -> new Knight(color, position);
+            case PAWN -> new Pawn(color, position);
+        };
+    }
+    
+    /**
+     * Informations nécessaires pour annuler un coup joué par makeMove.
+     */
+    private static final class UndoEntry {
+        private Piece piece;
+        private Position from;
+        private Position to;
+        private boolean movedBefore;
+        private Piece captured;
+        private Position capturedAt;
+        private Piece rook;
+        private Position rookFrom;
+        private Position rookTo;
+        private boolean rookMovedBefore;
+        private Position previousEnPassantTarget;
+        private int previousHalfmoveClock;
+    }
+    
     /**
      * Retourne la liste des pièces capturées.
      * @return la liste des pièces capturées
@@ -286,9 +663,120 @@ public class Board {
     public void addCapturedPiece(Piece piece) {
         if (piece != null) {
             capturedPieces.add(piece);
+            capturedCounts[piece.getColor().ordinal()][piece.getType().ordinal()]++;
         }
     }
     
+    /**
+     * Retourne le nombre de pièces d'un type capturées, sans copier la liste des prises.
+     * @param color la couleur des pièces capturées
+     * @param type le type des pièces capturées
+     * @return le nombre de prises
+     */
+    public int getCapturedCount(Color color, PieceType type) {
+        return capturedCounts[color.ordinal()][type.ordinal()];
+    }
+    
+    /**
+     * Retourne la somme matériel + tables positionnelles de milieu de partie d'une couleur.
+     * @param color la couleur
+     * @return le score en centipions
+     */
+    public int getMidgameScore(Color color) {
+        return midgameScores[color.ordinal()];
+    }
+    
+    /**
+     * Retourne la somme matériel + tables positionnelles de finale d'une couleur.
+     * @param color la couleur
+     * @return le score en centipions
+     */
+    public int getEndgameScore(Color color) {
+        return endgameScores[color.ordinal()];
+    }
+    
+    /**
+     * Retourne la phase de jeu, de 0 (finale de pions) à PieceSquareTables.TOTAL_PHASE
+     * (toutes les pièces présentes). Peut dépasser ce maximum après des promotions.
+     * @return la phase de jeu
+     */
+    public int getGamePhase() {
+        return gamePhase;
+    }
+    
+    /**
+     * Retourne la valeur matérielle des pièces autres que les pions et le roi.
+     * @param color la couleur
+     * @return la valeur en centipions
+     */
+    public int getNonPawnMaterial(Color color) {
+        return nonPawnMaterial[color.ordinal()];
+    }
+    
+    /**
+     * Retourne le nombre de pièces d'un type donné pour une couleur.
+     * @param color la couleur
+     * @param type le type de pièce
+     * @return le nombre de pièces
+     */
+    public int getPieceCount(Color color, PieceType type) {
+        return pieceCounts[color.ordinal()][type.ordinal()];
+    }
+    
+    /**
+     * Retourne la clé de Zobrist de la seule structure de pions.
+     * Elle ne change que lorsqu'un pion bouge, est capturé ou promu.
+     * @return la clé des pions
+     */
+    public long getPawnKey() {
+        return pawnKey;
+    }
+    
+    /**
+     * Retourne la clé de Zobrist complète de la position : pièces, trait, droits de roque
+     * et colonne de prise en passant. Seule la partie pièces est maintenue incrémentalement,
+     * le reste se déduit de quelques cases et indicateurs.
+     * @return la clé de la position
+     */
+    public long getZobristKey() {
+        long key = pieceKey ^ Zobrist.castlingKey(getCastlingRights());
+        if (currentPlayer == Color.BLACK) {
+            key ^= Zobrist.sideKey();
+        }
+        if (enPassantTarget != null) {
+            key ^= Zobrist.enPassantKey(enPassantTarget.getColumn());
+        }
+        return key;
+    }
+    
+    /**
+     * Retourne les droits de roque encore possibles, déduits des rois et tours n'ayant pas bougé.
+     * Bit 0 : petit roque blanc, bit 1 : grand roque blanc, bit 2 : petit roque noir, bit 3 : grand roque noir.
+     * @return le masque des droits de roque
+     */
+    public int getCastlingRights() {
+        int rights = 0;
+        for (Color color : Color.values()) {
+            int row = color.getPieceStartRow();
+            Piece king = squares[row][4];
+            if (king == null || !king.getType().isKing() || king.getColor() != color || king.hasMoved()) {
+                continue;
+            }
+            int shift = color == Color.WHITE ? 0 : 2;
+            if (isUnmovedRook(squares[row][7], color)) {
+                rights |= 1 << shift;
+            }
+            if (isUnmovedRook(squares[row][0], color)) {
+                rights |= 2 << shift;
+            }
+        }
+        return rights;
+    }
+    
+    private static boolean isUnmovedRook(Piece piece, Color color) {
+        return piece != null && piece.getType().isRook() && piece.getColor() == color && !piece.hasMoved();
+    }
+    
     /**
      * Retourne une représentation textuelle du plateau.
      * @return la représentation du plateau
@@ -0,0 +1,91 @@
+package com.chess.board;
+
+import java.util.Arrays;
+
+/**
+ * Instantané compact d'une position : un octet par case, les indicateurs de déplacement
+ * des pièces sous forme de masque, le trait, la case de prise en passant et le compteur
+ * de la règle des 50 coups.
+ * Environ 90 octets, contre plusieurs dizaines d'objets pour un Board.
+ */
+public final class BoardSnapshot {
+    private static final PieceType[] TYPES = PieceType.values();
+
+    // 0 : case vide ; 1 + ordinal du type pour les blancs ; 7 + ordinal pour les noirs
+    private final byte[] squares;
+    private final long movedMask;
+    private final Color currentPlayer;
+    private final byte enPassantTarget;
+    private final int halfmoveClock;
+
+    private BoardSnapshot(byte[] squares, long movedMask, Color currentPlayer, byte enPassantTarget,
+                          int halfmoveClock) {
+        this.squares = squares;
+        this.movedMask = movedMask;
+        this.currentPlayer = currentPlayer;
+        this.enPassantTarget = enPassantTarget;
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Capture la position d'un plateau.
+     * @param board le plateau
+     * @return l'instantané
+     */
+    public static BoardSnapshot of(Board board) {
+        byte[] squares = new byte[64];
+        long movedMask = 0L;
+        for (int index = 0; index < 64; index++) {
+            Piece piece = board.getPieceAt(index / 8, index % 8);
+            if (piece == null) {
+                continue;
+            }
+            int base = piece.getColor() == Color.WHITE ? 1 : 1 + TYPES.length;
+            squares[index] = (byte) (base + piece.getType().ordinal());
+            if (piece.hasMoved()) {
+                movedMask |= 1L << index;
+            }
+        }
+        Position target = board.getEnPassantTarget();
+        return new BoardSnapshot(squares, movedMask, board.getCurrentPlayer(),
+                                 (byte) (target != null ? target.getIndex() : -1), board.getHalfmoveClock());
+    }
+
+    /**
+     * Replace un plateau dans la position de l'instantané. Les pièces capturées et la pile
+     * d'annulation du plateau sont vidées.
+     * @param board le plateau à modifier
+     */
+    public void restore(Board board) {
+        board.clearBoard();
+        for (int index = 0; index < 64; index++) {
+            int code = squares[index];
+            if (code == 0) {
+                continue;
+            }
+            Color color = code <= TYPES.length ? Color.WHITE : Color.BLACK;
+            PieceType type = TYPES[(code - 1) % TYPES.length];
+            Position position = Position.of(index);
+            Piece piece = Board.createPiece(type, color, position);
+            piece.setHasMoved((movedMask & (1L << index)) != 0);
+            board.setPieceAt(position, piece);
+        }
+        if (board.getCurrentPlayer() != currentPlayer) {
+            board.switchPlayer();
+        }
+        board.setEnPassantTarget(enPassantTarget >= 0 ? Position.of(enPassantTarget) : null);
+        board.setHalfmoveClock(halfmoveClock);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BoardSnapshot other && Arrays.equals(squares, other.squares)
+            && movedMask == other.movedMask && currentPlayer == other.currentPlayer
+            && enPassantTarget == other.enPassantTarget && halfmoveClock == other.halfmoveClock;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(squares) * 31 + Long.hashCode(movedMask);
+    }
+}
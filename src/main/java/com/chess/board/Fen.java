@@ -0,0 +1,191 @@
+package com.chess.board;
+
+/**
+ * Lecture et écriture de positions en notation FEN (Forsyth-Edwards).
+ *
+ * La FEN suit la convention standard : la rangée 1 est celle des blancs, soit la ligne 0
+ * du plateau, et la colonne a est la colonne 0. Le compteur de demi-coups (règle des
+ * cinquante coups) est conservé par le plateau ; le numéro de coup est accepté à la lecture
+ * mais ignoré, et toujours écrit 1.
+ */
+public final class Fen {
+    /** Position de départ. */
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "kqrbnp";
+
+    private Fen() {
+    }
+
+    /**
+     * Crée un plateau à partir d'une chaîne FEN.
+     * Les droits de roque sont reportés sur les indicateurs de déplacement des rois et des tours,
+     * et les pions hors de leur rangée de départ sont considérés comme ayant bougé.
+     * @param fen la chaîne FEN (les deux compteurs finaux sont facultatifs)
+     * @return le plateau correspondant
+     * @throws IllegalArgumentException si la chaîne est invalide
+     */
+    public static Board parse(String fen) {
+        if (fen == null) {
+            throw new IllegalArgumentException("FEN invalide : null");
+        }
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("FEN invalide : " + fen);
+        }
+
+        Board board = new Board();
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("FEN invalide (rangées) : " + fen);
+        }
+        for (int i = 0; i < 8; i++) {
+            int row = 7 - i;
+            int column = 0;
+            for (char c : ranks[i].toCharArray()) {
+                if (c >= '1' && c <= '8') {
+                    column += c - '0';
+                    continue;
+                }
+                int typeIndex = PIECE_LETTERS.indexOf(Character.toLowerCase(c));
+                if (typeIndex < 0 || column > 7) {
+                    throw new IllegalArgumentException("FEN invalide (pièce '" + c + "') : " + fen);
+                }
+                Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+                Position position = Position.of(row, column);
+                Piece piece = Board.createPiece(PieceType.values()[typeIndex], color, position);
+                if (piece.getType().isPawn() && row != color.getPawnStartRow()) {
+                    piece.markAsMoved();
+                }
+                board.setPieceAt(position, piece);
+                column++;
+            }
+            if (column != 8) {
+                throw new IllegalArgumentException("FEN invalide (rangée " + (row + 1) + ") : " + fen);
+            }
+        }
+
+        if (fields[1].equals("b")) {
+            board.switchPlayer();
+        } else if (!fields[1].equals("w")) {
+            throw new IllegalArgumentException("FEN invalide (trait) : " + fen);
+        }
+
+        applyCastlingRights(board, fields[2]);
+
+        if (!fields[3].equals("-")) {
+            board.setEnPassantTarget(parseSquare(fields[3]));
+        }
+
+        if (fields.length > 4) {
+            try {
+                board.setHalfmoveClock(Integer.parseInt(fields[4]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("FEN invalide (demi-coups) : " + fen);
+            }
+            if (board.getHalfmoveClock() < 0) {
+                throw new IllegalArgumentException("FEN invalide (demi-coups) : " + fen);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Retourne la chaîne FEN d'un plateau.
+     * @param board le plateau
+     * @return la chaîne FEN, avec le compteur de demi-coups du plateau et le numéro de coup 1
+     */
+    public static String toFen(Board board) {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 7; row >= 0; row--) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                char letter = PIECE_LETTERS.charAt(piece.getType().ordinal());
+                sb.append(piece.getColor() == Color.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+            if (row > 0) {
+                sb.append('/');
+            }
+        }
+
+        sb.append(board.getCurrentPlayer() == Color.WHITE ? " w " : " b ");
+        int rights = board.getCastlingRights();
+        if (rights == 0) {
+            sb.append('-');
+        } else {
+            String letters = "KQkq";
+            for (int bit = 0; bit < 4; bit++) {
+                if ((rights & (1 << bit)) != 0) {
+                    sb.append(letters.charAt(bit));
+                }
+            }
+        }
+        Position enPassant = board.getEnPassantTarget();
+        sb.append(' ').append(enPassant == null ? "-" : squareName(enPassant.getIndex()));
+        sb.append(' ').append(board.getHalfmoveClock()).append(" 1");
+        return sb.toString();
+    }
+
+    /**
+     * Retourne le nom standard d'une case (ex : « e4 »).
+     * @param index l'index de la case (ligne * 8 + colonne)
+     * @return le nom de la case
+     */
+    public static String squareName(int index) {
+        return String.valueOf((char) ('a' + index % 8)) + (char) ('1' + index / 8);
+    }
+
+    /**
+     * Lit le nom standard d'une case (ex : « e4 »).
+     * @param name le nom de la case
+     * @return la position correspondante
+     * @throws IllegalArgumentException si le nom est invalide
+     */
+    public static Position parseSquare(String name) {
+        if (name == null || name.length() != 2) {
+            throw new IllegalArgumentException("Case invalide : " + name);
+        }
+        int column = name.charAt(0) - 'a';
+        int row = name.charAt(1) - '1';
+        if (!Position.isValid(row, column)) {
+            throw new IllegalArgumentException("Case invalide : " + name);
+        }
+        return Position.of(row, column);
+    }
+
+    /**
+     * Marque comme déplacés les rois et tours qui ne conservent aucun droit de roque.
+     */
+    private static void applyCastlingRights(Board board, String castling) {
+        for (Color color : Color.values()) {
+            int row = color.getPieceStartRow();
+            boolean kingside = castling.indexOf(color == Color.WHITE ? 'K' : 'k') >= 0;
+            boolean queenside = castling.indexOf(color == Color.WHITE ? 'Q' : 'q') >= 0;
+            markRook(board, row, 7, color, kingside);
+            markRook(board, row, 0, color, queenside);
+            Piece king = board.getPieceAt(row, 4);
+            if (king != null && king.getType().isKing() && king.getColor() == color && !kingside && !queenside) {
+                king.markAsMoved();
+            }
+        }
+    }
+
+    private static void markRook(Board board, int row, int column, Color color, boolean castlingAllowed) {
+        Piece rook = board.getPieceAt(row, column);
+        if (rook != null && rook.getType().isRook() && rook.getColor() == color && !castlingAllowed) {
+            rook.markAsMoved();
+        }
+    }
+}
@@ -70,6 +70,14 @@ public abstract class Piece {
         this.hasMoved = true;
     }
     
+    /**
+     * Rétablit l'indicateur de déplacement, par exemple lors de l'annulation d'un coup.
+     * @param hasMoved true si la pièce doit être considérée comme ayant bougé
+     */
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+    
     /**
      * Vérifie si cette pièce peut se déplacer vers une position donnée.
      * Cette méthode doit être implémentée par chaque type de pièce.
@@ -0,0 +1,170 @@
+package com.chess.board;
+
+/**
+ * Tables de valeurs positionnelles (piece-square tables) utilisées par l'évaluation.
+ * Chaque pièce possède une valeur de milieu de partie et une valeur de finale,
+ * qui sont ensuite interpolées selon la phase de jeu.
+ *
+ * Les tables sont écrites du point de vue du joueur concerné, la première ligne
+ * correspondant à la rangée la plus éloignée de son camp (la 8ème rangée pour les blancs).
+ */
+public final class PieceSquareTables {
+    /** Phase maximale (toutes les pièces légères et lourdes sur le plateau). */
+    public static final int TOTAL_PHASE = 24;
+
+    private static final int[] MIDGAME_VALUES = {0, 1025, 477, 365, 337, 82};
+    private static final int[] ENDGAME_VALUES = {0, 936, 512, 297, 281, 94};
+    private static final int[] PHASE_WEIGHTS = {0, 4, 2, 1, 1, 0};
+
+    private static final int[] PAWN_MIDGAME = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         10,  10,  20,  30,  30,  20,  10,  10,
+          5,   5,  10,  25,  25,  10,   5,   5,
+          0,   0,   0,  20,  20,   0,   0,   0,
+          5,  -5, -10,   0,   0, -10,  -5,   5,
+          5,  10,  10, -20, -20,  10,  10,   5,
+          0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         80,  80,  80,  80,  80,  80,  80,  80,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         30,  30,  30,  30,  30,  30,  30,  30,
+         15,  15,  15,  15,  15,  15,  15,  15,
+          5,   5,   5,   5,   5,   5,   5,   5,
+          0,   0,   0,   0,   0,   0,   0,   0,
+          0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+        -50, -40, -30, -30, -30, -30, -40, -50,
+        -40, -20,   0,   0,   0,   0, -20, -40,
+        -30,   0,  10,  15,  15,  10,   0, -30,
+        -30,   5,  15,  20,  20,  15,   5, -30,
+        -30,   0,  15,  20,  20,  15,   0, -30,
+        -30,   5,  10,  15,  15,  10,   5, -30,
+        -40, -20,   0,   5,   5,   0, -20, -40,
+        -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+        -20, -10, -10, -10, -10, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,  10,  10,   5,   0, -10,
+        -10,   5,   5,  10,  10,   5,   5, -10,
+        -10,   0,  10,  10,  10,  10,   0, -10,
+        -10,  10,  10,  10,  10,  10,  10, -10,
+        -10,   5,   0,   0,   0,   0,   5, -10,
+        -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK_TABLE = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+          5,  10,  10,  10,  10,  10,  10,   5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+          0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+        -20, -10, -10,  -5,  -5, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,   5,   5,   5,   0, -10,
+         -5,   0,   5,   5,   5,   5,   0,  -5,
+          0,   0,   5,   5,   5,   5,   0,  -5,
+        -10,   5,   5,   5,   5,   5,   0, -10,
+        -10,   0,   5,   0,   0,   0,   0, -10,
+        -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDGAME = {
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -20, -30, -30, -40, -40, -30, -30, -20,
+        -10, -20, -20, -20, -20, -20, -20, -10,
+         20,  20,   0,   0,   0,   0,  20,  20,
+         20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    private static final int[] KING_ENDGAME = {
+        -50, -40, -30, -20, -20, -30, -40, -50,
+        -30, -20, -10,   0,   0, -10, -20, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -30,   0,   0,   0,   0, -30, -30,
+        -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    // Indexées par PieceType.ordinal() : KING, QUEEN, ROOK, BISHOP, KNIGHT, PAWN
+    private static final int[][] MIDGAME_TABLES = {
+        KING_MIDGAME, QUEEN_TABLE, ROOK_TABLE, BISHOP_TABLE, KNIGHT_TABLE, PAWN_MIDGAME
+    };
+    private static final int[][] ENDGAME_TABLES = {
+        KING_ENDGAME, QUEEN_TABLE, ROOK_TABLE, BISHOP_TABLE, KNIGHT_TABLE, PAWN_ENDGAME
+    };
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Retourne la valeur de milieu de partie d'une pièce sur une case (matériel + position).
+     * @param type le type de pièce
+     * @param color la couleur de la pièce
+     * @param row la ligne (0-7)
+     * @param column la colonne (0-7)
+     * @return la valeur en centipions
+     */
+    public static int midgame(PieceType type, Color color, int row, int column) {
+        int ordinal = type.ordinal();
+        return MIDGAME_VALUES[ordinal] + MIDGAME_TABLES[ordinal][tableIndex(color, row, column)];
+    }
+
+    /**
+     * Retourne la valeur de finale d'une pièce sur une case (matériel + position).
+     * @param type le type de pièce
+     * @param color la couleur de la pièce
+     * @param row la ligne (0-7)
+     * @param column la colonne (0-7)
+     * @return la valeur en centipions
+     */
+    public static int endgame(PieceType type, Color color, int row, int column) {
+        int ordinal = type.ordinal();
+        return ENDGAME_VALUES[ordinal] + ENDGAME_TABLES[ordinal][tableIndex(color, row, column)];
+    }
+
+    /**
+     * Retourne la valeur matérielle de milieu de partie d'un type de pièce.
+     * @param type le type de pièce
+     * @return la valeur en centipions
+     */
+    public static int materialValue(PieceType type) {
+        return MIDGAME_VALUES[type.ordinal()];
+    }
+
+    /**
+     * Retourne le poids d'un type de pièce dans le calcul de la phase de jeu.
+     * @param type le type de pièce
+     * @return le poids de phase
+     */
+    public static int phaseWeight(PieceType type) {
+        return PHASE_WEIGHTS[type.ordinal()];
+    }
+
+    /**
+     * Convertit une case du plateau en index dans les tables, vues du camp de la couleur donnée.
+     * Les blancs démarrent sur la ligne 0 : leur rangée relative est donc la ligne elle-même.
+     */
+    private static int tableIndex(Color color, int row, int column) {
+        int relativeRank = color == Color.WHITE ? row : 7 - row;
+        return (7 - relativeRank) * 8 + column;
+    }
+}
@@ -5,6 +5,14 @@ package com.chess.board;
  * Les coordonnées vont de 0 à 7 (0,0 étant en haut à gauche).
  */
 public class Position {
+    private static final Position[] CACHE = new Position[64];
+    
+    static {
+        for (int index = 0; index < 64; index++) {
+            CACHE[index] = new Position(index / 8, index % 8);
+        }
+    }
+    
     private final int row;
     private final int column;
     
@@ -22,6 +30,30 @@ public class Position {
         this.column = column;
     }
     
+    /**
+     * Retourne l'instance partagée d'une position, sans allocation.
+     * Les positions étant immuables, elles peuvent être partagées librement.
+     * @param row la ligne (0-7)
+     * @param column la colonne (0-7)
+     * @return la position
+     * @throws IllegalArgumentException si les coordonnées sont invalides
+     */
+    public static Position of(int row, int column) {
+        if (!isValid(row, column)) {
+            throw new IllegalArgumentException("Position invalide : (" + row + ", " + column + ")");
+        }
+        return CACHE[row * 8 + column];
+    }
+    
+    /**
+     * Retourne l'instance partagée d'une position à partir de son index.
+     * @param index l'index de la case (ligne * 8 + colonne, de 0 à 63)
+     * @return la position
+     */
+    public static Position of(int index) {
+        return CACHE[index];
+    }
+    
     /**
      * Vérifie si les coordonnées sont valides sur un plateau 8x8.
      * @param row la ligne
@@ -56,6 +88,14 @@ public class Position {
         return column;
     }
     
+    /**
+     * Retourne l'index de la case (ligne * 8 + colonne, de 0 à 63).
+     * @return l'index de la case
+     */
+    public int getIndex() {
+        return row * 8 + column;
+    }
+    
     /**
      * Calcule la distance en ligne entre cette position et une autre.
      * @param other l'autre position
@@ -112,7 +152,7 @@ public class Position {
         int newColumn = this.column + columnOffset;
         
         if (isValid(newRow, newColumn)) {
-            return new Position(newRow, newColumn);
+            return CACHE[newRow * 8 + newColumn];
         }
         return null;
     }
@@ -0,0 +1,74 @@
+package com.chess.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Clés de hachage de Zobrist pour identifier une position par un entier 64 bits.
+ * Les clés sont tirées d'un générateur à graine fixe afin d'être identiques d'une exécution à l'autre.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5EED_C0FF_EE15_C4E5L;
+    private static final long[][][] PIECE_KEYS = new long[2][PieceType.values().length][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long SIDE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[][] byColor : PIECE_KEYS) {
+            for (long[] byType : byColor) {
+                for (int square = 0; square < 64; square++) {
+                    byType[square] = random.nextLong();
+                }
+            }
+        }
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int column = 0; column < EN_PASSANT_KEYS.length; column++) {
+            EN_PASSANT_KEYS[column] = random.nextLong();
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Retourne la clé associée à une pièce sur une case.
+     * @param type le type de pièce
+     * @param color la couleur de la pièce
+     * @param row la ligne (0-7)
+     * @param column la colonne (0-7)
+     * @return la clé de Zobrist
+     */
+    public static long pieceKey(PieceType type, Color color, int row, int column) {
+        return PIECE_KEYS[color.ordinal()][type.ordinal()][row * 8 + column];
+    }
+
+    /**
+     * Retourne la clé associée à une combinaison de droits de roque.
+     * @param castlingRights le masque des droits de roque (voir Board.getCastlingRights)
+     * @return la clé de Zobrist (0 si aucun droit)
+     */
+    public static long castlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * Retourne la clé associée à une colonne de prise en passant.
+     * @param column la colonne de la case cible
+     * @return la clé de Zobrist
+     */
+    public static long enPassantKey(int column) {
+        return EN_PASSANT_KEYS[column];
+    }
+
+    /**
+     * Retourne la clé indiquant que les noirs ont le trait.
+     * @return la clé de Zobrist
+     */
+    public static long sideKey() {
+        return SIDE_KEY;
+    }
+}
@@ -0,0 +1,157 @@
+package com.chess.book;
+
+import com.chess.board.Board;
+import com.chess.engine.Move;
+import com.chess.io.MappedFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arbre d'ouvertures construit à partir d'archives de parties (voir OpeningTreeBuilder),
+ * consulté par projection en mémoire du fichier d'index.
+ *
+ * Le fichier commence par un en-tête de 32 octets (signature, version, nombre d'entrées),
+ * suivi d'entrées de 32 octets triées par clé de Zobrist puis par coup : clé (8 octets),
+ * coup encodé (4), nombre de parties (4), gains, nulles et pertes du joueur au trait (4 chacun),
+ * et 4 octets réservés.
+ */
+public class OpeningTree implements Closeable {
+    static final int MAGIC = 0x43484F54;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 32;
+
+    private final MappedFile file;
+    private final long entryCount;
+
+    /**
+     * Statistiques d'un coup dans une position.
+     */
+    public static final class Entry {
+        private final int move;
+        private final int count;
+        private final int wins;
+        private final int draws;
+        private final int losses;
+
+        Entry(int move, int count, int wins, int draws, int losses) {
+            this.move = move;
+            this.count = count;
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+        }
+
+        public int getMove() {
+            return move;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        /**
+         * Retourne le score moyen du joueur au trait (gain 1, nulle 0,5) sur les parties au résultat connu.
+         * @return le score entre 0 et 1, ou 0,5 sans résultat connu
+         */
+        public double getScore() {
+            int decided = wins + draws + losses;
+            return decided == 0 ? 0.5 : (wins + draws * 0.5) / decided;
+        }
+
+        @Override
+        public String toString() {
+            return Move.toUci(move) + " n=" + count + " +" + wins + " =" + draws + " -" + losses;
+        }
+    }
+
+    /**
+     * Ouvre un fichier d'index.
+     * @param path le chemin du fichier
+     * @throws IOException en cas d'erreur de lecture ou si le fichier n'est pas un arbre d'ouvertures
+     */
+    public OpeningTree(Path path) throws IOException {
+        this.file = new MappedFile(path);
+        if (file.size() < HEADER_SIZE || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+            file.close();
+            throw new IOException("Fichier d'arbre d'ouvertures invalide : " + path);
+        }
+        this.entryCount = file.getLong(8);
+        if (HEADER_SIZE + entryCount * ENTRY_SIZE != file.size()) {
+            file.close();
+            throw new IOException("Fichier d'arbre d'ouvertures tronqué : " + path);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'entrées (couples position, coup) de l'index.
+     * @return le nombre d'entrées
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Retourne les statistiques des coups joués dans une position.
+     * @param board le plateau
+     * @return les entrées de la position, triées par nombre de parties décroissant
+     */
+    public List<Entry> lookup(Board board) {
+        return lookup(board.getZobristKey());
+    }
+
+    /**
+     * Retourne les statistiques des coups joués dans une position.
+     * @param key la clé de Zobrist de la position
+     * @return les entrées de la position, triées par nombre de parties décroissant
+     */
+    public List<Entry> lookup(long key) {
+        List<Entry> entries = new ArrayList<>();
+        for (long i = lowerBound(key); i < entryCount && keyAt(i) == key; i++) {
+            long offset = HEADER_SIZE + i * ENTRY_SIZE;
+            entries.add(new Entry(file.getInt(offset + 8), file.getInt(offset + 12), file.getInt(offset + 16),
+                                  file.getInt(offset + 20), file.getInt(offset + 24)));
+        }
+        entries.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = entryCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(long index) {
+        return file.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+}
@@ -0,0 +1,336 @@
+package com.chess.book;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.io.ExternalSorter;
+import com.chess.pgn.PgnGame;
+import com.chess.pgn.PgnReader;
+import com.chess.pgn.SanParser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outil de construction d'un arbre d'ouvertures à partir d'archives PGN.
+ *
+ * Les parties sont lues séquentiellement puis rejouées sur des Board par lots, en parallèle.
+ * Chaque demi-coup des premiers coups produit un enregistrement (clé de la position, coup,
+ * résultat pour le joueur au trait) confié à un ExternalSorter : la mémoire reste bornée
+ * par la taille des runs, quel que soit le nombre de parties. La fusion finale agrège
+ * les enregistrements et écrit l'index trié lu par OpeningTree.
+ */
+public class OpeningTreeBuilder {
+    private static final int DEFAULT_MAX_PLIES = 40;
+    private static final int DEFAULT_RECORDS_PER_RUN = 1 << 20;
+    private static final int BATCH_SIZE = 256;
+
+    // Résultat de la partie pour le joueur au trait, stocké dans les 2 bits de poids faible
+    private static final int OUTCOME_WIN = 0;
+    private static final int OUTCOME_DRAW = 1;
+    private static final int OUTCOME_LOSS = 2;
+    private static final int OUTCOME_UNKNOWN = 3;
+
+    private final int threads;
+    private final int maxPlies;
+    private final int recordsPerRun;
+    private final Path tempDirectory;
+    private final AtomicLong gamesProcessed = new AtomicLong();
+    private final AtomicLong gamesRejected = new AtomicLong();
+
+    /**
+     * Constructeur avec les réglages par défaut.
+     * @param tempDirectory le répertoire des fichiers temporaires
+     */
+    public OpeningTreeBuilder(Path tempDirectory) {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PLIES, DEFAULT_RECORDS_PER_RUN, tempDirectory);
+    }
+
+    /**
+     * Constructeur pour créer un constructeur d'arbre.
+     * @param threads le nombre de threads de rejeu
+     * @param maxPlies le nombre de demi-coups enregistrés par partie
+     * @param recordsPerRun le nombre d'enregistrements gardés en mémoire par thread (24 octets chacun)
+     * @param tempDirectory le répertoire des fichiers temporaires
+     */
+    public OpeningTreeBuilder(int threads, int maxPlies, int recordsPerRun, Path tempDirectory) {
+        if (threads < 1 || maxPlies < 1) {
+            throw new IllegalArgumentException("Réglages invalides : threads=" + threads + ", plies=" + maxPlies);
+        }
+        this.threads = threads;
+        this.maxPlies = maxPlies;
+        this.recordsPerRun = recordsPerRun;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Construit l'index à partir de fichiers PGN.
+     * @param pgnFiles les fichiers PGN
+     * @param output le fichier d'index à écrire
+     * @return le nombre d'entrées (position, coup) de l'index
+     * @throws IOException en cas d'erreur de lecture ou d'écriture
+     */
+    public long build(List<Path> pgnFiles, Path output) throws IOException {
+        gamesProcessed.set(0);
+        gamesRejected.set(0);
+        try (ExternalSorter sorter = new ExternalSorter(tempDirectory, recordsPerRun)) {
+            replayAll(pgnFiles, sorter);
+            return writeIndex(sorter, output);
+        }
+    }
+
+    public long getGamesProcessed() {
+        return gamesProcessed.get();
+    }
+
+    /**
+     * Retourne le nombre de parties interrompues par un coup illisible ou illégal ;
+     * leurs coups précédents sont conservés.
+     * @return le nombre de parties rejetées
+     */
+    public long getGamesRejected() {
+        return gamesRejected.get();
+    }
+
+    private void replayAll(List<Path> pgnFiles, ExternalSorter sorter) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // Au plus deux lots en attente par thread : la lecture ne prend pas d'avance illimitée
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<ExternalSorter.Writer> writers = new ArrayList<>();
+        ThreadLocal<Replayer> replayers = ThreadLocal.withInitial(() -> {
+            ExternalSorter.Writer writer = sorter.newWriter();
+            synchronized (writers) {
+                writers.add(writer);
+            }
+            return new Replayer(writer);
+        });
+        List<Throwable> failures = new ArrayList<>();
+
+        try {
+            for (Path pgnFile : pgnFiles) {
+                try (PgnReader reader = new PgnReader(Files.newBufferedReader(pgnFile, StandardCharsets.UTF_8))) {
+                    List<PgnGame> batch = new ArrayList<>(BATCH_SIZE);
+                    PgnGame game;
+                    while ((game = reader.nextGame()) != null) {
+                        batch.add(game);
+                        if (batch.size() == BATCH_SIZE) {
+                            submit(executor, inFlight, batch, replayers, failures);
+                            batch = new ArrayList<>(BATCH_SIZE);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        submit(executor, inFlight, batch, replayers, failures);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                throw new IOException("Échec du rejeu des parties", failures.get(0));
+            }
+        }
+        for (ExternalSorter.Writer writer : writers) {
+            writer.flush();
+        }
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, List<PgnGame> batch,
+                        ThreadLocal<Replayer> replayers, List<Throwable> failures) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Construction interrompue", e);
+        }
+        executor.execute(() -> {
+            try {
+                Replayer replayer = replayers.get();
+                for (PgnGame game : batch) {
+                    replayer.replay(game);
+                }
+            } catch (RuntimeException e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static void awaitTermination(ExecutorService executor) throws IOException {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Attendre la fin des lots en cours
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Construction interrompue", e);
+        }
+    }
+
+    /**
+     * Fusionne les runs triés et écrit une entrée par couple (position, coup).
+     */
+    private static long writeIndex(ExternalSorter sorter, Path output) throws IOException {
+        long[] entryCount = new long[1];
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            out.write(new byte[OpeningTree.HEADER_SIZE]);
+            EntryAccumulator accumulator = new EntryAccumulator(out);
+            sorter.merge(accumulator::accept);
+            accumulator.finish();
+            entryCount[0] = accumulator.entries;
+        }
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(OpeningTree.HEADER_SIZE);
+            header.putInt(OpeningTree.MAGIC).putInt(OpeningTree.VERSION).putLong(entryCount[0]);
+            header.rewind();
+            channel.write(header, 0);
+        }
+        return entryCount[0];
+    }
+
+    /**
+     * Regroupe les enregistrements fusionnés d'un même couple (position, coup), dont les
+     * différents résultats arrivent consécutivement.
+     */
+    private static final class EntryAccumulator {
+        private final DataOutputStream out;
+        private boolean pending;
+        private long key;
+        private int move;
+        private final long[] outcomes = new long[4];
+        private long entries;
+
+        EntryAccumulator(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void accept(long recordKey, long value, long weight) throws IOException {
+            int recordMove = (int) (value >>> 2);
+            if (pending && (recordKey != key || recordMove != move)) {
+                finish();
+            }
+            key = recordKey;
+            move = recordMove;
+            outcomes[(int) (value & 0x3)] += weight;
+            pending = true;
+        }
+
+        void finish() throws IOException {
+            if (!pending) {
+                return;
+            }
+            long count = outcomes[0] + outcomes[1] + outcomes[2] + outcomes[3];
+            out.writeLong(key);
+            out.writeInt(move);
+            out.writeInt(saturate(count));
+            out.writeInt(saturate(outcomes[OUTCOME_WIN]));
+            out.writeInt(saturate(outcomes[OUTCOME_DRAW]));
+            out.writeInt(saturate(outcomes[OUTCOME_LOSS]));
+            out.writeInt(0);
+            entries++;
+            outcomes[0] = outcomes[1] = outcomes[2] = outcomes[3] = 0;
+            pending = false;
+        }
+
+        private static int saturate(long value) {
+            return (int) Math.min(value, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * État de rejeu propre à un thread.
+     */
+    private final class Replayer {
+        private final ExternalSorter.Writer writer;
+        private final SanParser sanParser = new SanParser();
+
+        Replayer(ExternalSorter.Writer writer) {
+            this.writer = writer;
+        }
+
+        void replay(PgnGame game) {
+            Board board;
+            String fen = game.getTag("FEN");
+            try {
+                if (fen != null) {
+                    board = Fen.parse(fen);
+                } else {
+                    board = new Board();
+                    board.initializeBoard();
+                }
+            } catch (IllegalArgumentException e) {
+                gamesRejected.incrementAndGet();
+                return;
+            }
+
+            List<String> moves = game.getMoves();
+            int plies = Math.min(maxPlies, moves.size());
+            for (int ply = 0; ply < plies; ply++) {
+                int move = sanParser.parse(board, moves.get(ply));
+                if (move == Move.NONE) {
+                    gamesRejected.incrementAndGet();
+                    break;
+                }
+                int outcome = outcomeFor(game.getResult(), board.getCurrentPlayer());
+                writer.add(board.getZobristKey(), ((long) move << 2) | outcome, 1);
+                MoveGenerator.makeMove(board, move);
+            }
+            gamesProcessed.incrementAndGet();
+        }
+    }
+
+    private static int outcomeFor(String result, Color mover) {
+        return switch (result) {
+            case PgnGame.WHITE_WINS -> mover == Color.WHITE ? OUTCOME_WIN : OUTCOME_LOSS;
+            case PgnGame.BLACK_WINS -> mover == Color.BLACK ? OUTCOME_WIN : OUTCOME_LOSS;
+            case PgnGame.DRAW -> OUTCOME_DRAW;
+            default -> OUTCOME_UNKNOWN;
+        };
+    }
+
+    /**
+     * Construit un index en ligne de commande.
+     * Usage : OpeningTreeBuilder index.bin partie1.pgn [partie2.pgn ...]
+     * @param args le fichier d'index puis les fichiers PGN
+     * @throws IOException en cas d'erreur de lecture ou d'écriture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : OpeningTreeBuilder <index> <pgn>...");
+            System.exit(1);
+        }
+        List<Path> pgnFiles = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            pgnFiles.add(Path.of(args[i]));
+        }
+        Path output = Path.of(args[0]).toAbsolutePath();
+        OpeningTreeBuilder builder = new OpeningTreeBuilder(output.getParent());
+        long start = System.currentTimeMillis();
+        long entries = builder.build(pgnFiles, output);
+        System.out.println(builder.getGamesProcessed() + " parties, " + builder.getGamesRejected()
+            + " rejetées, " + entries + " entrées en " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -0,0 +1,219 @@
+package com.chess.book;
+
+import com.chess.board.Board;
+import com.chess.board.Piece;
+import com.chess.board.PieceType;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.io.MappedFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.random.RandomGenerator;
+
+/**
+ * Livre d'ouvertures au format Polyglot « .bin », projeté en mémoire.
+ *
+ * Le fichier est une suite d'entrées de 16 octets gros-boutistes, triées par clé :
+ * clé (8 octets), coup (2), poids (2) et apprentissage (4). Une recherche dichotomique
+ * sur le fichier projeté trouve les entrées d'une position sans lire ni copier le livre :
+ * une consultation ne coûte que quelques accès mémoire et n'alloue aucun objet.
+ */
+public class PolyglotBook implements Closeable {
+    private static final int ENTRY_SIZE = 16;
+    // Types de promotion Polyglot : 1 cavalier, 2 fou, 3 tour, 4 dame
+    private static final PieceType[] PROMOTIONS = {
+        null, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    private final MappedFile file;
+    private final long entryCount;
+    private final PolyglotKey polyglotKey;
+    private final MoveGenerator moveGenerator;
+
+    /**
+     * Ouvre un livre avec la table Random64 standard.
+     * @param path le chemin du fichier « .bin »
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public PolyglotBook(Path path) throws IOException {
+        this(path, PolyglotKey.standard());
+    }
+
+    /**
+     * Ouvre un livre avec un calculateur de clés donné.
+     * @param path le chemin du fichier « .bin »
+     * @param polyglotKey le calculateur de clés
+     * @throws IOException en cas d'erreur de lecture, ou si la taille n'est pas un multiple de 16 octets
+     */
+    public PolyglotBook(Path path, PolyglotKey polyglotKey) throws IOException {
+        this.file = new MappedFile(path);
+        if (file.size() % ENTRY_SIZE != 0) {
+            file.close();
+            throw new IOException("Taille de livre invalide : " + file.size() + " octets");
+        }
+        this.entryCount = file.size() / ENTRY_SIZE;
+        this.polyglotKey = polyglotKey;
+        this.moveGenerator = new MoveGenerator();
+    }
+
+    /**
+     * Retourne le nombre d'entrées du livre.
+     * @return le nombre d'entrées
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Retourne le coup de plus fort poids pour la position.
+     * @param board le plateau
+     * @return le coup encodé, ou Move.NONE si la position est absente du livre
+     */
+    public int probeBest(Board board) {
+        long key = polyglotKey.compute(board);
+        int bestMove = Move.NONE;
+        int bestWeight = -1;
+        for (long i = lowerBound(key); i < entryCount && keyAt(i) == key; i++) {
+            int weight = weightAt(i);
+            if (weight > bestWeight) {
+                int move = toMove(board, moveAt(i));
+                if (move != Move.NONE) {
+                    bestMove = move;
+                    bestWeight = weight;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Tire un coup au hasard, avec une probabilité proportionnelle à son poids.
+     * @param board le plateau
+     * @param random le générateur aléatoire
+     * @return le coup encodé, ou Move.NONE si la position est absente du livre
+     */
+    public int probeRandom(Board board, RandomGenerator random) {
+        long key = polyglotKey.compute(board);
+        long first = lowerBound(key);
+        // Les entrées incohérentes avec la position ne participent pas au tirage
+        long totalWeight = 0;
+        for (long i = first; i < entryCount && keyAt(i) == key; i++) {
+            if (toMove(board, moveAt(i)) != Move.NONE) {
+                totalWeight += weightAt(i);
+            }
+        }
+        if (totalWeight == 0) {
+            return probeBest(board);
+        }
+        long pick = random.nextLong(totalWeight);
+        for (long i = first; i < entryCount && keyAt(i) == key; i++) {
+            int move = toMove(board, moveAt(i));
+            if (move == Move.NONE) {
+                continue;
+            }
+            pick -= weightAt(i);
+            if (pick < 0) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Copie les coups et poids d'une position dans des tableaux fournis par l'appelant.
+     * @param board le plateau
+     * @param moves le tableau des coups encodés à remplir
+     * @param weights le tableau des poids à remplir
+     * @return le nombre de coups copiés (au plus la taille des tableaux)
+     */
+    public int getMoves(Board board, int[] moves, int[] weights) {
+        long key = polyglotKey.compute(board);
+        int count = 0;
+        for (long i = lowerBound(key); i < entryCount && keyAt(i) == key && count < moves.length; i++) {
+            int move = toMove(board, moveAt(i));
+            if (move != Move.NONE) {
+                moves[count] = move;
+                weights[count] = weightAt(i);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retourne la clé Polyglot d'une position.
+     * @param board le plateau
+     * @return la clé
+     */
+    public long computeKey(Board board) {
+        return polyglotKey.compute(board);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Première entrée dont la clé (comparée sans signe) est supérieure ou égale à la clé cherchée.
+     */
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = entryCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(long index) {
+        return file.getLong(index * ENTRY_SIZE);
+    }
+
+    private int moveAt(long index) {
+        return file.getUnsignedShort(index * ENTRY_SIZE + 8);
+    }
+
+    private int weightAt(long index) {
+        return file.getUnsignedShort(index * ENTRY_SIZE + 10);
+    }
+
+    /**
+     * Convertit un coup Polyglot en coup encodé légal, ou Move.NONE s'il est illégal dans la position.
+     * Polyglot note le roque comme la prise de sa propre tour par le roi (e1h1, e1a1).
+     */
+    private int toMove(Board board, int polyglotMove) {
+        int toColumn = polyglotMove & 0x7;
+        int toRow = (polyglotMove >>> 3) & 0x7;
+        int fromColumn = (polyglotMove >>> 6) & 0x7;
+        int fromRow = (polyglotMove >>> 9) & 0x7;
+        int promotionBits = (polyglotMove >>> 12) & 0x7;
+        if (promotionBits >= PROMOTIONS.length) {
+            return Move.NONE;
+        }
+
+        Piece piece = board.getPieceAt(fromRow, fromColumn);
+        Piece target = board.getPieceAt(toRow, toColumn);
+        if (piece != null && piece.getType().isKing() && target != null && target.getType().isRook()
+            && target.getColor() == piece.getColor() && fromColumn == 4 && fromRow == toRow) {
+            toColumn = toColumn == 7 ? 6 : 2;
+        }
+
+        PieceType promotion = PROMOTIONS[promotionBits];
+        if (promotion == null && piece != null && piece.getType().isPawn() && (toRow == 0 || toRow == 7)) {
+            promotion = PieceType.QUEEN;
+        }
+        int move = Move.encode(fromRow * 8 + fromColumn, toRow * 8 + toColumn, promotion);
+        if (!moveGenerator.isPseudoLegal(board, move) || !moveGenerator.isLegal(board, move)) {
+            return Move.NONE;
+        }
+        return move;
+    }
+}
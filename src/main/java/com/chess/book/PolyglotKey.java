@@ -0,0 +1,140 @@
+package com.chess.book;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Piece;
+import com.chess.board.Position;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Calcule la clé Polyglot d'une position, qui indexe les entrées des livres d'ouvertures « .bin ».
+ *
+ * La clé combine 781 nombres aléatoires de 64 bits (table « Random64 » du format) : 768 pour
+ * les pièces, 4 pour les droits de roque, 8 pour la colonne de prise en passant et 1 pour le trait.
+ * La table standard est lue depuis la ressource {@value #RANDOM64_RESOURCE} (un nombre hexadécimal
+ * par ligne) ; une autre table peut être fournie au constructeur.
+ */
+public class PolyglotKey {
+    /** Nombre de valeurs de la table Random64. */
+    public static final int RANDOM64_LENGTH = 781;
+    /** Ressource contenant la table Random64 standard. */
+    public static final String RANDOM64_RESOURCE = "/com/chess/book/polyglot-random64.txt";
+
+    private static final int CASTLING_OFFSET = 768;
+    private static final int EN_PASSANT_OFFSET = 772;
+    private static final int TURN_OFFSET = 780;
+    // Rang Polyglot des types de pièces, indexé par PieceType.ordinal() (roi, dame, tour, fou, cavalier, pion)
+    private static final int[] POLYGLOT_KIND = {5, 4, 3, 2, 1, 0};
+
+    private final long[] random64;
+
+    /**
+     * Constructeur pour utiliser une table Random64 donnée.
+     * @param random64 les 781 valeurs de la table
+     * @throws IllegalArgumentException si la table n'a pas la bonne taille
+     */
+    public PolyglotKey(long[] random64) {
+        if (random64 == null || random64.length != RANDOM64_LENGTH) {
+            throw new IllegalArgumentException("La table Random64 doit contenir " + RANDOM64_LENGTH + " valeurs");
+        }
+        this.random64 = random64.clone();
+    }
+
+    /**
+     * Charge la table Random64 standard depuis le classpath.
+     * @return le calculateur de clés Polyglot
+     * @throws IllegalStateException si la ressource est absente ou invalide
+     */
+    public static PolyglotKey standard() {
+        InputStream stream = PolyglotKey.class.getResourceAsStream(RANDOM64_RESOURCE);
+        if (stream == null) {
+            throw new IllegalStateException("Table Random64 introuvable : " + RANDOM64_RESOURCE);
+        }
+        long[] values = new long[RANDOM64_LENGTH];
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (count == RANDOM64_LENGTH) {
+                    throw new IllegalStateException("Table Random64 trop longue : " + RANDOM64_RESOURCE);
+                }
+                if (line.startsWith("0x") || line.startsWith("0X")) {
+                    line = line.substring(2);
+                }
+                values[count++] = Long.parseUnsignedLong(line, 16);
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Table Random64 illisible : " + RANDOM64_RESOURCE, e);
+        }
+        if (count != RANDOM64_LENGTH) {
+            throw new IllegalStateException("Table Random64 incomplète : " + count + " valeurs");
+        }
+        return new PolyglotKey(values);
+    }
+
+    /**
+     * Calcule la clé Polyglot d'une position.
+     * @param board le plateau
+     * @return la clé de 64 bits
+     */
+    public long compute(Board board) {
+        long key = 0L;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece != null) {
+                    int kind = 2 * POLYGLOT_KIND[piece.getType().ordinal()]
+                        + (piece.getColor() == Color.WHITE ? 1 : 0);
+                    key ^= random64[64 * kind + 8 * row + column];
+                }
+            }
+        }
+
+        // Même ordre des droits que Board.getCastlingRights : K, Q, k, q
+        int rights = board.getCastlingRights();
+        for (int bit = 0; bit < 4; bit++) {
+            if ((rights & (1 << bit)) != 0) {
+                key ^= random64[CASTLING_OFFSET + bit];
+            }
+        }
+
+        Position enPassant = board.getEnPassantTarget();
+        if (enPassant != null && canCaptureEnPassant(board, enPassant)) {
+            key ^= random64[EN_PASSANT_OFFSET + enPassant.getColumn()];
+        }
+
+        if (board.getCurrentPlayer() == Color.WHITE) {
+            key ^= random64[TURN_OFFSET];
+        }
+        return key;
+    }
+
+    /**
+     * Polyglot ne compte la colonne de prise en passant que si un pion du joueur au trait
+     * est à côté du pion qui vient d'avancer de deux cases.
+     */
+    private static boolean canCaptureEnPassant(Board board, Position target) {
+        Color mover = board.getCurrentPlayer();
+        int pawnRow = target.getRow() - mover.getPawnDirection();
+        for (int offset = -1; offset <= 1; offset += 2) {
+            int column = target.getColumn() + offset;
+            if (column < 0 || column > 7) {
+                continue;
+            }
+            Piece piece = board.getPieceAt(pawnRow, column);
+            if (piece != null && piece.getType().isPawn() && piece.getColor() == mover) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,352 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Piece;
+import com.chess.board.PieceSquareTables;
+import com.chess.board.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Évaluation statique d'une position, interpolée entre milieu de partie et finale.
+ *
+ * Le matériel et les tables positionnelles sont maintenus incrémentalement par le plateau :
+ * seuls la mobilité, la structure de pions et la sécurité du roi sont calculés ici.
+ * Les termes de pions sont mis en cache par structure de pions ; une instance n'est donc
+ * pas destinée à être partagée entre plusieurs threads.
+ */
+public class Evaluator {
+    private static final int[][] KNIGHT_OFFSETS = {
+        {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    private static final int[][] DIAGONALS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final int[][] LINES = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    // Mobilité : bonus par case accessible au-delà d'une mobilité de référence (indexés par ordinal)
+    private static final int[] MOBILITY_BASELINE = {0, 13, 7, 6, 4, 0};
+    private static final int[] MOBILITY_MIDGAME = {0, 1, 2, 5, 4, 0};
+    private static final int[] MOBILITY_ENDGAME = {0, 2, 4, 5, 4, 0};
+
+    // Sécurité du roi : poids des attaquants de la zone du roi et pénalité associée
+    private static final int[] KING_ATTACK_WEIGHTS = {0, 5, 3, 2, 2, 0};
+    private static final int[] KING_SAFETY_PENALTY = {
+        0, 0, 1, 2, 4, 7, 10, 14, 19, 25, 32, 40, 49, 59, 70, 82, 95, 110, 125, 140, 160
+    };
+    private static final int SHIELD_PAWN_NEAR = 12;
+    private static final int SHIELD_PAWN_FAR = 6;
+    private static final int SHIELD_MISSING = -15;
+
+    // Structure de pions
+    private static final int[] PASSED_PAWN_MIDGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_PAWN_ENDGAME = {0, 10, 20, 35, 55, 85, 120, 0};
+    private static final int DOUBLED_MIDGAME = -10;
+    private static final int DOUBLED_ENDGAME = -20;
+    private static final int ISOLATED_MIDGAME = -10;
+    private static final int ISOLATED_ENDGAME = -15;
+    private static final int BACKWARD_MIDGAME = -8;
+    private static final int BACKWARD_ENDGAME = -10;
+
+    private final PawnHashTable pawnHashTable;
+    private final int[] pawnTerms = new int[2];
+
+    // Tampons de travail réutilisés à chaque évaluation, pour ne rien allouer par nœud
+    private final int[] terms = new int[2];
+    private final int[] kingRows = new int[2];
+    private final int[] kingColumns = new int[2];
+    private final int[] kingAttackUnits = new int[2];
+    private final int[][] pawnRows = new int[2][8];
+
+    /**
+     * Constructeur avec une table de pions de taille par défaut.
+     */
+    public Evaluator() {
+        this(new PawnHashTable());
+    }
+
+    /**
+     * Constructeur pour créer un évaluateur utilisant une table de pions donnée.
+     * @param pawnHashTable le cache des termes de structure de pions
+     */
+    public Evaluator(PawnHashTable pawnHashTable) {
+        this.pawnHashTable = pawnHashTable;
+    }
+
+    /**
+     * Retourne le cache des termes de structure de pions.
+     * @return la table de pions
+     */
+    public PawnHashTable getPawnHashTable() {
+        return pawnHashTable;
+    }
+
+    /**
+     * Évalue la position du point de vue du joueur dont c'est le tour.
+     * @param board le plateau
+     * @return le score en centipions (positif si le joueur au trait est mieux)
+     */
+    public int evaluate(Board board) {
+        int score = evaluateForWhite(board);
+        return board.getCurrentPlayer() == Color.WHITE ? score : -score;
+    }
+
+    /**
+     * Évalue la position du point de vue des blancs.
+     * @param board le plateau
+     * @return le score en centipions (positif si les blancs sont mieux)
+     */
+    public int evaluateForWhite(Board board) {
+        int midgame = board.getMidgameScore(Color.WHITE) - board.getMidgameScore(Color.BLACK);
+        int endgame = board.getEndgameScore(Color.WHITE) - board.getEndgameScore(Color.BLACK);
+
+        terms[0] = 0;
+        terms[1] = 0;
+        evaluatePieces(board, terms);
+        addPawnStructure(board, terms);
+        midgame += terms[0];
+        endgame += terms[1];
+
+        int phase = Math.min(board.getGamePhase(), PieceSquareTables.TOTAL_PHASE);
+        return (midgame * phase + endgame * (PieceSquareTables.TOTAL_PHASE - phase))
+            / PieceSquareTables.TOTAL_PHASE;
+    }
+
+    /**
+     * Calcule la mobilité des pièces et la sécurité des rois en un seul parcours du plateau.
+     * @param board le plateau
+     * @param terms accumulateur {milieu de partie, finale} du point de vue des blancs
+     */
+    private void evaluatePieces(Board board, int[] terms) {
+        Arrays.fill(kingRows, 0);
+        Arrays.fill(kingColumns, 0);
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece != null && piece.getType().isKing()) {
+                    kingRows[piece.getColor().ordinal()] = row;
+                    kingColumns[piece.getColor().ordinal()] = column;
+                }
+            }
+        }
+
+        // Unités d'attaque portées contre la zone du roi de chaque couleur
+        Arrays.fill(kingAttackUnits, 0);
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece == null || piece.getType().isPawn() || piece.getType().isKing()) {
+                    continue;
+                }
+                int side = piece.getColor().ordinal();
+                int enemy = 1 - side;
+                int counts = countMobility(board, piece, row, column,
+                    kingRows[enemy], kingColumns[enemy]);
+                int kingZoneHits = counts >>> 8;
+                int type = piece.getType().ordinal();
+                int mobility = (counts & 0xFF) - MOBILITY_BASELINE[type];
+                int sign = side == Color.WHITE.ordinal() ? 1 : -1;
+                terms[0] += sign * mobility * MOBILITY_MIDGAME[type];
+                terms[1] += sign * mobility * MOBILITY_ENDGAME[type];
+                if (kingZoneHits > 0) {
+                    kingAttackUnits[enemy] += KING_ATTACK_WEIGHTS[type] * kingZoneHits;
+                }
+            }
+        }
+
+        for (Color color : Color.values()) {
+            int side = color.ordinal();
+            int safety = pawnShield(board, color, kingRows[side], kingColumns[side])
+                - KING_SAFETY_PENALTY[Math.min(kingAttackUnits[side], KING_SAFETY_PENALTY.length - 1)];
+            terms[0] += color == Color.WHITE ? safety : -safety;
+        }
+    }
+
+    /**
+     * Compte les cases accessibles à une pièce et celles qui touchent la zone du roi adverse.
+     * @return la mobilité dans les 8 bits de poids faible, le nombre de cases attaquées
+     *         dans la zone du roi adverse au-dessus
+     */
+    private int countMobility(Board board, Piece piece, int row, int column,
+                              int enemyKingRow, int enemyKingColumn) {
+        int mobility = 0;
+        int kingZoneHits = 0;
+        PieceType type = piece.getType();
+        Color color = piece.getColor();
+
+        if (type == PieceType.KNIGHT) {
+            for (int[] offset : KNIGHT_OFFSETS) {
+                int r = row + offset[0];
+                int c = column + offset[1];
+                if (r < 0 || r > 7 || c < 0 || c > 7) {
+                    continue;
+                }
+                Piece target = board.getPieceAt(r, c);
+                if (target == null || target.getColor() != color) {
+                    mobility++;
+                }
+                if (Math.abs(r - enemyKingRow) <= 1 && Math.abs(c - enemyKingColumn) <= 1) {
+                    kingZoneHits++;
+                }
+            }
+            return kingZoneHits << 8 | mobility;
+        }
+
+        boolean diagonal = type == PieceType.BISHOP || type == PieceType.QUEEN;
+        boolean straight = type == PieceType.ROOK || type == PieceType.QUEEN;
+        for (int pass = 0; pass < 2; pass++) {
+            if ((pass == 0 && !diagonal) || (pass == 1 && !straight)) {
+                continue;
+            }
+            for (int[] direction : pass == 0 ? DIAGONALS : LINES) {
+                int r = row + direction[0];
+                int c = column + direction[1];
+                while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                    Piece target = board.getPieceAt(r, c);
+                    if (target == null || target.getColor() != color) {
+                        mobility++;
+                    }
+                    if (Math.abs(r - enemyKingRow) <= 1 && Math.abs(c - enemyKingColumn) <= 1) {
+                        kingZoneHits++;
+                    }
+                    if (target != null) {
+                        break;
+                    }
+                    r += direction[0];
+                    c += direction[1];
+                }
+            }
+        }
+        return kingZoneHits << 8 | mobility;
+    }
+
+    /**
+     * Évalue le bouclier de pions devant un roi resté sur ses deux premières rangées.
+     */
+    private int pawnShield(Board board, Color color, int kingRow, int kingColumn) {
+        int relativeRank = color == Color.WHITE ? kingRow : 7 - kingRow;
+        if (relativeRank > 1) {
+            return 0;
+        }
+        int direction = color.getPawnDirection();
+        int score = 0;
+        for (int c = Math.max(0, kingColumn - 1); c <= Math.min(7, kingColumn + 1); c++) {
+            if (isOwnPawn(board, kingRow + direction, c, color)) {
+                score += SHIELD_PAWN_NEAR;
+            } else if (isOwnPawn(board, kingRow + 2 * direction, c, color)) {
+                score += SHIELD_PAWN_FAR;
+            } else {
+                score += SHIELD_MISSING;
+            }
+        }
+        return score;
+    }
+
+    private boolean isOwnPawn(Board board, int row, int column, Color color) {
+        if (row < 0 || row > 7) {
+            return false;
+        }
+        Piece piece = board.getPieceAt(row, column);
+        return piece != null && piece.getType().isPawn() && piece.getColor() == color;
+    }
+
+    /**
+     * Ajoute les termes de structure de pions, calculés une seule fois par structure.
+     * Une structure sans aucun pion a la clé 0 et des termes nuls.
+     */
+    private void addPawnStructure(Board board, int[] terms) {
+        long pawnKey = board.getPawnKey();
+        if (!pawnHashTable.probe(pawnKey, pawnTerms)) {
+            pawnTerms[0] = 0;
+            pawnTerms[1] = 0;
+            evaluatePawnStructure(board, pawnTerms);
+            pawnHashTable.store(pawnKey, pawnTerms[0], pawnTerms[1]);
+        }
+        terms[0] += pawnTerms[0];
+        terms[1] += pawnTerms[1];
+    }
+
+    /**
+     * Évalue la structure de pions : pions passés, doublés, isolés et arriérés.
+     * @param board le plateau
+     * @param terms accumulateur {milieu de partie, finale} du point de vue des blancs
+     */
+    void evaluatePawnStructure(Board board, int[] terms) {
+        // Masque des lignes occupées par les pions de chaque couleur, par colonne
+        Arrays.fill(pawnRows[0], 0);
+        Arrays.fill(pawnRows[1], 0);
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece != null && piece.getType().isPawn()) {
+                    pawnRows[piece.getColor().ordinal()][column] |= 1 << row;
+                }
+            }
+        }
+
+        for (Color color : Color.values()) {
+            int side = color.ordinal();
+            int[] own = pawnRows[side];
+            int[] enemy = pawnRows[1 - side];
+            int sign = color == Color.WHITE ? 1 : -1;
+            int direction = color.getPawnDirection();
+            int midgame = 0;
+            int endgame = 0;
+
+            for (int column = 0; column < 8; column++) {
+                int pawns = Integer.bitCount(own[column]);
+                if (pawns == 0) {
+                    continue;
+                }
+                if (pawns > 1) {
+                    midgame += (pawns - 1) * DOUBLED_MIDGAME;
+                    endgame += (pawns - 1) * DOUBLED_ENDGAME;
+                }
+                int neighbours = (column > 0 ? own[column - 1] : 0) | (column < 7 ? own[column + 1] : 0);
+                boolean isolated = neighbours == 0;
+
+                for (int row = 0; row < 8; row++) {
+                    if ((own[column] & (1 << row)) == 0) {
+                        continue;
+                    }
+                    int relativeRank = color == Color.WHITE ? row : 7 - row;
+                    int ahead = rowsAhead(color, row);
+                    int enemyFront = enemy[column]
+                        | (column > 0 ? enemy[column - 1] : 0)
+                        | (column < 7 ? enemy[column + 1] : 0);
+
+                    if ((enemyFront & ahead) == 0 && (own[column] & ahead) == 0) {
+                        midgame += PASSED_PAWN_MIDGAME[relativeRank];
+                        endgame += PASSED_PAWN_ENDGAME[relativeRank];
+                    }
+                    if (isolated) {
+                        midgame += ISOLATED_MIDGAME;
+                        endgame += ISOLATED_ENDGAME;
+                    } else if ((neighbours & ~ahead) == 0 && isAttackedByEnemyPawn(enemy, row + direction, column, color)) {
+                        // Aucun pion voisin à hauteur ou en retrait pour le soutenir, et la case d'avance est contrôlée
+                        midgame += BACKWARD_MIDGAME;
+                        endgame += BACKWARD_ENDGAME;
+                    }
+                }
+            }
+            terms[0] += sign * midgame;
+            terms[1] += sign * endgame;
+        }
+    }
+
+    /**
+     * Retourne le masque des lignes situées strictement devant une ligne donnée pour une couleur.
+     */
+    private static int rowsAhead(Color color, int row) {
+        return color == Color.WHITE ? (0xFF << (row + 1)) & 0xFF : (1 << row) - 1;
+    }
+
+    private static boolean isAttackedByEnemyPawn(int[] enemyPawnRows, int row, int column, Color color) {
+        int attackerRow = row + color.getPawnDirection();
+        if (attackerRow < 0 || attackerRow > 7) {
+            return false;
+        }
+        int bit = 1 << attackerRow;
+        return (column > 0 && (enemyPawnRows[column - 1] & bit) != 0)
+            || (column < 7 && (enemyPawnRows[column + 1] & bit) != 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.chess.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Arbre de solution d'un problème de mat. La racine ne porte pas de coup : ses enfants sont
+ * les coups clés (plusieurs clés signalent une démolition du problème). Sous un coup de
+ * l'attaquant figurent toutes les défenses ; sous une défense, la suite la plus rapide de
+ * l'attaquant. Une défense sans enfant est un mat.
+ */
+public class MateSolution {
+    private final int move;
+    private final List<MateSolution> children = new ArrayList<>();
+
+    /**
+     * Constructeur d'un nœud.
+     * @param move le coup encodé (Move.NONE pour la racine)
+     */
+    public MateSolution(int move) {
+        this.move = move;
+    }
+
+    void addChild(MateSolution child) {
+        children.add(child);
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public List<MateSolution> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Retourne les coups clés (enfants de la racine).
+     * @return les coups encodés, dans l'ordre de génération
+     */
+    public List<Integer> getKeyMoves() {
+        List<Integer> keys = new ArrayList<>();
+        for (MateSolution child : children) {
+            keys.add(child.move);
+        }
+        return keys;
+    }
+
+    /**
+     * Indique si le problème admet plusieurs coups clés.
+     * @return true si le problème est démoli
+     */
+    public boolean isCooked() {
+        return children.size() > 1;
+    }
+
+    /**
+     * Compte les demi-coups de la plus longue variante de l'arbre.
+     * @return la longueur en demi-coups
+     */
+    public int getLength() {
+        int longest = 0;
+        for (MateSolution child : children) {
+            longest = Math.max(longest, child.getLength() + 1);
+        }
+        return longest;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        format(sb, 0);
+        return sb.toString();
+    }
+
+    private void format(StringBuilder sb, int indent) {
+        for (MateSolution child : children) {
+            sb.append("  ".repeat(indent)).append(Move.toUci(child.move)).append('\n');
+            child.format(sb, indent + 1);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Résout les problèmes de mat en N coups par recherche en profondeur des nombres de preuve
+ * (df-pn).
+ *
+ * Chaque nœud porte un nombre de preuve (pn, le nombre minimal de feuilles à prouver pour
+ * établir le mat) et un nombre de réfutation (dn). Aux nœuds de l'attaquant (OU), pn est le
+ * minimum des enfants et dn leur somme ; aux nœuds du défenseur (ET), l'inverse. La recherche
+ * descend toujours vers l'enfant le plus prometteur, avec des seuils qui la font remonter dès
+ * qu'un autre chemin devient plus prometteur. Les nombres sont mémorisés dans une table propre,
+ * indexée par la clé de Zobrist combinée au nombre de demi-coups restants.
+ *
+ * Le dernier coup de l'attaquant doit donner échec ; l'option checksOnly restreint tous
+ * ses coups aux échecs (problèmes d'échecs continus).
+ */
+public class MateSolver {
+    private static final int INFINITE = Integer.MAX_VALUE / 4;
+    private static final int DEFAULT_TABLE_BITS = 20;
+    private static final long[] DEPTH_KEYS = new long[2 * Search.MAX_PLY];
+
+    static {
+        Random random = new Random(0x4D415445L);
+        for (int i = 0; i < DEPTH_KEYS.length; i++) {
+            DEPTH_KEYS[i] = random.nextLong();
+        }
+    }
+
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final long[] keys;
+    private final int[] proofNumbers;
+    private final int[] disproofNumbers;
+    private final int mask;
+    private boolean checksOnly;
+    private long nodeLimit = Long.MAX_VALUE;
+    private long nodes;
+    private boolean aborted;
+    private int lastProof;
+    private int lastDisproof;
+
+    /**
+     * Constructeur avec une table de 2^20 entrées.
+     */
+    public MateSolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Constructeur.
+     * @param tableBits le logarithme en base 2 du nombre d'entrées de la table
+     */
+    public MateSolver(int tableBits) {
+        if (tableBits < 4 || tableBits > 28) {
+            throw new IllegalArgumentException("Taille de table invalide : " + tableBits);
+        }
+        int capacity = 1 << tableBits;
+        this.keys = new long[capacity];
+        this.proofNumbers = new int[capacity];
+        this.disproofNumbers = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Restreint les coups de l'attaquant aux échecs.
+     * @param checksOnly true pour n'essayer que les coups donnant échec
+     */
+    public void setChecksOnly(boolean checksOnly) {
+        this.checksOnly = checksOnly;
+    }
+
+    /**
+     * Limite le nombre de nœuds d'une résolution.
+     * @param nodeLimit le nombre maximal de nœuds
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Cherche toutes les solutions d'un mat en N coups pour le joueur au trait.
+     * Le plateau est restauré à la fin.
+     * @param board le plateau
+     * @param mateIn le nombre de coups de l'attaquant
+     * @return l'arbre de solution, ou null s'il n'y a pas de mat (ou si la limite de nœuds est atteinte)
+     */
+    public MateSolution solve(Board board, int mateIn) {
+        if (mateIn < 1 || 2 * mateIn > DEPTH_KEYS.length) {
+            throw new IllegalArgumentException("Nombre de coups invalide : " + mateIn);
+        }
+        nodes = 0;
+        aborted = false;
+        Arrays.fill(keys, 0L);
+        int plies = 2 * mateIn - 1;
+        if (!prove(board, plies, true)) {
+            return null;
+        }
+        MateSolution root = new MateSolution(Move.NONE);
+        MoveList moves = attackerMoves(board, plies);
+        for (int i = 0; i < moves.size() && !aborted; i++) {
+            MoveGenerator.makeMove(board, moves.get(i));
+            if (prove(board, plies - 1, false)) {
+                MateSolution key = new MateSolution(moves.get(i));
+                addDefences(board, plies - 1, key);
+                root.addChild(key);
+            }
+            board.unmakeMove();
+        }
+        return aborted ? null : root;
+    }
+
+    /**
+     * Indique si la dernière résolution a été interrompue par la limite de nœuds.
+     * @return true si la limite a été atteinte
+     */
+    public boolean isNodeLimitReached() {
+        return aborted;
+    }
+
+    /**
+     * Retourne le nombre de nœuds développés lors de la dernière résolution.
+     * @return le nombre de nœuds
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Ajoute sous un coup de l'attaquant toutes les défenses et, sous chacune, la suite la plus rapide.
+     */
+    private void addDefences(Board board, int plies, MateSolution parent) {
+        MoveList defences = new MoveList();
+        moveGenerator.generateLegal(board, defences);
+        for (int i = 0; i < defences.size() && !aborted; i++) {
+            MateSolution defence = new MateSolution(defences.get(i));
+            MoveGenerator.makeMove(board, defences.get(i));
+            addFastestMate(board, plies - 1, defence);
+            board.unmakeMove();
+            parent.addChild(defence);
+        }
+    }
+
+    private void addFastestMate(Board board, int plies, MateSolution parent) {
+        for (int depth = 1; depth <= plies; depth += 2) {
+            MoveList moves = attackerMoves(board, depth);
+            for (int i = 0; i < moves.size(); i++) {
+                MoveGenerator.makeMove(board, moves.get(i));
+                boolean mates = prove(board, depth - 1, false);
+                if (mates) {
+                    MateSolution attack = new MateSolution(moves.get(i));
+                    addDefences(board, depth - 1, attack);
+                    parent.addChild(attack);
+                }
+                board.unmakeMove();
+                if (mates || aborted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean prove(Board board, int plies, boolean attacker) {
+        search(board, plies, attacker, INFINITE, INFINITE);
+        return !aborted && lastProof == 0;
+    }
+
+    /**
+     * Développe un nœud jusqu'à ce que son pn ou son dn atteigne son seuil.
+     */
+    private void search(Board board, int plies, boolean attacker, int proofThreshold, int disproofThreshold) {
+        long key = keyOf(board, plies);
+        nodes++;
+        if (nodes > nodeLimit) {
+            aborted = true;
+            lastProof = 1;
+            lastDisproof = 1;
+            return;
+        }
+        MoveList moves = attacker ? attackerMoves(board, plies) : defenderMoves(board, plies);
+        if (moves == null || moves.size() == 0) {
+            // Attaquant sans coup utile, ou défenseur mat (preuve) ou pat / à court de coups (réfutation)
+            boolean mated = !attacker && moves != null && board.isInCheck(board.getCurrentPlayer());
+            store(key, mated ? 0 : INFINITE, mated ? INFINITE : 0);
+            return;
+        }
+        // Les nombres des enfants sont lus une fois dans la table puis mis à jour par les appels
+        // récursifs : un enfant évincé de la table n'est pas redéveloppé indéfiniment
+        int count = moves.size();
+        int[] childProofs = new int[count];
+        int[] childDisproofs = new int[count];
+        for (int i = 0; i < count; i++) {
+            MoveGenerator.makeMove(board, moves.get(i));
+            long childKey = keyOf(board, plies - 1);
+            board.unmakeMove();
+            int slot = slotOf(childKey);
+            boolean known = keys[slot] == childKey;
+            childProofs[i] = known ? proofNumbers[slot] : 1;
+            childDisproofs[i] = known ? disproofNumbers[slot] : 1;
+        }
+
+        while (true) {
+            // Pour un nœud OU, « delta » est pn et « phi » dn ; pour un nœud ET, l'inverse
+            int minDelta = INFINITE;
+            int secondDelta = INFINITE;
+            int sumPhi = 0;
+            int best = -1;
+            int bestPhi = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = attacker ? childProofs[i] : childDisproofs[i];
+                int phi = attacker ? childDisproofs[i] : childProofs[i];
+                sumPhi = Math.min(INFINITE, sumPhi + phi);
+                if (delta < minDelta) {
+                    secondDelta = minDelta;
+                    minDelta = delta;
+                    best = i;
+                    bestPhi = phi;
+                } else if (delta < secondDelta) {
+                    secondDelta = delta;
+                }
+            }
+            int proof = attacker ? minDelta : sumPhi;
+            int disproof = attacker ? sumPhi : minDelta;
+            if (proof >= proofThreshold || disproof >= disproofThreshold || aborted) {
+                store(key, proof, disproof);
+                return;
+            }
+            int deltaThreshold = attacker ? proofThreshold : disproofThreshold;
+            int phiThreshold = attacker ? disproofThreshold : proofThreshold;
+            int childDelta = Math.min(deltaThreshold, secondDelta + 1);
+            int childPhi = Math.min(INFINITE, phiThreshold - sumPhi + bestPhi);
+            MoveGenerator.makeMove(board, moves.get(best));
+            if (attacker) {
+                search(board, plies - 1, false, childDelta, childPhi);
+            } else {
+                search(board, plies - 1, true, childPhi, childDelta);
+            }
+            board.unmakeMove();
+            childProofs[best] = lastProof;
+            childDisproofs[best] = lastDisproof;
+        }
+    }
+
+    /**
+     * Coups de l'attaquant : les échecs seulement pour le dernier coup ou en mode checksOnly.
+     * @return les coups, ou null s'il ne reste aucun coup à l'attaquant
+     */
+    private MoveList attackerMoves(Board board, int plies) {
+        MoveList moves = new MoveList();
+        if (plies <= 0) {
+            return null;
+        }
+        moveGenerator.generateLegal(board, moves);
+        if (!checksOnly && plies > 1) {
+            return moves;
+        }
+        Color defender = board.getCurrentPlayer().opposite();
+        MoveList checks = new MoveList();
+        for (int i = 0; i < moves.size(); i++) {
+            MoveGenerator.makeMove(board, moves.get(i));
+            if (board.isInCheck(defender)) {
+                checks.add(moves.get(i));
+            }
+            board.unmakeMove();
+        }
+        return checks;
+    }
+
+    /**
+     * Coups du défenseur ; liste vide en cas de mat ou de pat.
+     * @return les coups, ou null si le défenseur n'est pas mat alors que l'attaquant n'a plus de coup
+     */
+    private MoveList defenderMoves(Board board, int plies) {
+        MoveList moves = new MoveList();
+        moveGenerator.generateLegal(board, moves);
+        if (plies <= 0 && moves.size() > 0) {
+            return null;
+        }
+        return moves;
+    }
+
+    private long keyOf(Board board, int plies) {
+        return board.getZobristKey() ^ DEPTH_KEYS[plies];
+    }
+
+    private int slotOf(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void store(long key, int proof, int disproof) {
+        lastProof = proof;
+        lastDisproof = disproof;
+        int slot = slotOf(key);
+        keys[slot] = key;
+        proofNumbers[slot] = proof;
+        disproofNumbers[slot] = disproof;
+    }
+}
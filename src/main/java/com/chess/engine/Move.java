@@ -0,0 +1,145 @@
+package com.chess.engine;
+
+import com.chess.board.Fen;
+import com.chess.board.PieceType;
+import com.chess.board.Position;
+
+/**
+ * Encodage compact d'un coup dans un entier, utilisé par la recherche pour éviter les allocations.
+ *
+ * Bits 0-5 : case de départ, bits 6-11 : case d'arrivée (index ligne * 8 + colonne),
+ * bits 12-14 : type de promotion (ordinal + 1, 0 si aucune).
+ */
+public final class Move {
+    /** Valeur représentant l'absence de coup. */
+    public static final int NONE = 0;
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private Move() {
+    }
+
+    /**
+     * Encode un coup.
+     * @param from l'index de la case de départ
+     * @param to l'index de la case d'arrivée
+     * @param promotion le type de promotion, ou null
+     * @return le coup encodé
+     */
+    public static int encode(int from, int to, PieceType promotion) {
+        int promotionBits = promotion == null ? 0 : promotion.ordinal() + 1;
+        return from | (to << 6) | (promotionBits << 12);
+    }
+
+    /**
+     * Encode un coup à partir de positions.
+     * @param from la position de départ
+     * @param to la position d'arrivée
+     * @param promotion le type de promotion, ou null
+     * @return le coup encodé
+     */
+    public static int encode(Position from, Position to, PieceType promotion) {
+        return encode(from.getIndex(), to.getIndex(), promotion);
+    }
+
+    /**
+     * Retourne l'index de la case de départ.
+     * @param move le coup encodé
+     * @return l'index de la case de départ
+     */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Retourne l'index de la case d'arrivée.
+     * @param move le coup encodé
+     * @return l'index de la case d'arrivée
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Retourne le type de promotion.
+     * @param move le coup encodé
+     * @return le type de promotion, ou null
+     */
+    public static PieceType promotion(int move) {
+        int bits = (move >>> 12) & 0x7;
+        return bits == 0 ? null : TYPES[bits - 1];
+    }
+
+    /**
+     * Retourne la position de départ.
+     * @param move le coup encodé
+     * @return la position de départ
+     */
+    public static Position fromPosition(int move) {
+        return Position.of(from(move));
+    }
+
+    /**
+     * Retourne la position d'arrivée.
+     * @param move le coup encodé
+     * @return la position d'arrivée
+     */
+    public static Position toPosition(int move) {
+        return Position.of(to(move));
+    }
+
+    /**
+     * Retourne une représentation lisible du coup.
+     * @param move le coup encodé
+     * @return la représentation du coup
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "(aucun)";
+        }
+        PieceType promotion = promotion(move);
+        return Fen.squareName(from(move)) + "-" + Fen.squareName(to(move))
+            + (promotion == null ? "" : "=" + promotion.getSymbol());
+    }
+
+    /**
+     * Retourne le coup en notation UCI (ex : « e2e4 », « e7e8q »).
+     * @param move le coup encodé
+     * @return la notation UCI, ou « 0000 » pour l'absence de coup
+     */
+    public static String toUci(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        PieceType promotion = promotion(move);
+        return Fen.squareName(from(move)) + Fen.squareName(to(move))
+            + (promotion == null ? "" : promotion.getSymbol().toLowerCase());
+    }
+
+    /**
+     * Lit un coup en notation UCI, sans vérifier sa légalité.
+     * @param uci la notation UCI
+     * @return le coup encodé
+     * @throws IllegalArgumentException si la notation est invalide
+     */
+    public static int fromUci(String uci) {
+        if (uci == null || (uci.length() != 4 && uci.length() != 5)) {
+            throw new IllegalArgumentException("Coup UCI invalide : " + uci);
+        }
+        int from = Fen.parseSquare(uci.substring(0, 2)).getIndex();
+        int to = Fen.parseSquare(uci.substring(2, 4)).getIndex();
+        PieceType promotion = null;
+        if (uci.length() == 5) {
+            for (PieceType type : TYPES) {
+                if (!type.isKing() && !type.isPawn()
+                    && type.getSymbol().equalsIgnoreCase(uci.substring(4))) {
+                    promotion = type;
+                }
+            }
+            if (promotion == null) {
+                throw new IllegalArgumentException("Promotion invalide : " + uci);
+            }
+        }
+        return encode(from, to, promotion);
+    }
+}
@@ -0,0 +1,290 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.King;
+import com.chess.board.Piece;
+import com.chess.board.PieceType;
+import com.chess.board.Position;
+import com.chess.metrics.Metrics;
+
+/**
+ * Génère les coups pseudo-légaux d'une position sous forme de coups encodés.
+ * Les prises (et promotions) et les coups tranquilles sont générés séparément,
+ * afin que la recherche puisse n'examiner que les premiers.
+ */
+public class MoveGenerator {
+    private static final int[][] KNIGHT_OFFSETS = {
+        {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    private static final int[][] KING_OFFSETS = {
+        {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+    };
+    private static final int[][] DIAGONALS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final int[][] LINES = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final PieceType[] PROMOTIONS = {
+        PieceType.QUEEN, PieceType.KNIGHT, PieceType.ROOK, PieceType.BISHOP
+    };
+
+    private final MoveList scratch = new MoveList();
+
+    /**
+     * Génère les prises, prises en passant et promotions du joueur au trait.
+     * @param board le plateau
+     * @param moves la liste à compléter
+     */
+    public void generateCaptures(Board board, MoveList moves) {
+        generate(board, moves, true);
+    }
+
+    /**
+     * Génère les coups tranquilles (sans prise ni promotion), roques compris.
+     * @param board le plateau
+     * @param moves la liste à compléter
+     */
+    public void generateQuiets(Board board, MoveList moves) {
+        generate(board, moves, false);
+    }
+
+    /**
+     * Génère tous les coups pseudo-légaux du joueur au trait.
+     * @param board le plateau
+     * @param moves la liste à compléter
+     */
+    public void generateAll(Board board, MoveList moves) {
+        generate(board, moves, true);
+        generate(board, moves, false);
+    }
+
+    /**
+     * Génère uniquement les coups légaux du joueur au trait.
+     * @param board le plateau
+     * @param moves la liste à compléter
+     */
+    public void generateLegal(Board board, MoveList moves) {
+        MoveList pseudoLegal = new MoveList();
+        generateAll(board, pseudoLegal);
+        for (int i = 0; i < pseudoLegal.size(); i++) {
+            int move = pseudoLegal.get(i);
+            if (isLegal(board, move)) {
+                moves.add(move);
+            }
+        }
+    }
+
+    /**
+     * Vérifie qu'un coup pseudo-légal ne laisse pas le roi du joueur en échec.
+     * @param board le plateau
+     * @param move le coup encodé
+     * @return true si le coup est légal
+     */
+    public boolean isLegal(Board board, int move) {
+        Color mover = board.getCurrentPlayer();
+        makeMove(board, move);
+        boolean legal = !board.isInCheck(mover);
+        board.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * Joue un coup encodé sur le plateau (annulable par Board.unmakeMove).
+     * @param board le plateau
+     * @param move le coup encodé
+     */
+    public static void makeMove(Board board, int move) {
+        board.makeMove(Move.fromPosition(move), Move.toPosition(move), Move.promotion(move));
+    }
+
+    /**
+     * Indique si un coup est une prise (en passant comprise).
+     * @param board le plateau avant le coup
+     * @param move le coup encodé
+     * @return true si le coup capture une pièce
+     */
+    public static boolean isCapture(Board board, int move) {
+        int to = Move.to(move);
+        if (board.getPieceAt(to / 8, to % 8) != null) {
+            return true;
+        }
+        return isEnPassant(board, move);
+    }
+
+    /**
+     * Indique si un coup est une prise en passant.
+     * @param board le plateau avant le coup
+     * @param move le coup encodé
+     * @return true si le coup est une prise en passant
+     */
+    public static boolean isEnPassant(Board board, int move) {
+        Position target = board.getEnPassantTarget();
+        if (target == null || Move.to(move) != target.getIndex()) {
+            return false;
+        }
+        int from = Move.from(move);
+        Piece piece = board.getPieceAt(from / 8, from % 8);
+        return piece != null && piece.getType().isPawn() && from % 8 != target.getColumn();
+    }
+
+    /**
+     * Vérifie qu'un coup, par exemple issu de la table de transposition ou d'un coup meurtrier,
+     * est pseudo-légal dans la position, sans générer les coups des autres pièces.
+     * @param board le plateau
+     * @param move le coup encodé
+     * @return true si la pièce au trait sur la case de départ peut jouer ce coup
+     */
+    public boolean isPseudoLegal(Board board, int move) {
+        if (move == Move.NONE) {
+            return false;
+        }
+        int from = Move.from(move);
+        Piece piece = board.getPieceAt(from / 8, from % 8);
+        if (piece == null || piece.getColor() != board.getCurrentPlayer()) {
+            return false;
+        }
+        scratch.clear();
+        generateFrom(board, scratch, piece, from / 8, from % 8, true);
+        generateFrom(board, scratch, piece, from / 8, from % 8, false);
+        return scratch.contains(move);
+    }
+
+    private void generate(Board board, MoveList moves, boolean tactical) {
+        int before = moves.size();
+        Color color = board.getCurrentPlayer();
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece != null && piece.getColor() == color) {
+                    generateFrom(board, moves, piece, row, column, tactical);
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.Counter.GENERATOR_MOVES.add(moves.size() - before);
+        }
+    }
+
+    private void generateFrom(Board board, MoveList moves, Piece piece, int row, int column, boolean tactical) {
+        Color color = piece.getColor();
+        int from = row * 8 + column;
+        switch (piece.getType()) {
+            case PAWN -> generatePawnMoves(board, moves, piece, row, column, tactical);
+            case KNIGHT -> generateSteps(board, moves, color, from, row, column, KNIGHT_OFFSETS, tactical);
+            case BISHOP -> generateSlides(board, moves, color, from, row, column, DIAGONALS, tactical);
+            case ROOK -> generateSlides(board, moves, color, from, row, column, LINES, tactical);
+            case QUEEN -> {
+                generateSlides(board, moves, color, from, row, column, DIAGONALS, tactical);
+                generateSlides(board, moves, color, from, row, column, LINES, tactical);
+            }
+            case KING -> {
+                generateSteps(board, moves, color, from, row, column, KING_OFFSETS, tactical);
+                if (!tactical) {
+                    generateCastling(board, moves, (King) piece, row, column);
+                }
+            }
+        }
+    }
+
+    private void generatePawnMoves(Board board, MoveList moves, Piece pawn, int row, int column, boolean tactical) {
+        Color color = pawn.getColor();
+        int direction = color.getPawnDirection();
+        int targetRow = row + direction;
+        if (targetRow < 0 || targetRow > 7) {
+            return;
+        }
+        int from = row * 8 + column;
+        boolean promotion = targetRow == (color == Color.WHITE ? 7 : 0);
+
+        if (board.getPieceAt(targetRow, column) == null) {
+            if (promotion) {
+                if (tactical) {
+                    addPromotions(moves, from, targetRow * 8 + column);
+                }
+            } else if (!tactical) {
+                moves.add(Move.encode(from, targetRow * 8 + column, null));
+                int doubleRow = row + 2 * direction;
+                if (row == color.getPawnStartRow() && board.getPieceAt(doubleRow, column) == null) {
+                    moves.add(Move.encode(from, doubleRow * 8 + column, null));
+                }
+            }
+        }
+
+        if (!tactical) {
+            return;
+        }
+        Position enPassantTarget = board.getEnPassantTarget();
+        for (int offset = -1; offset <= 1; offset += 2) {
+            int targetColumn = column + offset;
+            if (targetColumn < 0 || targetColumn > 7) {
+                continue;
+            }
+            int to = targetRow * 8 + targetColumn;
+            Piece target = board.getPieceAt(targetRow, targetColumn);
+            if (target != null && target.getColor() != color) {
+                if (promotion) {
+                    addPromotions(moves, from, to);
+                } else {
+                    moves.add(Move.encode(from, to, null));
+                }
+            } else if (target == null && enPassantTarget != null && enPassantTarget.getIndex() == to) {
+                moves.add(Move.encode(from, to, null));
+            }
+        }
+    }
+
+    private void addPromotions(MoveList moves, int from, int to) {
+        for (PieceType type : PROMOTIONS) {
+            moves.add(Move.encode(from, to, type));
+        }
+    }
+
+    private void generateSteps(Board board, MoveList moves, Color color, int from, int row, int column,
+                               int[][] offsets, boolean tactical) {
+        for (int[] offset : offsets) {
+            int r = row + offset[0];
+            int c = column + offset[1];
+            if (r < 0 || r > 7 || c < 0 || c > 7) {
+                continue;
+            }
+            Piece target = board.getPieceAt(r, c);
+            if (target == null ? !tactical : tactical && target.getColor() != color) {
+                moves.add(Move.encode(from, r * 8 + c, null));
+            }
+        }
+    }
+
+    private void generateSlides(Board board, MoveList moves, Color color, int from, int row, int column,
+                                int[][] directions, boolean tactical) {
+        for (int[] direction : directions) {
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                Piece target = board.getPieceAt(r, c);
+                if (target == null) {
+                    if (!tactical) {
+                        moves.add(Move.encode(from, r * 8 + c, null));
+                    }
+                } else {
+                    if (tactical && target.getColor() != color) {
+                        moves.add(Move.encode(from, r * 8 + c, null));
+                    }
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+    }
+
+    private void generateCastling(Board board, MoveList moves, King king, int row, int column) {
+        if (king.hasMoved() || column != 4 || row != king.getColor().getPieceStartRow()) {
+            return;
+        }
+        int from = row * 8 + column;
+        if (king.canCastleKingside(board)) {
+            moves.add(Move.encode(from, row * 8 + 6, null));
+        }
+        if (king.canCastleQueenside(board)) {
+            moves.add(Move.encode(from, row * 8 + 2, null));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.chess.engine;
+
+/**
+ * Liste de coups encodés avec un score de tri associé, réutilisable d'un nœud à l'autre.
+ */
+public class MoveList {
+    private static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private final int[] scores = new int[CAPACITY];
+    private int size;
+
+    /**
+     * Ajoute un coup à la liste.
+     * @param move le coup encodé
+     */
+    public void add(int move) {
+        moves[size] = move;
+        scores[size] = 0;
+        size++;
+    }
+
+    /**
+     * Retourne le coup à un index donné.
+     * @param index l'index
+     * @return le coup encodé
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Retourne le score de tri d'un coup.
+     * @param index l'index
+     * @return le score
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Définit le score de tri d'un coup.
+     * @param index l'index
+     * @param score le score
+     */
+    public void setScore(int index, int score) {
+        scores[index] = score;
+    }
+
+    /**
+     * Amène en position index le coup de meilleur score parmi ceux restants (tri par sélection paresseux).
+     * @param index l'index à remplir
+     * @return le coup placé à cet index
+     */
+    public int pickBest(int index) {
+        int best = index;
+        for (int i = index + 1; i < size; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            int move = moves[index];
+            moves[index] = moves[best];
+            moves[best] = move;
+            int score = scores[index];
+            scores[index] = scores[best];
+            scores[best] = score;
+        }
+        return moves[index];
+    }
+
+    /**
+     * Indique si la liste contient un coup.
+     * @param move le coup encodé
+     * @return true si le coup est présent
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne le nombre de coups.
+     * @return la taille de la liste
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vide la liste.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.chess.engine;
+
+import com.chess.board.Color;
+
+import java.util.Arrays;
+
+/**
+ * Heuristiques d'ordonnancement des coups tranquilles : coups meurtriers (killers)
+ * par profondeur et table d'historique des coupures par case de départ et d'arrivée.
+ */
+public class MoveOrdering {
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[][] killers = new int[Search.MAX_PLY + 1][2];
+    private final int[][][] history = new int[2][64][64];
+
+    /**
+     * Retourne un coup meurtrier mémorisé à une profondeur donnée.
+     * @param ply la distance à la racine
+     * @param slot 0 pour le plus récent, 1 pour le précédent
+     * @return le coup encodé, ou Move.NONE
+     */
+    public int getKiller(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    /**
+     * Mémorise un coup tranquille ayant provoqué une coupure bêta.
+     * @param ply la distance à la racine
+     * @param move le coup encodé
+     */
+    public void addKiller(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    /**
+     * Retourne le score d'historique d'un coup.
+     * @param color la couleur du joueur
+     * @param move le coup encodé
+     * @return le score d'historique
+     */
+    public int getHistory(Color color, int move) {
+        return history[color.ordinal()][Move.from(move)][Move.to(move)];
+    }
+
+    /**
+     * Récompense (bonus positif) ou pénalise (bonus négatif) un coup tranquille.
+     * Les scores sont divisés par deux lorsqu'ils approchent de la limite.
+     * @param color la couleur du joueur
+     * @param move le coup encodé
+     * @param bonus la variation du score
+     */
+    public void updateHistory(Color color, int move, int bonus) {
+        int[] row = history[color.ordinal()][Move.from(move)];
+        int to = Move.to(move);
+        row[to] += bonus;
+        if (Math.abs(row[to]) >= HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Divise par deux tous les scores d'historique, pour favoriser les informations récentes.
+     */
+    public void ageHistory() {
+        for (int[][] byColor : history) {
+            for (int[] byFrom : byColor) {
+                for (int to = 0; to < byFrom.length; to++) {
+                    byFrom[to] /= 2;
+                }
+            }
+        }
+    }
+
+    /**
+     * Oublie les coups meurtriers et l'historique.
+     */
+    public void clear() {
+        for (int[] slots : killers) {
+            Arrays.fill(slots, Move.NONE);
+        }
+        for (int[][] byColor : history) {
+            for (int[] byFrom : byColor) {
+                Arrays.fill(byFrom, 0);
+            }
+        }
+    }
+
+    /**
+     * Oublie uniquement les coups meurtriers (entre deux recherches).
+     */
+    public void clearKillers() {
+        for (int[] slots : killers) {
+            Arrays.fill(slots, Move.NONE);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Piece;
+
+/**
+ * Fournit les coups d'un nœud par étapes, du plus prometteur au moins prometteur :
+ * coup de la table de transposition, prises gagnantes ou égales triées MVV-LVA,
+ * coups meurtriers, coups tranquilles triés par historique, puis prises perdantes.
+ *
+ * Chaque étape n'est générée qu'au moment où elle est atteinte : une coupure bêta
+ * sur le coup de la table ou sur une prise évite la génération des coups tranquilles.
+ */
+public class MovePicker {
+    private static final int STAGE_HASH_MOVE = 0;
+    private static final int STAGE_GENERATE_CAPTURES = 1;
+    private static final int STAGE_GOOD_CAPTURES = 2;
+    private static final int STAGE_KILLERS = 3;
+    private static final int STAGE_GENERATE_QUIETS = 4;
+    private static final int STAGE_QUIETS = 5;
+    private static final int STAGE_BAD_CAPTURES = 6;
+    private static final int STAGE_DONE = 7;
+
+    private final MoveGenerator moveGenerator;
+    private final StaticExchangeEvaluator staticExchangeEvaluator;
+    private final MoveList captures = new MoveList();
+    private final MoveList badCaptures = new MoveList();
+    private final MoveList quiets = new MoveList();
+
+    private Board board;
+    private MoveOrdering ordering;
+    private int hashMove;
+    private int killer1;
+    private int killer2;
+    private int stage;
+    private int index;
+    private int killerIndex;
+
+    /**
+     * Constructeur pour créer un sélecteur de coups.
+     * @param moveGenerator le générateur de coups
+     * @param staticExchangeEvaluator l'évaluateur d'échanges, pour séparer les prises perdantes
+     */
+    public MovePicker(MoveGenerator moveGenerator, StaticExchangeEvaluator staticExchangeEvaluator) {
+        this.moveGenerator = moveGenerator;
+        this.staticExchangeEvaluator = staticExchangeEvaluator;
+    }
+
+    /**
+     * Prépare le sélecteur pour un nouveau nœud.
+     * @param board le plateau
+     * @param hashMove le coup de la table de transposition (Move.NONE si aucun)
+     * @param ordering les coups meurtriers et l'historique
+     * @param ply la distance à la racine, pour les coups meurtriers
+     */
+    public void reset(Board board, int hashMove, MoveOrdering ordering, int ply) {
+        this.board = board;
+        this.ordering = ordering;
+        this.hashMove = moveGenerator.isPseudoLegal(board, hashMove) ? hashMove : Move.NONE;
+        this.killer1 = ordering.getKiller(ply, 0);
+        this.killer2 = ordering.getKiller(ply, 1);
+        this.stage = STAGE_HASH_MOVE;
+        this.index = 0;
+        this.killerIndex = 0;
+        captures.clear();
+        badCaptures.clear();
+        quiets.clear();
+    }
+
+    /**
+     * Retourne le coup suivant, pseudo-légal.
+     * @return le coup encodé, ou Move.NONE quand tous les coups ont été fournis
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case STAGE_HASH_MOVE -> {
+                    stage = STAGE_GENERATE_CAPTURES;
+                    if (hashMove != Move.NONE) {
+                        return hashMove;
+                    }
+                }
+                case STAGE_GENERATE_CAPTURES -> {
+                    moveGenerator.generateCaptures(board, captures);
+                    scoreCaptures();
+                    index = 0;
+                    stage = STAGE_GOOD_CAPTURES;
+                }
+                case STAGE_GOOD_CAPTURES -> {
+                    while (index < captures.size()) {
+                        int move = captures.pickBest(index++);
+                        if (move == hashMove) {
+                            continue;
+                        }
+                        if (staticExchangeEvaluator.evaluate(board, move) < 0) {
+                            badCaptures.add(move);
+                            continue;
+                        }
+                        return move;
+                    }
+                    stage = STAGE_KILLERS;
+                }
+                case STAGE_KILLERS -> {
+                    while (killerIndex < 2) {
+                        int killer = killerIndex++ == 0 ? killer1 : killer2;
+                        if (killer != Move.NONE && killer != hashMove
+                            && !MoveGenerator.isCapture(board, killer)
+                            && Move.promotion(killer) == null
+                            && moveGenerator.isPseudoLegal(board, killer)) {
+                            return killer;
+                        }
+                    }
+                    stage = STAGE_GENERATE_QUIETS;
+                }
+                case STAGE_GENERATE_QUIETS -> {
+                    moveGenerator.generateQuiets(board, quiets);
+                    for (int i = 0; i < quiets.size(); i++) {
+                        quiets.setScore(i, ordering.getHistory(board.getCurrentPlayer(), quiets.get(i)));
+                    }
+                    index = 0;
+                    stage = STAGE_QUIETS;
+                }
+                case STAGE_QUIETS -> {
+                    while (index < quiets.size()) {
+                        int move = quiets.pickBest(index++);
+                        if (move != hashMove && move != killer1 && move != killer2) {
+                            return move;
+                        }
+                    }
+                    index = 0;
+                    stage = STAGE_BAD_CAPTURES;
+                }
+                case STAGE_BAD_CAPTURES -> {
+                    if (index < badCaptures.size()) {
+                        return badCaptures.get(index++);
+                    }
+                    stage = STAGE_DONE;
+                }
+                default -> {
+                    return Move.NONE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Indique si les coups tranquilles ont déjà été générés (utile pour mesurer l'effet des coupures).
+     * @return true si l'étape des coups tranquilles a été atteinte
+     */
+    public boolean hasGeneratedQuiets() {
+        return stage > STAGE_GENERATE_QUIETS;
+    }
+
+    /**
+     * Score MVV-LVA : la victime la plus précieuse d'abord, puis l'attaquant le moins précieux.
+     */
+    private void scoreCaptures() {
+        for (int i = 0; i < captures.size(); i++) {
+            captures.setScore(i, mvvLva(board, captures.get(i)));
+        }
+    }
+
+    /**
+     * Calcule le score MVV-LVA d'une prise à partir des valeurs de PieceType.
+     * @param board le plateau
+     * @param move la prise encodée
+     * @return le score de tri
+     */
+    public static int mvvLva(Board board, int move) {
+        int to = Move.to(move);
+        int from = Move.from(move);
+        Piece victim = board.getPieceAt(to / 8, to % 8);
+        Piece attacker = board.getPieceAt(from / 8, from % 8);
+        // Une prise en passant vaut un pion ; une promotion sans prise vaut la pièce promue
+        int victimValue = victim != null ? victim.getValue()
+            : Move.promotion(move) != null ? Move.promotion(move).getValue() : 1;
+        int attackerValue = attacker.getType().isKing() ? 10 : attacker.getValue();
+        return victimValue * 16 - attackerValue;
+    }
+}
@@ -0,0 +1,143 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recherche multi-thread à table de transposition partagée (« Lazy SMP ») : des recherches
+ * auxiliaires explorent la même position sur leur propre copie du plateau et enrichissent
+ * la table commune, tandis que le résultat est celui de la recherche principale.
+ */
+public class ParallelSearch {
+    /** Nombre maximal de threads de recherche. */
+    public static final int MAX_THREADS = 64;
+
+    private final TranspositionTable transpositionTable;
+    private final Search mainSearch;
+    private final List<Search> helpers;
+
+    /**
+     * Constructeur pour créer une recherche sur un seul thread.
+     * @param hashMegabytes la taille de la table de transposition en mégaoctets
+     */
+    public ParallelSearch(int hashMegabytes) {
+        this.transpositionTable = new TranspositionTable(hashMegabytes);
+        this.mainSearch = new Search(new Evaluator(), transpositionTable);
+        this.helpers = new ArrayList<>();
+    }
+
+    /**
+     * Fixe le nombre total de threads de recherche.
+     * @param threads le nombre de threads, principal compris
+     * @throws IllegalArgumentException si le nombre est hors de [1, MAX_THREADS]
+     */
+    public void setThreads(int threads) {
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + threads);
+        }
+        while (helpers.size() > threads - 1) {
+            helpers.remove(helpers.size() - 1);
+        }
+        while (helpers.size() < threads - 1) {
+            helpers.add(new Search(new Evaluator(), transpositionTable));
+        }
+    }
+
+    /**
+     * Retourne le nombre total de threads de recherche.
+     * @return le nombre de threads
+     */
+    public int getThreads() {
+        return helpers.size() + 1;
+    }
+
+    /**
+     * Cherche le meilleur coup. Les recherches auxiliaires sont arrêtées dès que
+     * la recherche principale a terminé.
+     * @param board le plateau (restauré à la fin de la recherche)
+     * @param limits les limites de la recherche
+     * @return le résultat de la recherche principale, avec le total des nœuds
+     */
+    public SearchResult search(Board board, SearchLimits limits) {
+        List<Thread> threads = new ArrayList<>(helpers.size());
+        String fen = helpers.isEmpty() ? null : Fen.toFen(board);
+        for (int i = 0; i < helpers.size(); i++) {
+            Search helper = helpers.get(i);
+            Board copy = Fen.parse(fen);
+            Thread thread = new Thread(() -> helper.search(copy, limits), "search-helper-" + (i + 1));
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        SearchResult result = mainSearch.search(board, limits);
+
+        long nodes = result.getNodes();
+        for (int i = 0; i < threads.size(); i++) {
+            stopAndJoin(helpers.get(i), threads.get(i));
+            nodes += helpers.get(i).getNodes();
+        }
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes);
+    }
+
+    /**
+     * Demande l'arrêt de la recherche en cours ; sans effet si aucune recherche n'est en cours.
+     */
+    public void stop() {
+        mainSearch.getStopSignal().stop();
+    }
+
+    /**
+     * Vide la table de transposition et les heuristiques d'ordonnancement (nouvelle partie).
+     */
+    public void clear() {
+        transpositionTable.clear();
+        mainSearch.getMoveOrdering().clear();
+        for (Search helper : helpers) {
+            helper.getMoveOrdering().clear();
+        }
+    }
+
+    /**
+     * Redimensionne la table de transposition partagée ; son contenu est perdu.
+     * @param megabytes la nouvelle taille en mégaoctets
+     */
+    public void setHashMegabytes(int megabytes) {
+        transpositionTable.resize(megabytes);
+    }
+
+    /**
+     * Définit l'observateur de la recherche principale.
+     * @param listener l'observateur, ou null
+     */
+    public void setListener(SearchListener listener) {
+        mainSearch.setListener(listener);
+    }
+
+    /**
+     * Retourne la recherche principale.
+     * @return la recherche principale
+     */
+    public Search getMainSearch() {
+        return mainSearch;
+    }
+
+    /**
+     * Le signal d'une recherche est réarmé à son démarrage : l'arrêt est répété
+     * jusqu'à la fin du thread pour ne pas être perdu.
+     */
+    private static void stopAndJoin(Search search, Thread thread) {
+        while (thread.isAlive()) {
+            search.getStopSignal().stop();
+            try {
+                thread.join(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * Cache des termes de structure de pions, indexé par la clé de pions du plateau.
+ * Table à correspondance directe : une nouvelle entrée remplace toujours l'ancienne.
+ */
+public class PawnHashTable {
+    private static final int DEFAULT_SIZE = 1 << 14;
+
+    private final long[] keys;
+    private final int[] midgameScores;
+    private final int[] endgameScores;
+    private final boolean[] used;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructeur avec la taille par défaut.
+     */
+    public PawnHashTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructeur pour créer une table d'une taille donnée.
+     * @param size le nombre d'entrées, arrondi à la puissance de deux supérieure
+     */
+    public PawnHashTable(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Taille de table invalide : " + size);
+        }
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.midgameScores = new int[capacity];
+        this.endgameScores = new int[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Cherche les termes de pions d'une structure.
+     * @param pawnKey la clé de pions
+     * @param terms reçoit {milieu de partie, finale} si l'entrée est trouvée
+     * @return true si l'entrée est présente
+     */
+    public boolean probe(long pawnKey, int[] terms) {
+        probes++;
+        int index = (int) pawnKey & mask;
+        if (!used[index] || keys[index] != pawnKey) {
+            return false;
+        }
+        hits++;
+        terms[0] = midgameScores[index];
+        terms[1] = endgameScores[index];
+        return true;
+    }
+
+    /**
+     * Enregistre les termes de pions d'une structure.
+     * @param pawnKey la clé de pions
+     * @param midgame le terme de milieu de partie
+     * @param endgame le terme de finale
+     */
+    public void store(long pawnKey, int midgame, int endgame) {
+        int index = (int) pawnKey & mask;
+        keys[index] = pawnKey;
+        midgameScores[index] = midgame;
+        endgameScores[index] = endgame;
+        used[index] = true;
+    }
+
+    /**
+     * Vide la table et remet les statistiques à zéro.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Retourne le nombre de consultations de la table.
+     * @return le nombre de consultations
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Retourne le nombre de consultations ayant trouvé l'entrée.
+     * @return le nombre de succès
+     */
+    public long getHits() {
+        return hits;
+    }
+}
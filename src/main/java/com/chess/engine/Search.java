@@ -0,0 +1,542 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.PieceType;
+import com.chess.rules.StopSignal;
+import com.chess.tablebase.Material;
+import com.chess.tablebase.TablebaseResult;
+import com.chess.tablebase.Tablebases;
+
+import java.util.Arrays;
+
+/**
+ * Recherche alpha-bêta à profondeur itérative, prolongée par une recherche de quiescence.
+ * Les coups sont fournis par étapes par un MovePicker et les positions déjà explorées
+ * sont mémorisées dans une table de transposition. Le coup nul, les réductions des coups
+ * tardifs, la futilité et les extensions d'échec sont réglables via SearchOptions.
+ *
+ * La quiescence n'examine que les prises et promotions, avec une évaluation « stand pat »
+ * comme borne inférieure ; les prises que la SEE juge perdantes ne sont pas jouées.
+ */
+public class Search {
+    /** Score d'un mat immédiat ; un mat à n demi-coups vaut MATE_SCORE - n. */
+    public static final int MATE_SCORE = 30000;
+    /** Profondeur maximale (en demi-coups) depuis la racine. */
+    public static final int MAX_PLY = 64;
+
+    private static final int INFINITY = 32000;
+
+    private static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    private static final int REVERSE_FUTILITY_DEPTH = 3;
+    private static final int REVERSE_FUTILITY_MARGIN = 120;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int[] FUTILITY_MARGINS = {0, 150, 300};
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVES = 3;
+    private static final int[][] LMR_TABLE = new int[64][64];
+
+    static {
+        for (int depth = 1; depth < 64; depth++) {
+            for (int moveIndex = 1; moveIndex < 64; moveIndex++) {
+                LMR_TABLE[depth][moveIndex] = (int) (0.75 + Math.log(depth) * Math.log(moveIndex) / 2.25);
+            }
+        }
+    }
+
+    private final Evaluator evaluator;
+    private final MoveGenerator moveGenerator;
+    private final StaticExchangeEvaluator staticExchangeEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering;
+    private final MoveList[] moveLists;
+    private final MovePicker[] movePickers;
+    private final int[][] quietMoves;
+    private final SearchOptions options;
+    private final StopSignal stopSignal;
+    private final TimeManager timeManager;
+    private long nodes;
+    private int rootBestMove;
+    private boolean aborted;
+    private SearchListener listener;
+    private Tablebases tablebases;
+
+    /**
+     * Constructeur avec un évaluateur et une table de transposition par défaut.
+     */
+    public Search() {
+        this(new Evaluator(), new TranspositionTable(DEFAULT_HASH_MEGABYTES));
+    }
+
+    /**
+     * Constructeur pour créer une recherche utilisant un évaluateur et une table donnés.
+     * @param evaluator l'évaluateur statique
+     * @param transpositionTable la table de transposition (peut être partagée entre recherches)
+     */
+    public Search(Evaluator evaluator, TranspositionTable transpositionTable) {
+        this(evaluator, transpositionTable, new SearchOptions());
+    }
+
+    /**
+     * Constructeur pour créer une recherche avec des options de sélectivité données.
+     * @param evaluator l'évaluateur statique
+     * @param transpositionTable la table de transposition (peut être partagée entre recherches)
+     * @param options les techniques de sélectivité à utiliser
+     */
+    public Search(Evaluator evaluator, TranspositionTable transpositionTable, SearchOptions options) {
+        this.evaluator = evaluator;
+        this.options = options;
+        this.moveGenerator = new MoveGenerator();
+        this.staticExchangeEvaluator = new StaticExchangeEvaluator();
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = new MoveOrdering();
+        this.moveLists = new MoveList[MAX_PLY + 1];
+        this.movePickers = new MovePicker[MAX_PLY + 1];
+        this.quietMoves = new int[MAX_PLY + 1][64];
+        this.stopSignal = new StopSignal();
+        this.timeManager = new TimeManager();
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+            movePickers[ply] = new MovePicker(moveGenerator, staticExchangeEvaluator);
+        }
+    }
+
+    /**
+     * Cherche le meilleur coup du joueur au trait, par approfondissement itératif.
+     * Le plateau est restauré dans son état initial à la fin de la recherche.
+     * @param board le plateau
+     * @param maxDepth la profondeur maximale en demi-coups
+     * @return le résultat de la recherche
+     */
+    public SearchResult search(Board board, int maxDepth) {
+        return search(board, SearchLimits.depth(maxDepth));
+    }
+
+    /**
+     * Cherche le meilleur coup du joueur au trait dans les limites données.
+     * La recherche peut être interrompue à tout moment depuis un autre thread via getStopSignal().
+     * Le plateau est restauré dans son état initial à la fin de la recherche.
+     * @param board le plateau
+     * @param limits les limites de profondeur et de temps
+     * @return le résultat de la dernière itération complète
+     */
+    public SearchResult search(Board board, SearchLimits limits) {
+        long startNanos = System.nanoTime();
+        nodes = 0;
+        aborted = false;
+        moveOrdering.clearKillers();
+        timeManager.start(limits, board.getCurrentPlayer(), startNanos);
+        stopSignal.reset();
+        stopSignal.setDeadline(timeManager.getDeadlineNanos());
+
+        int bestMove = Move.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+
+        for (int depth = 1; depth <= Math.min(limits.getDepth(), MAX_PLY - 1); depth++) {
+            rootBestMove = Move.NONE;
+            int score = alphaBeta(board, depth, -INFINITY, INFINITY, 0, false);
+            if (aborted) {
+                break;
+            }
+            int move = rootBestMove;
+            if (move == Move.NONE) {
+                // Aucun coup légal : mat ou pat
+                return new SearchResult(Move.NONE, score, depth, nodes);
+            }
+            bestMove = move;
+            bestScore = score;
+            completedDepth = depth;
+            timeManager.onIterationComplete(move);
+            if (listener != null) {
+                listener.iterationCompleted(new SearchResult(move, score, depth, nodes),
+                                            principalVariation(board, depth));
+            }
+            if (!timeManager.canStartIteration(System.nanoTime())) {
+                break;
+            }
+        }
+
+        if (bestMove == Move.NONE) {
+            // Interrompue avant la fin de la première itération : jouer le premier coup légal
+            MoveList legalMoves = moveLists[0];
+            legalMoves.clear();
+            moveGenerator.generateLegal(board, legalMoves);
+            if (legalMoves.size() > 0) {
+                bestMove = legalMoves.get(0);
+            }
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes);
+    }
+
+    /**
+     * Reconstitue la variation principale en suivant les coups de la table de transposition.
+     * Le plateau est restauré après la lecture.
+     * @param board le plateau
+     * @param maxLength le nombre maximal de demi-coups
+     * @return les coups encodés de la variation
+     */
+    public int[] principalVariation(Board board, int maxLength) {
+        int[] line = new int[Math.min(maxLength, MAX_PLY)];
+        int length = 0;
+        while (length < line.length) {
+            long entry = transpositionTable.probe(board.getZobristKey());
+            int move = entry == 0L ? Move.NONE : TranspositionTable.moveOf(entry);
+            if (!moveGenerator.isPseudoLegal(board, move) || !moveGenerator.isLegal(board, move)) {
+                break;
+            }
+            MoveGenerator.makeMove(board, move);
+            line[length++] = move;
+        }
+        for (int i = 0; i < length; i++) {
+            board.unmakeMove();
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Recherche alpha-bêta (négamax) à fenêtre principale, avec table de transposition
+     * et les techniques de sélectivité activées dans les options.
+     */
+    private int alphaBeta(Board board, int depth, int alpha, int beta, int ply, boolean allowNullMove) {
+        Color mover = board.getCurrentPlayer();
+        boolean inCheck = board.isInCheck(mover);
+        if (inCheck && options.isCheckExtensions()) {
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(board, alpha, beta, ply);
+        }
+        nodes++;
+        if (aborted || stopSignal.poll(nodes)) {
+            aborted = true;
+            return 0;
+        }
+        boolean pvNode = beta - alpha > 1;
+
+        long key = board.getZobristKey();
+        long entry = transpositionTable.probe(key);
+        int hashMove = Move.NONE;
+        if (entry != 0L) {
+            hashMove = TranspositionTable.moveOf(entry);
+            if (!pvNode && TranspositionTable.depthOf(entry) >= depth) {
+                int score = TranspositionTable.scoreFromTable(TranspositionTable.scoreOf(entry), ply);
+                int bound = TranspositionTable.boundOf(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // Finale couverte par une table : le score exact remplace la recherche
+        if (tablebases != null && ply > 0 && pieceCount(board) <= Material.MAX_PIECES) {
+            TablebaseResult result = tablebases.probe(board);
+            if (result != null) {
+                return tablebaseScore(result, ply);
+            }
+        }
+
+        int staticEval = inCheck ? -INFINITY : evaluator.evaluate(board);
+        boolean nonMateWindow = Math.abs(beta) < MATE_SCORE - MAX_PLY;
+
+        // Élagage par futilité inverse : l'évaluation dépasse beta d'une marge suffisante
+        if (options.isReverseFutilityPruning() && !pvNode && !inCheck && nonMateWindow
+            && depth <= REVERSE_FUTILITY_DEPTH && staticEval - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+            return staticEval - REVERSE_FUTILITY_MARGIN * depth;
+        }
+
+        // Coup nul : si passer son tour suffit à dépasser beta, le nœud est coupé.
+        // Interdit sans pièce hors pions, où le zugzwang rend l'hypothèse fausse.
+        if (options.isNullMovePruning() && allowNullMove && !pvNode && !inCheck && nonMateWindow
+            && depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta && board.getNonPawnMaterial(mover) > 0) {
+            int reduction = NULL_MOVE_REDUCTION + depth / 6;
+            board.makeNullMove();
+            int score = -alphaBeta(board, depth - 1 - reduction, -beta, -beta + 1, ply + 1, false);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score >= MATE_SCORE - MAX_PLY ? beta : score;
+            }
+        }
+
+        // Futilité : près des feuilles, les coups tranquilles ne peuvent pas rattraper alpha
+        boolean futile = options.isFutilityPruning() && !pvNode && !inCheck
+            && depth < FUTILITY_MARGINS.length && Math.abs(alpha) < MATE_SCORE - MAX_PLY
+            && staticEval + FUTILITY_MARGINS[depth] <= alpha;
+
+        MovePicker picker = movePickers[ply];
+        picker.reset(board, hashMove, moveOrdering, ply);
+        int[] quietsTried = quietMoves[ply];
+        int quietCount = 0;
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int legalMoves = 0;
+        int move;
+        while ((move = picker.next()) != Move.NONE) {
+            boolean quiet = !MoveGenerator.isCapture(board, move) && Move.promotion(move) == null;
+            MoveGenerator.makeMove(board, move);
+            if (board.isInCheck(mover)) {
+                board.unmakeMove();
+                continue;
+            }
+            legalMoves++;
+            boolean givesCheck = board.isInCheck(mover.opposite());
+
+            if (futile && quiet && !givesCheck && legalMoves > 1) {
+                board.unmakeMove();
+                continue;
+            }
+
+            int newDepth = depth - 1;
+            int score;
+            if (legalMoves == 1) {
+                score = -alphaBeta(board, newDepth, -beta, -alpha, ply + 1, true);
+            } else {
+                int reduction = 0;
+                if (options.isLateMoveReductions() && depth >= LMR_MIN_DEPTH && legalMoves > LMR_MIN_MOVES
+                    && quiet && !inCheck && !givesCheck) {
+                    reduction = lateMoveReduction(depth, legalMoves, mover, move, ply, pvNode, newDepth);
+                }
+                score = -alphaBeta(board, newDepth - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if (score > alpha && reduction > 0) {
+                    score = -alphaBeta(board, newDepth, -alpha - 1, -alpha, ply + 1, true);
+                }
+                if (score > alpha && score < beta) {
+                    score = -alphaBeta(board, newDepth, -beta, -alpha, ply + 1, true);
+                }
+            }
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                if (quiet) {
+                    int bonus = depth * depth;
+                    moveOrdering.addKiller(ply, move);
+                    moveOrdering.updateHistory(mover, move, bonus);
+                    for (int i = 0; i < quietCount; i++) {
+                        moveOrdering.updateHistory(mover, quietsTried[i], -bonus);
+                    }
+                }
+                break;
+            }
+            if (quiet && quietCount < quietsTried.length) {
+                quietsTried[quietCount++] = move;
+            }
+        }
+
+        if (legalMoves == 0) {
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+            : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT
+            : TranspositionTable.BOUND_UPPER;
+        transpositionTable.store(key, bestMove, TranspositionTable.scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Calcule la réduction d'un coup tardif : elle croît avec la profondeur et le rang du coup,
+     * et diminue pour les coups à bon historique et les coups meurtriers.
+     */
+    private int lateMoveReduction(int depth, int moveIndex, Color mover, int move, int ply,
+                                  boolean pvNode, int newDepth) {
+        int reduction = LMR_TABLE[Math.min(depth, LMR_TABLE.length - 1)][Math.min(moveIndex, LMR_TABLE.length - 1)];
+        if (pvNode) {
+            reduction--;
+        }
+        int history = moveOrdering.getHistory(mover, move);
+        if (history > 0) {
+            reduction--;
+        } else if (history < 0) {
+            reduction++;
+        }
+        if (move == moveOrdering.getKiller(ply, 0) || move == moveOrdering.getKiller(ply, 1)) {
+            reduction--;
+        }
+        return Math.max(0, Math.min(reduction, newDepth - 1));
+    }
+
+    /**
+     * Recherche de quiescence : seules les prises sont explorées jusqu'à une position calme.
+     * En échec, toutes les parades sont examinées et le « stand pat » n'est pas autorisé.
+     */
+    int quiescence(Board board, int alpha, int beta, int ply) {
+        nodes++;
+        if (aborted || stopSignal.poll(nodes)) {
+            aborted = true;
+            return 0;
+        }
+        Color mover = board.getCurrentPlayer();
+        boolean inCheck = board.isInCheck(mover);
+
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(board);
+        }
+
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            int standPat = evaluator.evaluate(board);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+            bestScore = standPat;
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        if (inCheck) {
+            moveGenerator.generateAll(board, moves);
+        } else {
+            moveGenerator.generateCaptures(board, moves);
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            moves.setScore(i, MovePicker.mvvLva(board, moves.get(i)));
+        }
+
+        int legalMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.pickBest(i);
+            // Les prises perdantes selon la SEE sont élaguées sans être jouées
+            if (!inCheck && staticExchangeEvaluator.evaluate(board, move) < 0) {
+                continue;
+            }
+            MoveGenerator.makeMove(board, move);
+            if (board.isInCheck(mover)) {
+                board.unmakeMove();
+                continue;
+            }
+            legalMoves++;
+            int score = -quiescence(board, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+
+        if (inCheck && legalMoves == 0) {
+            return -MATE_SCORE + ply;
+        }
+        return bestScore;
+    }
+
+    private static int pieceCount(Board board) {
+        int count = 0;
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                count += board.getPieceCount(color, type);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Convertit un résultat de table en score : un mat trop lointain pour la plage des scores
+     * de mat reste juste au-delà de toute évaluation.
+     */
+    private static int tablebaseScore(TablebaseResult result, int ply) {
+        if (result.isDraw()) {
+            return 0;
+        }
+        int distance = Math.min(ply + result.getDistanceToMate(), MAX_PLY + 1);
+        return result.isWin() ? MATE_SCORE - distance : -MATE_SCORE + distance;
+    }
+
+    /**
+     * Retourne le nombre de nœuds visités lors de la dernière recherche.
+     * @return le nombre de nœuds
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retourne le signal d'arrêt de la recherche, à lever depuis un autre thread.
+     * Il est réarmé au début de chaque recherche.
+     * @return le signal d'arrêt
+     */
+    public StopSignal getStopSignal() {
+        return stopSignal;
+    }
+
+    /**
+     * Définit l'observateur notifié à la fin de chaque itération.
+     * @param listener l'observateur, ou null
+     */
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Définit les tables de finale consultées pendant la recherche (hors racine).
+     * @param tablebases les tables, ou null pour les désactiver
+     */
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+
+    /**
+     * Retourne le gestionnaire de temps de la dernière recherche.
+     * @return le gestionnaire de temps
+     */
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+
+    /**
+     * Retourne la table de transposition utilisée par la recherche.
+     * @return la table de transposition
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    /**
+     * Retourne les options de sélectivité, modifiables entre deux recherches.
+     * @return les options
+     */
+    public SearchOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Retourne les heuristiques d'ordonnancement des coups.
+     * @return les coups meurtriers et l'historique
+     */
+    public MoveOrdering getMoveOrdering() {
+        return moveOrdering;
+    }
+}
@@ -0,0 +1,144 @@
+package com.chess.engine;
+
+import com.chess.board.Color;
+
+/**
+ * Limites d'une recherche : profondeur, temps fixe par coup ou pendule des deux joueurs.
+ * Les durées sont exprimées en millisecondes ; une valeur nulle signifie « non fixée ».
+ */
+public class SearchLimits {
+    private int depth;
+    private long moveTime;
+    private long whiteTime;
+    private long blackTime;
+    private long whiteIncrement;
+    private long blackIncrement;
+    private int movesToGo;
+    private boolean infinite;
+
+    /**
+     * Constructeur sans limite autre que la profondeur maximale de la recherche.
+     */
+    public SearchLimits() {
+        this.depth = Search.MAX_PLY - 1;
+    }
+
+    /**
+     * Crée des limites de profondeur seule.
+     * @param depth la profondeur maximale en demi-coups
+     * @return les limites
+     */
+    public static SearchLimits depth(int depth) {
+        SearchLimits limits = new SearchLimits();
+        limits.setDepth(depth);
+        return limits;
+    }
+
+    /**
+     * Crée des limites de temps fixe par coup.
+     * @param millis le temps alloué au coup
+     * @return les limites
+     */
+    public static SearchLimits moveTime(long millis) {
+        SearchLimits limits = new SearchLimits();
+        limits.setMoveTime(millis);
+        return limits;
+    }
+
+    /**
+     * Indique si la recherche est limitée par le temps.
+     * @return true si un temps par coup ou une pendule est fixé et la recherche n'est pas infinie
+     */
+    public boolean isTimeLimited() {
+        return !infinite && (moveTime > 0 || whiteTime > 0 || blackTime > 0);
+    }
+
+    /**
+     * Retourne le temps restant à la pendule d'un joueur.
+     * @param color la couleur du joueur
+     * @return le temps restant en millisecondes
+     */
+    public long getTime(Color color) {
+        return color == Color.WHITE ? whiteTime : blackTime;
+    }
+
+    /**
+     * Retourne l'incrément par coup d'un joueur.
+     * @param color la couleur du joueur
+     * @return l'incrément en millisecondes
+     */
+    public long getIncrement(Color color) {
+        return color == Color.WHITE ? whiteIncrement : blackIncrement;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getMoveTime() {
+        return moveTime;
+    }
+
+    public void setMoveTime(long moveTime) {
+        this.moveTime = moveTime;
+    }
+
+    public long getWhiteTime() {
+        return whiteTime;
+    }
+
+    public void setWhiteTime(long whiteTime) {
+        this.whiteTime = whiteTime;
+    }
+
+    public long getBlackTime() {
+        return blackTime;
+    }
+
+    public void setBlackTime(long blackTime) {
+        this.blackTime = blackTime;
+    }
+
+    public long getWhiteIncrement() {
+        return whiteIncrement;
+    }
+
+    public void setWhiteIncrement(long whiteIncrement) {
+        this.whiteIncrement = whiteIncrement;
+    }
+
+    public long getBlackIncrement() {
+        return blackIncrement;
+    }
+
+    public void setBlackIncrement(long blackIncrement) {
+        this.blackIncrement = blackIncrement;
+    }
+
+    public int getMovesToGo() {
+        return movesToGo;
+    }
+
+    public void setMovesToGo(int movesToGo) {
+        this.movesToGo = movesToGo;
+    }
+
+    public boolean isInfinite() {
+        return infinite;
+    }
+
+    public void setInfinite(boolean infinite) {
+        this.infinite = infinite;
+    }
+
+    @Override
+    public String toString() {
+        return "depth=" + depth + ", moveTime=" + moveTime + ", wtime=" + whiteTime + ", btime=" + blackTime
+            + ", winc=" + whiteIncrement + ", binc=" + blackIncrement + ", movesToGo=" + movesToGo
+            + ", infinite=" + infinite;
+    }
+}
@@ -0,0 +1,14 @@
+package com.chess.engine;
+
+/**
+ * Reçoit la progression d'une recherche, par exemple pour l'afficher.
+ */
+public interface SearchListener {
+    /**
+     * Appelé à la fin de chaque itération complète de l'approfondissement itératif,
+     * depuis le thread de la recherche.
+     * @param result le résultat de l'itération
+     * @param principalVariation la variation principale, lue dans la table de transposition
+     */
+    void iterationCompleted(SearchResult result, int[] principalVariation);
+}
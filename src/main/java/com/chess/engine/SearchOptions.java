@@ -0,0 +1,79 @@
+package com.chess.engine;
+
+/**
+ * Options de sélectivité de la recherche. Chaque technique peut être désactivée
+ * individuellement afin de mesurer le nombre de nœuds qu'elle économise.
+ */
+public class SearchOptions {
+    private boolean nullMovePruning;
+    private boolean lateMoveReductions;
+    private boolean futilityPruning;
+    private boolean reverseFutilityPruning;
+    private boolean checkExtensions;
+
+    /**
+     * Constructeur avec toutes les techniques activées.
+     */
+    public SearchOptions() {
+        this(true);
+    }
+
+    /**
+     * Constructeur activant ou désactivant toutes les techniques.
+     * @param enabled true pour tout activer
+     */
+    public SearchOptions(boolean enabled) {
+        this.nullMovePruning = enabled;
+        this.lateMoveReductions = enabled;
+        this.futilityPruning = enabled;
+        this.reverseFutilityPruning = enabled;
+        this.checkExtensions = enabled;
+    }
+
+    public boolean isNullMovePruning() {
+        return nullMovePruning;
+    }
+
+    public void setNullMovePruning(boolean nullMovePruning) {
+        this.nullMovePruning = nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    public void setLateMoveReductions(boolean lateMoveReductions) {
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    public boolean isFutilityPruning() {
+        return futilityPruning;
+    }
+
+    public void setFutilityPruning(boolean futilityPruning) {
+        this.futilityPruning = futilityPruning;
+    }
+
+    public boolean isReverseFutilityPruning() {
+        return reverseFutilityPruning;
+    }
+
+    public void setReverseFutilityPruning(boolean reverseFutilityPruning) {
+        this.reverseFutilityPruning = reverseFutilityPruning;
+    }
+
+    public boolean isCheckExtensions() {
+        return checkExtensions;
+    }
+
+    public void setCheckExtensions(boolean checkExtensions) {
+        this.checkExtensions = checkExtensions;
+    }
+
+    @Override
+    public String toString() {
+        return "nullMove=" + nullMovePruning + ", lmr=" + lateMoveReductions
+            + ", futility=" + futilityPruning + ", reverseFutility=" + reverseFutilityPruning
+            + ", checkExtensions=" + checkExtensions;
+    }
+}
@@ -0,0 +1,54 @@
+package com.chess.engine;
+
+/**
+ * Résultat d'une recherche : meilleur coup trouvé, score et statistiques.
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+
+    /**
+     * Constructeur pour créer un résultat de recherche.
+     * @param bestMove le meilleur coup encodé (Move.NONE si aucun)
+     * @param score le score du point de vue du joueur au trait
+     * @param depth la profondeur complètement explorée
+     * @param nodes le nombre de nœuds visités
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Indique si le score annonce un mat.
+     * @return true si le score est un score de mat
+     */
+    public boolean isMateScore() {
+        return Math.abs(score) >= Search.MATE_SCORE - Search.MAX_PLY;
+    }
+
+    @Override
+    public String toString() {
+        return Move.toString(bestMove) + " (score " + score + ", profondeur " + depth + ", " + nodes + " nœuds)";
+    }
+}
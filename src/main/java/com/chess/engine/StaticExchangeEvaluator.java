@@ -0,0 +1,159 @@
+package com.chess.engine;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Piece;
+import com.chess.board.PieceSquareTables;
+import com.chess.board.PieceType;
+
+/**
+ * Évaluation statique des échanges (SEE) : résout la suite de prises sur une case
+ * sans jouer les coups, en cherchant à chaque étape l'attaquant de moindre valeur.
+ * Les attaques « à rayons X » sont prises en compte en ignorant les pièces déjà engagées.
+ */
+public class StaticExchangeEvaluator {
+    private static final int KING_VALUE = 20000;
+    private static final int[][] KNIGHT_OFFSETS = {
+        {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    private static final int[][] KING_OFFSETS = {
+        {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+    };
+
+    private final int[] gains = new int[32];
+
+    /**
+     * Calcule le gain matériel attendu d'une prise, en supposant que chaque camp
+     * reprend avec sa pièce la moins précieuse tant que c'est avantageux.
+     * @param board le plateau avant le coup
+     * @param move la prise encodée
+     * @return le gain en centipions (négatif si l'échange perd du matériel)
+     */
+    public int evaluate(Board board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int toRow = to / 8;
+        int toColumn = to % 8;
+        Piece attacker = board.getPieceAt(from / 8, from % 8);
+        Piece target = board.getPieceAt(toRow, toColumn);
+
+        // Cases dont la pièce a déjà été engagée dans l'échange
+        long removed = 1L << from;
+        if (target == null && MoveGenerator.isEnPassant(board, move)) {
+            target = board.getPieceAt(from / 8, toColumn);
+            removed |= 1L << (from / 8 * 8 + toColumn);
+        }
+
+        int depth = 0;
+        gains[0] = target == null ? 0 : value(target.getType());
+        int occupantValue = value(attacker.getType());
+        PieceType promotion = Move.promotion(move);
+        if (promotion != null) {
+            int bonus = value(promotion) - value(PieceType.PAWN);
+            gains[0] += bonus;
+            occupantValue += bonus;
+        }
+
+        Color side = attacker.getColor().opposite();
+        while (depth < gains.length - 1) {
+            int square = leastValuableAttacker(board, toRow, toColumn, side, removed);
+            if (square < 0) {
+                break;
+            }
+            depth++;
+            gains[depth] = occupantValue - gains[depth - 1];
+            if (Math.max(-gains[depth - 1], gains[depth]) < 0) {
+                break;
+            }
+            occupantValue = value(board.getPieceAt(square / 8, square % 8).getType());
+            removed |= 1L << square;
+            side = side.opposite();
+        }
+
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    /**
+     * Indique si une prise ne perd pas de matériel selon la SEE.
+     * @param board le plateau
+     * @param move la prise encodée
+     * @param threshold le gain minimal exigé
+     * @return true si le gain est au moins égal au seuil
+     */
+    public boolean isAtLeast(Board board, int move, int threshold) {
+        return evaluate(board, move) >= threshold;
+    }
+
+    /**
+     * Retourne la valeur d'échange d'un type de pièce.
+     * @param type le type de pièce
+     * @return la valeur en centipions
+     */
+    public static int value(PieceType type) {
+        return type.isKing() ? KING_VALUE : PieceSquareTables.materialValue(type);
+    }
+
+    /**
+     * Cherche l'attaquant de moindre valeur d'une case pour une couleur, en ignorant les cases retirées.
+     * @return l'index de la case de l'attaquant, ou -1 s'il n'y en a pas
+     */
+    private int leastValuableAttacker(Board board, int row, int column, Color side, long removed) {
+        int bestSquare = -1;
+        int bestValue = Integer.MAX_VALUE;
+
+        int pawnRow = row - side.getPawnDirection();
+        if (pawnRow >= 0 && pawnRow < 8) {
+            for (int offset = -1; offset <= 1; offset += 2) {
+                int c = column + offset;
+                if (c >= 0 && c < 8 && isAttacker(board, pawnRow, c, side, PieceType.PAWN, removed)) {
+                    return pawnRow * 8 + c;
+                }
+            }
+        }
+
+        for (int[] offset : KNIGHT_OFFSETS) {
+            int r = row + offset[0];
+            int c = column + offset[1];
+            if (r >= 0 && r < 8 && c >= 0 && c < 8 && isAttacker(board, r, c, side, PieceType.KNIGHT, removed)) {
+                return r * 8 + c;
+            }
+        }
+
+        for (int[] direction : KING_OFFSETS) {
+            boolean diagonal = direction[0] != 0 && direction[1] != 0;
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                Piece piece = board.getPieceAt(r, c);
+                if (piece != null && (removed & (1L << (r * 8 + c))) == 0) {
+                    PieceType type = piece.getType();
+                    boolean slides = type == PieceType.QUEEN
+                        || (diagonal && type == PieceType.BISHOP)
+                        || (!diagonal && type == PieceType.ROOK);
+                    boolean adjacentKing = type == PieceType.KING
+                        && Math.abs(r - row) <= 1 && Math.abs(c - column) <= 1;
+                    if (piece.getColor() == side && (slides || adjacentKing) && value(type) < bestValue) {
+                        bestValue = value(type);
+                        bestSquare = r * 8 + c;
+                    }
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return bestSquare;
+    }
+
+    private static boolean isAttacker(Board board, int row, int column, Color side, PieceType type, long removed) {
+        if ((removed & (1L << (row * 8 + column))) != 0) {
+            return false;
+        }
+        Piece piece = board.getPieceAt(row, column);
+        return piece != null && piece.getColor() == side && piece.getType() == type;
+    }
+}
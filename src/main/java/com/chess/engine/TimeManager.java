@@ -0,0 +1,129 @@
+package com.chess.engine;
+
+import com.chess.board.Color;
+
+/**
+ * Répartit le temps de réflexion d'un coup à partir de la pendule et de l'incrément.
+ *
+ * Deux budgets sont calculés : un budget optimal, au-delà duquel aucune nouvelle itération
+ * n'est commencée, et un budget maximal, échéance ferme de la recherche. Le budget optimal
+ * est augmenté lorsque le meilleur coup change d'une itération à l'autre.
+ */
+public class TimeManager {
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int MAX_MOVES_TO_GO = 50;
+    private static final long MOVE_OVERHEAD = 10;
+    private static final int MAXIMUM_FACTOR = 5;
+    private static final double MAX_INSTABILITY = 2.5;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private long startNanos;
+    private long optimumNanos;
+    private long maximumNanos;
+    private boolean timeLimited;
+    private double bestMoveChanges;
+    private int previousBestMove;
+
+    /**
+     * Calcule les budgets d'un nouveau coup.
+     * @param limits les limites de la recherche
+     * @param side le joueur au trait
+     * @param startNanos l'instant de début de la recherche (System.nanoTime())
+     */
+    public void start(SearchLimits limits, Color side, long startNanos) {
+        this.startNanos = startNanos;
+        this.bestMoveChanges = 0;
+        this.previousBestMove = Move.NONE;
+        this.timeLimited = limits.isTimeLimited();
+        if (!timeLimited) {
+            optimumNanos = Long.MAX_VALUE;
+            maximumNanos = Long.MAX_VALUE;
+            return;
+        }
+
+        long optimum;
+        long maximum;
+        if (limits.getMoveTime() > 0) {
+            optimum = Math.max(1, limits.getMoveTime() - MOVE_OVERHEAD);
+            maximum = optimum;
+        } else {
+            long remaining = Math.max(1, limits.getTime(side) - MOVE_OVERHEAD);
+            int movesToGo = limits.getMovesToGo() > 0
+                ? Math.min(limits.getMovesToGo(), MAX_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+            optimum = remaining / movesToGo + limits.getIncrement(side) * 3 / 4;
+            // Ne jamais engager plus des quatre cinquièmes de la pendule sur un seul coup
+            maximum = Math.min(optimum * MAXIMUM_FACTOR, remaining * 4 / 5);
+            optimum = Math.max(1, Math.min(optimum, maximum));
+            maximum = Math.max(1, maximum);
+        }
+        optimumNanos = optimum * NANOS_PER_MILLI;
+        maximumNanos = maximum * NANOS_PER_MILLI;
+    }
+
+    /**
+     * Enregistre le meilleur coup d'une itération terminée. Les changements récents
+     * de meilleur coup comptent davantage que les anciens.
+     * @param bestMove le meilleur coup de l'itération
+     */
+    public void onIterationComplete(int bestMove) {
+        bestMoveChanges /= 2;
+        if (previousBestMove != Move.NONE && bestMove != previousBestMove) {
+            bestMoveChanges += 1;
+        }
+        previousBestMove = bestMove;
+    }
+
+    /**
+     * Indique si une nouvelle itération peut être commencée : une itération coûtant
+     * plusieurs fois la précédente, on s'arrête dès que la moitié du budget est consommée.
+     * @param nowNanos l'instant présent (System.nanoTime())
+     * @return true si la recherche peut continuer
+     */
+    public boolean canStartIteration(long nowNanos) {
+        if (!timeLimited) {
+            return true;
+        }
+        return nowNanos - startNanos < getSoftLimitNanos() / 2;
+    }
+
+    /**
+     * Retourne le budget optimal, augmenté selon l'instabilité du meilleur coup et
+     * plafonné par le budget maximal.
+     * @return le budget en nanosecondes
+     */
+    public long getSoftLimitNanos() {
+        if (!timeLimited) {
+            return Long.MAX_VALUE;
+        }
+        double scale = 1 + Math.min(bestMoveChanges, MAX_INSTABILITY - 1);
+        return Math.min(maximumNanos, (long) (optimumNanos * scale));
+    }
+
+    /**
+     * Retourne l'échéance ferme de la recherche.
+     * @return l'instant limite (System.nanoTime()), ou Long.MAX_VALUE sans limite de temps
+     */
+    public long getDeadlineNanos() {
+        return timeLimited ? startNanos + maximumNanos : Long.MAX_VALUE;
+    }
+
+    public boolean isTimeLimited() {
+        return timeLimited;
+    }
+
+    /**
+     * Retourne le budget optimal, hors extension.
+     * @return le budget en millisecondes
+     */
+    public long getOptimumMillis() {
+        return timeLimited ? optimumNanos / NANOS_PER_MILLI : Long.MAX_VALUE;
+    }
+
+    /**
+     * Retourne le budget maximal.
+     * @return le budget en millisecondes
+     */
+    public long getMaximumMillis() {
+        return timeLimited ? maximumNanos / NANOS_PER_MILLI : Long.MAX_VALUE;
+    }
+}
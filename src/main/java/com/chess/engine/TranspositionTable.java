@@ -0,0 +1,175 @@
+package com.chess.engine;
+
+import com.chess.metrics.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Table de transposition : mémorise, par clé de Zobrist, le meilleur coup, le score et la
+ * profondeur des positions déjà explorées.
+ *
+ * Chaque entrée occupe deux longs (clé et données). La clé est stockée combinée aux données
+ * par un ou exclusif, de sorte qu'une entrée à moitié écrite par un autre thread est simplement
+ * ignorée à la lecture.
+ */
+public class TranspositionTable {
+    /** Le score est exact. */
+    public static final int BOUND_EXACT = 0;
+    /** Le score est une borne inférieure (coupure bêta). */
+    public static final int BOUND_LOWER = 1;
+    /** Le score est une borne supérieure (aucun coup n'a dépassé alpha). */
+    public static final int BOUND_UPPER = 2;
+
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private long[] keys;
+    private long[] data;
+    private int mask;
+
+    /**
+     * Constructeur pour créer une table d'une taille donnée.
+     * @param megabytes la taille en mégaoctets
+     */
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    /**
+     * Redimensionne la table ; son contenu est perdu.
+     * @param megabytes la nouvelle taille en mégaoctets
+     */
+    public void resize(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Taille de table invalide : " + megabytes);
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        int capacity = (int) Math.min(entries, 1 << 30);
+        this.keys = new long[capacity];
+        this.data = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Vide la table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    /**
+     * Cherche l'entrée d'une position.
+     * @param key la clé de Zobrist de la position
+     * @return les données de l'entrée, ou 0 si la position est absente
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        if (Metrics.ENABLED) {
+            Metrics.Counter.TRANSPOSITION_PROBES.increment();
+        }
+        if ((keys[index] ^ entry) != key || entry == 0L) {
+            return 0L;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.Counter.TRANSPOSITION_HITS.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position.
+     * Une entrée plus profonde d'une autre position n'est remplacée que si la nouvelle est aussi profonde.
+     * @param key la clé de Zobrist
+     * @param move le meilleur coup (Move.NONE si inconnu)
+     * @param score le score, déjà ramené à la racine de la position (voir scoreToTable)
+     * @param depth la profondeur de recherche
+     * @param bound le type de borne
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long existing = data[index];
+        boolean samePosition = (keys[index] ^ existing) == key;
+        if (!samePosition && existing != 0L && depthOf(existing) > depth + 2) {
+            return;
+        }
+        if (samePosition && move == Move.NONE) {
+            move = moveOf(existing);
+        }
+        long entry = (move & 0xFFFFL)
+            | ((long) (score & 0xFFFF) << 16)
+            | ((long) (depth & 0xFF) << 32)
+            | ((long) (bound & 0x3) << 40)
+            | (1L << 42);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * Retourne le coup mémorisé dans une entrée.
+     * @param entry les données de l'entrée
+     * @return le coup encodé
+     */
+    public static int moveOf(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    /**
+     * Retourne le score mémorisé dans une entrée.
+     * @param entry les données de l'entrée
+     * @return le score
+     */
+    public static int scoreOf(long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    /**
+     * Retourne la profondeur mémorisée dans une entrée.
+     * @param entry les données de l'entrée
+     * @return la profondeur
+     */
+    public static int depthOf(long entry) {
+        return (int) ((entry >>> 32) & 0xFF);
+    }
+
+    /**
+     * Retourne le type de borne mémorisé dans une entrée.
+     * @param entry les données de l'entrée
+     * @return BOUND_EXACT, BOUND_LOWER ou BOUND_UPPER
+     */
+    public static int boundOf(long entry) {
+        return (int) ((entry >>> 40) & 0x3);
+    }
+
+    /**
+     * Convertit un score de mat relatif à la racine en score relatif au nœud, pour le stockage.
+     * @param score le score
+     * @param ply la distance du nœud à la racine
+     * @return le score à stocker
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Search.MATE_SCORE - Search.MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -Search.MATE_SCORE + Search.MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Convertit un score lu dans la table en score relatif à la racine.
+     * @param score le score stocké
+     * @param ply la distance du nœud à la racine
+     * @return le score relatif à la racine
+     */
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Search.MATE_SCORE - Search.MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Search.MATE_SCORE + Search.MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,337 @@
+package com.chess.game;
+
+import com.chess.board.Board;
+import com.chess.board.BoardSnapshot;
+import com.chess.board.Piece;
+import com.chess.board.PieceType;
+import com.chess.board.Position;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.metrics.Metrics;
+import com.chess.rules.GameStateChecker;
+import com.chess.rules.GameStateChecker.GameState;
+import com.chess.rules.MoveHistory;
+import com.chess.rules.MoveValidator;
+import com.chess.rules.SpecialMovesHandler;
+import com.chess.rules.StopSignal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contrôleur d'une partie, sans dépendance à Swing : transforme un déplacement demandé
+ * (case de départ, case d'arrivée, promotion éventuelle) en coup légal joué, avec détection
+ * des coups spéciaux, capture en passant, promotion, enregistrement dans l'historique
+ * et changement de joueur.
+ *
+ * Utilisé par l'interface graphique comme par le serveur de parties et les traitements par lots.
+ *
+ * Les coups sont joués par Board.makeMove : l'annulation (undo) et le rétablissement (redo)
+ * s'appuient sur la pile d'annulation du plateau et coûtent O(1), sans reconstruire la position.
+ */
+public class GameController {
+    private static final int LEGAL_MOVE_CACHE_SIZE = 256;
+
+    private final Board board;
+    private final MoveHistory moveHistory;
+    private final MoveValidator moveValidator;
+    private final SpecialMovesHandler specialMovesHandler;
+    private final GameStateChecker gameStateChecker;
+    private final MoveGenerator moveGenerator;
+    private final List<MoveHistory.Move> redoMoves = new ArrayList<>();
+    // Coups légaux par position (clé de Zobrist), partagés avec les copies de la partie
+    private final Map<Long, LegalMoveMap> legalMoveCache;
+
+    /**
+     * Résultat d'une demande de coup.
+     */
+    public enum MoveResult {
+        /** Le coup a été joué. */
+        MOVED,
+        /** Aucune pièce sur la case de départ. */
+        NO_PIECE,
+        /** La pièce n'appartient pas au joueur au trait. */
+        WRONG_PLAYER,
+        /** Le coup est une promotion et aucun type de pièce n'a été fourni. */
+        PROMOTION_REQUIRED,
+        /** Roque, prise en passant ou promotion non valide. */
+        INVALID_SPECIAL_MOVE,
+        /** Coup non valide ou laissant le roi en échec. */
+        ILLEGAL
+    }
+
+    /**
+     * Constructeur pour créer une partie en position de départ.
+     */
+    public GameController() {
+        this(new Board());
+        board.initializeBoard();
+        moveHistory.clear();
+    }
+
+    /**
+     * Constructeur pour piloter un plateau existant (par exemple lu depuis une FEN).
+     * @param board le plateau
+     */
+    public GameController(Board board) {
+        this(board, new MoveHistory(), Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LegalMoveMap> eldest) {
+                return size() > LEGAL_MOVE_CACHE_SIZE;
+            }
+        }));
+        moveHistory.start(board);
+    }
+
+    private GameController(Board board, MoveHistory moveHistory, Map<Long, LegalMoveMap> legalMoveCache) {
+        this.board = board;
+        this.moveHistory = moveHistory;
+        this.legalMoveCache = legalMoveCache;
+        this.moveValidator = new MoveValidator(board, moveHistory);
+        this.specialMovesHandler = new SpecialMovesHandler(board, moveHistory);
+        this.gameStateChecker = new GameStateChecker(board, moveValidator);
+        this.moveGenerator = new MoveGenerator();
+    }
+
+    /**
+     * Retourne une copie indépendante de la partie (plateau et historique), sur laquelle
+     * un autre thread peut valider des coups ou évaluer l'état sans toucher à l'original.
+     * Les coups à rétablir ne sont pas copiés ; le cache des coups légaux est partagé.
+     * @return la copie
+     */
+    public GameController copy() {
+        Board copy = new Board();
+        BoardSnapshot.of(board).restore(copy);
+        return new GameController(copy, moveHistory.copy(), legalMoveCache);
+    }
+
+    /**
+     * Recommence une partie en position de départ, en réutilisant les objets existants.
+     */
+    public void newGame() {
+        board.initializeBoard();
+        moveHistory.clear();
+        redoMoves.clear();
+    }
+
+    /**
+     * Recommence une partie depuis une position donnée (par exemple lue depuis une FEN),
+     * en réutilisant les objets existants.
+     * @param start le plateau de départ, qui n'est pas modifié
+     */
+    public void newGame(Board start) {
+        BoardSnapshot.of(start).restore(board);
+        moveHistory.start(board);
+        redoMoves.clear();
+    }
+
+    /**
+     * Indique si un déplacement est une promotion, pour laquelle un type de pièce doit être choisi.
+     * @param from la case de départ
+     * @param to la case d'arrivée
+     * @return true si le coup est une promotion
+     */
+    public boolean requiresPromotion(Position from, Position to) {
+        return specialMovesHandler.isPromotion(from, to);
+    }
+
+    /**
+     * Joue un coup s'il est légal.
+     * @param from la case de départ
+     * @param to la case d'arrivée
+     * @param promotionType le type de la pièce promue (ignoré si le coup n'est pas une promotion)
+     * @return MOVED si le coup a été joué, sinon la raison du refus
+     */
+    public MoveResult applyMove(Position from, Position to, PieceType promotionType) {
+        Piece piece = board.getPieceAt(from);
+        if (piece == null) {
+            return MoveResult.NO_PIECE;
+        }
+        if (piece.getColor() != board.getCurrentPlayer()) {
+            return MoveResult.WRONG_PLAYER;
+        }
+
+        if (specialMovesHandler.isSpecialMove(from, to)) {
+            if (promotionType == null && specialMovesHandler.isPromotion(from, to)) {
+                return MoveResult.PROMOTION_REQUIRED;
+            }
+            if (!specialMovesHandler.isValidSpecialMove(from, to)) {
+                return MoveResult.INVALID_SPECIAL_MOVE;
+            }
+        } else if (!moveValidator.isValidMove(from, to)) {
+            return MoveResult.ILLEGAL;
+        }
+        play(from, to, piece, promotionType);
+        redoMoves.clear();
+        return MoveResult.MOVED;
+    }
+
+    /**
+     * Joue un coup déjà validé, par exemple sur une copie de la partie (voir copy),
+     * sans refaire la validation.
+     * @param from la case de départ
+     * @param to la case d'arrivée
+     * @param promotionType le type de la pièce promue (dame si null)
+     */
+    public void applyValidatedMove(Position from, Position to, PieceType promotionType) {
+        play(from, to, board.getPieceAt(from), promotionType);
+        redoMoves.clear();
+    }
+
+    /**
+     * Annule le dernier coup : la position, les pièces capturées (en passant et promotion
+     * comprises), les droits de roque et les indicateurs de déplacement sont restaurés.
+     * @return le coup annulé, ou null s'il n'y a rien à annuler
+     */
+    public MoveHistory.Move undo() {
+        if (moveHistory.getMoveCount() == 0 || board.getUndoDepth() == 0) {
+            return null;
+        }
+        board.unmakeMove();
+        MoveHistory.Move move = moveHistory.removeLastMove();
+        redoMoves.add(move);
+        return move;
+    }
+
+    /**
+     * Rejoue le dernier coup annulé. Jouer un nouveau coup vide la liste des coups à rétablir.
+     * @return le coup rejoué, ou null s'il n'y a rien à rétablir
+     */
+    public MoveHistory.Move redo() {
+        if (redoMoves.isEmpty()) {
+            return null;
+        }
+        MoveHistory.Move move = redoMoves.remove(redoMoves.size() - 1);
+        play(move.getFrom(), move.getTo(), board.getPieceAt(move.getFrom()), move.getPromotion());
+        return move;
+    }
+
+    public boolean canUndo() {
+        return moveHistory.getMoveCount() > 0 && board.getUndoDepth() > 0;
+    }
+
+    public boolean canRedo() {
+        return !redoMoves.isEmpty();
+    }
+
+    /**
+     * Joue un coup déjà validé de manière réversible et l'enregistre dans l'historique.
+     */
+    private void play(Position from, Position to, Piece piece, PieceType promotionType) {
+        // La pièce prise en passant n'est pas sur la case d'arrivée
+        Piece capturedPiece = board.getPieceAt(to);
+        if (capturedPiece == null && piece.getType().isPawn() && from.getColumn() != to.getColumn()) {
+            capturedPiece = board.getPieceAt(from.getRow(), to.getColumn());
+        }
+        board.makeMove(from, to, promotionType);
+        moveHistory.addMove(from, to, piece, capturedPiece, board);
+    }
+
+    /**
+     * Joue une suite de coups en une passe, par exemple pour rattraper une partie importée
+     * ou suivie en direct. Chaque coup est vérifié par le générateur de coups (sans liste de
+     * coups légaux ni copie du plateau) puis joué par Board.makeMove ; l'état de la partie
+     * n'est pas évalué entre les coups : appeler state() une fois à la fin.
+     * @param moves les coups encodés (voir engine.Move)
+     * @param count le nombre de coups à jouer
+     * @return -1 si tous les coups ont été joués, sinon l'indice du premier coup illégal
+     *         (les coups qui le précèdent restent joués)
+     */
+    public int applyMoves(int[] moves, int count) {
+        for (int ply = 0; ply < count; ply++) {
+            int move = moves[ply];
+            if (!moveGenerator.isPseudoLegal(board, move) || !moveGenerator.isLegal(board, move)) {
+                return ply;
+            }
+            Position from = Move.fromPosition(move);
+            Position to = Move.toPosition(move);
+            Piece piece = board.getPieceAt(from);
+            Piece capturedPiece = MoveGenerator.isEnPassant(board, move)
+                ? board.getPieceAt(from.getRow(), to.getColumn())
+                : board.getPieceAt(to);
+            MoveGenerator.makeMove(board, move);
+            moveHistory.addMove(from, to, piece, capturedPiece, board);
+            redoMoves.clear();
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne tous les coups légaux du joueur au trait.
+     * @return les coups, coups spéciaux compris
+     */
+    public List<MoveValidator.MovePair> legalMoves() {
+        return moveValidator.getAllValidMoves(board.getCurrentPlayer());
+    }
+
+    /**
+     * Retourne les coups légaux de la position, regroupés par case de départ. Ils ne sont
+     * calculés qu'une fois par position : les sélections suivantes, un retour par annulation
+     * ou une copie de la partie les retrouvent dans le cache.
+     * @return les coups légaux de la position courante
+     */
+    public LegalMoveMap legalMoveMap() {
+        long key = board.getZobristKey();
+        LegalMoveMap moves = legalMoveCache.get(key);
+        if (moves == null) {
+            if (Metrics.ENABLED) {
+                Metrics.Counter.LEGAL_MOVE_CACHE_MISSES.increment();
+            }
+            moves = LegalMoveMap.of(board, moveGenerator);
+            legalMoveCache.put(key, moves);
+        } else if (Metrics.ENABLED) {
+            Metrics.Counter.LEGAL_MOVE_CACHE_HITS.increment();
+        }
+        return moves;
+    }
+
+    /**
+     * Retourne les cases d'arrivée légales d'une pièce du joueur au trait.
+     * @param from la case de la pièce
+     * @return les cases d'arrivée, vide si la pièce n'appartient pas au joueur au trait
+     */
+    public Position[] legalMoves(Position from) {
+        return moveValidator.getValidMoves(from);
+    }
+
+    /**
+     * Retourne l'état de la partie : en cours, échec, mat, pat ou nulle.
+     * @return l'état
+     */
+    public GameState state() {
+        return gameStateChecker.getGameState(moveHistory);
+    }
+
+    /**
+     * Retourne l'état de la partie, en permettant d'interrompre le calcul.
+     * @param stopSignal le signal d'arrêt
+     * @return l'état
+     * @throws java.util.concurrent.CancellationException si l'arrêt est demandé avant la fin du calcul
+     */
+    public GameState state(StopSignal stopSignal) {
+        return gameStateChecker.getGameState(moveHistory, stopSignal);
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public MoveHistory getMoveHistory() {
+        return moveHistory;
+    }
+
+    public MoveValidator getMoveValidator() {
+        return moveValidator;
+    }
+
+    public SpecialMovesHandler getSpecialMovesHandler() {
+        return specialMovesHandler;
+    }
+
+    public GameStateChecker getGameStateChecker() {
+        return gameStateChecker;
+    }
+}
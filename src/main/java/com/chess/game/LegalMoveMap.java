@@ -0,0 +1,66 @@
+package com.chess.game;
+
+import com.chess.board.Board;
+import com.chess.board.Position;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+
+/**
+ * Coups légaux d'une position, regroupés par case de départ : pour chaque case,
+ * un masque de 64 bits des cases d'arrivée (bit ligne * 8 + colonne).
+ *
+ * Immuable une fois construit, il peut être calculé sur un thread et lu sur un autre.
+ */
+public final class LegalMoveMap {
+    private final long[] targets = new long[64];
+    private final int size;
+
+    private LegalMoveMap(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Calcule les coups légaux du joueur au trait.
+     * @param board le plateau
+     * @param moveGenerator le générateur de coups
+     * @return les coups regroupés par case de départ
+     */
+    public static LegalMoveMap of(Board board, MoveGenerator moveGenerator) {
+        MoveList moves = new MoveList();
+        moveGenerator.generateLegal(board, moves);
+        LegalMoveMap map = new LegalMoveMap(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            map.targets[Move.from(move)] |= 1L << Move.to(move);
+        }
+        return map;
+    }
+
+    /**
+     * Retourne les cases d'arrivée légales d'une case de départ.
+     * @param from la case de départ
+     * @return le masque des cases d'arrivée, 0 si aucune
+     */
+    public long getTargets(Position from) {
+        return targets[from.getIndex()];
+    }
+
+    /**
+     * Indique si un déplacement est légal (quelle que soit la pièce de promotion).
+     * @param from la case de départ
+     * @param to la case d'arrivée
+     * @return true si le déplacement est légal
+     */
+    public boolean isLegal(Position from, Position to) {
+        return (targets[from.getIndex()] & (1L << to.getIndex())) != 0;
+    }
+
+    /**
+     * Retourne le nombre de coups légaux, chaque choix de promotion comptant pour un coup.
+     * @return le nombre de coups
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,367 @@
+package com.chess.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Tri externe d'enregistrements (clé, valeur, poids) de trois longs, en mémoire bornée.
+ *
+ * Chaque thread producteur obtient son propre Writer : les enregistrements y sont accumulés,
+ * puis triés par clé et valeur (comparées sans signe) et écrits dans un fichier temporaire
+ * (« run ») dès que le tampon est plein. Les enregistrements de même clé et même valeur sont
+ * combinés en additionnant leurs poids, au moment du déversement comme à la fusion.
+ * La fusion lit au plus maxFanIn runs à la fois : au-delà, des passes intermédiaires
+ * fusionnent les runs par groupes en runs plus longs, jusqu'à ce qu'une dernière passe
+ * suffise. Les fichiers ouverts et les tampons de lecture restent ainsi bornés quel que
+ * soit le nombre de runs.
+ */
+public class ExternalSorter implements Closeable {
+    private static final int RECORD_LONGS = 3;
+    private static final int STREAM_BUFFER = 1 << 16;
+    private static final int DEFAULT_MAX_FAN_IN = 64;
+
+    private final Path tempDirectory;
+    private final int recordsPerRun;
+    private final int maxFanIn;
+    private final List<Path> runs;
+
+    /**
+     * Reçoit les enregistrements triés et combinés.
+     */
+    public interface RecordConsumer {
+        /**
+         * Traite un enregistrement.
+         * @param key la clé
+         * @param value la valeur
+         * @param weight la somme des poids des enregistrements identiques
+         * @throws IOException en cas d'erreur d'écriture du consommateur
+         */
+        void accept(long key, long value, long weight) throws IOException;
+    }
+
+    /**
+     * Constructeur pour créer un trieur.
+     * @param tempDirectory le répertoire des fichiers temporaires
+     * @param recordsPerRun le nombre d'enregistrements gardés en mémoire par Writer
+     */
+    public ExternalSorter(Path tempDirectory, int recordsPerRun) {
+        this(tempDirectory, recordsPerRun, DEFAULT_MAX_FAN_IN);
+    }
+
+    /**
+     * Constructeur pour créer un trieur.
+     * @param tempDirectory le répertoire des fichiers temporaires
+     * @param recordsPerRun le nombre d'enregistrements gardés en mémoire par Writer
+     * @param maxFanIn le nombre maximal de runs lus en même temps par une passe de fusion
+     */
+    public ExternalSorter(Path tempDirectory, int recordsPerRun, int maxFanIn) {
+        if (recordsPerRun <= 0) {
+            throw new IllegalArgumentException("Taille de run invalide : " + recordsPerRun);
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("Degré de fusion invalide : " + maxFanIn);
+        }
+        this.tempDirectory = tempDirectory;
+        this.recordsPerRun = recordsPerRun;
+        this.maxFanIn = maxFanIn;
+        this.runs = new ArrayList<>();
+    }
+
+    /**
+     * Crée un tampon d'écriture, à utiliser par un seul thread.
+     * @return le tampon
+     */
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+    /**
+     * Retourne le nombre de runs écrits sur disque.
+     * @return le nombre de runs
+     */
+    public synchronized int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Fusionne tous les runs et transmet les enregistrements triés et combinés.
+     * Les tampons doivent avoir été vidés par Writer.flush() au préalable.
+     * Les fichiers temporaires, intermédiaires compris, sont supprimés à la fin de la fusion.
+     * @param consumer le consommateur des enregistrements
+     * @throws IOException en cas d'erreur de lecture des runs ou du consommateur
+     */
+    public void merge(RecordConsumer consumer) throws IOException {
+        List<Path> toMerge;
+        synchronized (this) {
+            toMerge = new ArrayList<>(runs);
+            runs.clear();
+        }
+        List<Path> created = new ArrayList<>(toMerge);
+        try {
+            while (toMerge.size() > maxFanIn) {
+                List<Path> next = new ArrayList<>((toMerge.size() + maxFanIn - 1) / maxFanIn);
+                for (int start = 0; start < toMerge.size(); start += maxFanIn) {
+                    Path run = Files.createTempFile(tempDirectory, "run-", ".tmp");
+                    created.add(run);
+                    next.add(run);
+                    try (DataOutputStream out = openRun(run)) {
+                        mergeRuns(toMerge.subList(start, Math.min(start + maxFanIn, toMerge.size())),
+                                  (key, value, weight) -> {
+                                      out.writeLong(key);
+                                      out.writeLong(value);
+                                      out.writeLong(weight);
+                                  });
+                    }
+                }
+                toMerge = next;
+            }
+            mergeRuns(toMerge, consumer);
+        } finally {
+            for (Path run : created) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Fusionne un groupe de runs, puis supprime ses fichiers.
+     */
+    private static void mergeRuns(List<Path> group, RecordConsumer consumer) throws IOException {
+        List<RunReader> readers = new ArrayList<>(group.size());
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, group.size()), RunReader::compareTo);
+            for (Path run : group) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+
+            boolean pending = false;
+            long key = 0;
+            long value = 0;
+            long weight = 0;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (pending && reader.key == key && reader.value == value) {
+                    weight += reader.weight;
+                } else {
+                    if (pending) {
+                        consumer.accept(key, value, weight);
+                    }
+                    key = reader.key;
+                    value = reader.value;
+                    weight = reader.weight;
+                    pending = true;
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            if (pending) {
+                consumer.accept(key, value, weight);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+            for (Path run : group) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Supprime les runs qui n'ont pas été fusionnés.
+     * @throws IOException en cas d'erreur de suppression
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    private synchronized void addRun(Path run) {
+        runs.add(run);
+    }
+
+    /**
+     * Tampon d'écriture d'un thread producteur.
+     */
+    public class Writer {
+        private final long[] records = new long[recordsPerRun * RECORD_LONGS];
+        private int size;
+
+        /**
+         * Ajoute un enregistrement ; le tampon est trié et déversé sur disque quand il est plein.
+         * @param key la clé
+         * @param value la valeur
+         * @param weight le poids
+         * @throws UncheckedIOException en cas d'erreur d'écriture du run
+         */
+        public void add(long key, long value, long weight) {
+            if (size == recordsPerRun) {
+                flush();
+            }
+            int base = size * RECORD_LONGS;
+            records[base] = key;
+            records[base + 1] = value;
+            records[base + 2] = weight;
+            size++;
+        }
+
+        /**
+         * Trie, combine et déverse le contenu du tampon dans un nouveau run.
+         * @throws UncheckedIOException en cas d'erreur d'écriture du run
+         */
+        public void flush() {
+            if (size == 0) {
+                return;
+            }
+            sort(records, 0, size - 1);
+            try {
+                Path run = Files.createTempFile(tempDirectory, "run-", ".tmp");
+                try (DataOutputStream out = openRun(run)) {
+                    int i = 0;
+                    while (i < size) {
+                        int base = i * RECORD_LONGS;
+                        long key = records[base];
+                        long value = records[base + 1];
+                        long weight = records[base + 2];
+                        i++;
+                        while (i < size && records[i * RECORD_LONGS] == key && records[i * RECORD_LONGS + 1] == value) {
+                            weight += records[i * RECORD_LONGS + 2];
+                            i++;
+                        }
+                        out.writeLong(key);
+                        out.writeLong(value);
+                        out.writeLong(weight);
+                    }
+                }
+                addRun(run);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size = 0;
+        }
+    }
+
+    private static DataOutputStream openRun(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), STREAM_BUFFER));
+    }
+
+    /**
+     * Tri rapide des enregistrements [low, high] par clé puis valeur, sans signe.
+     */
+    private static void sort(long[] records, int low, int high) {
+        while (high - low > 16) {
+            int middle = (low + high) >>> 1;
+            // Médiane de trois placée en low
+            if (compare(records, middle, low) < 0) {
+                swap(records, middle, low);
+            }
+            if (compare(records, high, low) < 0) {
+                swap(records, high, low);
+            }
+            if (compare(records, high, middle) < 0) {
+                swap(records, high, middle);
+            }
+            swap(records, low, middle);
+            int i = low + 1;
+            int j = high;
+            while (true) {
+                while (i <= j && compare(records, i, low) < 0) {
+                    i++;
+                }
+                while (compare(records, j, low) > 0) {
+                    j--;
+                }
+                if (i >= j) {
+                    break;
+                }
+                swap(records, i++, j--);
+            }
+            swap(records, low, j);
+            // Récursion sur la plus petite partie pour borner la pile
+            if (j - low < high - j) {
+                sort(records, low, j - 1);
+                low = j + 1;
+            } else {
+                sort(records, j + 1, high);
+                high = j - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(records, j, j - 1) < 0; j--) {
+                swap(records, j, j - 1);
+            }
+        }
+    }
+
+    private static int compare(long[] records, int a, int b) {
+        int baseA = a * RECORD_LONGS;
+        int baseB = b * RECORD_LONGS;
+        int byKey = Long.compareUnsigned(records[baseA], records[baseB]);
+        return byKey != 0 ? byKey : Long.compareUnsigned(records[baseA + 1], records[baseB + 1]);
+    }
+
+    private static void swap(long[] records, int a, int b) {
+        int baseA = a * RECORD_LONGS;
+        int baseB = b * RECORD_LONGS;
+        for (int k = 0; k < RECORD_LONGS; k++) {
+            long tmp = records[baseA + k];
+            records[baseA + k] = records[baseB + k];
+            records[baseB + k] = tmp;
+        }
+    }
+
+    /**
+     * Lecteur séquentiel d'un run, positionné sur son enregistrement courant.
+     */
+    private static final class RunReader implements Comparable<RunReader>, Closeable {
+        private final DataInputStream in;
+        private long key;
+        private long value;
+        private long weight;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), STREAM_BUFFER));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                key = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            value = in.readLong();
+            weight = in.readLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            int byKey = Long.compareUnsigned(key, other.key);
+            return byKey != 0 ? byKey : Long.compareUnsigned(value, other.value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.chess.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichier en lecture seule projeté en mémoire, accessible par positions absolues sur 64 bits.
+ *
+ * Un MappedByteBuffer étant limité à 2 Go, le fichier est découpé en segments de 1 Go ;
+ * les lectures, gros-boutistes, ne doivent pas chevaucher deux segments, ce qui est garanti
+ * pour des enregistrements de taille fixe divisant 1 Go (16, 32 octets...).
+ */
+public class MappedFile implements Closeable {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    /**
+     * Projette un fichier en mémoire.
+     * @param path le chemin du fichier
+     * @throws IOException en cas d'erreur d'ouverture ou de projection
+     */
+    public MappedFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                                          Math.min(size - start, SEGMENT_MASK + 1));
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retourne la taille du fichier.
+     * @return la taille en octets
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Lit un long à une position donnée.
+     * @param offset la position en octets
+     * @return la valeur lue
+     */
+    public long getLong(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Lit un int à une position donnée.
+     * @param offset la position en octets
+     * @return la valeur lue
+     */
+    public int getInt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Lit un entier non signé de 16 bits à une position donnée.
+     * @param offset la position en octets
+     * @return la valeur lue, entre 0 et 65535
+     */
+    public int getUnsignedShort(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getShort((int) (offset & SEGMENT_MASK)) & 0xFFFF;
+    }
+
+    /**
+     * Ferme le fichier ; la projection est libérée par le ramasse-miettes.
+     * @throws IOException en cas d'erreur de fermeture
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
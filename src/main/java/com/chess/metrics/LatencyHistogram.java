@@ -0,0 +1,136 @@
+package com.chess.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées à précision relative constante, sur le principe de HdrHistogram :
+ * chaque puissance de deux est découpée en 16 intervalles égaux, soit une erreur d'au plus
+ * 1/16 sur toute la plage d'un long, avec moins de mille compteurs.
+ *
+ * Chaque intervalle est un LongAdder : des threads qui enregistrent en même temps
+ * ne se disputent pas une même ligne de cache.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + 2 * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructeur pour créer un histogramme vide.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enregistre une durée.
+     * @param nanos la durée en nanosecondes ; une valeur négative compte pour 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[indexOf(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Enregistre la durée écoulée depuis un instant.
+     * @param startNanos l'instant de début, lu par System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Retourne la durée moyenne.
+     * @return la moyenne en nanosecondes, 0 sans enregistrement
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Retourne la plus grande durée enregistrée.
+     * @return la durée en nanosecondes
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Retourne la durée sous laquelle se trouve une proportion donnée des enregistrements.
+     * @param percentile le centile, entre 0 et 100
+     * @return la borne supérieure de l'intervalle du centile, en nanosecondes ; 0 sans enregistrement
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            snapshot[i] = buckets[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Remet l'histogramme à zéro ; les enregistrements simultanés peuvent être perdus ou conservés.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Retourne l'intervalle d'une valeur : exact sous 32, puis 16 intervalles par puissance de deux.
+     */
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS));
+        return (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Retourne la plus grande valeur d'un intervalle.
+     */
+    static long upperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
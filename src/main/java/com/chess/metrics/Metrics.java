@@ -0,0 +1,253 @@
+package com.chess.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Mesures des chemins critiques du moteur de règles : nombre d'appels, coups générés,
+ * tests d'échec, succès des caches et durées des opérations coûteuses.
+ *
+ * Les mesures sont désactivées par défaut et activées au lancement par -Dchess.metrics=true.
+ * Chaque point de mesure est gardé par « if (Metrics.ENABLED) » : ENABLED étant une constante
+ * static final, le compilateur à la volée supprime la branche entière quand elle vaut false,
+ * lecture de l'horloge comprise. Activées, les mesures sont exposées par JMX
+ * (com.chess:type=Metrics) et par dump().
+ */
+public final class Metrics {
+    /** Vrai si les mesures sont collectées ; fixé au chargement de la classe. */
+    public static final boolean ENABLED = Boolean.getBoolean("chess.metrics");
+
+    /** Nom JMX sous lequel les mesures sont publiées. */
+    public static final String OBJECT_NAME = "com.chess:type=Metrics";
+
+    /**
+     * Compteurs, répartis sur plusieurs cellules (LongAdder) pour ne pas sérialiser les threads.
+     */
+    public enum Counter {
+        VALIDATOR_CALLS("validator.calls"),
+        VALIDATOR_CANDIDATES("validator.candidates"),
+        GENERATOR_MOVES("generator.moves"),
+        CHECK_TESTS("board.checkTests"),
+        WOULD_BE_IN_CHECK_TESTS("board.wouldBeInCheckTests"),
+        GAME_STATE_CALLS("gameState.calls"),
+        LEGAL_MOVE_CACHE_HITS("legalMoveCache.hits"),
+        LEGAL_MOVE_CACHE_MISSES("legalMoveCache.misses"),
+        TRANSPOSITION_PROBES("transpositionTable.probes"),
+        TRANSPOSITION_HITS("transpositionTable.hits");
+
+        private final String label;
+        private final LongAdder adder = new LongAdder();
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(long amount) {
+            adder.add(amount);
+        }
+
+        public long get() {
+            return adder.sum();
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Durées mesurées, en nanosecondes.
+     */
+    public enum Timer {
+        VALIDATOR_IS_VALID_MOVE("validator.isValidMove"),
+        VALIDATOR_GET_VALID_MOVES("validator.getValidMoves"),
+        GAME_STATE("gameState.getGameState");
+
+        private final String label;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Timer(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Enregistre la durée écoulée depuis un instant.
+         * @param startNanos l'instant de début, lu par System.nanoTime()
+         */
+        public void recordSince(long startNanos) {
+            histogram.recordSince(startNanos);
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** Cause de l'échec de la dernière publication JMX, rapportée par dump() ; null sinon. */
+    private static volatile String registrationError;
+
+    static {
+        if (ENABLED) {
+            try {
+                registerMBean();
+            } catch (IllegalStateException e) {
+                // Les mesures restent disponibles par dump(), qui signale l'échec
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Retourne le taux de succès du cache des coups légaux de GameController.
+     * @return la proportion de consultations trouvées, 0 sans consultation
+     */
+    public static double getLegalMoveCacheHitRate() {
+        return rate(Counter.LEGAL_MOVE_CACHE_HITS.get(),
+                    Counter.LEGAL_MOVE_CACHE_HITS.get() + Counter.LEGAL_MOVE_CACHE_MISSES.get());
+    }
+
+    /**
+     * Retourne le taux de succès de la table de transposition.
+     * @return la proportion de consultations trouvées, 0 sans consultation
+     */
+    public static double getTranspositionHitRate() {
+        return rate(Counter.TRANSPOSITION_HITS.get(), Counter.TRANSPOSITION_PROBES.get());
+    }
+
+    /**
+     * Retourne la valeur de tous les compteurs.
+     * @return les compteurs, indexés par libellé, dans l'ordre de déclaration
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            values.put(counter.getLabel(), counter.get());
+        }
+        return values;
+    }
+
+    /**
+     * Remet tous les compteurs et histogrammes à zéro.
+     */
+    public static void reset() {
+        for (Counter counter : Counter.values()) {
+            counter.adder.reset();
+        }
+        for (Timer timer : Timer.values()) {
+            timer.histogram.reset();
+        }
+    }
+
+    /**
+     * Produit un relevé textuel des mesures, une ligne par compteur ou durée.
+     * @return le relevé
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("metrics.enabled ").append(ENABLED).append(System.lineSeparator());
+        String error = registrationError;
+        if (error != null) {
+            sb.append("metrics.jmxError ").append(error).append(System.lineSeparator());
+        }
+        for (Counter counter : Counter.values()) {
+            sb.append(counter.getLabel()).append(' ').append(counter.get()).append(System.lineSeparator());
+        }
+        sb.append(String.format("legalMoveCache.hitRate %.4f%n", getLegalMoveCacheHitRate()));
+        sb.append(String.format("transpositionTable.hitRate %.4f%n", getTranspositionHitRate()));
+        for (Timer timer : Timer.values()) {
+            LatencyHistogram histogram = timer.getHistogram();
+            sb.append(String.format("%s count=%d mean=%.0fns p50=%dns p99=%dns p99.9=%dns max=%dns%n",
+                                    timer.getLabel(), histogram.getCount(), histogram.getMean(),
+                                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                                    histogram.getValueAtPercentile(99.9), histogram.getMax()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Publie les mesures par JMX sous OBJECT_NAME ; sans effet si elles le sont déjà.
+     * Appelé automatiquement au chargement quand les mesures sont activées ; un échec à ce
+     * moment est signalé par dump().
+     * @throws IllegalStateException si la publication échoue
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsBean(), name);
+            }
+            registrationError = null;
+        } catch (JMException e) {
+            registrationError = e.toString();
+            throw new IllegalStateException("Publication JMX des mesures impossible", e);
+        }
+    }
+
+    private static double rate(long hits, long total) {
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Vue JMX des mesures.
+     */
+    private static final class MetricsBean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public Map<String, Long> getLatencyPercentiles() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (Timer timer : Timer.values()) {
+                LatencyHistogram histogram = timer.getHistogram();
+                values.put(timer.getLabel() + ".count", histogram.getCount());
+                values.put(timer.getLabel() + ".p50", histogram.getValueAtPercentile(50));
+                values.put(timer.getLabel() + ".p99", histogram.getValueAtPercentile(99));
+                values.put(timer.getLabel() + ".max", histogram.getMax());
+            }
+            return values;
+        }
+
+        @Override
+        public double getLegalMoveCacheHitRate() {
+            return Metrics.getLegalMoveCacheHitRate();
+        }
+
+        @Override
+        public double getTranspositionHitRate() {
+            return Metrics.getTranspositionHitRate();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.chess.metrics;
+
+import java.util.Map;
+
+/**
+ * Interface JMX des mesures du moteur de règles (voir Metrics), consultable par exemple
+ * avec jconsole sous com.chess:type=Metrics.
+ */
+public interface MetricsMXBean {
+    /**
+     * Indique si les mesures sont collectées (-Dchess.metrics=true).
+     * @return true si les mesures sont actives
+     */
+    boolean isEnabled();
+
+    /**
+     * Retourne la valeur des compteurs.
+     * @return les compteurs, indexés par libellé
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Retourne le nombre de mesures et les centiles 50 et 99 et le maximum de chaque durée.
+     * @return les valeurs en nanosecondes, indexées par libellé et statistique
+     */
+    Map<String, Long> getLatencyPercentiles();
+
+    double getLegalMoveCacheHitRate();
+
+    double getTranspositionHitRate();
+
+    /**
+     * Retourne le relevé textuel des mesures.
+     * @return le relevé
+     */
+    String dump();
+
+    /**
+     * Remet les mesures à zéro.
+     */
+    void reset();
+}
@@ -0,0 +1,62 @@
+package com.chess.pgn;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partie lue dans un fichier PGN : en-têtes, coups en notation algébrique abrégée (SAN) et résultat.
+ */
+public class PgnGame {
+    /** Résultat : victoire des blancs. */
+    public static final String WHITE_WINS = "1-0";
+    /** Résultat : victoire des noirs. */
+    public static final String BLACK_WINS = "0-1";
+    /** Résultat : partie nulle. */
+    public static final String DRAW = "1/2-1/2";
+    /** Résultat : inconnu ou partie en cours. */
+    public static final String UNKNOWN = "*";
+
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private final String result;
+
+    /**
+     * Constructeur pour créer une partie.
+     * @param tags les en-têtes (Event, White, Black, FEN...)
+     * @param moves les coups en SAN
+     * @param result le résultat de la partie
+     */
+    public PgnGame(Map<String, String> tags, List<String> moves, String result) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.moves = Collections.unmodifiableList(moves);
+        this.result = result;
+    }
+
+    /**
+     * Retourne la valeur d'un en-tête.
+     * @param name le nom de l'en-tête
+     * @return la valeur, ou null si l'en-tête est absent
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return tags.getOrDefault("White", "?") + " - " + tags.getOrDefault("Black", "?")
+            + " " + result + " (" + moves.size() + " demi-coups)";
+    }
+}
@@ -0,0 +1,170 @@
+package com.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lit les parties d'un flux PGN une à une, sans charger le fichier entier.
+ * Les commentaires, variantes, annotations numériques et numéros de coups sont ignorés.
+ */
+public class PgnReader implements Closeable {
+    private final Reader reader;
+    private int pushedBack = -2;
+
+    /**
+     * Constructeur pour lire un flux PGN.
+     * @param reader le flux de caractères (idéalement bufferisé)
+     */
+    public PgnReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lit la partie suivante.
+     * @return la partie, ou null à la fin du flux
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public PgnGame nextGame() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean started = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            started = true;
+            switch (c) {
+                case '[' -> readTag(tags);
+                case '{' -> skipUntil('}');
+                case ';' -> skipUntil('\n');
+                case '(' -> skipVariation();
+                case '$' -> readToken(token, c);
+                default -> {
+                    String word = readToken(token, c);
+                    String result = asResult(word);
+                    if (result != null) {
+                        return new PgnGame(tags, moves, result);
+                    }
+                    String move = stripMoveNumber(word);
+                    if (!move.isEmpty()) {
+                        moves.add(move);
+                    }
+                }
+            }
+        }
+        return started ? new PgnGame(tags, moves, tags.getOrDefault("Result", PgnGame.UNKNOWN)) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readTag(Map<String, String> tags) throws IOException {
+        StringBuilder name = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '"' && c != ']') {
+            if (!Character.isWhitespace(c)) {
+                name.append((char) c);
+            }
+        }
+        if (c == '"') {
+            while ((c = read()) != -1 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                value.append((char) c);
+            }
+            while (c != -1 && c != ']') {
+                c = read();
+            }
+        }
+        tags.put(name.toString(), value.toString());
+    }
+
+    private String readToken(StringBuilder token, int first) throws IOException {
+        token.setLength(0);
+        token.append((char) first);
+        int c;
+        while ((c = read()) != -1 && !Character.isWhitespace(c) && c != '{' && c != '(' && c != ')'
+               && c != ';' && c != '[') {
+            token.append((char) c);
+        }
+        if (c != -1 && !Character.isWhitespace(c)) {
+            unread(c);
+        }
+        return token.toString();
+    }
+
+    private void skipUntil(int end) throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != end) {
+            // Contenu ignoré
+        }
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipUntil('}');
+            } else if (c == ';') {
+                skipUntil('\n');
+            }
+        }
+    }
+
+    private static String asResult(String word) {
+        return switch (word) {
+            case PgnGame.WHITE_WINS, PgnGame.BLACK_WINS, PgnGame.DRAW, PgnGame.UNKNOWN -> word;
+            default -> null;
+        };
+    }
+
+    /**
+     * Retire un éventuel numéro de coup collé au coup (« 12.e4 », « 12... », « 12. »).
+     */
+    private static String stripMoveNumber(String word) {
+        if (word.startsWith("$")) {
+            return "";
+        }
+        int i = 0;
+        while (i < word.length() && Character.isDigit(word.charAt(i))) {
+            i++;
+        }
+        if (i > 0 && i < word.length() && word.charAt(i) == '.') {
+            while (i < word.length() && word.charAt(i) == '.') {
+                i++;
+            }
+            return word.substring(i);
+        }
+        return i == word.length() ? "" : word;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,193 @@
+package com.chess.pgn;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.board.Piece;
+import com.chess.board.PieceType;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+
+/**
+ * Convertit les coups en notation algébrique abrégée (SAN, ex : « Nbd7 », « exd6 », « O-O », « e8=Q+ »)
+ * en coups encodés, par comparaison avec les coups légaux de la position.
+ */
+public class SanParser {
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final MoveList legalMoves = new MoveList();
+
+    /**
+     * Cherche le coup légal correspondant à une notation SAN.
+     * @param board le plateau
+     * @param san la notation SAN
+     * @return le coup encodé, ou Move.NONE si la notation est invalide, illégale ou ambiguë
+     */
+    public int parse(Board board, String san) {
+        String text = clean(san);
+        if (text.isEmpty()) {
+            return Move.NONE;
+        }
+        legalMoves.clear();
+        moveGenerator.generateLegal(board, legalMoves);
+
+        if (text.equals("O-O") || text.equals("O-O-O")) {
+            int row = board.getCurrentPlayer().getPieceStartRow();
+            int to = row * 8 + (text.length() == 3 ? 6 : 2);
+            return find(board, PieceType.KING, row * 8 + 4, to, null, -1, -1);
+        }
+
+        PieceType type = PieceType.PAWN;
+        int index = 0;
+        char first = text.charAt(0);
+        if ("KQRBN".indexOf(first) >= 0) {
+            type = pieceType(first);
+            index = 1;
+        }
+
+        PieceType promotion = null;
+        int equals = text.indexOf('=');
+        if (equals >= 0) {
+            if (equals + 1 >= text.length()) {
+                return Move.NONE;
+            }
+            promotion = pieceType(text.charAt(equals + 1));
+            text = text.substring(0, equals);
+        } else if (type == PieceType.PAWN && "QRBN".indexOf(text.charAt(text.length() - 1)) >= 0) {
+            promotion = pieceType(text.charAt(text.length() - 1));
+            text = text.substring(0, text.length() - 1);
+        }
+
+        if (text.length() - index < 2) {
+            return Move.NONE;
+        }
+        int to;
+        try {
+            to = Fen.parseSquare(text.substring(text.length() - 2)).getIndex();
+        } catch (IllegalArgumentException e) {
+            return Move.NONE;
+        }
+
+        int fromColumn = -1;
+        int fromRow = -1;
+        for (int i = index; i < text.length() - 2; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromColumn = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = c - '1';
+            } else if (c != 'x') {
+                return Move.NONE;
+            }
+        }
+        if (type == PieceType.PAWN && promotion == null && (to / 8 == 0 || to / 8 == 7)) {
+            promotion = PieceType.QUEEN;
+        }
+        return find(board, type, -1, to, promotion, fromRow, fromColumn);
+    }
+
+    private int find(Board board, PieceType type, int from, int to, PieceType promotion, int fromRow, int fromColumn) {
+        int found = Move.NONE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            int moveFrom = Move.from(move);
+            if (Move.to(move) != to || Move.promotion(move) != promotion
+                || (from >= 0 && moveFrom != from)
+                || (fromRow >= 0 && moveFrom / 8 != fromRow)
+                || (fromColumn >= 0 && moveFrom % 8 != fromColumn)) {
+                continue;
+            }
+            Piece piece = board.getPieceAt(moveFrom / 8, moveFrom % 8);
+            if (piece.getType() != type) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                return Move.NONE;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Retire les indications d'échec, de mat et d'appréciation, et normalise le roque.
+     */
+    private static String clean(String san) {
+        StringBuilder sb = new StringBuilder(san.length());
+        for (int i = 0; i < san.length(); i++) {
+            char c = san.charAt(i);
+            if (c == '+' || c == '#' || c == '!' || c == '?') {
+                continue;
+            }
+            sb.append(c == '0' && (san.startsWith("0-0")) ? 'O' : c);
+        }
+        return sb.toString();
+    }
+
+    private static PieceType pieceType(char letter) {
+        return switch (letter) {
+            case 'K' -> PieceType.KING;
+            case 'Q' -> PieceType.QUEEN;
+            case 'R' -> PieceType.ROOK;
+            case 'B' -> PieceType.BISHOP;
+            case 'N' -> PieceType.KNIGHT;
+            default -> PieceType.PAWN;
+        };
+    }
+
+    /**
+     * Retourne la notation SAN d'un coup légal.
+     * @param board le plateau avant le coup
+     * @param move le coup encodé
+     * @return la notation SAN (sans indication d'échec)
+     */
+    public String toSan(Board board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        Piece piece = board.getPieceAt(from / 8, from % 8);
+        if (piece.getType().isKing() && Math.abs(from % 8 - to % 8) == 2) {
+            return to % 8 == 6 ? "O-O" : "O-O-O";
+        }
+        boolean capture = MoveGenerator.isCapture(board, move);
+        StringBuilder sb = new StringBuilder();
+        if (piece.getType().isPawn()) {
+            if (capture) {
+                sb.append((char) ('a' + from % 8));
+            }
+        } else {
+            sb.append(piece.getType().getSymbol());
+            legalMoves.clear();
+            moveGenerator.generateLegal(board, legalMoves);
+            boolean sameColumn = false;
+            boolean sameRow = false;
+            boolean ambiguous = false;
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int other = legalMoves.get(i);
+                int otherFrom = Move.from(other);
+                if (otherFrom != from && Move.to(other) == to
+                    && board.getPieceAt(otherFrom / 8, otherFrom % 8).getType() == piece.getType()) {
+                    ambiguous = true;
+                    sameColumn |= otherFrom % 8 == from % 8;
+                    sameRow |= otherFrom / 8 == from / 8;
+                }
+            }
+            if (ambiguous) {
+                if (!sameColumn) {
+                    sb.append((char) ('a' + from % 8));
+                } else if (!sameRow) {
+                    sb.append((char) ('1' + from / 8));
+                } else {
+                    sb.append(Fen.squareName(from));
+                }
+            }
+        }
+        if (capture) {
+            sb.append('x');
+        }
+        sb.append(Fen.squareName(to));
+        PieceType promotion = Move.promotion(move);
+        if (promotion != null) {
+            sb.append('=').append(promotion.getSymbol());
+        }
+        return sb.toString();
+    }
+}
@@ -4,6 +4,11 @@ import com.chess.board.Board;
 import com.chess.board.Color;
 import com.chess.board.Piece;
 import com.chess.board.PieceType;
+import com.chess.metrics.Metrics;
+import com.chess.tablebase.TablebaseResult;
+import com.chess.tablebase.Tablebases;
+
+import java.util.concurrent.CancellationException;
 
 /**
  * Vérifie l'état du jeu d'échecs : échec, mat, pat et nulle.
@@ -11,6 +16,7 @@ import com.chess.board.PieceType;
 public class GameStateChecker {
     private final Board board;
     private final MoveValidator moveValidator;
+    private Tablebases tablebases;
     
     /**
      * Constructeur pour créer un vérificateur d'état de jeu.
@@ -68,6 +74,22 @@ public class GameStateChecker {
         return !moveValidator.getAllValidMoves(color).isEmpty();
     }
     
+    /**
+     * Définit les tables de finale consultées par probeTablebase.
+     * @param tablebases les tables, ou null
+     */
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+    
+    /**
+     * Donne le résultat théorique de la position si elle est couverte par une table de finale.
+     * @return le résultat pour le joueur au trait, ou null si aucune table ne la couvre
+     */
+    public TablebaseResult probeTablebase() {
+        return tablebases != null ? tablebases.probe(board) : null;
+    }
+    
     /**
      * Vérifie si la partie est nulle.
      * @param moveHistory l'historique des coups
@@ -78,7 +100,7 @@ public class GameStateChecker {
         return isStalemate(board.getCurrentPlayer()) ||
                isInsufficientMaterial() ||
                moveHistory.isThreefoldRepetition(board) ||
-               isFiftyMoveRule(moveHistory);
+               isFiftyMoveRule();
     }
     
     /**
@@ -116,15 +138,12 @@ public class GameStateChecker {
     }
     
     /**
-     * Vérifie la règle des 50 coups.
-     * @param moveHistory l'historique des coups
+     * Vérifie la règle des 50 coups : 50 coups de chaque camp, soit 100 demi-coups,
+     * sans prise ni coup de pion.
      * @return true si la règle des 50 coups s'applique
      */
-    private boolean isFiftyMoveRule(MoveHistory moveHistory) {
-        // La règle des 50 coups : si 50 coups ont été joués sans capture ni mouvement de pion
-        // Pour simplifier, on vérifie simplement si 50 coups ont été joués
-        // Une implémentation complète nécessiterait de suivre les captures et mouvements de pion
-        return moveHistory.getMoveCount() >= 50;
+    private boolean isFiftyMoveRule() {
+        return board.getHalfmoveClock() >= 100;
     }
     
     /**
@@ -133,20 +152,42 @@ public class GameStateChecker {
      * @return l'état du jeu
      */
     public GameState getGameState(MoveHistory moveHistory) {
-        Color currentPlayer = board.getCurrentPlayer();
-        
-        // Vérifier l'échec et mat en premier
-        if (isCheckmate(currentPlayer)) {
-            return GameState.CHECKMATE;
+        return getGameState(moveHistory, null);
+    }
+    
+    /**
+     * Retourne l'état actuel du jeu, en permettant d'interrompre l'énumération des coups
+     * (calcul en arrière-plan remplacé par une demande plus récente).
+     * @param moveHistory l'historique des coups
+     * @param stopSignal le signal d'arrêt, ou null
+     * @return l'état du jeu
+     * @throws CancellationException si l'arrêt est demandé avant la fin du calcul
+     */
+    public GameState getGameState(MoveHistory moveHistory, StopSignal stopSignal) {
+        if (!Metrics.ENABLED) {
+            return computeGameState(moveHistory, stopSignal);
         }
+        Metrics.Counter.GAME_STATE_CALLS.increment();
+        long start = System.nanoTime();
+        GameState state = computeGameState(moveHistory, stopSignal);
+        Metrics.Timer.GAME_STATE.recordSince(start);
+        return state;
+    }
+    
+    private GameState computeGameState(MoveHistory moveHistory, StopSignal stopSignal) {
+        Color currentPlayer = board.getCurrentPlayer();
+        boolean inCheck = isInCheck(currentPlayer);
         
-        // Vérifier le pat
-        if (isStalemate(currentPlayer)) {
-            return GameState.STALEMATE;
+        // Sans coup valide : mat si le roi est en échec, pat sinon
+        boolean hasMoves = stopSignal != null
+            ? !moveValidator.getAllValidMoves(currentPlayer, stopSignal).isEmpty()
+            : hasValidMoves(currentPlayer);
+        if (!hasMoves) {
+            return inCheck ? GameState.CHECKMATE : GameState.STALEMATE;
         }
         
         // Vérifier l'échec avant la nulle
-        if (isInCheck(currentPlayer)) {
+        if (inCheck) {
             return GameState.CHECK;
         }
         
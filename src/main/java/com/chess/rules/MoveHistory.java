@@ -1,8 +1,10 @@
 package com.chess.rules;
 
 import com.chess.board.Board;
+import com.chess.board.BoardSnapshot;
 import com.chess.board.Color;
 import com.chess.board.Piece;
+import com.chess.board.PieceType;
 import com.chess.board.Position;
 
 import java.util.ArrayList;
@@ -11,19 +13,76 @@ import java.util.List;
 /**
  * Représente l'historique des coups dans une partie d'échecs.
  * Utilisé pour détecter les répétitions (nulle) et gérer la prise en passant.
+ *
+ * Un instantané compact de la position est conservé tous les K demi-coups : se placer
+ * à un demi-coup quelconque (seek) coûte au plus K coups rejoués depuis l'instantané précédent.
  */
 public class MoveHistory {
+    /** Intervalle par défaut entre deux instantanés, en demi-coups. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+    
+    private static final BoardSnapshot START_POSITION;
+    
+    static {
+        Board board = new Board();
+        board.initializeBoard();
+        START_POSITION = BoardSnapshot.of(board);
+    }
+    
     private final List<Move> moves;
+    private final List<BoardSnapshot> checkpoints;
+    private final int checkpointInterval;
     private Piece lastMovedPawn;
     private Position lastPawnDoubleMoveTo;
+    private Listener listener;
+    
+    /**
+     * Reçoit les modifications de l'historique, par exemple pour les journaliser.
+     * Les méthodes sont appelées par le thread qui modifie l'historique.
+     */
+    public interface Listener {
+        /**
+         * Appelé quand l'historique est vidé pour une nouvelle partie.
+         * @param initialBoard le plateau de départ, ou null pour la position initiale standard
+         */
+        void started(Board initialBoard);
+        
+        /**
+         * Appelé après l'ajout d'un coup.
+         * @param move le coup
+         * @param ply l'indice du coup dans l'historique
+         */
+        void moveAdded(Move move, int ply);
+        
+        /**
+         * Appelé après le retrait du dernier coup.
+         * @param move le coup retiré
+         * @param ply l'indice qu'avait le coup, égal au nouveau nombre de coups
+         */
+        void moveRemoved(Move move, int ply);
+    }
     
     /**
      * Constructeur pour créer un historique vide.
      */
     public MoveHistory() {
+        this(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+    
+    /**
+     * Constructeur pour créer un historique vide avec un intervalle d'instantanés donné.
+     * @param checkpointInterval le nombre de demi-coups entre deux instantanés
+     */
+    public MoveHistory(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Intervalle invalide : " + checkpointInterval);
+        }
         this.moves = new ArrayList<>();
+        this.checkpoints = new ArrayList<>();
+        this.checkpointInterval = checkpointInterval;
         this.lastMovedPawn = null;
         this.lastPawnDoubleMoveTo = null;
+        checkpoints.add(START_POSITION);
     }
     
     /**
@@ -35,15 +94,76 @@ public class MoveHistory {
      * @param board le plateau après le coup
      */
     public void addMove(Position from, Position to, Piece piece, Piece capturedPiece, Board board) {
-        Move move = new Move(from, to, piece, capturedPiece, board.getCurrentPlayer());
+        // Le plateau est déjà joué : la pièce sur la case d'arrivée révèle une éventuelle promotion
+        Piece arrived = board.getPieceAt(to);
+        PieceType promotion = piece.getType().isPawn() && arrived != null && !arrived.getType().isPawn()
+            ? arrived.getType() : null;
+        Move move = new Move(from, to, piece, capturedPiece, board.getCurrentPlayer(), promotion);
         moves.add(move);
-        
-        // Enregistrer les informations pour la prise en passant
-        if (piece.getType().isPawn() && from.getColumnDistance(to) == 0 
-            && from.getRowDistance(to) == 2) {
+        if (moves.size() % checkpointInterval == 0) {
+            checkpoints.add(BoardSnapshot.of(board));
+        }
+        trackDoublePawnMove(move);
+        if (listener != null) {
+            listener.moveAdded(move, moves.size() - 1);
+        }
+    }
+    
+    /**
+     * Associe un observateur à l'historique ; il n'est pas transmis aux copies.
+     * @param listener l'observateur, ou null pour le retirer
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Retourne une copie indépendante de l'historique, par exemple pour valider des coups
+     * sur un autre thread. Les coups et les instantanés, immuables, sont partagés.
+     * @return la copie
+     */
+    public MoveHistory copy() {
+        MoveHistory copy = new MoveHistory(checkpointInterval);
+        copy.moves.addAll(moves);
+        copy.checkpoints.clear();
+        copy.checkpoints.addAll(checkpoints);
+        copy.lastMovedPawn = lastMovedPawn;
+        copy.lastPawnDoubleMoveTo = lastPawnDoubleMoveTo;
+        return copy;
+    }
+    
+    /**
+     * Retire le dernier coup de l'historique, par exemple lors d'une annulation.
+     * Les instantanés postérieurs au nouveau dernier coup sont abandonnés et l'état
+     * de la prise en passant est recalculé à partir du coup précédent.
+     * @return le coup retiré
+     * @throws IllegalStateException si l'historique est vide
+     */
+    public Move removeLastMove() {
+        if (moves.isEmpty()) {
+            throw new IllegalStateException("Aucun coup à retirer");
+        }
+        Move removed = moves.remove(moves.size() - 1);
+        while (checkpoints.size() > 1 && (checkpoints.size() - 1) * checkpointInterval > moves.size()) {
+            checkpoints.remove(checkpoints.size() - 1);
+        }
+        trackDoublePawnMove(moves.isEmpty() ? null : moves.get(moves.size() - 1));
+        if (listener != null) {
+            listener.moveRemoved(removed, moves.size());
+        }
+        return removed;
+    }
+    
+    /**
+     * Enregistre les informations pour la prise en passant à partir du dernier coup joué.
+     */
+    private void trackDoublePawnMove(Move move) {
+        if (move != null && move.getPiece().getType().isPawn()
+            && move.getFrom().getColumnDistance(move.getTo()) == 0
+            && move.getFrom().getRowDistance(move.getTo()) == 2) {
             // Le pion a fait un mouvement de deux cases
-            lastMovedPawn = piece;
-            lastPawnDoubleMoveTo = to;
+            lastMovedPawn = move.getPiece();
+            lastPawnDoubleMoveTo = move.getTo();
         } else {
             // Réinitialiser si ce n'est pas un mouvement double de pion
             lastMovedPawn = null;
@@ -51,6 +171,64 @@ public class MoveHistory {
         }
     }
     
+    /**
+     * Vide l'historique, pour réutiliser l'objet dans une nouvelle partie.
+     */
+    public void clear() {
+        start(null);
+    }
+    
+    /**
+     * Vide l'historique et fixe la position de départ de la partie (utile pour une partie
+     * commencée depuis une FEN), à partir de laquelle seek rejoue les coups.
+     * @param initialBoard le plateau avant le premier coup, ou null pour la position initiale standard
+     */
+    public void start(Board initialBoard) {
+        moves.clear();
+        checkpoints.clear();
+        checkpoints.add(initialBoard != null ? BoardSnapshot.of(initialBoard) : START_POSITION);
+        lastMovedPawn = null;
+        lastPawnDoubleMoveTo = null;
+        if (listener != null) {
+            listener.started(initialBoard);
+        }
+    }
+    
+    /**
+     * Place un plateau dans la position atteinte après un nombre donné de demi-coups, en
+     * repartant de l'instantané précédent. L'historique n'est pas modifié.
+     * @param ply le nombre de demi-coups joués, entre 0 et getMoveCount()
+     * @param board le plateau à modifier (typiquement celui d'un visualiseur)
+     * @throws IndexOutOfBoundsException si le demi-coup n'existe pas
+     */
+    public void seek(int ply, Board board) {
+        if (ply < 0 || ply > moves.size()) {
+            throw new IndexOutOfBoundsException("Demi-coup hors de l'historique : " + ply);
+        }
+        int checkpoint = ply / checkpointInterval;
+        checkpoints.get(checkpoint).restore(board);
+        for (int i = checkpoint * checkpointInterval; i < ply; i++) {
+            Move move = moves.get(i);
+            board.makeMove(move.getFrom(), move.getTo(), move.getPromotion());
+        }
+    }
+    
+    /**
+     * Retourne l'intervalle entre deux instantanés.
+     * @return le nombre de demi-coups
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+    
+    /**
+     * Retourne le nombre d'instantanés conservés, position de départ comprise.
+     * @return le nombre d'instantanés
+     */
+    public int getCheckpointCount() {
+        return checkpoints.size();
+    }
+    
     /**
      * Retourne le dernier pion ayant fait un mouvement de deux cases.
      * @return le pion ou null
@@ -103,7 +281,13 @@ public class MoveHistory {
      * @return la position du pion pouvant être capturé ou null
      */
     public Position getEnPassantCapturedPawnPosition(Position targetPosition) {
-        if (!canEnPassant(null, targetPosition)) {
+        if (lastMovedPawn == null || lastPawnDoubleMoveTo == null || targetPosition == null) {
+            return null;
+        }
+        
+        // La case cible est celle que le pion a franchie lors de son double pas
+        int crossedRow = lastPawnDoubleMoveTo.getRow() - lastMovedPawn.getColor().getPawnDirection();
+        if (targetPosition.getColumn() != lastPawnDoubleMoveTo.getColumn() || targetPosition.getRow() != crossedRow) {
             return null;
         }
         
@@ -119,6 +303,14 @@ public class MoveHistory {
         return moves.size();
     }
     
+    /**
+     * Retourne le dernier coup joué, sans copier l'historique.
+     * @return le dernier coup, ou null si aucun coup n'a été joué
+     */
+    public Move getLastMove() {
+        return moves.isEmpty() ? null : moves.get(moves.size() - 1);
+    }
+    
     /**
      * Retourne la liste de tous les coups.
      * @return la liste des coups
@@ -184,17 +376,26 @@ public class MoveHistory {
         private final Piece piece;
         private final Piece capturedPiece;
         private final Color player;
+        private final PieceType promotion;
         private final String boardState;
         
         /**
          * Constructeur pour créer un coup.
          */
         public Move(Position from, Position to, Piece piece, Piece capturedPiece, Color player) {
+            this(from, to, piece, capturedPiece, player, null);
+        }
+        
+        /**
+         * Constructeur pour créer un coup, promotion comprise.
+         */
+        public Move(Position from, Position to, Piece piece, Piece capturedPiece, Color player, PieceType promotion) {
             this.from = from;
             this.to = to;
             this.piece = piece;
             this.capturedPiece = capturedPiece;
             this.player = player;
+            this.promotion = promotion;
             this.boardState = null; // Pourra être utilisé pour la répétition triple
         }
         
@@ -218,6 +419,33 @@ public class MoveHistory {
             return player;
         }
         
+        /**
+         * Retourne les cases modifiées par le coup : départ, arrivée, pion pris en passant
+         * et tour déplacée lors d'un roque. Sert à ne redessiner que ces cases.
+         * @return les cases modifiées
+         */
+        public List<Position> getChangedSquares() {
+            List<Position> squares = new ArrayList<>(4);
+            squares.add(from);
+            squares.add(to);
+            if (piece.getType().isPawn() && from.getColumn() != to.getColumn()) {
+                squares.add(Position.of(from.getRow(), to.getColumn()));
+            } else if (piece.getType().isKing() && from.getColumnDistance(to) == 2) {
+                boolean kingside = to.getColumn() > from.getColumn();
+                squares.add(Position.of(from.getRow(), kingside ? 7 : 0));
+                squares.add(Position.of(from.getRow(), kingside ? 5 : 3));
+            }
+            return squares;
+        }
+        
+        /**
+         * Retourne le type de la pièce promue.
+         * @return le type, ou null si le coup n'est pas une promotion
+         */
+        public PieceType getPromotion() {
+            return promotion;
+        }
+        
         @Override
         public String toString() {
             String capture = capturedPiece != null ? "x" : "";
@@ -4,6 +4,9 @@ import com.chess.board.Board;
 import com.chess.board.Color;
 import com.chess.board.Piece;
 import com.chess.board.Position;
+import com.chess.metrics.Metrics;
+
+import java.util.concurrent.CancellationException;
 
 /**
  * Valide les coups dans une partie d'échecs.
@@ -30,6 +33,17 @@ public class MoveValidator {
      * @return true si le coup est valide
      */
     public boolean isValidMove(Position from, Position to) {
+        if (!Metrics.ENABLED) {
+            return checkMove(from, to);
+        }
+        Metrics.Counter.VALIDATOR_CALLS.increment();
+        long start = System.nanoTime();
+        boolean valid = checkMove(from, to);
+        Metrics.Timer.VALIDATOR_IS_VALID_MOVE.recordSince(start);
+        return valid;
+    }
+    
+    private boolean checkMove(Position from, Position to) {
         // Vérifier que les positions sont valides
         if (from == null || to == null || !from.isValid() || !to.isValid()) {
             return false;
@@ -88,12 +102,25 @@ public class MoveValidator {
      * @return un tableau des positions valides
      */
     public Position[] getValidMoves(Position position) {
+        if (!Metrics.ENABLED) {
+            return collectValidMoves(position);
+        }
+        long start = System.nanoTime();
+        Position[] moves = collectValidMoves(position);
+        Metrics.Timer.VALIDATOR_GET_VALID_MOVES.recordSince(start);
+        return moves;
+    }
+    
+    private Position[] collectValidMoves(Position position) {
         Piece piece = board.getPieceAt(position);
         if (piece == null || piece.getColor() != board.getCurrentPlayer()) {
             return new Position[0];
         }
         
         Position[] possibleMoves = piece.getPossibleMoves(board);
+        if (Metrics.ENABLED) {
+            Metrics.Counter.VALIDATOR_CANDIDATES.add(possibleMoves.length);
+        }
         java.util.List<Position> validMoves = new java.util.ArrayList<>();
         
         for (Position to : possibleMoves) {
@@ -133,6 +160,32 @@ public class MoveValidator {
         return validMoves;
     }
     
+    /**
+     * Retourne tous les coups valides pour toutes les pièces d'une couleur, en vérifiant
+     * le signal d'arrêt entre deux pièces.
+     * @param color la couleur
+     * @param stopSignal le signal permettant d'interrompre l'énumération
+     * @return la liste des coups valides
+     * @throws CancellationException si l'arrêt est demandé avant la fin de l'énumération
+     */
+    public java.util.List<MovePair> getAllValidMoves(Color color, StopSignal stopSignal) {
+        java.util.List<MovePair> validMoves = new java.util.ArrayList<>();
+        
+        java.util.List<Piece> pieces = board.getPiecesOfColor(color);
+        for (Piece piece : pieces) {
+            // Une pièce coûte quelques microsecondes : l'horloge peut être consultée à chaque pièce
+            if (stopSignal.checkNow()) {
+                throw new CancellationException("Énumération des coups interrompue");
+            }
+            Position[] moves = getValidMoves(piece.getPosition());
+            for (Position to : moves) {
+                validMoves.add(new MovePair(piece.getPosition(), to));
+            }
+        }
+        
+        return validMoves;
+    }
+    
     /**
      * Classe interne représentant une paire de positions (from, to).
      */
@@ -78,17 +78,20 @@ public class SpecialMovesHandler {
             return false;
         }
         
+        // Aucun coup spécial ne crée de cible de prise en passant
+        boolean executed = false;
         if (isCastling(from, to)) {
-            return executeCastling(from, to);
+            executed = executeCastling(from, to);
+        } else if (isEnPassant(from, to)) {
+            executed = executeEnPassant(from, to);
+        } else if (isPromotion(from, to)) {
+            executed = executePromotion(from, to, promotionPieceType);
         }
-        if (isEnPassant(from, to)) {
-            return executeEnPassant(from, to);
-        }
-        if (isPromotion(from, to)) {
-            return executePromotion(from, to, promotionPieceType);
+        if (executed) {
+            board.setEnPassantTarget(null);
         }
         
-        return false;
+        return executed;
     }
     
     /**
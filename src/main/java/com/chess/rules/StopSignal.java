@@ -0,0 +1,102 @@
+package com.chess.rules;
+
+/**
+ * Signal d'arrêt coopératif pour les calculs longs (recherche, énumération de coups).
+ *
+ * Le calcul interroge le signal tous les {@link #getPollInterval()} nœuds seulement :
+ * un arrêt demandé ou une échéance dépassée est donc détecté sans appel système à chaque nœud.
+ * Le signal peut être partagé entre threads.
+ */
+public class StopSignal {
+    private static final int DEFAULT_POLL_INTERVAL = 64;
+
+    private final int pollMask;
+    private volatile boolean stopped;
+    private volatile long deadlineNanos;
+
+    /**
+     * Constructeur avec l'intervalle d'interrogation par défaut.
+     */
+    public StopSignal() {
+        this(DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * Constructeur pour créer un signal avec un intervalle d'interrogation donné.
+     * @param pollInterval le nombre de nœuds entre deux vérifications, arrondi à une puissance de deux
+     */
+    public StopSignal(int pollInterval) {
+        if (pollInterval <= 0) {
+            throw new IllegalArgumentException("Intervalle invalide : " + pollInterval);
+        }
+        this.pollMask = Integer.highestOneBit(pollInterval) - 1;
+        this.deadlineNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Demande l'arrêt du calcul.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Réarme le signal pour un nouveau calcul, sans échéance.
+     */
+    public void reset() {
+        stopped = false;
+        deadlineNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Fixe une échéance absolue après laquelle le calcul doit s'arrêter.
+     * @param deadlineNanos l'échéance, dans l'échelle de System.nanoTime()
+     */
+    public void setDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Indique si l'arrêt a été demandé, sans consulter l'horloge.
+     * @return true si l'arrêt a été demandé ou l'échéance constatée
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Vérification à appeler à chaque nœud : l'horloge n'est consultée qu'une fois
+     * tous les getPollInterval() nœuds.
+     * @param nodes le compteur de nœuds du calcul appelant
+     * @return true si le calcul doit s'arrêter
+     */
+    public boolean poll(long nodes) {
+        if ((nodes & pollMask) != 0) {
+            return stopped;
+        }
+        return checkNow();
+    }
+
+    /**
+     * Vérifie immédiatement l'arrêt demandé et l'échéance.
+     * @return true si le calcul doit s'arrêter
+     */
+    public boolean checkNow() {
+        if (stopped) {
+            return true;
+        }
+        long deadline = deadlineNanos;
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Retourne le nombre de nœuds entre deux consultations de l'horloge.
+     * @return l'intervalle d'interrogation
+     */
+    public int getPollInterval() {
+        return pollMask + 1;
+    }
+}
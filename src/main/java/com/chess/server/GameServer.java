@@ -0,0 +1,191 @@
+package com.chess.server;
+
+import com.chess.rules.GameStateChecker.GameState;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serveur de parties sans interface graphique, utilisable en mémoire (execute) ou par
+ * socket locale (listen), avec un protocole ligne par ligne :
+ * <pre>
+ * new                  -> game &lt;id&gt;
+ * move &lt;id&gt; &lt;coup&gt;     -> ok &lt;ÉTAT&gt; | illegal
+ * moves &lt;id&gt; &lt;coup&gt;... -> ok &lt;ÉTAT&gt; | illegal &lt;indice du premier coup refusé&gt;
+ * fen &lt;id&gt;             -> fen &lt;position&gt;
+ * state &lt;id&gt;           -> state &lt;ÉTAT&gt;
+ * end &lt;id&gt;             -> ended
+ * quit                 -> (ferme la connexion)
+ * </pre>
+ * Les erreurs sont signalées par « error &lt;message&gt; ».
+ *
+ * Chaque connexion est servie par une tâche de l'exécuteur fourni, qui bloque sur sa socket :
+ * avec Java 21, Executors.newVirtualThreadPerTaskExecutor() permet ainsi des centaines de
+ * milliers de connexions. Par défaut (Java 17), un pool de threads démons extensible est utilisé.
+ */
+public class GameServer implements Closeable {
+    private static final int DEFAULT_MAX_IDLE_SESSIONS = 10_000;
+
+    private final ExecutorService executor;
+    private final SessionRegistry registry;
+    private ServerSocket serverSocket;
+
+    /**
+     * Constructeur avec un pool de threads démons extensible.
+     */
+    public GameServer() {
+        this(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "game-connection");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructeur.
+     * @param executor l'exécuteur des connexions (une tâche par connexion)
+     */
+    public GameServer(ExecutorService executor) {
+        this(executor, new SessionRegistry(new SessionPool(DEFAULT_MAX_IDLE_SESSIONS)));
+    }
+
+    /**
+     * Constructeur avec un registre fourni, par exemple journalisé et reconstitué au démarrage.
+     * @param executor l'exécuteur des connexions (une tâche par connexion)
+     * @param registry le registre des parties
+     */
+    public GameServer(ExecutorService executor, SessionRegistry registry) {
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    public SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Exécute une commande du protocole.
+     * @param command la ligne de commande
+     * @return la réponse
+     */
+    public String execute(String command) {
+        String[] tokens = command.trim().split("\\s+");
+        try {
+            switch (tokens[0]) {
+                case "new":
+                    return "game " + registry.create().getId();
+                case "move": {
+                    requireArguments(tokens, 3);
+                    long id = Long.parseLong(tokens[1]);
+                    GameState state = session(id).play(id, tokens[2]);
+                    return state != null ? "ok " + state.name() : "illegal";
+                }
+                case "moves": {
+                    requireArguments(tokens, 3);
+                    long id = Long.parseLong(tokens[1]);
+                    GameSession session = session(id);
+                    int illegal = session.playAll(id, Arrays.copyOfRange(tokens, 2, tokens.length));
+                    return illegal < 0 ? "ok " + session.getState().name() : "illegal " + illegal;
+                }
+                case "fen":
+                    requireArguments(tokens, 2);
+                    return "fen " + session(Long.parseLong(tokens[1])).getFen();
+                case "state":
+                    requireArguments(tokens, 2);
+                    return "state " + session(Long.parseLong(tokens[1])).getState().name();
+                case "end":
+                    requireArguments(tokens, 2);
+                    if (!registry.end(Long.parseLong(tokens[1]))) {
+                        throw new IllegalArgumentException("partie inconnue " + tokens[1]);
+                    }
+                    return "ended";
+                default:
+                    throw new IllegalArgumentException("commande inconnue " + tokens[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException comprise
+            return "error " + e.getMessage();
+        }
+    }
+
+    private static void requireArguments(String[] tokens, int count) {
+        if (tokens.length < count) {
+            throw new IllegalArgumentException("arguments manquants pour " + tokens[0]);
+        }
+    }
+
+    private GameSession session(long id) {
+        GameSession session = registry.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("partie inconnue " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Ouvre une socket d'écoute sur l'interface locale et accepte les connexions en arrière-plan.
+     * @param port le port, ou 0 pour un port libre
+     * @return le port d'écoute
+     * @throws IOException si la socket ne peut pas être ouverte
+     */
+    public int listen(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        ServerSocket socket = serverSocket;
+        executor.execute(() -> acceptLoop(socket));
+        return socket.getLocalPort();
+    }
+
+    private void acceptLoop(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try {
+                Socket connection = socket.accept();
+                executor.execute(() -> serve(connection));
+            } catch (IOException e) {
+                // Socket fermée par close()
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(connection.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null && !line.trim().equals("quit")) {
+                if (!line.isBlank()) {
+                    out.println(execute(line));
+                }
+            }
+        } catch (IOException e) {
+            // Connexion interrompue par le client
+        }
+    }
+
+    /**
+     * Ferme la socket d'écoute et arrête l'exécuteur.
+     * @throws IOException en cas d'erreur de fermeture
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
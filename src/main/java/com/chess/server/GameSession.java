@@ -0,0 +1,197 @@
+package com.chess.server;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.game.GameController;
+import com.chess.rules.GameStateChecker;
+import com.chess.rules.GameStateChecker.GameState;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partie hébergée par le serveur, pilotée par un GameController.
+ *
+ * Les objets d'une session sont réutilisés d'une partie à l'autre par SessionPool.
+ * Toutes les opérations prennent un verrou propre à la session : deux connexions (les deux
+ * joueurs) peuvent jouer sur la même partie, et les parties différentes ne se bloquent pas.
+ */
+public class GameSession {
+    private final GameController controller;
+    // Verrou explicite plutôt que synchronized : il n'immobilise pas un thread virtuel porteur
+    private final ReentrantLock lock;
+    private long id;
+    private GameState state;
+
+    GameSession() {
+        this.controller = new GameController();
+        this.lock = new ReentrantLock();
+        reset(0, null);
+    }
+
+    /**
+     * Remet la session en position de départ pour une nouvelle partie.
+     * @param id l'identifiant de la nouvelle partie
+     * @param journal le journal des coups, ou null ; le début de la partie y est enregistré
+     */
+    void reset(long id, MoveJournal journal) {
+        lock.lock();
+        try {
+            this.id = id;
+            controller.getMoveHistory().setListener(journal != null ? journal.listener(id) : null);
+            controller.newGame();
+            state = GameState.ONGOING;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejoue une partie relue dans le journal, sans l'y réenregistrer, puis associe le journal
+     * aux coups suivants. La session doit venir d'être remise à zéro pour cette partie.
+     * @param game la partie relue
+     * @param journal le journal des coups, ou null
+     * @return -1 si tous les coups ont été rejoués, sinon l'indice du premier coup refusé
+     */
+    int restore(MoveJournal.Game game, MoveJournal journal) {
+        lock.lock();
+        try {
+            if (game.getStartFen() != null) {
+                Board start = Fen.parse(game.getStartFen());
+                controller.newGame(start);
+            }
+            int[] moves = game.getMoves();
+            int illegal = controller.applyMoves(moves, moves.length);
+            state = controller.state();
+            controller.getMoveHistory().setListener(journal != null ? journal.listener(id) : null);
+            return illegal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Joue un coup s'il est légal.
+     * @param uciMove le coup en notation UCI (ex : « e2e4 », « e7e8q »)
+     * @return l'état de la partie après le coup, ou null si le coup est illégal ou la partie terminée
+     * @throws IllegalArgumentException si la notation est invalide
+     */
+    public GameState play(String uciMove) {
+        return play(id, uciMove);
+    }
+
+    /**
+     * Joue un coup si la session héberge toujours la partie attendue : une session rendue
+     * à la réserve puis réattribuée ne reçoit pas les coups de l'ancienne partie.
+     */
+    GameState play(long expectedId, String uciMove) {
+        int move = Move.fromUci(uciMove);
+        lock.lock();
+        try {
+            if (id != expectedId || isFinished()) {
+                return null;
+            }
+            if (controller.applyMove(Move.fromPosition(move), Move.toPosition(move), Move.promotion(move))
+                != GameController.MoveResult.MOVED) {
+                return null;
+            }
+            state = controller.state();
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Joue une suite de coups d'un coup (import, reconnexion d'un spectateur), avec une seule
+     * évaluation de l'état à la fin.
+     * @param uciMoves les coups en notation UCI
+     * @return -1 si tous les coups ont été joués, sinon l'indice du premier coup refusé
+     * @throws IllegalArgumentException si une notation est invalide (aucun coup n'est alors joué)
+     */
+    public int playAll(String... uciMoves) {
+        return playAll(id, uciMoves);
+    }
+
+    int playAll(long expectedId, String... uciMoves) {
+        int[] moves = new int[uciMoves.length];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = Move.fromUci(uciMoves[i]);
+        }
+        lock.lock();
+        try {
+            if (id != expectedId || isFinished()) {
+                return 0;
+            }
+            int illegal = controller.applyMoves(moves, moves.length);
+            state = controller.state();
+            return illegal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne l'état de la partie après le dernier coup.
+     * @return l'état
+     */
+    public GameState getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indique si la partie est terminée (mat, pat ou nulle).
+     * @return true si plus aucun coup ne peut être joué
+     */
+    public boolean isFinished() {
+        lock.lock();
+        try {
+            return state == GameState.CHECKMATE || state == GameState.STALEMATE || state == GameState.DRAW;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne la position courante en notation FEN.
+     * @return la chaîne FEN
+     */
+    public String getFen() {
+        lock.lock();
+        try {
+            return Fen.toFen(controller.getBoard());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre de coups joués.
+     * @return le nombre de demi-coups
+     */
+    public int getMoveCount() {
+        lock.lock();
+        try {
+            return controller.getMoveHistory().getMoveCount();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le vérificateur d'état, par exemple pour lui associer des tables de finale.
+     * @return le vérificateur d'état de la session
+     */
+    public GameStateChecker getGameStateChecker() {
+        return controller.getGameStateChecker();
+    }
+}
@@ -0,0 +1,514 @@
+package com.chess.server;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.rules.MoveHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal des coups des parties en cours, écrit avant tout le reste pour survivre à un arrêt
+ * brutal du serveur : chaque début de partie, coup, annulation et fin de partie y est ajouté
+ * sous forme d'un enregistrement, à la suite des précédents.
+ *
+ * Les enregistrements sont accumulés en mémoire ; un thread d'écriture les écrit par lots
+ * avec FileChannel puis force leur écriture sur disque (fsync) au plus tard tous les
+ * syncIntervalMillis. Les coups perdus lors d'un arrêt brutal sont donc au plus ceux de
+ * cet intervalle ; sync() attend qu'ils soient tous sur disque, et les appels simultanés
+ * partagent le même fsync (validation groupée).
+ *
+ * Chaque enregistrement est précédé de sa longueur et de sa somme CRC-32C : à la relecture
+ * (recover), un enregistrement incomplet ou corrompu marque la fin du journal.
+ */
+public class MoveJournal implements Closeable {
+    /** Intervalle par défaut entre deux écritures forcées sur disque. */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+
+    private static final byte RECORD_START = 1;
+    private static final byte RECORD_MOVE = 2;
+    private static final byte RECORD_UNDO = 3;
+    private static final byte RECORD_END = 4;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 1 << 12;
+    // Au-delà, le thread d'écriture est réveillé sans attendre l'intervalle
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+    // Au-delà, les appels d'ajout attendent que le lot en cours soit écrit
+    private static final int MAX_PENDING = 16 << 20;
+
+    private final FileChannel channel;
+    private final long syncIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final CRC32C crc = new CRC32C();
+    private final Thread writer;
+
+    // Protégés par lock
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer writing = ByteBuffer.allocate(1 << 16);
+    private int recordStart;
+    private long appended;
+    private long durable;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+    private long syncCount;
+
+    /**
+     * Partie en cours reconstituée à partir du journal.
+     */
+    public static final class Game {
+        private final long id;
+        private final String startFen;
+        private final int[] moves;
+
+        Game(long id, String startFen, int[] moves) {
+            this.id = id;
+            this.startFen = startFen;
+            this.moves = moves;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Retourne la position de départ.
+         * @return la FEN, ou null pour la position initiale standard
+         */
+        public String getStartFen() {
+            return startFen;
+        }
+
+        /**
+         * Retourne les coups joués.
+         * @return les coups encodés (voir engine.Move)
+         */
+        public int[] getMoves() {
+            return moves.clone();
+        }
+    }
+
+    /**
+     * Ouvre le journal avec l'intervalle de synchronisation par défaut.
+     * @param path le fichier du journal, créé s'il n'existe pas
+     * @throws IOException en cas d'erreur d'ouverture
+     */
+    public MoveJournal(Path path) throws IOException {
+        this(path, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Ouvre le journal ; les nouveaux enregistrements sont ajoutés à la fin du fichier.
+     * Appeler recover au préalable pour relire les parties en cours et retirer une éventuelle
+     * fin d'enregistrement incomplète.
+     * @param path le fichier du journal, créé s'il n'existe pas
+     * @param syncIntervalMillis le délai maximal entre un ajout et son écriture sur disque
+     * @throws IOException en cas d'erreur d'ouverture
+     */
+    public MoveJournal(Path path, long syncIntervalMillis) throws IOException {
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Intervalle de synchronisation invalide : " + syncIntervalMillis);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.writer = new Thread(this::writeLoop, "move-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Retourne un observateur qui journalise l'historique d'une partie.
+     * @param gameId l'identifiant de la partie
+     * @return l'observateur à associer au MoveHistory de la partie
+     */
+    public MoveHistory.Listener listener(long gameId) {
+        return new MoveHistory.Listener() {
+            @Override
+            public void started(Board initialBoard) {
+                String fen = initialBoard != null ? Fen.toFen(initialBoard) : null;
+                start(gameId, fen == null || fen.equals(Fen.START_POSITION) ? null : fen);
+            }
+
+            @Override
+            public void moveAdded(MoveHistory.Move move, int ply) {
+                move(gameId, ply, Move.encode(move.getFrom(), move.getTo(), move.getPromotion()));
+            }
+
+            @Override
+            public void moveRemoved(MoveHistory.Move move, int ply) {
+                undo(gameId, ply);
+            }
+        };
+    }
+
+    /**
+     * Journalise le début d'une partie ; un éventuel historique précédent du même identifiant est oublié.
+     * @param gameId l'identifiant de la partie
+     * @param startFen la position de départ, ou null pour la position initiale standard
+     * @throws UncheckedIOException si une écriture précédente du journal a échoué
+     */
+    public void start(long gameId, String startFen) {
+        byte[] fen = startFen != null ? startFen.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (fen.length > MAX_RECORD_SIZE - 16) {
+            throw new IllegalArgumentException("FEN trop longue : " + startFen);
+        }
+        lock.lock();
+        try {
+            ByteBuffer buffer = beginRecord(11 + fen.length);
+            buffer.put(RECORD_START).putLong(gameId).putShort((short) fen.length).put(fen);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journalise un coup.
+     * @param gameId l'identifiant de la partie
+     * @param ply l'indice du coup dans la partie
+     * @param move le coup encodé (voir engine.Move)
+     * @throws UncheckedIOException si une écriture précédente du journal a échoué
+     */
+    public void move(long gameId, int ply, int move) {
+        lock.lock();
+        try {
+            beginRecord(17).put(RECORD_MOVE).putLong(gameId).putInt(ply).putInt(move);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journalise l'annulation des coups à partir d'un indice.
+     * @param gameId l'identifiant de la partie
+     * @param ply le nombre de coups restant joués
+     * @throws UncheckedIOException si une écriture précédente du journal a échoué
+     */
+    public void undo(long gameId, int ply) {
+        lock.lock();
+        try {
+            beginRecord(13).put(RECORD_UNDO).putLong(gameId).putInt(ply);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journalise la fin d'une partie, qui ne sera plus reconstituée par recover.
+     * @param gameId l'identifiant de la partie
+     * @throws UncheckedIOException si une écriture précédente du journal a échoué
+     */
+    public void end(long gameId) {
+        lock.lock();
+        try {
+            beginRecord(9).put(RECORD_END).putLong(gameId);
+            endRecord();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend que tous les enregistrements ajoutés jusqu'ici soient écrits sur disque.
+     * @throws IOException si l'écriture a échoué ou si le journal est fermé
+     */
+    public void sync() throws IOException {
+        lock.lock();
+        try {
+            long target = appended;
+            syncRequested = true;
+            wakeUp.signal();
+            while (durable < target && failure == null && writer.isAlive()) {
+                synced.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (durable < target) {
+                throw new IOException("Journal fermé");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre d'écritures forcées sur disque, chacune validant un lot d'enregistrements.
+     * @return le nombre de fsync
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Écrit les enregistrements en attente, les force sur disque et ferme le fichier.
+     * @throws IOException si une écriture a échoué
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Réserve la place d'un enregistrement ; la longueur et la somme sont écrites par endRecord.
+     */
+    private ByteBuffer beginRecord(int payloadSize) {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal en échec", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Journal fermé");
+        }
+        while (pending.position() >= MAX_PENDING && failure == null) {
+            wakeUp.signal();
+            synced.awaitUninterruptibly();
+        }
+        int needed = RECORD_HEADER_SIZE + payloadSize;
+        if (pending.remaining() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + needed));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        recordStart = pending.position();
+        pending.putInt(payloadSize);
+        pending.putInt(0);
+        return pending;
+    }
+
+    private void endRecord() {
+        int length = pending.position() - recordStart;
+        crc.reset();
+        crc.update(pending.array(), recordStart + RECORD_HEADER_SIZE, length - RECORD_HEADER_SIZE);
+        pending.putInt(recordStart + 4, (int) crc.getValue());
+        appended += length;
+        if (pending.position() >= FLUSH_THRESHOLD) {
+            wakeUp.signal();
+        }
+    }
+
+    /**
+     * Boucle du thread d'écriture : échange les tampons, écrit le lot hors verrou puis le force
+     * sur disque, et réveille les threads qui attendent dans sync.
+     */
+    private void writeLoop() {
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                long deadline = System.nanoTime() + syncIntervalNanos;
+                while (!closed && !syncRequested && pending.position() < FLUSH_THRESHOLD) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    wakeUp.awaitNanos(remaining);
+                }
+                if (pending.position() == 0 && (closed || durable == appended)) {
+                    syncRequested = false;
+                    synced.signalAll();
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                ByteBuffer swap = writing;
+                writing = pending;
+                pending = swap;
+                pending.clear();
+                target = appended;
+                syncRequested = false;
+            } catch (InterruptedException e) {
+                // Le thread d'écriture n'est arrêté que par close
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                writing.flip();
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            writing.clear();
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = target;
+                    syncCount++;
+                }
+                synced.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Relit un journal et reconstitue les parties commencées et non terminées, dans l'ordre
+     * de leur début. Le fichier est tronqué après le dernier enregistrement complet, pour que
+     * les ajouts suivants ne suivent pas un enregistrement interrompu par l'arrêt.
+     * @param path le fichier du journal
+     * @return les parties en cours, vide si le fichier n'existe pas
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public static List<Game> recover(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        Map<Long, GameLog> games = new LinkedHashMap<>();
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).flip();
+            CRC32C checksum = new CRC32C();
+            long valid = 0;
+            boolean eof = false;
+            while (true) {
+                if (buffer.remaining() < MAX_RECORD_SIZE + RECORD_HEADER_SIZE && !eof) {
+                    buffer.compact();
+                    while (buffer.hasRemaining() && !eof) {
+                        eof = file.read(buffer) < 0;
+                    }
+                    buffer.flip();
+                }
+                if (buffer.remaining() < RECORD_HEADER_SIZE) {
+                    break;
+                }
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > MAX_RECORD_SIZE || buffer.remaining() < RECORD_HEADER_SIZE + length) {
+                    break;
+                }
+                int start = buffer.position() + RECORD_HEADER_SIZE;
+                checksum.reset();
+                checksum.update(buffer.array(), start, length);
+                if ((int) checksum.getValue() != buffer.getInt(buffer.position() + 4)) {
+                    break;
+                }
+                buffer.position(start);
+                apply(buffer, games);
+                buffer.position(start + length);
+                valid += RECORD_HEADER_SIZE + length;
+            }
+            if (valid < file.size()) {
+                file.truncate(valid);
+                file.force(false);
+            }
+        }
+        List<Game> inFlight = new ArrayList<>(games.size());
+        for (Map.Entry<Long, GameLog> entry : games.entrySet()) {
+            GameLog log = entry.getValue();
+            inFlight.add(new Game(entry.getKey(), log.startFen, Arrays.copyOf(log.moves, log.count)));
+        }
+        return inFlight;
+    }
+
+    private static void apply(ByteBuffer record, Map<Long, GameLog> games) throws IOException {
+        byte type = record.get();
+        long gameId = record.getLong();
+        switch (type) {
+            case RECORD_START -> {
+                byte[] fen = new byte[record.getShort() & 0xFFFF];
+                record.get(fen);
+                games.remove(gameId);
+                games.put(gameId, new GameLog(fen.length > 0 ? new String(fen, StandardCharsets.UTF_8) : null));
+            }
+            case RECORD_MOVE -> {
+                int ply = record.getInt();
+                int move = record.getInt();
+                GameLog log = games.get(gameId);
+                // Un coup sans début de partie ou non consécutif (partie déjà terminée) est ignoré
+                if (log != null && ply <= log.count) {
+                    log.count = ply;
+                    log.add(move);
+                }
+            }
+            case RECORD_UNDO -> {
+                int ply = record.getInt();
+                GameLog log = games.get(gameId);
+                if (log != null && ply >= 0 && ply < log.count) {
+                    log.count = ply;
+                }
+            }
+            case RECORD_END -> games.remove(gameId);
+            default -> throw new IOException("Enregistrement de journal inconnu : " + type);
+        }
+    }
+
+    /**
+     * Coups d'une partie en cours de relecture.
+     */
+    private static final class GameLog {
+        private final String startFen;
+        private int[] moves = new int[64];
+        private int count;
+
+        GameLog(String startFen) {
+            this.startFen = startFen;
+        }
+
+        void add(int move) {
+            if (count == moves.length) {
+                moves = Arrays.copyOf(moves, count * 2);
+            }
+            moves[count++] = move;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.chess.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réserve de sessions terminées, réutilisées pour les nouvelles parties afin d'éviter de
+ * réallouer plateau, historique et générateurs. La file est non bloquante.
+ */
+public class SessionPool {
+    private final Queue<GameSession> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final int maxIdle;
+
+    /**
+     * Constructeur.
+     * @param maxIdle le nombre maximal de sessions conservées en réserve
+     */
+    public SessionPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Fournit une session en position de départ.
+     * @param id l'identifiant de la partie
+     * @return une session réutilisée, ou une nouvelle si la réserve est vide
+     */
+    public GameSession acquire(long id) {
+        return acquire(id, null);
+    }
+
+    /**
+     * Fournit une session en position de départ dont les coups sont journalisés.
+     * @param id l'identifiant de la partie
+     * @param journal le journal des coups, ou null
+     * @return une session réutilisée, ou une nouvelle si la réserve est vide
+     */
+    public GameSession acquire(long id, MoveJournal journal) {
+        GameSession session = idle.poll();
+        if (session == null) {
+            created.incrementAndGet();
+            session = new GameSession();
+        } else {
+            idleCount.decrementAndGet();
+            reused.incrementAndGet();
+        }
+        session.reset(id, journal);
+        return session;
+    }
+
+    /**
+     * Rend une session dont la partie est terminée ; elle ne doit plus être utilisée par l'appelant.
+     * @param session la session
+     */
+    public void release(GameSession session) {
+        // Réservation optimiste : la réserve peut dépasser maxIdle d'au plus le nombre de threads
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(session);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+}
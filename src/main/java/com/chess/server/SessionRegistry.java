@@ -0,0 +1,131 @@
+package com.chess.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registre des parties en cours, indexées par identifiant. Les lectures ne prennent aucun
+ * verrou ; les identifiants sont attribués par un compteur atomique.
+ *
+ * Avec un MoveJournal, les coups de chaque partie sont journalisés et recover reconstitue
+ * au démarrage les parties interrompues par un arrêt du serveur.
+ */
+public class SessionRegistry {
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final SessionPool pool;
+    private final MoveJournal journal;
+
+    /**
+     * Constructeur.
+     * @param pool la réserve de sessions réutilisables
+     */
+    public SessionRegistry(SessionPool pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Constructeur avec journal des coups.
+     * @param pool la réserve de sessions réutilisables
+     * @param journal le journal des coups, ou null
+     */
+    public SessionRegistry(SessionPool pool, MoveJournal journal) {
+        this.pool = pool;
+        this.journal = journal;
+    }
+
+    /**
+     * Crée une partie en position de départ.
+     * @return la session de la partie
+     */
+    public GameSession create() {
+        GameSession session = pool.acquire(nextId.getAndIncrement(), journal);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Reconstitue des parties relues dans le journal (voir MoveJournal.recover), en rejouant
+     * leurs coups en parallèle. Les nouvelles parties reçoivent ensuite des identifiants
+     * supérieurs à ceux des parties reconstituées.
+     * @param games les parties en cours au moment de l'arrêt
+     * @param threads le nombre de threads de rejeu
+     * @return le nombre de parties dont un coup a été refusé ; elles sont reconstituées jusqu'à ce coup
+     * @throws IOException si le rejeu a été interrompu
+     */
+    public int recover(List<MoveJournal.Game> games, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> tasks = new ArrayList<>(games.size());
+        try {
+            for (MoveJournal.Game game : games) {
+                tasks.add(executor.submit(() -> {
+                    GameSession session = pool.acquire(game.getId());
+                    boolean complete = session.restore(game, journal) < 0;
+                    sessions.put(game.getId(), session);
+                    return complete;
+                }));
+                nextId.accumulateAndGet(game.getId() + 1, Math::max);
+            }
+            int incomplete = 0;
+            for (Future<Boolean> task : tasks) {
+                if (!task.get()) {
+                    incomplete++;
+                }
+            }
+            return incomplete;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Reconstitution interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Échec de la reconstitution des parties", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Retourne une partie en cours.
+     * @param id l'identifiant
+     * @return la session, ou null si elle n'existe pas ou est terminée
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Termine une partie et rend sa session à la réserve.
+     * @param id l'identifiant
+     * @return true si la partie existait
+     */
+    public boolean end(long id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        if (journal != null) {
+            journal.end(id);
+        }
+        pool.release(session);
+        return true;
+    }
+
+    /**
+     * Retourne le nombre de parties en cours.
+     * @return le nombre de sessions enregistrées
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    public SessionPool getPool() {
+        return pool;
+    }
+}
@@ -0,0 +1,308 @@
+package com.chess.stats;
+
+import com.chess.board.Color;
+import com.chess.board.PieceType;
+import com.chess.pgn.PgnGame;
+import com.chess.rules.GameStateChecker.GameState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques agrégées d'un ensemble de parties : longueurs, états de fin de partie
+ * (GameStateChecker), prises par couleur et type de pièce, fréquence des échecs,
+ * résultats par ouverture et par joueur.
+ *
+ * Un accumulateur n'est pas thread-safe : StatisticsPipeline en tient un par thread
+ * et les fusionne à la fin avec merge.
+ */
+public class GameStatistics {
+    /** Longueur maximale suivie individuellement par l'histogramme ; au-delà, les parties sont regroupées. */
+    public static final int MAX_TRACKED_PLIES = 600;
+
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final GameState[] STATES = GameState.values();
+
+    private long games;
+    private long plies;
+    private long checks;
+    private long gamesWithCheck;
+    private final long[] lengths = new long[MAX_TRACKED_PLIES + 1];
+    private final long[] terminations = new long[STATES.length];
+    private final long[] captures = new long[2 * TYPES.length];
+    private final Map<String, Tally> openings = new HashMap<>();
+    private final Map<String, Tally> players = new HashMap<>();
+
+    /**
+     * Résultats cumulés d'une ouverture (du point de vue des Blancs) ou d'un joueur.
+     */
+    public static final class Tally {
+        private long games;
+        private long wins;
+        private long draws;
+        private long losses;
+        private long plies;
+
+        void add(int outcome, int gamePlies) {
+            games++;
+            plies += gamePlies;
+            if (outcome == 1) {
+                wins++;
+            } else if (outcome == 0) {
+                draws++;
+            } else if (outcome == -1) {
+                losses++;
+            }
+        }
+
+        void merge(Tally other) {
+            games += other.games;
+            wins += other.wins;
+            draws += other.draws;
+            losses += other.losses;
+            plies += other.plies;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getDraws() {
+            return draws;
+        }
+
+        public long getLosses() {
+            return losses;
+        }
+
+        /**
+         * Retourne le score moyen (1 par gain, 0,5 par nulle) des parties au résultat connu.
+         * @return le score entre 0 et 1, ou 0,5 sans partie décidée
+         */
+        public double getScore() {
+            long decided = wins + draws + losses;
+            return decided == 0 ? 0.5 : (wins + 0.5 * draws) / decided;
+        }
+
+        /**
+         * Retourne la longueur moyenne des parties.
+         * @return le nombre moyen de demi-coups
+         */
+        public double getAverageLength() {
+            return games == 0 ? 0 : (double) plies / games;
+        }
+    }
+
+    /**
+     * Ajoute une partie rejouée.
+     * @param opening l'ouverture (code ECO ou nom), ou null
+     * @param white le joueur des Blancs, ou null
+     * @param black le joueur des Noirs, ou null
+     * @param result le résultat (voir PgnGame)
+     * @param gamePlies le nombre de demi-coups joués
+     * @param gameChecks le nombre de demi-coups ayant donné échec
+     * @param state l'état de la position finale
+     * @param capturedCounts les prises de la partie, indexées par couleur * 6 + type
+     */
+    void addGame(String opening, String white, String black, String result,
+                 int gamePlies, int gameChecks, GameState state, int[] capturedCounts) {
+        games++;
+        plies += gamePlies;
+        lengths[Math.min(gamePlies, MAX_TRACKED_PLIES)]++;
+        checks += gameChecks;
+        if (gameChecks > 0) {
+            gamesWithCheck++;
+        }
+        terminations[state.ordinal()]++;
+        for (int i = 0; i < captures.length; i++) {
+            captures[i] += capturedCounts[i];
+        }
+        int outcome = whiteOutcome(result);
+        tally(openings, opening, outcome, gamePlies);
+        tally(players, white, outcome, gamePlies);
+        tally(players, black, outcome == 2 ? 2 : -outcome, gamePlies);
+    }
+
+    /**
+     * Ajoute les statistiques d'un autre accumulateur à celui-ci.
+     * @param other l'accumulateur à fusionner, qui n'est pas modifié
+     */
+    public void merge(GameStatistics other) {
+        games += other.games;
+        plies += other.plies;
+        checks += other.checks;
+        gamesWithCheck += other.gamesWithCheck;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] += other.lengths[i];
+        }
+        for (int i = 0; i < terminations.length; i++) {
+            terminations[i] += other.terminations[i];
+        }
+        for (int i = 0; i < captures.length; i++) {
+            captures[i] += other.captures[i];
+        }
+        mergeTallies(openings, other.openings);
+        mergeTallies(players, other.players);
+    }
+
+    public long getGameCount() {
+        return games;
+    }
+
+    public long getPlyCount() {
+        return plies;
+    }
+
+    /**
+     * Retourne la longueur moyenne des parties.
+     * @return le nombre moyen de demi-coups
+     */
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) plies / games;
+    }
+
+    /**
+     * Retourne un centile de la longueur des parties, d'après l'histogramme.
+     * @param percentile le centile, entre 0 et 100 (50 pour la médiane)
+     * @return le nombre de demi-coups, au plus MAX_TRACKED_PLIES
+     */
+    public int getLengthPercentile(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * games);
+        long seen = 0;
+        for (int length = 0; length < lengths.length; length++) {
+            seen += lengths[length];
+            if (seen >= Math.max(rank, 1)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retourne le nombre de parties terminées dans un état donné.
+     * @param state l'état de la position finale
+     * @return le nombre de parties
+     */
+    public long getTerminationCount(GameState state) {
+        return terminations[state.ordinal()];
+    }
+
+    /**
+     * Retourne le nombre de pièces d'une couleur et d'un type capturées.
+     * @param color la couleur des pièces capturées
+     * @param type le type des pièces capturées
+     * @return le nombre de prises
+     */
+    public long getCaptureCount(Color color, PieceType type) {
+        return captures[color.ordinal() * TYPES.length + type.ordinal()];
+    }
+
+    public long getCheckCount() {
+        return checks;
+    }
+
+    /**
+     * Retourne la proportion des demi-coups qui donnent échec.
+     * @return la fréquence, entre 0 et 1
+     */
+    public double getCheckFrequency() {
+        return plies == 0 ? 0 : (double) checks / plies;
+    }
+
+    /**
+     * Retourne le nombre de parties comportant au moins un échec.
+     * @return le nombre de parties
+     */
+    public long getGamesWithCheck() {
+        return gamesWithCheck;
+    }
+
+    /**
+     * Retourne les résultats par ouverture, du point de vue des Blancs.
+     * @return une copie de la table, indexée par code ECO ou nom d'ouverture
+     */
+    public Map<String, Tally> getOpenings() {
+        return new HashMap<>(openings);
+    }
+
+    /**
+     * Retourne les résultats par joueur, de son point de vue.
+     * @return une copie de la table, indexée par nom de joueur
+     */
+    public Map<String, Tally> getPlayers() {
+        return new HashMap<>(players);
+    }
+
+    /**
+     * Produit un rapport textuel.
+     * @param top le nombre d'ouvertures et de joueurs listés, par nombre de parties décroissant
+     * @return le rapport
+     */
+    public String report(int top) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Parties : %d, demi-coups : %d%n", games, plies));
+        sb.append(String.format("Longueur : moyenne %.1f, médiane %d, 90e centile %d%n",
+                                getAverageLength(), getLengthPercentile(50), getLengthPercentile(90)));
+        sb.append(String.format("Échecs : %d (%.2f %% des demi-coups), parties avec échec : %d%n",
+                                checks, 100 * getCheckFrequency(), gamesWithCheck));
+        sb.append("Fin de partie :");
+        for (GameState state : STATES) {
+            sb.append(' ').append(state.getDescription()).append(' ').append(terminations[state.ordinal()]);
+        }
+        sb.append(System.lineSeparator()).append("Prises :");
+        for (Color color : Color.values()) {
+            for (PieceType type : TYPES) {
+                long count = getCaptureCount(color, type);
+                if (count > 0) {
+                    sb.append(' ').append(color).append(' ').append(type).append(' ').append(count);
+                }
+            }
+        }
+        sb.append(System.lineSeparator());
+        appendTallies(sb, "Ouvertures", openings, top);
+        appendTallies(sb, "Joueurs", players, top);
+        return sb.toString();
+    }
+
+    private static void appendTallies(StringBuilder sb, String title, Map<String, Tally> tallies, int top) {
+        sb.append(title).append(" :").append(System.lineSeparator());
+        List<Map.Entry<String, Tally>> entries = new ArrayList<>(tallies.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().games, a.getValue().games));
+        for (Map.Entry<String, Tally> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            Tally tally = entry.getValue();
+            sb.append(String.format("  %-30s %8d parties  +%d =%d -%d  score %.1f %%  %.1f demi-coups%n",
+                                    entry.getKey(), tally.games, tally.wins, tally.draws, tally.losses,
+                                    100 * tally.getScore(), tally.getAverageLength()));
+        }
+    }
+
+    private static void tally(Map<String, Tally> tallies, String name, int outcome, int gamePlies) {
+        if (name != null && !name.isEmpty() && !name.equals("?")) {
+            tallies.computeIfAbsent(name, k -> new Tally()).add(outcome, gamePlies);
+        }
+    }
+
+    private static void mergeTallies(Map<String, Tally> target, Map<String, Tally> source) {
+        for (Map.Entry<String, Tally> entry : source.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new Tally()).merge(entry.getValue());
+        }
+    }
+
+    /**
+     * Résultat du point de vue des Blancs : 1 gain, 0 nulle, -1 perte, 2 inconnu.
+     */
+    private static int whiteOutcome(String result) {
+        return switch (result) {
+            case PgnGame.WHITE_WINS -> 1;
+            case PgnGame.DRAW -> 0;
+            case PgnGame.BLACK_WINS -> -1;
+            default -> 2;
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package com.chess.stats;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Fen;
+import com.chess.board.PieceType;
+import com.chess.engine.Move;
+import com.chess.game.GameController;
+import com.chess.pgn.PgnGame;
+import com.chess.pgn.PgnReader;
+import com.chess.pgn.SanParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calcule les statistiques (voir GameStatistics) d'archives PGN en rejouant les parties
+ * sur tous les cœurs.
+ *
+ * Les parties sont lues séquentiellement et confiées par lots aux threads de rejeu ;
+ * chaque thread tient son propre GameController et son propre accumulateur, sans
+ * synchronisation par partie, et les accumulateurs sont fusionnés à la fin. La mémoire
+ * reste bornée par les lots en attente et par les tables d'ouvertures et de joueurs.
+ */
+public class StatisticsPipeline {
+    private static final int BATCH_SIZE = 256;
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private final int threads;
+    private final AtomicLong gamesRejected = new AtomicLong();
+
+    /**
+     * Constructeur utilisant tous les processeurs disponibles.
+     */
+    public StatisticsPipeline() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur pour créer une chaîne de calcul.
+     * @param threads le nombre de threads de rejeu
+     */
+    public StatisticsPipeline(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Réglages invalides : threads=" + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Calcule les statistiques de fichiers PGN.
+     * @param pgnFiles les fichiers PGN
+     * @return les statistiques fusionnées
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public GameStatistics run(List<Path> pgnFiles) throws IOException {
+        gamesRejected.set(0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // Au plus deux lots en attente par thread : la lecture ne prend pas d'avance illimitée
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Replayer> replayers = new ArrayList<>();
+        ThreadLocal<Replayer> localReplayer = ThreadLocal.withInitial(() -> {
+            Replayer replayer = new Replayer();
+            synchronized (replayers) {
+                replayers.add(replayer);
+            }
+            return replayer;
+        });
+        List<Throwable> failures = new ArrayList<>();
+
+        try {
+            for (Path pgnFile : pgnFiles) {
+                try (PgnReader reader = new PgnReader(Files.newBufferedReader(pgnFile, StandardCharsets.UTF_8))) {
+                    List<PgnGame> batch = new ArrayList<>(BATCH_SIZE);
+                    PgnGame game;
+                    while ((game = reader.nextGame()) != null) {
+                        batch.add(game);
+                        if (batch.size() == BATCH_SIZE) {
+                            submit(executor, inFlight, batch, localReplayer, failures);
+                            batch = new ArrayList<>(BATCH_SIZE);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        submit(executor, inFlight, batch, localReplayer, failures);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                throw new IOException("Échec du rejeu des parties", failures.get(0));
+            }
+        }
+
+        GameStatistics total = new GameStatistics();
+        for (Replayer replayer : replayers) {
+            total.merge(replayer.statistics);
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le nombre de parties écartées par une position de départ ou un coup illisible
+     * ou illégal lors du dernier calcul.
+     * @return le nombre de parties rejetées
+     */
+    public long getGamesRejected() {
+        return gamesRejected.get();
+    }
+
+    private static void submit(ExecutorService executor, Semaphore inFlight, List<PgnGame> batch,
+                               ThreadLocal<Replayer> replayers, List<Throwable> failures) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Calcul interrompu", e);
+        }
+        executor.execute(() -> {
+            try {
+                Replayer replayer = replayers.get();
+                for (PgnGame game : batch) {
+                    replayer.replay(game);
+                }
+            } catch (RuntimeException e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static void awaitTermination(ExecutorService executor) throws IOException {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Attendre la fin des lots en cours
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Calcul interrompu", e);
+        }
+    }
+
+    /**
+     * État de rejeu propre à un thread : la partie est jouée sur un GameController réutilisé,
+     * pour que l'état final soit celui de GameStateChecker.
+     */
+    private final class Replayer {
+        private final GameStatistics statistics = new GameStatistics();
+        private final GameController controller = new GameController();
+        private final SanParser sanParser = new SanParser();
+        private final int[] captured = new int[2 * TYPES.length];
+
+        void replay(PgnGame game) {
+            String fen = game.getTag("FEN");
+            try {
+                if (fen != null) {
+                    controller.newGame(Fen.parse(fen));
+                } else {
+                    controller.newGame();
+                }
+            } catch (IllegalArgumentException e) {
+                gamesRejected.incrementAndGet();
+                return;
+            }
+
+            Board board = controller.getBoard();
+            List<String> moves = game.getMoves();
+            int checks = 0;
+            for (String san : moves) {
+                // SanParser ne renvoie que des coups légaux : inutile de les valider une seconde fois
+                int move = sanParser.parse(board, san);
+                if (move == Move.NONE) {
+                    gamesRejected.incrementAndGet();
+                    return;
+                }
+                controller.applyValidatedMove(Move.fromPosition(move), Move.toPosition(move), Move.promotion(move));
+                if (board.isInCheck(board.getCurrentPlayer())) {
+                    checks++;
+                }
+            }
+
+            for (Color color : Color.values()) {
+                for (PieceType type : TYPES) {
+                    captured[color.ordinal() * TYPES.length + type.ordinal()] = board.getCapturedCount(color, type);
+                }
+            }
+            String opening = game.getTag("ECO") != null ? game.getTag("ECO") : game.getTag("Opening");
+            statistics.addGame(opening, game.getTag("White"), game.getTag("Black"), game.getResult(),
+                               moves.size(), checks, controller.state(), captured);
+        }
+    }
+
+    /**
+     * Calcule et affiche les statistiques en ligne de commande.
+     * Usage : StatisticsPipeline partie1.pgn [partie2.pgn ...]
+     * @param args les fichiers PGN
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage : StatisticsPipeline <pgn>...");
+            System.exit(1);
+        }
+        List<Path> pgnFiles = new ArrayList<>();
+        for (String arg : args) {
+            pgnFiles.add(Path.of(arg));
+        }
+        StatisticsPipeline pipeline = new StatisticsPipeline();
+        long start = System.currentTimeMillis();
+        GameStatistics statistics = pipeline.run(pgnFiles);
+        System.out.print(statistics.report(20));
+        System.out.println(pipeline.getGamesRejected() + " parties rejetées, "
+            + (System.currentTimeMillis() - start) + " ms");
+    }
+}
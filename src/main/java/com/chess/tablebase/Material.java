@@ -0,0 +1,287 @@
+package com.chess.tablebase;
+
+import com.chess.board.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Composition matérielle d'une finale (ex : « KQvK », « KBNvK », « KPvK ») et indexation
+ * de ses positions.
+ *
+ * Les pièces sont rangées par couleur (blancs d'abord) puis par ordre de PieceType, le roi
+ * en premier. L'index d'une position combine le trait et la case de chaque pièce ; la case
+ * du roi blanc est réduite par symétrie : triangle a1-d1-d4 (10 cases) sans pion,
+ * colonnes a à d (32 cases) avec pions. Les cases suivent Position.getIndex() (ligne * 8 + colonne,
+ * ligne 0 côté blanc).
+ */
+public final class Material {
+    /** Nombre maximal de pièces, rois compris. */
+    public static final int MAX_PIECES = 5;
+
+    private static final String LETTERS = "KQRBNP";
+    private static final int[] TRIANGLE_INDEX = new int[64];
+    private static final int[] TRIANGLE_SQUARES = new int[10];
+
+    static {
+        Arrays.fill(TRIANGLE_INDEX, -1);
+        int count = 0;
+        for (int rank = 0; rank < 4; rank++) {
+            for (int file = rank; file < 4; file++) {
+                TRIANGLE_INDEX[rank * 8 + file] = count;
+                TRIANGLE_SQUARES[count++] = rank * 8 + file;
+            }
+        }
+    }
+
+    private final int[] types;
+    private final boolean[] white;
+    private final int whiteCount;
+    private final boolean pawns;
+    private final String name;
+    private final int size;
+
+    private Material(int[] whiteTypes, int[] blackTypes) {
+        this.whiteCount = whiteTypes.length;
+        this.types = new int[whiteTypes.length + blackTypes.length];
+        this.white = new boolean[types.length];
+        System.arraycopy(whiteTypes, 0, types, 0, whiteTypes.length);
+        System.arraycopy(blackTypes, 0, types, whiteTypes.length, blackTypes.length);
+        boolean hasPawns = false;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < types.length; i++) {
+            white[i] = i < whiteCount;
+            hasPawns |= types[i] == PieceType.PAWN.ordinal();
+            if (i == whiteCount) {
+                sb.append('v');
+            }
+            sb.append(LETTERS.charAt(types[i]));
+        }
+        this.pawns = hasPawns;
+        this.name = sb.toString();
+        long positions = 2L * (pawns ? 32 : 10);
+        for (int i = 1; i < types.length; i++) {
+            positions *= 64;
+        }
+        if (positions > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Finale trop grande : " + name);
+        }
+        this.size = (int) positions;
+    }
+
+    /**
+     * Lit une composition (ex : « KRvK »).
+     * @param name la composition, pièces blanches puis « v » puis pièces noires
+     * @return la composition, pièces triées
+     * @throws IllegalArgumentException si la composition est invalide
+     */
+    public static Material parse(String name) {
+        String[] sides = name.toUpperCase().split("V");
+        if (sides.length != 2) {
+            throw new IllegalArgumentException("Composition invalide : " + name);
+        }
+        return of(parseSide(sides[0], name), parseSide(sides[1], name));
+    }
+
+    /**
+     * Crée une composition à partir des ordinaux de PieceType de chaque camp.
+     * @param whiteTypes les types des pièces blanches (un roi exactement)
+     * @param blackTypes les types des pièces noires (un roi exactement)
+     * @return la composition, pièces triées
+     * @throws IllegalArgumentException si un camp n'a pas exactement un roi ou s'il y a trop de pièces
+     */
+    public static Material of(int[] whiteTypes, int[] blackTypes) {
+        int[] w = whiteTypes.clone();
+        int[] b = blackTypes.clone();
+        Arrays.sort(w);
+        Arrays.sort(b);
+        if (w.length + b.length > MAX_PIECES || countKings(w) != 1 || countKings(b) != 1) {
+            throw new IllegalArgumentException("Composition invalide : " + Arrays.toString(w) + " v " + Arrays.toString(b));
+        }
+        return new Material(w, b);
+    }
+
+    private static int[] parseSide(String side, String name) {
+        int[] result = new int[side.length()];
+        for (int i = 0; i < side.length(); i++) {
+            int type = LETTERS.indexOf(side.charAt(i));
+            if (type < 0) {
+                throw new IllegalArgumentException("Composition invalide : " + name);
+            }
+            result[i] = type;
+        }
+        return result;
+    }
+
+    private static int countKings(int[] sideTypes) {
+        int kings = 0;
+        for (int type : sideTypes) {
+            if (type == PieceType.KING.ordinal()) {
+                kings++;
+            }
+        }
+        return kings;
+    }
+
+    /**
+     * Indique si la composition est sous forme canonique : le camp le plus fort est celui des blancs.
+     * Les tables ne sont générées que pour les compositions canoniques ; les autres sont
+     * consultées en échangeant les couleurs.
+     * @return true si la composition est canonique
+     */
+    public boolean isCanonical() {
+        return compareSides(Arrays.copyOfRange(types, 0, whiteCount),
+                            Arrays.copyOfRange(types, whiteCount, types.length)) >= 0;
+    }
+
+    /**
+     * Retourne la composition aux couleurs échangées.
+     * @return la composition miroir
+     */
+    public Material flip() {
+        return new Material(Arrays.copyOfRange(types, whiteCount, types.length), Arrays.copyOfRange(types, 0, whiteCount));
+    }
+
+    private static int compareSides(int[] a, int[] b) {
+        if (a.length != b.length) {
+            return Integer.compare(a.length, b.length);
+        }
+        int valueA = 0;
+        int valueB = 0;
+        for (int i = 0; i < a.length; i++) {
+            valueA += PieceType.values()[a[i]].getValue();
+            valueB += PieceType.values()[b[i]].getValue();
+        }
+        if (valueA != valueB) {
+            return Integer.compare(valueA, valueB);
+        }
+        // Ordinal plus petit = pièce plus forte
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return Integer.compare(b[i], a[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Calcule l'index d'une position. Les cases sont ramenées dans la zone réduite par symétrie
+     * (le tableau des cases est modifié).
+     * @param squares les cases des pièces, dans l'ordre de la composition
+     * @param whiteToMove true si les blancs ont le trait
+     * @return l'index de la position
+     */
+    public int index(int[] squares, boolean whiteToMove) {
+        normalize(squares);
+        int king = squares[0];
+        int index = whiteToMove ? 0 : 1;
+        index = index * (pawns ? 32 : 10) + (pawns ? (king >>> 3) * 4 + (king & 7) : TRIANGLE_INDEX[king]);
+        for (int i = 1; i < types.length; i++) {
+            index = index * 64 + squares[i];
+        }
+        return index;
+    }
+
+    /**
+     * Décode un index en cases des pièces.
+     * @param index l'index de la position
+     * @param squares le tableau des cases à remplir
+     * @return true si les blancs ont le trait
+     */
+    public boolean decode(int index, int[] squares) {
+        for (int i = types.length - 1; i >= 1; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+        int kingSlots = pawns ? 32 : 10;
+        int king = index % kingSlots;
+        squares[0] = pawns ? (king >>> 2) * 8 + (king & 3) : TRIANGLE_SQUARES[king];
+        return index / kingSlots == 0;
+    }
+
+    /**
+     * Applique la symétrie qui amène le roi blanc dans la zone réduite.
+     */
+    private void normalize(int[] squares) {
+        int king = squares[0];
+        if ((king & 7) > 3) {
+            for (int i = 0; i < types.length; i++) {
+                squares[i] ^= 7;
+            }
+        }
+        if (pawns) {
+            return;
+        }
+        if (squares[0] >>> 3 > 3) {
+            for (int i = 0; i < types.length; i++) {
+                squares[i] ^= 56;
+            }
+        }
+        king = squares[0];
+        if (king >>> 3 > (king & 7)) {
+            for (int i = 0; i < types.length; i++) {
+                squares[i] = ((squares[i] & 7) << 3) | (squares[i] >>> 3);
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de pièces, rois compris.
+     * @return le nombre de pièces
+     */
+    public int getPieceCount() {
+        return types.length;
+    }
+
+    /**
+     * Retourne le type (ordinal de PieceType) d'une pièce.
+     * @param piece l'indice de la pièce dans la composition
+     * @return l'ordinal du type
+     */
+    public int getType(int piece) {
+        return types[piece];
+    }
+
+    /**
+     * Indique si une pièce est blanche.
+     * @param piece l'indice de la pièce dans la composition
+     * @return true pour une pièce blanche
+     */
+    public boolean isWhite(int piece) {
+        return white[piece];
+    }
+
+    public int getWhiteCount() {
+        return whiteCount;
+    }
+
+    public boolean hasPawns() {
+        return pawns;
+    }
+
+    /**
+     * Retourne le nombre de positions indexées (les deux traits compris).
+     * @return la taille de la table
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Material other && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
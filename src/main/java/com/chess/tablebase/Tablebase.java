@@ -0,0 +1,234 @@
+package com.chess.tablebase;
+
+import com.chess.io.MappedFile;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Table de finale d'une composition, lue par projection en mémoire.
+ *
+ * Format (gros-boutiste) : en-tête de 32 octets (magique, version, nombre de positions,
+ * distance maximale, bits par distance, nom de la composition sur 12 octets), puis une section
+ * WDL de 2 bits par position (0 nulle, 1 gain, 2 perte, 3 illégale), puis une section DTM
+ * de dtmBits bits par position donnant la distance au mat en demi-coups. Les deux sections
+ * sont composées de longs, les bits de poids faible d'abord.
+ */
+public class Tablebase implements Closeable {
+    /** Extension des fichiers de table. */
+    public static final String EXTENSION = ".ctb";
+
+    static final int MAGIC = 0x43544231;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final int NAME_SIZE = 12;
+
+    static final int WDL_DRAW = 0;
+    static final int WDL_WIN = 1;
+    static final int WDL_LOSS = 2;
+    static final int WDL_ILLEGAL = 3;
+
+    private final Material material;
+    private final MappedFile file;
+    private final int entryCount;
+    private final int maxDistance;
+    private final int dtmBits;
+    private final long dtmOffset;
+
+    private Tablebase(Material material, MappedFile file, int entryCount, int maxDistance, int dtmBits) {
+        this.material = material;
+        this.file = file;
+        this.entryCount = entryCount;
+        this.maxDistance = maxDistance;
+        this.dtmBits = dtmBits;
+        this.dtmOffset = HEADER_SIZE + wordCount(entryCount, 2) * 8L;
+    }
+
+    /**
+     * Ouvre une table.
+     * @param path le chemin du fichier
+     * @return la table
+     * @throws IOException si le fichier est illisible ou n'est pas une table valide
+     */
+    public static Tablebase open(Path path) throws IOException {
+        MappedFile file = new MappedFile(path);
+        try {
+            if (file.size() < HEADER_SIZE || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+                throw new IOException("Table de finale invalide : " + path);
+            }
+            byte[] name = new byte[NAME_SIZE];
+            for (int i = 0; i < NAME_SIZE; i++) {
+                name[i] = (byte) (file.getInt(20 + i - i % 4) >>> (24 - 8 * (i % 4)));
+            }
+            Material material = Material.parse(new String(name, StandardCharsets.US_ASCII).trim());
+            int entryCount = file.getInt(8);
+            int dtmBits = file.getInt(16);
+            long expected = HEADER_SIZE + (wordCount(entryCount, 2) + wordCount(entryCount, dtmBits)) * 8L;
+            if (entryCount != material.size() || file.size() != expected) {
+                throw new IOException("Table de finale tronquée : " + path);
+            }
+            return new Tablebase(material, file, entryCount, file.getInt(12), dtmBits);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Écrit une table à partir des codes du générateur.
+     */
+    static void write(Path path, Material material, byte[] codes) throws IOException {
+        int maxDistance = 0;
+        for (byte code : codes) {
+            if (TablebaseGenerator.isMate(code)) {
+                maxDistance = Math.max(maxDistance, TablebaseGenerator.distance(code));
+            }
+        }
+        int dtmBits = 32 - Integer.numberOfLeadingZeros(maxDistance);
+        byte[] name = new byte[NAME_SIZE];
+        byte[] letters = material.getName().getBytes(StandardCharsets.US_ASCII);
+        Arrays.fill(name, (byte) ' ');
+        System.arraycopy(letters, 0, name, 0, letters.length);
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(codes.length);
+            out.writeInt(maxDistance);
+            out.writeInt(dtmBits);
+            out.write(name);
+            writePacked(out, codes, 2, Tablebase::wdl);
+            writePacked(out, codes, dtmBits, code -> TablebaseGenerator.isMate(code) ? TablebaseGenerator.distance(code) : 0);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private interface FieldExtractor {
+        int extract(byte code);
+    }
+
+    private static void writePacked(DataOutputStream out, byte[] codes, int bits, FieldExtractor extractor) throws IOException {
+        if (bits == 0) {
+            return;
+        }
+        long word = 0;
+        int used = 0;
+        for (byte code : codes) {
+            long value = extractor.extract(code);
+            word |= value << used;
+            used += bits;
+            if (used >= 64) {
+                out.writeLong(word);
+                used -= 64;
+                // Bits du champ qui ne tenaient pas dans le long précédent
+                word = used > 0 ? value >>> (bits - used) : 0;
+            }
+        }
+        if (used > 0) {
+            out.writeLong(word);
+        }
+    }
+
+    private static int wdl(byte code) {
+        if (code == TablebaseGenerator.ILLEGAL) {
+            return WDL_ILLEGAL;
+        }
+        if (!TablebaseGenerator.isMate(code)) {
+            return WDL_DRAW;
+        }
+        return (TablebaseGenerator.distance(code) & 1) == 1 ? WDL_WIN : WDL_LOSS;
+    }
+
+    private static long wordCount(long entries, int bits) {
+        return (entries * bits + 63) / 64;
+    }
+
+    private long readField(long base, int index, int bits) {
+        long bit = (long) index * bits;
+        long word = file.getLong(base + (bit >>> 6) * 8);
+        int shift = (int) (bit & 63);
+        long value = word >>> shift;
+        if (shift + bits > 64) {
+            value |= file.getLong(base + ((bit >>> 6) + 1) * 8) << (64 - shift);
+        }
+        return value & ((1L << bits) - 1);
+    }
+
+    /**
+     * Lit le résultat gain/nulle/perte d'une position.
+     * @param index l'index de la position (voir Material.index)
+     * @return WDL_DRAW, WDL_WIN, WDL_LOSS ou WDL_ILLEGAL
+     */
+    int getWdl(int index) {
+        return (int) readField(HEADER_SIZE, index, 2);
+    }
+
+    /**
+     * Lit le résultat d'une position.
+     * @param index l'index de la position (voir Material.index)
+     * @return le résultat, ou null si la position est illégale
+     */
+    public TablebaseResult probe(int index) {
+        int wdl = getWdl(index);
+        if (wdl == WDL_ILLEGAL) {
+            return null;
+        }
+        if (wdl == WDL_DRAW) {
+            return TablebaseResult.draw();
+        }
+        return TablebaseResult.mate((int) readField(dtmOffset, index, dtmBits));
+    }
+
+    /**
+     * Retourne le code du générateur d'une position, pour les tables filles.
+     */
+    byte getCode(int index) {
+        int wdl = getWdl(index);
+        if (wdl == WDL_ILLEGAL) {
+            return TablebaseGenerator.ILLEGAL;
+        }
+        if (wdl == WDL_DRAW) {
+            return TablebaseGenerator.DRAW;
+        }
+        return TablebaseGenerator.mateCode((int) readField(dtmOffset, index, dtmBits));
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Retourne la plus longue distance au mat de la table.
+     * @return la distance en demi-coups
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Retourne le chemin du fichier d'une composition dans un répertoire.
+     * @param directory le répertoire des tables
+     * @param material la composition canonique
+     * @return le chemin du fichier
+     */
+    public static Path pathOf(Path directory, Material material) {
+        return directory.resolve(material.getName() + EXTENSION);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,297 @@
+package com.chess.tablebase;
+
+import com.chess.board.PieceType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Génère les tables de finale par analyse rétrograde.
+ *
+ * Chaque position reçoit un code sur un octet : inconnue (nulle à la fin), illégale, pat, ou
+ * distance au mat d en demi-coups (d pair : le joueur au trait perd ; d impair : il gagne).
+ * Le tour r marque gagnantes les positions ayant un coup vers une perte en r - 1 (r impair),
+ * puis perdantes celles dont tous les coups mènent à un gain en au plus r - 1 (r pair).
+ * Les compositions atteintes par prise ou promotion sont générées (ou relues) d'abord.
+ * Chaque tour est réparti par tranches d'index entre plusieurs threads : une position écrite
+ * pendant le tour r porte la distance r, qui ne satisfait aucune condition du même tour,
+ * les lectures concurrentes sont donc sans effet sur le résultat.
+ */
+public class TablebaseGenerator {
+    static final byte DRAW = 0;
+    static final byte ILLEGAL = 1;
+    static final byte STALEMATE = (byte) 255;
+    /** Plus longue distance au mat représentable par un code. */
+    static final int MAX_DISTANCE = 252;
+
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int[] PROMOTIONS = {
+        PieceType.QUEEN.ordinal(), PieceType.ROOK.ordinal(), PieceType.BISHOP.ordinal(), PieceType.KNIGHT.ordinal()
+    };
+
+    private final Path directory;
+    private final int threads;
+    private final Map<Material, byte[]> generated = new HashMap<>();
+
+    /**
+     * Constructeur utilisant un thread par processeur.
+     * @param directory le répertoire des tables
+     */
+    public TablebaseGenerator(Path directory) {
+        this(directory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur.
+     * @param directory le répertoire des tables (les tables déjà présentes sont réutilisées)
+     * @param threads le nombre de threads de génération
+     */
+    public TablebaseGenerator(Path directory, int threads) {
+        this.directory = directory;
+        this.threads = Math.max(1, threads);
+    }
+
+    static boolean isMate(byte code) {
+        int value = code & 0xFF;
+        return value >= 2 && value != (STALEMATE & 0xFF);
+    }
+
+    static int distance(byte code) {
+        return (code & 0xFF) - 2;
+    }
+
+    static byte mateCode(int distance) {
+        return (byte) (distance + 2);
+    }
+
+    /**
+     * Génère la table d'une composition et celles dont elle dépend, si elles sont absentes.
+     * @param name la composition (ex : « KQvK ») ; elle est ramenée à sa forme canonique
+     * @return la composition canonique générée
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public Material generate(String name) throws IOException {
+        Material material = Material.parse(name);
+        if (!material.isCanonical()) {
+            material = material.flip();
+        }
+        codesOf(material);
+        return material;
+    }
+
+    private byte[] codesOf(Material material) throws IOException {
+        byte[] codes = generated.get(material);
+        if (codes != null) {
+            return codes;
+        }
+        Path path = Tablebase.pathOf(directory, material);
+        if (Files.exists(path)) {
+            codes = new byte[material.size()];
+            try (Tablebase table = Tablebase.open(path)) {
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = table.getCode(i);
+                }
+            }
+        } else {
+            Map<Material, byte[]> children = new HashMap<>();
+            for (Material child : childrenOf(material)) {
+                children.put(child, codesOf(child));
+            }
+            codes = solve(material, children);
+            Files.createDirectories(directory);
+            Tablebase.write(path, material, codes);
+        }
+        generated.put(material, codes);
+        return codes;
+    }
+
+    /**
+     * Énumère les compositions canoniques atteignables en un coup par prise et/ou promotion.
+     */
+    static Set<Material> childrenOf(Material material) {
+        Set<Material> children = new LinkedHashSet<>();
+        int count = material.getPieceCount();
+        for (int captured = -1; captured < count; captured++) {
+            if (captured >= 0 && material.getType(captured) == KING) {
+                continue;
+            }
+            for (int promoted = -1; promoted < count; promoted++) {
+                if (promoted == captured || promoted >= 0 && material.getType(promoted) != PAWN) {
+                    continue;
+                }
+                if (captured >= 0 && promoted >= 0 && material.isWhite(captured) == material.isWhite(promoted)) {
+                    continue;
+                }
+                for (int promotion : promoted >= 0 ? PROMOTIONS : new int[] {-1}) {
+                    if (captured < 0 && promoted < 0) {
+                        continue;
+                    }
+                    children.add(childOf(material, captured, promoted, promotion));
+                }
+            }
+        }
+        return children;
+    }
+
+    private static Material childOf(Material material, int captured, int promoted, int promotion) {
+        List<Integer> whiteTypes = new ArrayList<>();
+        List<Integer> blackTypes = new ArrayList<>();
+        for (int i = 0; i < material.getPieceCount(); i++) {
+            if (i == captured) {
+                continue;
+            }
+            int type = i == promoted ? promotion : material.getType(i);
+            (material.isWhite(i) ? whiteTypes : blackTypes).add(type);
+        }
+        Material child = Material.of(whiteTypes.stream().mapToInt(Integer::intValue).toArray(),
+                                     blackTypes.stream().mapToInt(Integer::intValue).toArray());
+        return child.isCanonical() ? child : child.flip();
+    }
+
+    /**
+     * Résout une composition par tours successifs jusqu'à ce qu'aucune position ne change.
+     */
+    private byte[] solve(Material material, Map<Material, byte[]> children) throws IOException {
+        byte[] codes = new byte[material.size()];
+        ThreadLocal<TablebasePosition> positions = ThreadLocal.withInitial(() -> new TablebasePosition(material));
+        int maxChildDistance = 0;
+        for (byte[] childCodes : children.values()) {
+            for (byte code : childCodes) {
+                if (isMate(code)) {
+                    maxChildDistance = Math.max(maxChildDistance, distance(code));
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runRound(executor, codes.length, index -> {
+                TablebasePosition position = positions.get();
+                if (!position.load(index)) {
+                    codes[index] = ILLEGAL;
+                    return 0;
+                }
+                if (position.generateLegalMoves() == 0) {
+                    codes[index] = position.inCheck() ? mateCode(0) : STALEMATE;
+                }
+                return 0;
+            });
+
+            int quietRounds = 0;
+            for (int round = 1; quietRounds < 2 || round <= maxChildDistance + 1; round++) {
+                if (round > MAX_DISTANCE) {
+                    throw new IllegalStateException("Distance au mat trop longue pour " + material);
+                }
+                int target = round;
+                long changes = runRound(executor, codes.length, index -> {
+                    if (codes[index] != DRAW) {
+                        return 0;
+                    }
+                    TablebasePosition position = positions.get();
+                    position.load(index);
+                    if (resolves(position, codes, children, target)) {
+                        codes[index] = mateCode(target);
+                        return 1;
+                    }
+                    return 0;
+                });
+                quietRounds = changes == 0 ? quietRounds + 1 : 0;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return codes;
+    }
+
+    /**
+     * Indique si une position non résolue devient gagnante (tour impair) ou perdante (tour pair).
+     */
+    private static boolean resolves(TablebasePosition position, byte[] codes, Map<Material, byte[]> children, int round) {
+        boolean winRound = (round & 1) == 1;
+        int moveCount = position.generateLegalMoves();
+        for (int m = 0; m < moveCount; m++) {
+            int move = position.getMove(m);
+            int index = position.successorIndex(move);
+            byte code = index >= 0 ? codes[index]
+                : children.get(position.successorMaterial(move))[position.successorChildIndex(move)];
+            boolean mate = isMate(code);
+            if (winRound) {
+                if (mate && distance(code) == round - 1) {
+                    return true;
+                }
+            } else if (!mate || (distance(code) & 1) == 0 || distance(code) > round - 1) {
+                return false;
+            }
+        }
+        return !winRound;
+    }
+
+    /**
+     * Applique une fonction à chaque index, par tranches réparties entre les threads.
+     * @return la somme des valeurs retournées
+     */
+    private long runRound(ExecutorService executor, int size, IntUnaryOperator action) throws IOException {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(size, start + CHUNK_SIZE);
+            tasks.add(() -> {
+                long total = 0;
+                for (int index = from; index < to; index++) {
+                    total += action.applyAsInt(index);
+                }
+                return total;
+            });
+        }
+        long total = 0;
+        try {
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                total += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Génération interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Échec de la génération", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Génère des tables en ligne de commande.
+     * Usage : TablebaseGenerator répertoire KQvK [KRvK ...]
+     * @param args le répertoire des tables puis les compositions
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : TablebaseGenerator <répertoire> <composition>...");
+            System.exit(1);
+        }
+        Path directory = Path.of(args[0]);
+        TablebaseGenerator generator = new TablebaseGenerator(directory);
+        for (int i = 1; i < args.length; i++) {
+            long start = System.currentTimeMillis();
+            Material material = generator.generate(args[i]);
+            try (Tablebase table = Tablebase.open(Tablebase.pathOf(directory, material))) {
+                System.out.println(material + " : " + table.getEntryCount() + " positions, mat le plus long en "
+                    + table.getMaxDistance() + " demi-coups, " + (System.currentTimeMillis() - start) + " ms");
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.chess.tablebase;
+
+import com.chess.board.PieceType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Position de finale manipulée par cases (sans Board), pour générer les tables rapidement :
+ * génération des coups légaux et calcul de l'index des positions suivantes.
+ * La prise en passant et le roque sont ignorés, comme dans les tables usuelles.
+ * Une instance n'est utilisable que par un seul thread.
+ */
+final class TablebasePosition {
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int[] PROMOTIONS = {QUEEN, ROOK, BISHOP, KNIGHT};
+    private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    private static final int[][] DIAGONALS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] LINES = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private final Material material;
+    private final int count;
+    private final int[] squares;
+    private final int[] occupant = new int[64];
+    private final int[] moves = new int[256];
+    private final int[] scratchSquares = new int[Material.MAX_PIECES];
+    private final Map<Integer, Transition> transitions = new HashMap<>();
+    private boolean whiteToMove;
+    private int moveCount;
+
+    /**
+     * Passage vers une autre composition après une prise ou une promotion.
+     */
+    private static final class Transition {
+        private final Material material;
+        private final boolean flip;
+        private final int[] order;
+
+        Transition(Material material, boolean flip, int[] order) {
+            this.material = material;
+            this.flip = flip;
+            this.order = order;
+        }
+    }
+
+    TablebasePosition(Material material) {
+        this.material = material;
+        this.count = material.getPieceCount();
+        this.squares = new int[count];
+    }
+
+    /**
+     * Charge la position d'index donné.
+     * @return false si l'index ne correspond pas à une position légale
+     */
+    boolean load(int index) {
+        whiteToMove = material.decode(index, squares);
+        Arrays.fill(occupant, -1);
+        for (int i = 0; i < count; i++) {
+            int square = squares[i];
+            if (occupant[square] >= 0) {
+                return false;
+            }
+            if (material.getType(i) == PAWN && (square < 8 || square >= 56)) {
+                return false;
+            }
+            occupant[square] = i;
+        }
+        // Le camp qui n'a pas le trait ne peut pas être en échec
+        return !isAttacked(squares[kingOf(!whiteToMove)], whiteToMove);
+    }
+
+    boolean isWhiteToMove() {
+        return whiteToMove;
+    }
+
+    boolean inCheck() {
+        return isAttacked(squares[kingOf(whiteToMove)], !whiteToMove);
+    }
+
+    int getMoveCount() {
+        return moveCount;
+    }
+
+    private int kingOf(boolean white) {
+        return white ? 0 : material.getWhiteCount();
+    }
+
+    /**
+     * Génère les coups légaux du joueur au trait.
+     * Encodage : pièce (bits 0-2), arrivée (3-8), type promu + 1 (9-11), pièce prise + 1 (12-14).
+     * @return le nombre de coups
+     */
+    int generateLegalMoves() {
+        moveCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (material.isWhite(i) != whiteToMove || squares[i] < 0) {
+                continue;
+            }
+            int type = material.getType(i);
+            int square = squares[i];
+            if (type == KING) {
+                addSteps(i, square, KING_STEPS);
+            } else if (type == KNIGHT) {
+                addSteps(i, square, KNIGHT_STEPS);
+            } else if (type == PAWN) {
+                addPawnMoves(i, square);
+            } else {
+                if (type != ROOK) {
+                    addSlides(i, square, DIAGONALS);
+                }
+                if (type != BISHOP) {
+                    addSlides(i, square, LINES);
+                }
+            }
+        }
+        // Filtrer les coups qui laissent le roi en échec
+        int legal = 0;
+        for (int m = 0; m < moveCount; m++) {
+            if (isLegal(moves[m])) {
+                moves[legal++] = moves[m];
+            }
+        }
+        moveCount = legal;
+        return legal;
+    }
+
+    int getMove(int m) {
+        return moves[m];
+    }
+
+    private void addSteps(int piece, int square, int[][] steps) {
+        int rank = square >>> 3;
+        int file = square & 7;
+        for (int[] step : steps) {
+            int r = rank + step[0];
+            int f = file + step[1];
+            if (r >= 0 && r < 8 && f >= 0 && f < 8) {
+                addIfNotOwn(piece, r * 8 + f, 0);
+            }
+        }
+    }
+
+    private void addSlides(int piece, int square, int[][] directions) {
+        for (int[] direction : directions) {
+            int r = (square >>> 3) + direction[0];
+            int f = (square & 7) + direction[1];
+            while (r >= 0 && r < 8 && f >= 0 && f < 8) {
+                int target = r * 8 + f;
+                addIfNotOwn(piece, target, 0);
+                if (occupant[target] >= 0) {
+                    break;
+                }
+                r += direction[0];
+                f += direction[1];
+            }
+        }
+    }
+
+    private void addPawnMoves(int piece, int square) {
+        int direction = material.isWhite(piece) ? 8 : -8;
+        int target = square + direction;
+        boolean promotes = target < 8 || target >= 56;
+        if (occupant[target] < 0) {
+            addPawnMove(piece, target, promotes, 0);
+            int startRank = material.isWhite(piece) ? 1 : 6;
+            if (square >>> 3 == startRank && occupant[target + direction] < 0) {
+                addPawnMove(piece, target + direction, false, 0);
+            }
+        }
+        for (int side = -1; side <= 1; side += 2) {
+            int file = (square & 7) + side;
+            if (file < 0 || file > 7) {
+                continue;
+            }
+            int capture = target + side;
+            int victim = occupant[capture];
+            if (victim >= 0 && material.isWhite(victim) != material.isWhite(piece)) {
+                addPawnMove(piece, capture, promotes, victim + 1);
+            }
+        }
+    }
+
+    private void addPawnMove(int piece, int target, boolean promotes, int capturedBits) {
+        if (!promotes) {
+            moves[moveCount++] = piece | (target << 3) | (capturedBits << 12);
+            return;
+        }
+        for (int type : PROMOTIONS) {
+            moves[moveCount++] = piece | (target << 3) | ((type + 1) << 9) | (capturedBits << 12);
+        }
+    }
+
+    private void addIfNotOwn(int piece, int target, int promotionBits) {
+        int victim = occupant[target];
+        if (victim < 0) {
+            moves[moveCount++] = piece | (target << 3) | (promotionBits << 9);
+        } else if (material.isWhite(victim) != material.isWhite(piece) && material.getType(victim) != KING) {
+            moves[moveCount++] = piece | (target << 3) | (promotionBits << 9) | ((victim + 1) << 12);
+        }
+    }
+
+    private boolean isLegal(int move) {
+        int piece = move & 7;
+        int target = (move >>> 3) & 63;
+        int captured = ((move >>> 12) & 7) - 1;
+        int from = squares[piece];
+
+        occupant[from] = -1;
+        if (captured >= 0) {
+            squares[captured] = -1;
+        }
+        occupant[target] = piece;
+        squares[piece] = target;
+        boolean legal = !isAttacked(squares[kingOf(whiteToMove)], !whiteToMove);
+        squares[piece] = from;
+        occupant[from] = piece;
+        if (captured >= 0) {
+            squares[captured] = target;
+            occupant[target] = captured;
+        } else {
+            occupant[target] = -1;
+        }
+        return legal;
+    }
+
+    /**
+     * Indique si une case est attaquée par un camp.
+     */
+    private boolean isAttacked(int target, boolean byWhite) {
+        int targetRank = target >>> 3;
+        int targetFile = target & 7;
+        for (int i = 0; i < count; i++) {
+            int square = squares[i];
+            if (square < 0 || material.isWhite(i) != byWhite) {
+                continue;
+            }
+            int dr = targetRank - (square >>> 3);
+            int df = targetFile - (square & 7);
+            int type = material.getType(i);
+            if (type == KING) {
+                if (Math.max(Math.abs(dr), Math.abs(df)) == 1) {
+                    return true;
+                }
+            } else if (type == KNIGHT) {
+                if (Math.abs(dr * df) == 2) {
+                    return true;
+                }
+            } else if (type == PAWN) {
+                if (dr == (byWhite ? 1 : -1) && Math.abs(df) == 1) {
+                    return true;
+                }
+            } else {
+                boolean line = dr == 0 || df == 0;
+                boolean diagonal = Math.abs(dr) == Math.abs(df);
+                if ((line && type != BISHOP || diagonal && type != ROOK) && (dr != 0 || df != 0)
+                    && isPathClear(square, Integer.signum(dr), Integer.signum(df), target)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isPathClear(int from, int stepRank, int stepFile, int target) {
+        int r = (from >>> 3) + stepRank;
+        int f = (from & 7) + stepFile;
+        while (r * 8 + f != target) {
+            if (occupant[r * 8 + f] >= 0) {
+                return false;
+            }
+            r += stepRank;
+            f += stepFile;
+        }
+        return true;
+    }
+
+    /**
+     * Calcule l'index de la position obtenue après un coup, dans la table de même composition
+     * si le coup n'est ni une prise ni une promotion.
+     * @return l'index, ou -1 si le coup change de composition (voir successorMaterial)
+     */
+    int successorIndex(int move) {
+        if ((move >>> 9) != 0) {
+            return -1;
+        }
+        System.arraycopy(squares, 0, scratchSquares, 0, count);
+        scratchSquares[move & 7] = (move >>> 3) & 63;
+        return material.index(scratchSquares, !whiteToMove);
+    }
+
+    /**
+     * Retourne la composition canonique de la position obtenue après une prise ou une promotion.
+     */
+    Material successorMaterial(int move) {
+        return transition(move).material;
+    }
+
+    /**
+     * Calcule l'index, dans la table de sa composition canonique, de la position obtenue
+     * après une prise ou une promotion.
+     */
+    int successorChildIndex(int move) {
+        Transition transition = transition(move);
+        int piece = move & 7;
+        int target = (move >>> 3) & 63;
+        int[] order = transition.order;
+        for (int slot = 0; slot < order.length; slot++) {
+            int source = order[slot];
+            int square = source == piece ? target : squares[source];
+            scratchSquares[slot] = transition.flip ? square ^ 56 : square;
+        }
+        boolean successorWhiteToMove = !whiteToMove;
+        return transition.material.index(scratchSquares, transition.flip != successorWhiteToMove);
+    }
+
+    private Transition transition(int move) {
+        int key = (move & 7) | (move & (0x3F << 9));
+        Transition transition = transitions.get(key);
+        if (transition == null) {
+            int piece = move & 7;
+            int promotion = ((move >>> 9) & 7) - 1;
+            int captured = ((move >>> 12) & 7) - 1;
+            int[] types = new int[count];
+            boolean[] white = new boolean[count];
+            int[] sources = new int[count];
+            int survivors = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == captured) {
+                    continue;
+                }
+                types[survivors] = i == piece && promotion >= 0 ? promotion : material.getType(i);
+                white[survivors] = material.isWhite(i);
+                sources[survivors] = i;
+                survivors++;
+            }
+            transition = arrange(survivors, types, white, sources);
+            transitions.put(key, transition);
+        }
+        return transition;
+    }
+
+    /**
+     * Range des pièces dans l'ordre de leur composition canonique.
+     * @param count le nombre de pièces
+     * @param types les types (ordinaux de PieceType)
+     * @param white les couleurs
+     * @param sources un identifiant par pièce, reporté dans l'ordre obtenu
+     */
+    private static Transition arrange(int count, int[] types, boolean[] white, int[] sources) {
+        int whiteCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (white[i]) {
+                whiteCount++;
+            }
+        }
+        int[] whiteTypes = new int[whiteCount];
+        int[] blackTypes = new int[count - whiteCount];
+        for (int i = 0, w = 0, b = 0; i < count; i++) {
+            if (white[i]) {
+                whiteTypes[w++] = types[i];
+            } else {
+                blackTypes[b++] = types[i];
+            }
+        }
+        Material material = Material.of(whiteTypes, blackTypes);
+        boolean flip = !material.isCanonical();
+        if (flip) {
+            material = material.flip();
+        }
+
+        // Ordre canonique : camp blanc de la composition (noir réel si échange) puis type croissant
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        boolean flipped = flip;
+        Arrays.sort(order, (a, b) -> {
+            boolean whiteA = white[a] != flipped;
+            boolean whiteB = white[b] != flipped;
+            if (whiteA != whiteB) {
+                return whiteA ? -1 : 1;
+            }
+            return Integer.compare(types[a], types[b]);
+        });
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = sources[order[i]];
+        }
+        return new Transition(material, flip, result);
+    }
+
+    /**
+     * Localise une position quelconque (par exemple issue d'un Board) dans sa table canonique.
+     * @param count le nombre de pièces
+     * @param types les types (ordinaux de PieceType)
+     * @param white les couleurs
+     * @param squares les cases
+     * @param whiteToMove true si les blancs ont le trait
+     * @param indexOut reçoit l'index dans la table canonique
+     * @return la composition canonique
+     */
+    static Material locate(int count, int[] types, boolean[] white, int[] squares, boolean whiteToMove, int[] indexOut) {
+        int[] sources = new int[count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = i;
+        }
+        Transition transition = arrange(count, types, white, sources);
+        int[] ordered = new int[count];
+        for (int slot = 0; slot < count; slot++) {
+            int square = squares[transition.order[slot]];
+            ordered[slot] = transition.flip ? square ^ 56 : square;
+        }
+        indexOut[0] = transition.material.index(ordered, transition.flip != whiteToMove);
+        return transition.material;
+    }
+}
@@ -0,0 +1,65 @@
+package com.chess.tablebase;
+
+/**
+ * Résultat exact d'une position de finale, du point de vue du joueur au trait.
+ */
+public final class TablebaseResult {
+    /**
+     * Issue de la position avec un jeu parfait des deux camps.
+     */
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+
+    private static final TablebaseResult DRAW = new TablebaseResult(Outcome.DRAW, -1);
+
+    private final Outcome outcome;
+    private final int distanceToMate;
+
+    private TablebaseResult(Outcome outcome, int distanceToMate) {
+        this.outcome = outcome;
+        this.distanceToMate = distanceToMate;
+    }
+
+    /**
+     * Crée un résultat gagnant ou perdant.
+     * @param distanceToMate la distance au mat en demi-coups (impaire pour un gain, paire pour une perte)
+     * @return le résultat
+     */
+    static TablebaseResult mate(int distanceToMate) {
+        return new TablebaseResult((distanceToMate & 1) == 1 ? Outcome.WIN : Outcome.LOSS, distanceToMate);
+    }
+
+    static TablebaseResult draw() {
+        return DRAW;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Retourne la distance au mat en demi-coups, le mat compris.
+     * @return la distance, ou -1 pour une nulle
+     */
+    public int getDistanceToMate() {
+        return distanceToMate;
+    }
+
+    public boolean isWin() {
+        return outcome == Outcome.WIN;
+    }
+
+    public boolean isLoss() {
+        return outcome == Outcome.LOSS;
+    }
+
+    public boolean isDraw() {
+        return outcome == Outcome.DRAW;
+    }
+
+    @Override
+    public String toString() {
+        return outcome == Outcome.DRAW ? "DRAW" : outcome + " in " + distanceToMate;
+    }
+}
@@ -0,0 +1,127 @@
+package com.chess.tablebase;
+
+import com.chess.board.Board;
+import com.chess.board.Color;
+import com.chess.board.Piece;
+import com.chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ensemble des tables de finale d'un répertoire, ouvertes à la demande.
+ * Utilisable par plusieurs threads (recherche parallèle).
+ */
+public class Tablebases implements Closeable {
+    private final Path directory;
+    private final Map<Material, Optional<Tablebase>> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Constructeur.
+     * @param directory le répertoire contenant les fichiers .ctb
+     */
+    public Tablebases(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Cherche le résultat exact d'une position.
+     * Les positions avec droits de roque ou prise en passant jouable ne sont pas couvertes.
+     * @param board le plateau
+     * @return le résultat pour le joueur au trait, ou null si aucune table ne couvre la position
+     */
+    public TablebaseResult probe(Board board) {
+        if (board.getCastlingRights() != 0 || isEnPassantPossible(board)) {
+            return null;
+        }
+        int[] types = new int[Material.MAX_PIECES];
+        boolean[] white = new boolean[Material.MAX_PIECES];
+        int[] squares = new int[Material.MAX_PIECES];
+        int count = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                Piece piece = board.getPieceAt(row, column);
+                if (piece == null) {
+                    continue;
+                }
+                if (count == Material.MAX_PIECES) {
+                    return null;
+                }
+                types[count] = piece.getType().ordinal();
+                white[count] = piece.getColor() == Color.WHITE;
+                squares[count] = row * 8 + column;
+                count++;
+            }
+        }
+        int[] index = new int[1];
+        Material material;
+        try {
+            material = TablebasePosition.locate(count, types, white, squares,
+                                                board.getCurrentPlayer() == Color.WHITE, index);
+        } catch (IllegalArgumentException e) {
+            // Position sans roi (plateau de test) : aucune table
+            return null;
+        }
+        Tablebase table = tableOf(material);
+        return table != null ? table.probe(index[0]) : null;
+    }
+
+    private static boolean isEnPassantPossible(Board board) {
+        Position target = board.getEnPassantTarget();
+        if (target == null) {
+            return false;
+        }
+        Color mover = board.getCurrentPlayer();
+        int row = target.getRow() - mover.getPawnDirection();
+        for (int column = target.getColumn() - 1; column <= target.getColumn() + 1; column += 2) {
+            if (column < 0 || column > 7) {
+                continue;
+            }
+            Piece piece = board.getPieceAt(row, column);
+            if (piece != null && piece.getType().isPawn() && piece.getColor() == mover) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si la table d'une composition est disponible.
+     * @param name la composition (ex : « KRvK »)
+     * @return true si le fichier existe
+     */
+    public boolean isAvailable(String name) {
+        Material material = Material.parse(name);
+        return tableOf(material.isCanonical() ? material : material.flip()) != null;
+    }
+
+    private Tablebase tableOf(Material material) {
+        return tables.computeIfAbsent(material, key -> {
+            Path path = Tablebase.pathOf(directory, key);
+            if (!Files.exists(path)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(Tablebase.open(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).orElse(null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Optional<Tablebase> table : tables.values()) {
+            if (table.isPresent()) {
+                table.get().close();
+            }
+        }
+        tables.clear();
+    }
+}
@@ -0,0 +1,375 @@
+package com.chess.uci;
+
+import com.chess.board.Board;
+import com.chess.book.PolyglotBook;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import com.chess.engine.ParallelSearch;
+import com.chess.engine.Search;
+import com.chess.engine.SearchLimits;
+import com.chess.engine.SearchResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Adaptateur du protocole UCI : lit les commandes d'une interface (GUI, gestionnaire de
+ * tournoi) et y répond. La recherche s'exécute sur un thread dédié, de sorte que
+ * « stop » et « isready » sont traités pendant la réflexion.
+ *
+ * Les positions sont mises à jour de manière incrémentale : lorsque la liste de coups
+ * prolonge (ou raccourcit) la précédente, seuls les coups de différence sont joués
+ * (ou annulés), au lieu de rejouer toute la partie.
+ *
+ * Un livre d'ouvertures Polyglot peut être chargé par l'option « BookFile » : tant que la
+ * position y figure, le coup du livre est joué sans recherche.
+ */
+public class UciEngine {
+    private static final String ENGINE_NAME = "ChessGame";
+    private static final String ENGINE_AUTHORS = "Olejniczak, Girard, Thomas";
+    private static final int DEFAULT_HASH_MEGABYTES = 16;
+    private static final int MAX_HASH_MEGABYTES = 4096;
+
+    private final BufferedReader input;
+    private final PrintStream output;
+    private final ParallelSearch search;
+    private final MoveGenerator moveGenerator;
+    private final List<String> appliedMoves;
+    private final SplittableRandom random;
+
+    private Board board;
+    private String basePosition;
+    private Thread searchThread;
+    // Libère l'envoi du meilleur coup d'une recherche infinie, à réception de « stop » ou « quit »
+    private CountDownLatch searchRelease;
+    private PolyglotBook book;
+    private boolean ownBook;
+
+    /**
+     * Constructeur pour créer un adaptateur UCI sur des flux donnés.
+     * @param input le flux des commandes
+     * @param output le flux des réponses
+     */
+    public UciEngine(BufferedReader input, PrintStream output) {
+        this.input = input;
+        this.output = output;
+        this.search = new ParallelSearch(DEFAULT_HASH_MEGABYTES);
+        this.moveGenerator = new MoveGenerator();
+        this.appliedMoves = new ArrayList<>();
+        this.random = new SplittableRandom();
+        this.ownBook = true;
+        this.search.setListener(this::sendInfo);
+        setPosition(Fen.START_POSITION, List.of());
+    }
+
+    /**
+     * Traite les commandes jusqu'à « quit » ou la fin du flux d'entrée.
+     * @throws IOException en cas d'erreur de lecture
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (!handleCommand(line)) {
+                break;
+            }
+        }
+        stopSearch();
+        closeBook();
+    }
+
+    /**
+     * Traite une commande UCI.
+     * @param line la ligne de commande
+     * @return false si la commande demande de quitter
+     */
+    boolean handleCommand(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        switch (tokens[0]) {
+            case "uci" -> {
+                send("id name " + ENGINE_NAME);
+                send("id author " + ENGINE_AUTHORS);
+                send("option name Hash type spin default " + DEFAULT_HASH_MEGABYTES
+                    + " min 1 max " + MAX_HASH_MEGABYTES);
+                send("option name Threads type spin default 1 min 1 max " + ParallelSearch.MAX_THREADS);
+                send("option name OwnBook type check default true");
+                send("option name BookFile type string default <empty>");
+                send("uciok");
+            }
+            case "isready" -> send("readyok");
+            case "ucinewgame" -> {
+                stopSearch();
+                search.clear();
+            }
+            case "setoption" -> {
+                stopSearch();
+                setOption(tokens);
+            }
+            case "position" -> {
+                stopSearch();
+                handlePosition(tokens);
+            }
+            case "go" -> {
+                stopSearch();
+                startSearch(parseLimits(tokens));
+            }
+            case "stop" -> stopSearch();
+            case "quit" -> {
+                return false;
+            }
+            default -> {
+                // Les commandes inconnues sont ignorées, comme l'exige le protocole
+            }
+        }
+        return true;
+    }
+
+    private void setOption(String[] tokens) {
+        int nameIndex = indexOf(tokens, "name");
+        int valueIndex = indexOf(tokens, "value");
+        if (nameIndex < 0 || valueIndex < 0 || valueIndex + 1 >= tokens.length) {
+            return;
+        }
+        String name = String.join(" ", Arrays.copyOfRange(tokens, nameIndex + 1, valueIndex));
+        String value = String.join(" ", Arrays.copyOfRange(tokens, valueIndex + 1, tokens.length));
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                search.setHashMegabytes(Math.max(1, Math.min(Integer.parseInt(value), MAX_HASH_MEGABYTES)));
+            } else if (name.equalsIgnoreCase("Threads")) {
+                search.setThreads(Math.max(1, Math.min(Integer.parseInt(value), ParallelSearch.MAX_THREADS)));
+            } else if (name.equalsIgnoreCase("OwnBook")) {
+                ownBook = Boolean.parseBoolean(value);
+            } else if (name.equalsIgnoreCase("BookFile")) {
+                openBook(value);
+            }
+        } catch (NumberFormatException e) {
+            send("info string valeur invalide pour " + name);
+        }
+    }
+
+    private void openBook(String file) {
+        closeBook();
+        if (file.isEmpty() || file.equals("<empty>")) {
+            return;
+        }
+        try {
+            book = new PolyglotBook(Path.of(file));
+        } catch (IOException | RuntimeException e) {
+            send("info string livre inutilisable : " + e.getMessage());
+        }
+    }
+
+    private void closeBook() {
+        if (book == null) {
+            return;
+        }
+        try {
+            book.close();
+        } catch (IOException e) {
+            send("info string fermeture du livre : " + e.getMessage());
+        }
+        book = null;
+    }
+
+    /**
+     * Définit directement le livre d'ouvertures (utile lorsqu'il utilise une table Random64 spécifique).
+     * @param book le livre, ou null
+     */
+    void setBook(PolyglotBook book) {
+        closeBook();
+        this.book = book;
+    }
+
+    private void handlePosition(String[] tokens) {
+        int movesIndex = indexOf(tokens, "moves");
+        int end = movesIndex < 0 ? tokens.length : movesIndex;
+        String fen;
+        if (tokens.length > 1 && tokens[1].equals("startpos")) {
+            fen = Fen.START_POSITION;
+        } else if (tokens.length > 2 && tokens[1].equals("fen")) {
+            fen = String.join(" ", Arrays.copyOfRange(tokens, 2, end));
+        } else {
+            return;
+        }
+        List<String> moves = movesIndex < 0 ? List.of()
+            : Arrays.asList(tokens).subList(movesIndex + 1, tokens.length);
+        try {
+            setPosition(fen, moves);
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+        }
+    }
+
+    /**
+     * Met la position à jour en ne jouant ou n'annulant que les coups qui diffèrent
+     * de la position précédente.
+     * @param fen la position de base
+     * @param moves les coups joués depuis la position de base, en notation UCI
+     */
+    void setPosition(String fen, List<String> moves) {
+        if (!fen.equals(basePosition)) {
+            board = Fen.parse(fen);
+            basePosition = fen;
+            appliedMoves.clear();
+        }
+
+        int common = 0;
+        while (common < appliedMoves.size() && common < moves.size()
+               && appliedMoves.get(common).equals(moves.get(common))) {
+            common++;
+        }
+        while (appliedMoves.size() > common) {
+            board.unmakeMove();
+            appliedMoves.remove(appliedMoves.size() - 1);
+        }
+        for (int i = common; i < moves.size(); i++) {
+            String uci = moves.get(i);
+            int move = findLegalMove(uci);
+            if (move == Move.NONE) {
+                throw new IllegalArgumentException("Coup illégal : " + uci);
+            }
+            MoveGenerator.makeMove(board, move);
+            appliedMoves.add(uci);
+        }
+    }
+
+    private int findLegalMove(String uci) {
+        int move = Move.fromUci(uci);
+        MoveList legalMoves = new MoveList();
+        moveGenerator.generateLegal(board, legalMoves);
+        return legalMoves.contains(move) ? move : Move.NONE;
+    }
+
+    private SearchLimits parseLimits(String[] tokens) {
+        SearchLimits limits = new SearchLimits();
+        for (int i = 1; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (token.equals("infinite")) {
+                limits.setInfinite(true);
+                continue;
+            }
+            if (i + 1 >= tokens.length) {
+                break;
+            }
+            long value;
+            try {
+                value = Long.parseLong(tokens[i + 1]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            switch (token) {
+                case "depth" -> limits.setDepth((int) Math.max(1, Math.min(value, Search.MAX_PLY - 1)));
+                case "movetime" -> limits.setMoveTime(Math.max(1, value));
+                // Une pendule à zéro ou négative laisse tout de même un minimum de réflexion
+                case "wtime" -> limits.setWhiteTime(Math.max(1, value));
+                case "btime" -> limits.setBlackTime(Math.max(1, value));
+                case "winc" -> limits.setWhiteIncrement(Math.max(0, value));
+                case "binc" -> limits.setBlackIncrement(Math.max(0, value));
+                case "movestogo" -> limits.setMovesToGo((int) Math.max(0, value));
+                default -> {
+                    continue;
+                }
+            }
+            i++;
+        }
+        return limits;
+    }
+
+    private void startSearch(SearchLimits limits) {
+        if (book != null && ownBook && !limits.isInfinite()) {
+            int bookMove = book.probeRandom(board, random);
+            if (bookMove != Move.NONE) {
+                send("info string coup du livre");
+                send("bestmove " + Move.toUci(bookMove));
+                return;
+            }
+        }
+        Board searchBoard = board;
+        CountDownLatch release = new CountDownLatch(limits.isInfinite() ? 1 : 0);
+        searchRelease = release;
+        searchThread = new Thread(() -> {
+            SearchResult result = search.search(searchBoard, limits);
+            // Le protocole interdit d'envoyer bestmove avant « stop » en mode infini, même si la
+            // recherche s'est achevée d'elle-même (profondeur maximale ou mat trouvé)
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            send("bestmove " + Move.toUci(result.getBestMove()));
+        }, "uci-search");
+        searchThread.start();
+    }
+
+    /**
+     * Arrête la recherche en cours et attend l'envoi de son meilleur coup. L'arrêt est
+     * répété tant que le thread est actif, car une recherche qui démarre réarme son signal.
+     */
+    private void stopSearch() {
+        Thread thread = searchThread;
+        if (thread == null) {
+            return;
+        }
+        searchRelease.countDown();
+        while (thread.isAlive()) {
+            search.stop();
+            try {
+                thread.join(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        searchThread = null;
+    }
+
+    private void sendInfo(SearchResult result, int[] principalVariation) {
+        StringBuilder sb = new StringBuilder("info depth ").append(result.getDepth());
+        int score = result.getScore();
+        if (result.isMateScore()) {
+            int plies = Search.MATE_SCORE - Math.abs(score);
+            int moves = (plies + 1) / 2;
+            sb.append(" score mate ").append(score > 0 ? moves : -moves);
+        } else {
+            sb.append(" score cp ").append(score);
+        }
+        sb.append(" nodes ").append(result.getNodes());
+        if (principalVariation.length > 0) {
+            sb.append(" pv");
+            for (int move : principalVariation) {
+                sb.append(' ').append(Move.toUci(move));
+            }
+        }
+        send(sb.toString());
+    }
+
+    private synchronized void send(String message) {
+        output.println(message);
+        output.flush();
+    }
+
+    private static int indexOf(String[] tokens, String keyword) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(keyword)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne le plateau de la position courante.
+     * @return le plateau
+     */
+    Board getBoard() {
+        return board;
+    }
+}
@@ -0,0 +1,268 @@
+package com.chess.ui;
+
+import com.chess.board.Board;
+import com.chess.board.Piece;
+import com.chess.board.Position;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Composant dessinant un plateau complet, en remplacement d'une grille de 64 boutons.
+ *
+ * Le plateau est rendu dans une image tampon : seules les cases marquées comme modifiées
+ * y sont redessinées, puis seul leur rectangle est recopié à l'écran. Les symboles des pièces
+ * sont pré-rendus une fois par taille de case et partagés par toutes les instances, ce qui
+ * permet d'afficher de nombreux plateaux dans la même JVM.
+ */
+public class BoardView extends JComponent {
+    private static final Color LIGHT_SQUARE = new Color(240, 217, 181);
+    private static final Color DARK_SQUARE = new Color(181, 136, 99);
+    private static final Color SELECTED_SQUARE = Color.YELLOW;
+    private static final Color TARGET_MARKER = new Color(40, 120, 40, 150);
+    private static final int DEFAULT_SQUARE_SIZE = 80;
+
+    // Tailles de case dont les images sont conservées : un redimensionnement de fenêtre
+    // parcourt de nombreuses tailles, seules les plus récentes restent en mémoire
+    private static final int MAX_CACHED_SIZES = 4;
+
+    // Images des pièces par taille de case (indice couleur * 6 + type), de la moins à la plus
+    // récemment utilisée ; lue et modifiée uniquement sur le thread de l'interface, qui dessine
+    private static final Map<Integer, BufferedImage[]> PIECE_IMAGES =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage[]> eldest) {
+                return size() > MAX_CACHED_SIZES;
+            }
+        };
+
+    /**
+     * Reçoit les clics sur les cases du plateau.
+     */
+    public interface SquareListener {
+        /**
+         * Appelé lorsqu'une case est cliquée.
+         * @param position la case cliquée
+         */
+        void squareClicked(Position position);
+    }
+
+    private Board board;
+    private BufferedImage buffer;
+    private int squareSize;
+    private long dirtySquares = -1L;
+    private Position selectedPosition;
+    private long targetSquares;
+
+    /**
+     * Constructeur pour afficher un plateau.
+     * @param board le plateau à afficher
+     */
+    public BoardView(Board board) {
+        this.board = board;
+        setPreferredSize(new Dimension(8 * DEFAULT_SQUARE_SIZE, 8 * DEFAULT_SQUARE_SIZE));
+        setOpaque(true);
+    }
+
+    /**
+     * Ajoute un écouteur de clics ; les coordonnées de la souris sont converties en case.
+     * @param listener l'écouteur
+     */
+    public void addSquareListener(SquareListener listener) {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                Position position = squareAt(e.getX(), e.getY());
+                if (position != null) {
+                    listener.squareClicked(position);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retourne la case située sous un point du composant.
+     * @param x l'abscisse en pixels
+     * @param y l'ordonnée en pixels
+     * @return la case, ou null si le point est hors du plateau
+     */
+    public Position squareAt(int x, int y) {
+        int size = computeSquareSize();
+        if (size == 0 || x < 0 || y < 0 || x >= 8 * size || y >= 8 * size) {
+            return null;
+        }
+        return Position.of(y / size, x / size);
+    }
+
+    /**
+     * Remplace le plateau affiché et le redessine entièrement.
+     * @param board le nouveau plateau
+     */
+    public void setBoard(Board board) {
+        this.board = board;
+        markAllDirty();
+    }
+
+    /**
+     * Surligne la case sélectionnée (null pour aucune).
+     * @param position la case sélectionnée
+     */
+    public void setSelectedPosition(Position position) {
+        if (selectedPosition != null) {
+            markDirty(selectedPosition);
+        }
+        selectedPosition = position;
+        if (position != null) {
+            markDirty(position);
+        }
+    }
+
+    /**
+     * Signale les cases d'arrivée légales de la pièce sélectionnée (0 pour aucune).
+     * Seules les cases dont le marquage change sont redessinées.
+     * @param targets le masque des cases, bit ligne * 8 + colonne
+     */
+    public void setTargetSquares(long targets) {
+        dirtySquares |= targetSquares ^ targets;
+        targetSquares = targets;
+    }
+
+    /**
+     * Marque une case à redessiner au prochain appel de refresh.
+     * @param position la case modifiée
+     */
+    public void markDirty(Position position) {
+        dirtySquares |= 1L << position.getIndex();
+    }
+
+    /**
+     * Marque tout le plateau à redessiner.
+     */
+    public void markAllDirty() {
+        dirtySquares = -1L;
+    }
+
+    /**
+     * Demande l'affichage des cases marquées : seuls leurs rectangles sont repeints.
+     */
+    public void refresh() {
+        int size = computeSquareSize();
+        if (size != squareSize || buffer == null) {
+            repaint();
+            return;
+        }
+        long pending = dirtySquares;
+        while (pending != 0) {
+            int index = Long.numberOfTrailingZeros(pending);
+            pending &= pending - 1;
+            repaint((index % 8) * size, (index / 8) * size, size, size);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground() != null ? getBackground() : Color.GRAY);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        int size = computeSquareSize();
+        if (!ensureBuffer(size)) {
+            return;
+        }
+        renderDirtySquares(size);
+        g.drawImage(buffer, 0, 0, null);
+    }
+
+    /**
+     * Redessine dans l'image tampon les cases marquées depuis le dernier rendu.
+     */
+    private void renderDirtySquares(int size) {
+        long pending = dirtySquares;
+        dirtySquares = 0;
+        if (pending == 0) {
+            return;
+        }
+        Graphics2D g = buffer.createGraphics();
+        try {
+            while (pending != 0) {
+                int index = Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                paintSquare(g, index / 8, index % 8, size);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private int computeSquareSize() {
+        return Math.min(getWidth(), getHeight()) / 8;
+    }
+
+    /**
+     * Recrée l'image tampon quand la taille des cases change ; tout le plateau est alors à redessiner.
+     * @return false si le composant n'a pas encore de taille
+     */
+    private boolean ensureBuffer(int size) {
+        if (size == 0) {
+            return false;
+        }
+        if (buffer == null || size != squareSize) {
+            squareSize = size;
+            buffer = new BufferedImage(8 * size, 8 * size, BufferedImage.TYPE_INT_RGB);
+            dirtySquares = -1L;
+        }
+        return true;
+    }
+
+    private void paintSquare(Graphics2D g, int row, int col, int size) {
+        boolean selected = selectedPosition != null
+            && selectedPosition.getRow() == row && selectedPosition.getColumn() == col;
+        g.setColor(selected ? SELECTED_SQUARE : (row + col) % 2 == 0 ? LIGHT_SQUARE : DARK_SQUARE);
+        g.fillRect(col * size, row * size, size, size);
+        Piece piece = board.getPieceAt(row, col);
+        if (piece != null) {
+            g.drawImage(pieceImage(piece, size), col * size, row * size, null);
+        }
+        if ((targetSquares & (1L << (row * 8 + col))) != 0) {
+            int diameter = size / 4;
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(TARGET_MARKER);
+            g.fillOval(col * size + (size - diameter) / 2, row * size + (size - diameter) / 2, diameter, diameter);
+        }
+    }
+
+    private static BufferedImage pieceImage(Piece piece, int size) {
+        BufferedImage[] images = PIECE_IMAGES.computeIfAbsent(size, s -> new BufferedImage[12]);
+        int index = piece.getColor().ordinal() * 6 + piece.getType().ordinal();
+        BufferedImage image = images[index];
+        if (image == null) {
+            image = renderPiece(piece, size);
+            images[index] = image;
+        }
+        return image;
+    }
+
+    /**
+     * Pré-rend le symbole d'une pièce sur fond transparent, centré dans une case.
+     */
+    private static BufferedImage renderPiece(Piece piece, int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(new Font("Arial", Font.BOLD, Math.max(1, size * 3 / 10)));
+            FontMetrics metrics = g.getFontMetrics();
+            String symbol = piece.getSymbol();
+            int x = (size - metrics.stringWidth(symbol)) / 2;
+            int y = (size - metrics.getHeight()) / 2 + metrics.getAscent();
+            g.setColor(piece.getColor() == com.chess.board.Color.WHITE ? Color.WHITE : Color.BLACK);
+            g.drawString(symbol, x, y);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
@@ -5,26 +5,42 @@ import com.chess.board.Color;
 import com.chess.board.Piece;
 import com.chess.board.PieceType;
 import com.chess.board.Position;
+import com.chess.game.GameController;
+import com.chess.game.GameController.MoveResult;
 import com.chess.rules.GameStateChecker;
 import com.chess.rules.MoveHistory;
-import com.chess.rules.MoveValidator;
-import com.chess.rules.SpecialMovesHandler;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 
 public class ChessUI extends JFrame {
+    private static final Font STATUS_FONT = new Font("Arial", Font.BOLD, 16);
+    
+    private GameController controller;
     private Board board;
-    private MoveHistory moveHistory;
-    private MoveValidator moveValidator;
-    private SpecialMovesHandler specialMovesHandler;
-    private GameStateChecker gameStateChecker;
-    private JPanel boardPanel;
-    private JButton[][] buttons;
+    private BoardView boardView;
     private Position selectedPosition;
     private JLabel statusLabel;
+    private JButton undoButton;
+    private JButton redoButton;
+    // Les règles sont calculées hors du thread Swing, sur une copie de la partie
+    private final RulesWorker rulesWorker = new RulesWorker();
+    
+    /**
+     * Résultat de la validation d'un coup calculée en arrière-plan.
+     */
+    private static final class MoveAnalysis {
+        private final MoveResult result;
+        private final GameStateChecker.GameState state;
+        
+        private MoveAnalysis(MoveResult result, GameStateChecker.GameState state) {
+            this.result = result;
+            this.state = state;
+        }
+    }
 
     public ChessUI() {
         setTitle("Chess Game - Déplacement Simple");
@@ -35,93 +51,90 @@ public class ChessUI extends JFrame {
         // Créer le panneau principal
         JPanel mainPanel = new JPanel(new BorderLayout());
         
-        // Créer le plateau
-        boardPanel = new JPanel(new GridLayout(8, 8));
-        buttons = new JButton[8][8];
-        
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                JButton button = new JButton();
-                button.setPreferredSize(new Dimension(80, 80));
-                button.setFont(new Font("Arial", Font.BOLD, 24));
-                
-                // Couleurs alternées
-                if ((i + j) % 2 == 0) {
-                    button.setBackground(new java.awt.Color(240, 217, 181)); // Cases claires
-                } else {
-                    button.setBackground(new java.awt.Color(181, 136, 99)); // Cases sombres
-                }
-                
-                button.setBorderPainted(false);
-                button.setFocusPainted(false);
-                
-                final int row = i;
-                final int col = j;
-                button.addActionListener(new ActionListener() {
-                    @Override
-                    public void actionPerformed(ActionEvent e) {
-                        handleSquareClick(row, col);
-                    }
-                });
-                
-                buttons[i][j] = button;
-                boardPanel.add(button);
-            }
-        }
-        
         // Créer le label de statut
         statusLabel = new JLabel("Cliquez sur une pièce pour la sélectionner", JLabel.CENTER);
-        statusLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        statusLabel.setFont(STATUS_FONT);
         statusLabel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
         
-        mainPanel.add(boardPanel, BorderLayout.CENTER);
+        // Créer la barre d'annulation (Ctrl+Z / Ctrl+Y)
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        undoButton = new JButton("Annuler");
+        undoButton.addActionListener(e -> undoMove());
+        redoButton = new JButton("Rétablir");
+        redoButton.addActionListener(e -> redoMove());
+        toolbar.add(undoButton);
+        toolbar.add(redoButton);
+        InputMap inputMap = mainPanel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        mainPanel.getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                undoMove();
+            }
+        });
+        mainPanel.getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                redoMove();
+            }
+        });
+        
+        mainPanel.add(toolbar, BorderLayout.NORTH);
+        // Initialiser le plateau et les règles
+        controller = new GameController();
+        board = controller.getBoard();
+        
+        // Créer le plateau : un seul composant dessiné, les clics sont convertis en cases
+        boardView = new BoardView(board);
+        boardView.addSquareListener(this::handleSquareClick);
+        
+        mainPanel.add(boardView, BorderLayout.CENTER);
         mainPanel.add(statusLabel, BorderLayout.SOUTH);
         
         add(mainPanel);
         
-        // Initialiser le plateau et les règles
-        board = new Board();
-        board.initializeBoard();
-        moveHistory = new MoveHistory();
-        moveValidator = new MoveValidator(board, moveHistory);
-        specialMovesHandler = new SpecialMovesHandler(board, moveHistory);
-        gameStateChecker = new GameStateChecker(board, moveValidator);
-        
         updateBoardUI();
         updateGameStatus();
     }
 
     private void updateBoardUI() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Position position = new Position(i, j);
-                Piece piece = board.getPieceAt(position);
-                JButton button = buttons[i][j];
-                
-                if (piece != null) {
-                    button.setText(piece.getSymbol());
-                    // Couleur du texte selon la couleur de la pièce
-                    if (piece.getColor() == com.chess.board.Color.WHITE) {
-                        button.setForeground(java.awt.Color.WHITE);
-                    } else {
-                        button.setForeground(java.awt.Color.BLACK);
-                    }
-                } else {
-                    button.setText("");
-                }
-                
-                // Réinitialiser la couleur de fond
-                if ((i + j) % 2 == 0) {
-                    button.setBackground(new java.awt.Color(240, 217, 181));
-                } else {
-                    button.setBackground(new java.awt.Color(181, 136, 99));
-                }
-            }
+        boardView.markAllDirty();
+        boardView.refresh();
+        updateUndoButtons();
+    }
+    
+    private void undoMove() {
+        refreshAfterTakeback(controller.undo(), "Coup annulé. ");
+    }
+    
+    private void redoMove() {
+        refreshAfterTakeback(controller.redo(), "Coup rétabli. ");
+    }
+    
+    /**
+     * Après une annulation ou un rétablissement, ne redessine que les cases touchées par le coup.
+     */
+    private void refreshAfterTakeback(MoveHistory.Move move, String message) {
+        if (move == null) {
+            return;
         }
+        clearHighlights();
+        selectedPosition = null;
+        for (Position square : move.getChangedSquares()) {
+            boardView.markDirty(square);
+        }
+        boardView.refresh();
+        updateUndoButtons();
+        updateGameStatus(message);
+    }
+    
+    private void updateUndoButtons() {
+        undoButton.setEnabled(controller.canUndo());
+        redoButton.setEnabled(controller.canRedo());
     }
     
-    private void handleSquareClick(int row, int col) {
-        Position clickedPosition = new Position(row, col);
+    private void handleSquareClick(Position clickedPosition) {
         Piece clickedPiece = board.getPieceAt(clickedPosition);
         
         // Si aucune pièce n'est sélectionnée
@@ -144,7 +157,8 @@ public class ChessUI extends JFrame {
         } else {
             // Une pièce est déjà sélectionnée
             if (selectedPosition.equals(clickedPosition)) {
-                // Désélectionner la pièce
+                // Désélectionner la pièce, en abandonnant l'analyse d'un coup encore en cours
+                rulesWorker.cancel();
                 clearHighlights();
                 selectedPosition = null;
                 updateStatus("Pièce désélectionnée. Cliquez sur une pièce pour la sélectionner.");
@@ -156,71 +170,55 @@ public class ChessUI extends JFrame {
     }
     
     private void movePiece(Position from, Position to) {
-        Piece piece = board.getPieceAt(from);
-        if (piece == null) {
-            clearHighlights();
-            selectedPosition = null;
-            updateStatus("Erreur : Aucune pièce à déplacer.");
-            return;
+        PieceType promotionType = null;
+        if (controller.requiresPromotion(from, to)) {
+            // Demander au joueur quelle pièce choisir pour la promotion
+            promotionType = askForPromotion();
+            if (promotionType == null) {
+                updateStatus("Promotion annulée.");
+                return;
+            }
         }
         
-        // Vérifier si c'est un coup spécial
-        if (specialMovesHandler.isSpecialMove(from, to)) {
-            PieceType promotionType = null;
-            if (specialMovesHandler.isPromotion(from, to)) {
-                // Demander au joueur quelle pièce choisir pour la promotion
-                promotionType = askForPromotion();
-                if (promotionType == null) {
-                    updateStatus("Promotion annulée.");
-                    return;
-                }
+        // La validation et l'état de la partie sont calculés sur une copie, hors du thread Swing
+        GameController analysis = controller.copy();
+        PieceType promotion = promotionType;
+        rulesWorker.submit(stopSignal -> {
+            MoveResult result = analysis.applyMove(from, to, promotion);
+            if (result != MoveResult.MOVED) {
+                return new MoveAnalysis(result, null);
             }
-            
-            // Récupérer la pièce capturée avant le mouvement (si prise en passant, elle est à une position différente)
-            Piece capturedPiece = null;
-            if (specialMovesHandler.isEnPassant(from, to)) {
-                Position capturedPos = moveHistory.getEnPassantCapturedPawnPosition(to);
-                if (capturedPos != null) {
-                    capturedPiece = board.getPieceAt(capturedPos);
+            // Précalcule les coups légaux de la nouvelle position pour la prochaine sélection
+            analysis.legalMoveMap();
+            return new MoveAnalysis(result, analysis.state(stopSignal));
+        }, result -> onMoveAnalysed(from, to, promotion, result));
+    }
+    
+    private void onMoveAnalysed(Position from, Position to, PieceType promotionType, MoveAnalysis analysis) {
+        switch (analysis.result) {
+            case MOVED:
+                controller.applyValidatedMove(from, to, promotionType);
+                clearHighlights();
+                selectedPosition = null;
+                for (Position square : controller.getMoveHistory().getLastMove().getChangedSquares()) {
+                    boardView.markDirty(square);
                 }
-            } else {
-                capturedPiece = board.getPieceAt(to);
-            }
-            
-            if (specialMovesHandler.executeSpecialMove(from, to, promotionType)) {
-                // Enregistrer le coup dans l'historique
-                moveHistory.addMove(from, to, piece, capturedPiece, board);
-                board.switchPlayer();
-                
+                boardView.refresh();
+                updateUndoButtons();
+                showGameState(analysis.state, "");
+                break;
+            case NO_PIECE:
                 clearHighlights();
                 selectedPosition = null;
-                updateBoardUI();
-                updateGameStatus();
-                return;
-            } else {
+                updateStatus("Erreur : Aucune pièce à déplacer.");
+                break;
+            case INVALID_SPECIAL_MOVE:
                 updateStatus("Coup spécial invalide !");
-                return;
-            }
-        }
-        
-        // Valider le coup normal avec MoveValidator
-        if (!moveValidator.isValidMove(from, to)) {
-            updateStatus("Coup invalide ! Le roi ne peut pas être mis en échec.");
-            return;
+                break;
+            default:
+                updateStatus("Coup invalide ! Le roi ne peut pas être mis en échec.");
+                break;
         }
-        
-        // Effectuer le déplacement
-        Piece capturedPiece = board.getPieceAt(to);
-        board.movePiece(from, to);
-        
-        // Enregistrer le coup dans l'historique
-        moveHistory.addMove(from, to, piece, capturedPiece, board);
-        
-        // Mettre à jour l'affichage
-        clearHighlights();
-        selectedPosition = null;
-        updateBoardUI();
-        updateGameStatus();
     }
     
     private PieceType askForPromotion() {
@@ -246,46 +244,55 @@ public class ChessUI extends JFrame {
     }
     
     private void updateGameStatus() {
-        GameStateChecker.GameState state = gameStateChecker.getGameState(moveHistory);
+        updateGameStatus("");
+    }
+    
+    /**
+     * Évalue l'état de la partie en arrière-plan puis l'affiche, précédé d'un message.
+     */
+    private void updateGameStatus(String message) {
+        GameController analysis = controller.copy();
+        rulesWorker.submit(stopSignal -> {
+            analysis.legalMoveMap();
+            return analysis.state(stopSignal);
+        }, state -> showGameState(state, message));
+    }
+    
+    private void showGameState(GameStateChecker.GameState state, String message) {
         Color currentPlayer = board.getCurrentPlayer();
         
         switch (state) {
             case CHECKMATE:
-                updateStatus("Échec et mat ! Les " + currentPlayer.opposite().getDisplayName() + " ont gagné !");
+                updateStatus(message + "Échec et mat ! Les " + currentPlayer.opposite().getDisplayName() + " ont gagné !");
                 break;
             case STALEMATE:
-                updateStatus("Pat ! La partie est nulle.");
+                updateStatus(message + "Pat ! La partie est nulle.");
                 break;
             case DRAW:
-                updateStatus("Nulle ! " + state.getDescription());
+                updateStatus(message + "Nulle ! " + state.getDescription());
                 break;
             case CHECK:
-                updateStatus("Échec ! Tour des " + currentPlayer.getDisplayName());
+                updateStatus(message + "Échec ! Tour des " + currentPlayer.getDisplayName());
                 break;
             default:
-                updateStatus("Tour des " + currentPlayer.getDisplayName());
+                updateStatus(message + "Tour des " + currentPlayer.getDisplayName());
                 break;
         }
     }
     
     private void highlightSelectedSquare() {
-        if (selectedPosition != null) {
-            JButton button = buttons[selectedPosition.getRow()][selectedPosition.getColumn()];
-            button.setBackground(java.awt.Color.YELLOW);
-        }
+        boardView.setSelectedPosition(selectedPosition);
+        // Les coups légaux de la position sont en cache : la sélection n'est qu'une consultation
+        boardView.setTargetSquares(selectedPosition != null
+            ? controller.legalMoveMap().getTargets(selectedPosition) : 0L);
+        boardView.refresh();
     }
     
     private void clearHighlights() {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                JButton button = buttons[i][j];
-                if ((i + j) % 2 == 0) {
-                    button.setBackground(new java.awt.Color(240, 217, 181));
-                } else {
-                    button.setBackground(new java.awt.Color(181, 136, 99));
-                }
-            }
-        }
+        // Seules la case sélectionnée et ses cases d'arrivée sont surlignées
+        boardView.setSelectedPosition(null);
+        boardView.setTargetSquares(0L);
+        boardView.refresh();
     }
     
     private void updateStatus(String message) {
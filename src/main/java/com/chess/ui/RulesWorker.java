@@ -0,0 +1,123 @@
+package com.chess.ui;
+
+import com.chess.rules.StopSignal;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Exécute les calculs de règles (validation d'un coup, état de la partie, moteur) hors du
+ * thread de l'interface, puis publie le résultat sur ce thread avec SwingUtilities.invokeLater.
+ *
+ * Les tâches travaillent sur une copie de la partie. Chaque nouvelle demande remplace la
+ * précédente : le signal d'arrêt de celle-ci est levé, ce qui l'interrompt au prochain point
+ * de vérification et libère le thread de calcul, et son résultat, s'il arrive quand même,
+ * est ignoré. Les méthodes submit et cancel doivent être appelées depuis le thread de l'interface.
+ */
+public class RulesWorker {
+    private final ExecutorService executor;
+    private Future<?> pending;
+    private StopSignal pendingStop;
+    private long generation;
+
+    /**
+     * Calcul de règles interruptible.
+     * @param <T> le type du résultat
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        /**
+         * Effectue le calcul.
+         * @param stopSignal le signal levé quand la demande est remplacée ou annulée ; le calcul
+         *                   le transmet aux opérations longues ou l'interroge entre deux étapes
+         * @return le résultat
+         * @throws Exception en cas d'échec du calcul
+         */
+        T call(StopSignal stopSignal) throws Exception;
+    }
+
+    /**
+     * Constructeur avec un thread de calcul dédié (démon).
+     */
+    public RulesWorker() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rules-worker");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructeur avec un exécuteur fourni.
+     * @param executor l'exécuteur des calculs
+     */
+    public RulesWorker(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Lance un calcul en arrière-plan, en remplaçant la demande en cours.
+     * @param task le calcul, qui ne doit lire que des données copiées
+     * @param onResult reçoit le résultat sur le thread de l'interface, si la demande n'a pas été remplacée
+     * @param <T> le type du résultat
+     */
+    public <T> void submit(Task<T> task, Consumer<T> onResult) {
+        cancel();
+        long id = generation;
+        StopSignal stopSignal = new StopSignal();
+        pendingStop = stopSignal;
+        pending = executor.submit(() -> {
+            if (stopSignal.isStopped()) {
+                return null;
+            }
+            T result;
+            try {
+                result = task.call(stopSignal);
+            } catch (CancellationException e) {
+                // Demande remplacée pendant le calcul
+                return null;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (id == generation) {
+                    pending = null;
+                    pendingStop = null;
+                    onResult.accept(result);
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Annule la demande en cours : son résultat ne sera pas publié.
+     */
+    public void cancel() {
+        generation++;
+        if (pending != null) {
+            pendingStop.stop();
+            pending.cancel(false);
+            pending = null;
+            pendingStop = null;
+        }
+    }
+
+    /**
+     * Indique si une demande est en attente de résultat.
+     * @return true si un calcul est en cours ou son résultat pas encore publié
+     */
+    public boolean isBusy() {
+        return pending != null;
+    }
+
+    /**
+     * Arrête le thread de calcul.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
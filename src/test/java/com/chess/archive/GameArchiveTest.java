@@ -0,0 +1,152 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import com.chess.game.GameController;
+import com.chess.pgn.PgnGame;
+import com.chess.rules.MoveHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'archive binaire de parties.
+ */
+@DisplayName("Tests pour l'archive binaire de parties")
+class GameArchiveTest {
+    private static final String[] RESULTS = {PgnGame.WHITE_WINS, PgnGame.BLACK_WINS, PgnGame.DRAW, PgnGame.UNKNOWN};
+
+    @TempDir
+    Path directory;
+
+    private static int[] randomGame(Board board, Random random, int maxPlies) {
+        MoveGenerator generator = new MoveGenerator();
+        int[] moves = new int[maxPlies];
+        int count = 0;
+        while (count < maxPlies) {
+            MoveList legal = new MoveList();
+            generator.generateLegal(board, legal);
+            if (legal.size() == 0) {
+                break;
+            }
+            moves[count] = legal.get(random.nextInt(legal.size()));
+            MoveGenerator.makeMove(board, moves[count++]);
+        }
+        return java.util.Arrays.copyOf(moves, count);
+    }
+
+    private List<ArchivedGame> writeRandomGames(Path path, boolean entropyCoding, int games) throws IOException {
+        Random random = new Random(5);
+        List<ArchivedGame> expected = new ArrayList<>();
+        try (GameArchiveWriter writer = new GameArchiveWriter(path, entropyCoding, 2048)) {
+            for (int i = 0; i < games; i++) {
+                String fen = i % 50 == 7 ? "4k3/1P6/8/8/8/8/6p1/4K2R w K - 0 1" : null;
+                Board board = fen != null ? Fen.parse(fen) : new Board();
+                if (fen == null) {
+                    board.initializeBoard();
+                }
+                int[] moves = randomGame(board, random, 20 + random.nextInt(150));
+                String result = RESULTS[i % RESULTS.length];
+                assertEquals(i, writer.append(fen, moves, moves.length, result));
+                expected.add(new ArchivedGame(i, fen, moves, result));
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    @DisplayName("Écriture puis lecture séquentielle et directe, avec et sans codage entropique")
+    void testRoundTrip() throws IOException {
+        Path coded = directory.resolve("coded.cga");
+        Path raw = directory.resolve("raw.cga");
+        List<ArchivedGame> expected = writeRandomGames(coded, true, 300);
+        assertEquals(expected, writeRandomGames(raw, false, 300));
+
+        long plies = expected.stream().mapToLong(ArchivedGame::getPlyCount).sum();
+        assertTrue(Files.size(raw) < plies + 4 * expected.size() + 64 * 1024);
+        assertTrue(Files.size(coded) < Files.size(raw));
+
+        for (Path path : List.of(coded, raw)) {
+            try (GameArchiveReader reader = new GameArchiveReader(path)) {
+                assertEquals(300, reader.getGameCount());
+                assertTrue(reader.getBlockCount() > 10);
+                List<ArchivedGame> scanned = new ArrayList<>();
+                long[] positions = new long[1];
+                reader.scan(new GameArchiveReader.GameVisitor() {
+                    @Override
+                    public void game(ArchivedGame game) {
+                        scanned.add(game);
+                    }
+
+                    @Override
+                    public void position(long gameId, int ply, Board board) {
+                        positions[0]++;
+                    }
+                });
+                assertEquals(expected, scanned);
+                assertEquals(plies + expected.size(), positions[0]);
+
+                for (long id : new long[] {299, 0, 157, 158, 7, 57}) {
+                    assertEquals(expected.get((int) id), reader.readGame(id));
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> reader.readGame(300));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Une partie jouée passe par MoveHistory à l'écriture comme à la lecture")
+    void testMoveHistory() throws IOException {
+        GameController controller = new GameController(Fen.parse("4k3/1P6/8/8/5p2/8/4P3/4K2R w K - 0 1"));
+        int[] moves = {Move.fromUci("e2e4"), Move.fromUci("f4e3"), Move.fromUci("b7b8n"),
+                       Move.fromUci("e8f7"), Move.fromUci("e1g1")};
+        assertEquals(-1, controller.applyMoves(moves, moves.length));
+        String end = Fen.toFen(controller.getBoard());
+
+        Path path = directory.resolve("history.cga");
+        try (GameArchiveWriter writer = new GameArchiveWriter(path, true)) {
+            writer.append(controller.getMoveHistory(), PgnGame.DRAW);
+            assertThrows(IllegalArgumentException.class,
+                () -> writer.append(null, new int[] {Move.fromUci("e2e5")}, 1, PgnGame.UNKNOWN));
+            assertEquals(1, writer.getGameCount());
+        }
+        try (GameArchiveReader reader = new GameArchiveReader(path)) {
+            assertEquals(1, reader.getGameCount());
+            ArchivedGame game = reader.readGame(0);
+            assertArrayEquals(moves, game.getMoves());
+            assertEquals(PgnGame.DRAW, game.getResult());
+            MoveHistory history = new MoveHistory();
+            Board board = game.replay(history);
+            assertEquals(end, Fen.toFen(board));
+            assertEquals(5, history.getMoveCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Le rang d'un coup désigne le même coup au décodage")
+    void testMoveIndexCodec() {
+        MoveIndexCodec codec = new MoveIndexCodec();
+        Board board = Fen.parse("r3k2r/pPppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        MoveList legal = new MoveList();
+        new MoveGenerator().generateLegal(board, legal);
+        for (int index = 0; index < legal.size(); index++) {
+            int move = codec.moveAt(board, index);
+            assertTrue(legal.contains(move));
+            assertEquals(index, codec.indexOf(board, move));
+        }
+        assertEquals(Move.NONE, codec.moveAt(board, legal.size()));
+        assertEquals(-1, codec.indexOf(board, Move.fromUci("a1a8")));
+    }
+}
@@ -0,0 +1,98 @@
+package com.chess.archive;
+
+import com.chess.board.Board;
+import com.chess.board.Fen;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import com.chess.pgn.PgnGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'index des positions d'une archive.
+ */
+@DisplayName("Tests pour l'index des positions")
+class PositionIndexTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Chaque position renvoie exactement les parties qui l'ont atteinte")
+    void testBuildAndLookup() throws IOException {
+        Path archive = directory.resolve("games.cga");
+        Map<Long, TreeSet<Long>> expected = new HashMap<>();
+        Random random = new Random(11);
+        MoveGenerator generator = new MoveGenerator();
+        int games = 200;
+        try (GameArchiveWriter writer = new GameArchiveWriter(archive, true, 1024)) {
+            for (int i = 0; i < games; i++) {
+                String fen = i % 40 == 3 ? "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1" : null;
+                Board board = fen != null ? Fen.parse(fen) : new Board();
+                if (fen == null) {
+                    board.initializeBoard();
+                }
+                // Peu de coups différents : les parties partagent leurs premières positions
+                int[] moves = new int[10 + random.nextInt(40)];
+                int count = 0;
+                expected.computeIfAbsent(board.getZobristKey(), k -> new TreeSet<>()).add((long) i);
+                while (count < moves.length) {
+                    MoveList legal = new MoveList();
+                    generator.generateLegal(board, legal);
+                    if (legal.size() == 0) {
+                        break;
+                    }
+                    moves[count] = legal.get(random.nextInt(Math.min(3, legal.size())));
+                    MoveGenerator.makeMove(board, moves[count++]);
+                    expected.computeIfAbsent(board.getZobristKey(), k -> new TreeSet<>()).add((long) i);
+                }
+                writer.append(fen, moves, count, PgnGame.UNKNOWN);
+            }
+        }
+
+        Path output = directory.resolve("positions.idx");
+        // Runs minuscules : plus de runs que le degré de fusion, donc des passes intermédiaires
+        PositionIndexBuilder builder = new PositionIndexBuilder(3, 40, directory);
+        assertEquals(expected.size(), builder.build(archive, output));
+        assertEquals(games, builder.getGamesProcessed());
+        assertTrue(builder.getPositionsProcessed() > 64 * 40);
+
+        try (PositionIndex index = new PositionIndex(output)) {
+            assertEquals(games, index.getGameCount());
+            assertEquals(expected.size(), index.getKeyCount());
+            assertEquals(expected.values().stream().mapToLong(TreeSet::size).sum(), index.getPostingCount());
+            for (Map.Entry<Long, TreeSet<Long>> entry : expected.entrySet()) {
+                long[] found = index.lookup(entry.getKey());
+                assertArrayEquals(entry.getValue().stream().mapToLong(Long::longValue).toArray(), found);
+                assertEquals(found.length, index.count(entry.getKey()));
+            }
+            Board start = new Board();
+            start.initializeBoard();
+            assertEquals(games - 5, index.lookup(start).length);
+            assertEquals(0, index.lookup(Fen.parse("8/8/8/3k4/8/3K4/8/8 w - - 0 1")).length);
+        }
+        // Les runs et la table des clés temporaires sont supprimés
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Un fichier qui n'est pas un index est refusé")
+    void testInvalidFile() throws IOException {
+        Path path = directory.resolve("invalid.idx");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> new PositionIndex(path));
+    }
+}
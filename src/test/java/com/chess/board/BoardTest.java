@@ -106,6 +106,8 @@ class BoardTest {
         assertNull(board.getPieceAt(from));
         assertNotNull(board.getPieceAt(to));
         assertEquals(1, board.getCapturedPieces().size());
+        assertEquals(1, board.getCapturedCount(Color.BLACK, PieceType.PAWN));
+        assertEquals(0, board.getCapturedCount(Color.WHITE, PieceType.PAWN));
     }
     
     @Test
@@ -185,4 +187,94 @@ class BoardTest {
         assertThrows(IllegalArgumentException.class, () -> new Position(8, 0));
         assertThrows(IllegalArgumentException.class, () -> new Position(0, 8));
     }
+    
+    @Test
+    @DisplayName("Annulation d'un roque joué avec makeMove")
+    void testMakeUnmakeCastling() {
+        board = new Board();
+        King king = new King(Color.WHITE, new Position(0, 4));
+        Rook rook = new Rook(Color.WHITE, new Position(0, 7));
+        board.setPieceAt(new Position(0, 4), king);
+        board.setPieceAt(new Position(0, 7), rook);
+        board.setPieceAt(new Position(7, 4), new King(Color.BLACK, new Position(7, 4)));
+        
+        board.makeMove(new Position(0, 4), new Position(0, 6), null);
+        assertEquals(king, board.getPieceAt(new Position(0, 6)));
+        assertEquals(rook, board.getPieceAt(new Position(0, 5)));
+        assertEquals(Color.BLACK, board.getCurrentPlayer());
+        
+        board.unmakeMove();
+        assertEquals(king, board.getPieceAt(new Position(0, 4)));
+        assertEquals(rook, board.getPieceAt(new Position(0, 7)));
+        assertFalse(king.hasMoved());
+        assertFalse(rook.hasMoved());
+        assertEquals(Color.WHITE, board.getCurrentPlayer());
+        assertEquals(0, board.getUndoDepth());
+    }
+    
+    @Test
+    @DisplayName("Prise en passant et promotion réversibles")
+    void testMakeUnmakeEnPassantAndPromotion() {
+        board = new Board();
+        Pawn whitePawn = new Pawn(Color.WHITE, new Position(4, 4));
+        Pawn blackPawn = new Pawn(Color.BLACK, new Position(6, 3));
+        board.setPieceAt(new Position(4, 4), whitePawn);
+        board.setPieceAt(new Position(6, 3), blackPawn);
+        board.switchPlayer();
+        
+        board.makeMove(new Position(6, 3), new Position(4, 3), null);
+        assertEquals(new Position(5, 3), board.getEnPassantTarget());
+        long pawnKeyBefore = board.getPawnKey();
+        
+        board.makeMove(new Position(4, 4), new Position(5, 3), null);
+        assertNull(board.getPieceAt(new Position(4, 3)));
+        assertEquals(1, board.getCapturedPieces().size());
+        assertEquals(1, board.getCapturedCount(Color.BLACK, PieceType.PAWN));
+        
+        board.unmakeMove();
+        assertEquals(blackPawn, board.getPieceAt(new Position(4, 3)));
+        assertEquals(pawnKeyBefore, board.getPawnKey());
+        assertEquals(new Position(5, 3), board.getEnPassantTarget());
+        assertTrue(board.getCapturedPieces().isEmpty());
+        assertEquals(0, board.getCapturedCount(Color.BLACK, PieceType.PAWN));
+        
+        board = new Board();
+        Pawn promotingPawn = new Pawn(Color.WHITE, new Position(6, 0));
+        board.setPieceAt(new Position(6, 0), promotingPawn);
+        board.makeMove(new Position(6, 0), new Position(7, 0), PieceType.KNIGHT);
+        assertEquals(PieceType.KNIGHT, board.getPieceAt(new Position(7, 0)).getType());
+        assertEquals(0, board.getPieceCount(Color.WHITE, PieceType.PAWN));
+        
+        board.unmakeMove();
+        assertEquals(promotingPawn, board.getPieceAt(new Position(6, 0)));
+        assertNull(board.getPieceAt(new Position(7, 0)));
+        assertEquals(1, board.getPieceCount(Color.WHITE, PieceType.PAWN));
+    }
+    
+    @Test
+    @DisplayName("La clé de Zobrist identifie les transpositions")
+    void testZobristKeyTranspositions() {
+        long initialKey = board.getZobristKey();
+        
+        board.makeMove(new Position(0, 1), new Position(2, 2), null);
+        board.makeMove(new Position(7, 1), new Position(5, 2), null);
+        board.makeMove(new Position(0, 6), new Position(2, 5), null);
+        long firstOrder = board.getZobristKey();
+        for (int i = 0; i < 3; i++) {
+            board.unmakeMove();
+        }
+        assertEquals(initialKey, board.getZobristKey());
+        
+        board.makeMove(new Position(0, 6), new Position(2, 5), null);
+        board.makeMove(new Position(7, 1), new Position(5, 2), null);
+        board.makeMove(new Position(0, 1), new Position(2, 2), null);
+        assertEquals(firstOrder, board.getZobristKey());
+        
+        // Le roi qui bouge perd les droits de roque, même revenu à sa case
+        board = new Board();
+        board.initializeBoard();
+        assertEquals(0b1111, board.getCastlingRights());
+        board.getPieceAt(new Position(0, 4)).markAsMoved();
+        assertEquals(0b1100, board.getCastlingRights());
+    }
 }
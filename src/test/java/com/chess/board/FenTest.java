@@ -0,0 +1,68 @@
+package com.chess.board;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la lecture et l'écriture de positions FEN.
+ */
+@DisplayName("Tests pour la classe Fen")
+class FenTest {
+
+    @Test
+    @DisplayName("La position de départ correspond au plateau initial")
+    void testStartPosition() {
+        Board initial = new Board();
+        initial.initializeBoard();
+        Board parsed = Fen.parse(Fen.START_POSITION);
+
+        assertEquals(Fen.START_POSITION, Fen.toFen(initial));
+        assertEquals(initial.getZobristKey(), parsed.getZobristKey());
+        assertEquals(0xF, parsed.getCastlingRights());
+    }
+
+    @Test
+    @DisplayName("Aller-retour avec droits de roque partiels et prise en passant")
+    void testRoundTrip() {
+        String fen = "r3k2r/pp3ppp/8/3pP3/8/8/PPP2PPP/R3K2R w Kq d6 0 1";
+        Board board = Fen.parse(fen);
+
+        assertEquals(fen, Fen.toFen(board));
+        assertEquals(0b1001, board.getCastlingRights());
+        assertEquals(Position.of(5, 3), board.getEnPassantTarget());
+        assertEquals(Color.WHITE, board.getCurrentPlayer());
+        assertTrue(board.getPieceAt(4, 4).hasMoved());
+        assertFalse(board.getPieceAt(1, 0).hasMoved());
+    }
+
+    @Test
+    @DisplayName("Rejet des FEN invalides")
+    void testInvalidFen() {
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8 w - -"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("9/8/8/8/8/8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/8 x - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("4k3/8/8/8/8/8/8/4K3 w - - x 1"));
+    }
+
+    @Test
+    @DisplayName("Compteur de demi-coups de la règle des 50 coups")
+    void testHalfmoveClock() {
+        String fen = "4k3/8/8/8/8/8/4P3/R3K3 w - - 42 1";
+        Board board = Fen.parse(fen);
+        assertEquals(42, board.getHalfmoveClock());
+        assertEquals(fen, Fen.toFen(board));
+
+        board.makeMove(Position.of(0, 0), Position.of(1, 0), null);
+        assertEquals(43, board.getHalfmoveClock());
+        board.makeMove(Position.of(7, 4), Position.of(7, 3), null);
+        board.makeMove(Position.of(1, 4), Position.of(3, 4), null);
+        assertEquals(0, board.getHalfmoveClock(), "coup de pion");
+        board.unmakeMove();
+        assertEquals(44, board.getHalfmoveClock());
+        board.unmakeMove();
+        board.unmakeMove();
+        assertEquals(fen, Fen.toFen(board));
+        assertEquals(0, Fen.parse("4k3/8/8/8/8/8/8/4K3 w - -").getHalfmoveClock());
+    }
+}
@@ -0,0 +1,77 @@
+package com.chess.book;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la construction et la consultation de l'arbre d'ouvertures.
+ */
+@DisplayName("Tests pour les classes OpeningTreeBuilder et OpeningTree")
+class OpeningTreeBuilderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Statistiques par position sur plusieurs fichiers et runs")
+    void testBuildAndLookup() throws IOException {
+        Path first = directory.resolve("a.pgn");
+        Path second = directory.resolve("b.pgn");
+        StringBuilder games = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            games.append("[Result \"1-0\"]\n\n1. e4 e5 2. Nf3 Nc6 1-0\n\n");
+            games.append("[Result \"1/2-1/2\"]\n\n1. e4 c5 2. Nf3 d6 1/2-1/2\n\n");
+        }
+        Files.writeString(first, games);
+        Files.writeString(second, "[Result \"0-1\"]\n\n1. d4 d5 2. c4 0-1\n\n[Result \"*\"]\n\n1. e4 Kxe4 *\n");
+
+        Path index = directory.resolve("tree.bin");
+        OpeningTreeBuilder builder = new OpeningTreeBuilder(3, 10, 16, directory);
+        long entries = builder.build(List.of(first, second), index);
+        assertEquals(102, builder.getGamesProcessed());
+        assertEquals(1, builder.getGamesRejected());
+
+        try (OpeningTree tree = new OpeningTree(index)) {
+            assertEquals(entries, tree.getEntryCount());
+            Board board = new Board();
+            board.initializeBoard();
+            List<OpeningTree.Entry> root = tree.lookup(board);
+            assertEquals(2, root.size());
+
+            OpeningTree.Entry e4 = root.get(0);
+            assertEquals(Move.encode(Position.of(1, 4), Position.of(3, 4), null), e4.getMove());
+            assertEquals(101, e4.getCount());
+            assertEquals(50, e4.getWins());
+            assertEquals(50, e4.getDraws());
+            assertEquals(0, e4.getLosses());
+            assertEquals(0.75, e4.getScore(), 1e-9);
+
+            OpeningTree.Entry d4 = root.get(1);
+            assertEquals(1, d4.getCount());
+            assertEquals(1, d4.getLosses());
+
+            // Après 1. e4, les statistiques sont du point de vue des noirs : les 50 gains blancs sont des pertes
+            board.makeMove(Position.of(1, 4), Position.of(3, 4), null);
+            List<OpeningTree.Entry> afterE4 = tree.lookup(board);
+            assertEquals(2, afterE4.size());
+            assertEquals(50, afterE4.get(0).getCount());
+            int totalLosses = afterE4.get(0).getLosses() + afterE4.get(1).getLosses();
+            assertEquals(50, totalLosses);
+
+            assertTrue(tree.lookup(12345L).isEmpty());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.chess.book;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le livre d'ouvertures Polyglot, avec une table Random64 de test ;
+ * la table standard est vérifiée sur les clés de référence du format.
+ */
+@DisplayName("Tests pour la classe PolyglotBook")
+class PolyglotBookTest {
+
+    @TempDir
+    Path directory;
+
+    private PolyglotKey polyglotKey;
+
+    @BeforeEach
+    void setUp() {
+        long[] random64 = new long[PolyglotKey.RANDOM64_LENGTH];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < random64.length; i++) {
+            random64[i] = random.nextLong();
+        }
+        polyglotKey = new PolyglotKey(random64);
+    }
+
+    private static int polyglotMove(int fromRow, int fromColumn, int toRow, int toColumn) {
+        return toColumn | (toRow << 3) | (fromColumn << 6) | (fromRow << 9);
+    }
+
+    /**
+     * Écrit un livre à partir d'entrées {clé, coup, poids}, triées par clé sans signe.
+     */
+    private PolyglotBook writeBook(List<long[]> entries) throws IOException {
+        entries.sort((a, b) -> Long.compareUnsigned(a[0], b[0]));
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * 16);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0]).putShort((short) entry[1]).putShort((short) entry[2]).putInt(0);
+        }
+        Path file = directory.resolve("book.bin");
+        Files.write(file, buffer.array());
+        return new PolyglotBook(file, polyglotKey);
+    }
+
+    private static List<long[]> noise(int count) {
+        List<long[]> entries = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < count; i++) {
+            entries.add(new long[] {random.nextLong(), polyglotMove(1, 0, 2, 0), 1});
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Sélection du coup de plus fort poids et tirage pondéré")
+    void testBestAndWeightedSelection() throws IOException {
+        Board board = new Board();
+        board.initializeBoard();
+        long key = polyglotKey.compute(board);
+
+        List<long[]> entries = noise(1000);
+        entries.add(new long[] {key, polyglotMove(1, 4, 3, 4), 10});
+        entries.add(new long[] {key, polyglotMove(1, 3, 3, 3), 30});
+        entries.add(new long[] {key, polyglotMove(4, 4, 5, 4), 500}); // incohérent : ignoré
+        try (PolyglotBook book = writeBook(entries)) {
+            int d4 = Move.encode(Position.of(1, 3), Position.of(3, 3), null);
+            int e4 = Move.encode(Position.of(1, 4), Position.of(3, 4), null);
+            assertEquals(1003, book.getEntryCount());
+            assertEquals(d4, book.probeBest(board));
+
+            int[] moves = new int[8];
+            int[] weights = new int[8];
+            assertEquals(2, book.getMoves(board, moves, weights));
+
+            SplittableRandom random = new SplittableRandom(1);
+            int e4Count = 0;
+            for (int i = 0; i < 4000; i++) {
+                int move = book.probeRandom(board, random);
+                assertTrue(move == d4 || move == e4);
+                if (move == e4) {
+                    e4Count++;
+                }
+            }
+            // Probabilité attendue : 10 / 40
+            assertTrue(e4Count > 800 && e4Count < 1200, "e4 tiré " + e4Count + " fois");
+
+            board.makeMove(Position.of(1, 4), Position.of(3, 4), null);
+            assertEquals(Move.NONE, book.probeBest(board));
+        }
+    }
+
+    @Test
+    @DisplayName("Le roque noté roi-prend-tour est converti")
+    void testCastlingConversion() throws IOException {
+        Board board = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        long key = polyglotKey.compute(board);
+        List<long[]> entries = new ArrayList<>();
+        entries.add(new long[] {key, polyglotMove(0, 4, 0, 7), 1});
+        try (PolyglotBook book = writeBook(entries)) {
+            assertEquals(Move.encode(Position.of(0, 4), Position.of(0, 6), null), book.probeBest(board));
+        }
+    }
+
+    @Test
+    @DisplayName("La prise en passant ne compte que si elle est possible")
+    void testEnPassantKey() {
+        Board withoutCapturer = Fen.parse("4k3/8/8/8/4P3/8/8/4K3 b - e3 0 1");
+        Board noTarget = Fen.parse("4k3/8/8/8/4P3/8/8/4K3 b - - 0 1");
+        assertEquals(polyglotKey.compute(noTarget), polyglotKey.compute(withoutCapturer));
+
+        Board withCapturer = Fen.parse("4k3/8/8/8/3pP3/8/8/4K3 b - e3 0 1");
+        Board withCapturerNoTarget = Fen.parse("4k3/8/8/8/3pP3/8/8/4K3 b - - 0 1");
+        assertNotEquals(polyglotKey.compute(withCapturerNoTarget), polyglotKey.compute(withCapturer));
+    }
+
+    @Test
+    @DisplayName("Rejet d'une table Random64 ou d'un fichier invalides")
+    void testInvalidInputs() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new PolyglotKey(new long[10]));
+        Path file = directory.resolve("broken.bin");
+        Files.write(file, new byte[17]);
+        assertThrows(IOException.class, () -> new PolyglotBook(file, polyglotKey));
+    }
+
+    @Test
+    @DisplayName("Clés de référence du format avec la table Random64 standard")
+    void testStandardKeys() {
+        PolyglotKey standard = PolyglotKey.standard();
+        assertEquals(0x463B96181691FC9CL, standard.compute(play()));
+        assertEquals(0x823C9B50FD114196L, standard.compute(play("e2e4")));
+        assertEquals(0x0756B94461C50FB0L, standard.compute(play("e2e4", "d7d5")));
+        assertEquals(0x662FAFB965DB29D4L, standard.compute(play("e2e4", "d7d5", "e4e5")));
+        assertEquals(0x22A48B5A8E47FF78L, standard.compute(play("e2e4", "d7d5", "e4e5", "f7f5")));
+        assertEquals(0x652A607CA3F242C1L, standard.compute(play("e2e4", "d7d5", "e4e5", "f7f5", "e1e2")));
+        assertEquals(0x00FDD303C946BDD9L, standard.compute(play("e2e4", "d7d5", "e4e5", "f7f5", "e1e2", "e8f7")));
+        assertEquals(0x3C8123EA7B067637L, standard.compute(play("a2a4", "b7b5", "h2h4", "b5b4", "c2c4")));
+        assertEquals(0x5C3F9B829B279560L,
+                     standard.compute(play("a2a4", "b7b5", "h2h4", "b5b4", "c2c4", "b4c3", "a1a3")));
+    }
+
+    @Test
+    @DisplayName("Un livre s'ouvre avec la table standard")
+    void testStandardBook() throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        entries.add(new long[] {0x463B96181691FC9CL, polyglotMove(1, 4, 3, 4), 1});
+        entries.add(new long[] {0x823C9B50FD114196L, polyglotMove(6, 2, 4, 2), 1});
+        Path file = directory.resolve("standard.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * 16);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0]).putShort((short) entry[1]).putShort((short) entry[2]).putInt(0);
+        }
+        Files.write(file, buffer.array());
+        try (PolyglotBook book = new PolyglotBook(file)) {
+            assertEquals(Move.fromUci("e2e4"), book.probeBest(play()));
+            assertEquals(Move.fromUci("c7c5"), book.probeBest(play("e2e4")));
+        }
+    }
+
+    private static Board play(String... uciMoves) {
+        Board board = Fen.parse(Fen.START_POSITION);
+        for (String uciMove : uciMoves) {
+            MoveGenerator.makeMove(board, Move.fromUci(uciMove));
+        }
+        return board;
+    }
+}
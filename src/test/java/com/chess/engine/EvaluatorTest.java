@@ -0,0 +1,104 @@
+package com.chess.engine;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe Evaluator et les scores incrémentaux du plateau.
+ */
+@DisplayName("Tests pour la classe Evaluator")
+class EvaluatorTest {
+
+    private Board board;
+    private Evaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        board.initializeBoard();
+        evaluator = new Evaluator();
+    }
+
+    @Test
+    @DisplayName("La position initiale est équilibrée")
+    void testInitialPositionIsBalanced() {
+        assertEquals(0, evaluator.evaluate(board));
+        assertEquals(PieceSquareTables.TOTAL_PHASE, board.getGamePhase());
+        assertEquals(8, board.getPieceCount(Color.WHITE, PieceType.PAWN));
+    }
+
+    @Test
+    @DisplayName("Les scores incrémentaux correspondent à un recalcul complet")
+    void testIncrementalScoresMatchRecomputation() {
+        board.movePiece(new Position(1, 4), new Position(3, 4));
+        board.movePiece(new Position(6, 3), new Position(4, 3));
+        board.movePiece(new Position(3, 4), new Position(4, 3));
+
+        Board rebuilt = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board.getPieceAt(row, col);
+                if (piece != null) {
+                    rebuilt.setPieceAt(new Position(row, col), piece);
+                }
+            }
+        }
+
+        for (Color color : Color.values()) {
+            assertEquals(rebuilt.getMidgameScore(color), board.getMidgameScore(color));
+            assertEquals(rebuilt.getEndgameScore(color), board.getEndgameScore(color));
+            assertEquals(rebuilt.getNonPawnMaterial(color), board.getNonPawnMaterial(color));
+        }
+        assertEquals(7, board.getPieceCount(Color.BLACK, PieceType.PAWN));
+    }
+
+    @Test
+    @DisplayName("L'avantage matériel est vu du côté du joueur au trait")
+    void testScoreIsRelativeToSideToMove() {
+        board = new Board();
+        board.setPieceAt(new Position(0, 4), new King(Color.WHITE, new Position(0, 4)));
+        board.setPieceAt(new Position(7, 4), new King(Color.BLACK, new Position(7, 4)));
+        board.setPieceAt(new Position(3, 3), new Queen(Color.WHITE, new Position(3, 3)));
+
+        assertTrue(evaluator.evaluate(board) > 800);
+        board.switchPlayer();
+        assertTrue(evaluator.evaluate(board) < -800);
+    }
+
+    @Test
+    @DisplayName("Un pion passé avancé est valorisé")
+    void testPassedPawnBonus() {
+        board = new Board();
+        board.setPieceAt(new Position(0, 4), new King(Color.WHITE, new Position(0, 4)));
+        board.setPieceAt(new Position(7, 4), new King(Color.BLACK, new Position(7, 4)));
+        board.setPieceAt(new Position(5, 0), new Pawn(Color.WHITE, new Position(5, 0)));
+        int advanced = evaluator.evaluateForWhite(board);
+
+        board.setPieceAt(new Position(6, 1), new Pawn(Color.BLACK, new Position(6, 1)));
+
+        // Le pion noir de la colonne voisine contrôle sa route : le pion blanc n'est plus passé
+        int blocked = evaluator.evaluateForWhite(board);
+        assertTrue(advanced - blocked > PieceSquareTables.materialValue(PieceType.PAWN));
+    }
+
+    @Test
+    @DisplayName("La structure de pions est réutilisée tant que les pions ne bougent pas")
+    void testPawnStructureIsCached() {
+        long initialPawnKey = board.getPawnKey();
+        evaluator.evaluate(board);
+
+        board.movePiece(new Position(0, 1), new Position(2, 2));
+        assertEquals(initialPawnKey, board.getPawnKey());
+        evaluator.evaluate(board);
+        assertEquals(1, evaluator.getPawnHashTable().getHits());
+
+        board.movePiece(new Position(6, 4), new Position(4, 4));
+        assertNotEquals(initialPawnKey, board.getPawnKey());
+        evaluator.evaluate(board);
+        assertEquals(3, evaluator.getPawnHashTable().getProbes());
+        assertEquals(1, evaluator.getPawnHashTable().getHits());
+    }
+}
@@ -0,0 +1,150 @@
+package com.chess.engine;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe MateSolver.
+ */
+@DisplayName("Tests pour la classe MateSolver")
+class MateSolverTest {
+    private final MoveGenerator generator = new MoveGenerator();
+
+    @Test
+    @DisplayName("Mat en un : toutes les clés, problème démoli")
+    void testMateInOneCooks() {
+        Board board = Fen.parse("k7/8/1K6/8/4Q3/8/8/8 w - - 0 1");
+        MateSolution solution = new MateSolver().solve(board, 1);
+        assertNotNull(solution);
+        assertEquals(bruteForceKeys(board, 1, false), solution.getKeyMoves());
+        assertTrue(solution.isCooked());
+        assertEquals(1, solution.getLength());
+        assertEquals("k7/8/1K6/8/4Q3/8/8/8 w - - 0 1", Fen.toFen(board), "plateau restauré");
+    }
+
+    @Test
+    @DisplayName("Mat en deux et en trois identiques à la recherche exhaustive")
+    void testAgainstBruteForce() {
+        String[] problems = {
+            "6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1",
+            "7k/8/5K2/8/8/8/8/6R1 w - - 0 1",
+            "k7/8/2K5/8/8/8/8/1R6 w - - 0 1",
+            "8/8/8/8/8/2k5/8/K1Q5 w - - 0 1",
+            "r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 0 1"
+        };
+        for (String fen : problems) {
+            for (int mateIn = 1; mateIn <= 3; mateIn++) {
+                for (boolean checksOnly : new boolean[] {false, true}) {
+                    Board board = Fen.parse(fen);
+                    if (mateIn == 3 && board.getPiecesOfColor(Color.WHITE).size() > 3) {
+                        continue;
+                    }
+                    MateSolver solver = new MateSolver(16);
+                    solver.setChecksOnly(checksOnly);
+                    MateSolution solution = solver.solve(board, mateIn);
+                    List<Integer> expected = bruteForceKeys(board, mateIn, checksOnly);
+                    String context = fen + " mat en " + mateIn + (checksOnly ? " (échecs)" : "");
+                    if (expected.isEmpty()) {
+                        assertNull(solution, context);
+                    } else {
+                        assertNotNull(solution, context);
+                        assertEquals(expected, solution.getKeyMoves(), context);
+                        assertTrue(solution.getLength() <= 2 * mateIn - 1, context);
+                        checkTree(board, solution, context);
+                    }
+                    assertEquals(fen, Fen.toFen(board), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Les échecs seuls ne suffisent pas toujours")
+    void testChecksOnly() {
+        Board board = Fen.parse("7k/8/5K2/8/8/8/8/6R1 w - - 0 1");
+        assertNotNull(new MateSolver().solve(board, 2));
+        MateSolver solver = new MateSolver();
+        solver.setChecksOnly(true);
+        assertNull(solver.solve(board, 2));
+        assertFalse(solver.isNodeLimitReached());
+    }
+
+    @Test
+    @DisplayName("Limite de nœuds")
+    void testNodeLimit() {
+        MateSolver solver = new MateSolver();
+        solver.setNodeLimit(10);
+        assertNull(solver.solve(Fen.parse("7k/8/5K2/8/8/8/8/6R1 w - - 0 1"), 3));
+        assertTrue(solver.isNodeLimitReached());
+    }
+
+    /**
+     * Vérifie que chaque défense mène au mat en suivant l'arbre.
+     */
+    private void checkTree(Board board, MateSolution attack, String context) {
+        for (MateSolution key : attack.getChildren()) {
+            MoveGenerator.makeMove(board, key.getMove());
+            MoveList defences = new MoveList();
+            generator.generateLegal(board, defences);
+            assertEquals(defences.size(), key.getChildren().size(), context);
+            if (defences.size() == 0) {
+                assertTrue(board.isInCheck(board.getCurrentPlayer()), context);
+            }
+            for (MateSolution defence : key.getChildren()) {
+                MoveGenerator.makeMove(board, defence.getMove());
+                assertEquals(1, defence.getChildren().size(), context);
+                checkTree(board, defence, context);
+                board.unmakeMove();
+            }
+            board.unmakeMove();
+        }
+    }
+
+    private List<Integer> bruteForceKeys(Board board, int mateIn, boolean checksOnly) {
+        List<Integer> keys = new ArrayList<>();
+        MoveList moves = new MoveList();
+        generator.generateLegal(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (mates(board, moves.get(i), mateIn, checksOnly)) {
+                keys.add(moves.get(i));
+            }
+        }
+        return keys;
+    }
+
+    private boolean mates(Board board, int move, int mateIn, boolean checksOnly) {
+        Color defender = board.getCurrentPlayer().opposite();
+        MoveGenerator.makeMove(board, move);
+        try {
+            boolean check = board.isInCheck(defender);
+            if ((checksOnly || mateIn == 1) && !check) {
+                return false;
+            }
+            MoveList defences = new MoveList();
+            generator.generateLegal(board, defences);
+            if (defences.size() == 0) {
+                return check;
+            }
+            if (mateIn == 1) {
+                return false;
+            }
+            for (int i = 0; i < defences.size(); i++) {
+                MoveGenerator.makeMove(board, defences.get(i));
+                boolean refuted = bruteForceKeys(board, mateIn - 1, checksOnly).isEmpty();
+                board.unmakeMove();
+                if (refuted) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            board.unmakeMove();
+        }
+    }
+}
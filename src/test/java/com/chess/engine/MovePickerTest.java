@@ -0,0 +1,67 @@
+package com.chess.engine;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe MovePicker.
+ */
+@DisplayName("Tests pour la classe MovePicker")
+class MovePickerTest {
+
+    private Board board;
+    private MovePicker picker;
+    private MoveOrdering ordering;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        board.setPieceAt(new Position(0, 4), new King(Color.WHITE, new Position(0, 4)));
+        board.setPieceAt(new Position(7, 4), new King(Color.BLACK, new Position(7, 4)));
+        board.setPieceAt(new Position(3, 3), new Queen(Color.WHITE, new Position(3, 3)));
+        board.setPieceAt(new Position(2, 1), new Knight(Color.WHITE, new Position(2, 1)));
+        board.setPieceAt(new Position(3, 6), new Pawn(Color.BLACK, new Position(3, 6)));
+        board.setPieceAt(new Position(4, 3), new Rook(Color.BLACK, new Position(4, 3)));
+        picker = new MovePicker(new MoveGenerator(), new StaticExchangeEvaluator());
+        ordering = new MoveOrdering();
+    }
+
+    @Test
+    @DisplayName("Le coup de la table passe en premier, puis les prises MVV-LVA")
+    void testHashMoveThenCaptures() {
+        int hashMove = Move.encode(new Position(2, 1), new Position(4, 2), null);
+        picker.reset(board, hashMove, ordering, 0);
+
+        assertEquals(hashMove, picker.next());
+        assertEquals(Move.encode(new Position(3, 3), new Position(4, 3), null), picker.next());
+        assertEquals(Move.encode(new Position(3, 3), new Position(3, 6), null), picker.next());
+        assertFalse(picker.hasGeneratedQuiets());
+    }
+
+    @Test
+    @DisplayName("Les coups meurtriers précèdent les coups tranquilles triés par historique")
+    void testKillersAndHistory() {
+        int killer = Move.encode(new Position(0, 4), new Position(1, 4), null);
+        int favourite = Move.encode(new Position(2, 1), new Position(0, 2), null);
+        ordering.addKiller(3, killer);
+        ordering.updateHistory(Color.WHITE, favourite, 500);
+        picker.reset(board, Move.NONE, ordering, 3);
+
+        picker.next();
+        picker.next();
+        assertEquals(killer, picker.next());
+        assertEquals(favourite, picker.next());
+        assertTrue(picker.hasGeneratedQuiets());
+    }
+
+    @Test
+    @DisplayName("Un coup de la table invalide dans la position est ignoré")
+    void testInvalidHashMoveIsSkipped() {
+        int bogus = Move.encode(new Position(5, 5), new Position(6, 6), null);
+        picker.reset(board, bogus, ordering, 0);
+        assertEquals(Move.encode(new Position(3, 3), new Position(4, 3), null), picker.next());
+    }
+}
@@ -0,0 +1,24 @@
+package com.chess.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'encodage des coups.
+ */
+@DisplayName("Tests pour la classe Move")
+class MoveTest {
+
+    @Test
+    @DisplayName("La forme lisible nomme les mêmes cases que la notation UCI")
+    void testToString() {
+        assertEquals("e2-e4", Move.toString(Move.fromUci("e2e4")));
+        assertEquals("e7-e5", Move.toString(Move.fromUci("e7e5")));
+        assertEquals("a7-a8=Q", Move.toString(Move.fromUci("a7a8q")));
+        assertEquals("(aucun)", Move.toString(Move.NONE));
+
+        int move = Move.fromUci("g1f3");
+        assertEquals(Move.toUci(move), Move.toString(move).replace("-", ""));
+    }
+}
@@ -0,0 +1,121 @@
+package com.chess.engine;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la recherche, la quiescence et l'évaluation des échanges.
+ */
+@DisplayName("Tests pour la classe Search")
+class SearchTest {
+
+    private Board board;
+    private Search search;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        search = new Search();
+    }
+
+    private void place(Piece piece) {
+        board.setPieceAt(piece.getPosition(), piece);
+    }
+
+    @Test
+    @DisplayName("La SEE détecte les prises perdantes et gagnantes")
+    void testStaticExchangeEvaluation() {
+        place(new King(Color.WHITE, new Position(0, 4)));
+        place(new King(Color.BLACK, new Position(7, 4)));
+        place(new Rook(Color.WHITE, new Position(0, 0)));
+        place(new Pawn(Color.BLACK, new Position(5, 0)));
+        place(new Pawn(Color.BLACK, new Position(6, 1)));
+        place(new Pawn(Color.WHITE, new Position(4, 1)));
+        place(new Knight(Color.BLACK, new Position(5, 2)));
+        place(new Pawn(Color.BLACK, new Position(6, 3)));
+
+        StaticExchangeEvaluator see = new StaticExchangeEvaluator();
+        int rookTakesPawn = Move.encode(new Position(0, 0), new Position(5, 0), null);
+        int pawnTakesKnight = Move.encode(new Position(4, 1), new Position(5, 2), null);
+
+        assertTrue(see.evaluate(board, rookTakesPawn) < 0);
+        assertTrue(see.evaluate(board, pawnTakesKnight) > 0);
+    }
+
+    @Test
+    @DisplayName("La recherche prend une pièce en prise")
+    void testCapturesHangingPiece() {
+        place(new King(Color.WHITE, new Position(0, 4)));
+        place(new King(Color.BLACK, new Position(7, 7)));
+        place(new Queen(Color.WHITE, new Position(3, 3)));
+        place(new Rook(Color.BLACK, new Position(3, 6)));
+
+        SearchResult result = search.search(board, 2);
+        assertEquals(Move.encode(new Position(3, 3), new Position(3, 6), null), result.getBestMove());
+    }
+
+    @Test
+    @DisplayName("La recherche trouve un mat du couloir")
+    void testFindsBackRankMate() {
+        place(new King(Color.WHITE, new Position(0, 6)));
+        place(new Rook(Color.WHITE, new Position(0, 0)));
+        place(new King(Color.BLACK, new Position(7, 6)));
+        place(new Pawn(Color.BLACK, new Position(6, 5)));
+        place(new Pawn(Color.BLACK, new Position(6, 6)));
+        place(new Pawn(Color.BLACK, new Position(6, 7)));
+
+        SearchResult result = search.search(board, 2);
+        assertEquals(Move.encode(new Position(0, 0), new Position(7, 0), null), result.getBestMove());
+        assertTrue(result.isMateScore());
+    }
+
+    @Test
+    @DisplayName("La recherche laisse le plateau inchangé")
+    void testSearchRestoresBoard() {
+        board.initializeBoard();
+        long pawnKey = board.getPawnKey();
+        int midgame = board.getMidgameScore(Color.WHITE);
+
+        SearchResult result = search.search(board, 3);
+        assertNotEquals(Move.NONE, result.getBestMove());
+        assertEquals(0, board.getUndoDepth());
+        assertEquals(pawnKey, board.getPawnKey());
+        assertEquals(midgame, board.getMidgameScore(Color.WHITE));
+        assertEquals(Color.WHITE, board.getCurrentPlayer());
+    }
+
+    @Test
+    @DisplayName("La sélectivité réduit le nombre de nœuds et reste désactivable")
+    void testSelectivityReducesNodes() {
+        board.initializeBoard();
+        Search plain = new Search(new Evaluator(), new TranspositionTable(1), new SearchOptions(false));
+        Search selective = new Search(new Evaluator(), new TranspositionTable(1), new SearchOptions(true));
+
+        long plainNodes = plain.search(board, 5).getNodes();
+        long selectiveNodes = selective.search(board, 5).getNodes();
+        assertTrue(selectiveNodes < plainNodes);
+
+        selective.getOptions().setNullMovePruning(false);
+        assertFalse(selective.getOptions().isNullMovePruning());
+    }
+
+    @Test
+    @DisplayName("Le coup nul n'empêche pas de voir un mat")
+    void testSelectiveSearchStillFindsMate() {
+        place(new King(Color.WHITE, new Position(0, 6)));
+        place(new Rook(Color.WHITE, new Position(0, 0)));
+        place(new Pawn(Color.WHITE, new Position(1, 6)));
+        place(new King(Color.BLACK, new Position(7, 6)));
+        place(new Pawn(Color.BLACK, new Position(6, 5)));
+        place(new Pawn(Color.BLACK, new Position(6, 6)));
+        place(new Pawn(Color.BLACK, new Position(6, 7)));
+        place(new Knight(Color.BLACK, new Position(4, 4)));
+
+        SearchResult result = search.search(board, 4);
+        assertEquals(Move.encode(new Position(0, 0), new Position(7, 0), null), result.getBestMove());
+        assertEquals(Search.MATE_SCORE - 1, result.getScore());
+    }
+}
@@ -0,0 +1,107 @@
+package com.chess.engine;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la gestion du temps et l'arrêt coopératif de la recherche.
+ */
+@DisplayName("Tests pour la classe TimeManager")
+class TimeManagerTest {
+
+    @Test
+    @DisplayName("Le budget dépend de la pendule et de l'incrément du joueur au trait")
+    void testClockAllocation() {
+        SearchLimits limits = new SearchLimits();
+        limits.setWhiteTime(60_000);
+        limits.setBlackTime(1_000);
+        limits.setWhiteIncrement(1_000);
+
+        TimeManager timeManager = new TimeManager();
+        timeManager.start(limits, Color.WHITE, 0);
+        long white = timeManager.getOptimumMillis();
+        assertTrue(white > 1_000 && white < 60_000 / 10, "Budget blanc : " + white);
+        assertTrue(timeManager.getMaximumMillis() >= white);
+        assertTrue(timeManager.getMaximumMillis() <= 60_000 * 4 / 5);
+
+        timeManager.start(limits, Color.BLACK, 0);
+        assertTrue(timeManager.getOptimumMillis() < white);
+        assertTrue(timeManager.getMaximumMillis() < 1_000);
+    }
+
+    @Test
+    @DisplayName("Un temps fixe par coup est une échéance ferme")
+    void testMoveTime() {
+        TimeManager timeManager = new TimeManager();
+        timeManager.start(SearchLimits.moveTime(500), Color.WHITE, 0);
+        assertEquals(timeManager.getOptimumMillis(), timeManager.getMaximumMillis());
+        assertTrue(timeManager.getMaximumMillis() <= 500);
+
+        timeManager.start(SearchLimits.depth(5), Color.WHITE, 0);
+        assertFalse(timeManager.isTimeLimited());
+        assertEquals(Long.MAX_VALUE, timeManager.getDeadlineNanos());
+    }
+
+    @Test
+    @DisplayName("Le budget est prolongé quand le meilleur coup change")
+    void testInstabilityExtendsBudget() {
+        SearchLimits limits = new SearchLimits();
+        limits.setWhiteTime(60_000);
+        TimeManager timeManager = new TimeManager();
+        timeManager.start(limits, Color.WHITE, 0);
+
+        int first = Move.encode(12, 28, null);
+        int second = Move.encode(6, 21, null);
+        timeManager.onIterationComplete(first);
+        timeManager.onIterationComplete(first);
+        long stable = timeManager.getSoftLimitNanos();
+
+        timeManager.onIterationComplete(second);
+        long unstable = timeManager.getSoftLimitNanos();
+        assertTrue(unstable > stable);
+        assertTrue(unstable <= timeManager.getMaximumMillis() * 1_000_000L);
+    }
+
+    @Test
+    @DisplayName("La recherche s'arrête rapidement sur demande et restaure le plateau")
+    void testStopSignalAbortsSearch() throws Exception {
+        Board board = new Board();
+        board.initializeBoard();
+        long key = board.getZobristKey();
+        Search search = new Search();
+        SearchLimits limits = new SearchLimits();
+        limits.setInfinite(true);
+
+        SearchResult[] result = new SearchResult[1];
+        Thread thread = new Thread(() -> result[0] = search.search(board, limits));
+        thread.start();
+        Thread.sleep(200);
+        long stopRequested = System.nanoTime();
+        search.getStopSignal().stop();
+        thread.join(5_000);
+        long stopLatencyMillis = (System.nanoTime() - stopRequested) / 1_000_000;
+
+        assertFalse(thread.isAlive());
+        assertTrue(stopLatencyMillis < 100, "Arrêt en " + stopLatencyMillis + " ms");
+        assertNotEquals(Move.NONE, result[0].getBestMove());
+        assertEquals(key, board.getZobristKey());
+        assertEquals(0, board.getUndoDepth());
+    }
+
+    @Test
+    @DisplayName("Une recherche à temps fixe respecte son échéance")
+    void testMoveTimeDeadline() {
+        Board board = new Board();
+        board.initializeBoard();
+        Search search = new Search();
+
+        long start = System.nanoTime();
+        SearchResult result = search.search(board, SearchLimits.moveTime(100));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 300, "Recherche en " + elapsedMillis + " ms");
+        assertNotEquals(Move.NONE, result.getBestMove());
+    }
+}
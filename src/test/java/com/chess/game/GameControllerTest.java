@@ -0,0 +1,281 @@
+package com.chess.game;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import com.chess.game.GameController.MoveResult;
+import com.chess.rules.MoveHistory;
+import com.chess.rules.GameStateChecker.GameState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe GameController.
+ */
+@DisplayName("Tests pour la classe GameController")
+class GameControllerTest {
+    private GameController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new GameController();
+    }
+
+    private MoveResult play(String from, String to) {
+        return controller.applyMove(Fen.parseSquare(from), Fen.parseSquare(to), null);
+    }
+
+    @Test
+    @DisplayName("Coups normaux, refus et mat du berger")
+    void testScholarsMate() {
+        assertEquals(20, controller.legalMoves().size());
+        assertEquals(MoveResult.NO_PIECE, play("e4", "e5"));
+        assertEquals(MoveResult.WRONG_PLAYER, play("e7", "e5"));
+        assertEquals(MoveResult.ILLEGAL, play("e2", "e5"));
+        assertEquals(MoveResult.MOVED, play("e2", "e4"));
+        assertEquals(Color.BLACK, controller.getBoard().getCurrentPlayer());
+        play("e7", "e5");
+        play("f1", "c4");
+        play("b8", "c6");
+        play("d1", "h5");
+        play("g8", "f6");
+        assertEquals(MoveResult.MOVED, play("h5", "f7"));
+        assertEquals(GameState.CHECKMATE, controller.state());
+        assertEquals(7, controller.getMoveHistory().getMoveCount());
+        assertTrue(controller.legalMoves().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Prise en passant : le pion pris est retiré et enregistré")
+    void testEnPassant() {
+        assertEquals(MoveResult.MOVED, play("e2", "e4"));
+        assertEquals(MoveResult.MOVED, play("a7", "a6"));
+        assertEquals(MoveResult.MOVED, play("e4", "e5"));
+        assertEquals(MoveResult.MOVED, play("d7", "d5"));
+        assertEquals(MoveResult.MOVED, play("e5", "d6"));
+        assertNull(controller.getBoard().getPieceAt(Fen.parseSquare("d5")));
+        assertEquals(PieceType.PAWN,
+            controller.getMoveHistory().getMoves().get(4).getCapturedPiece().getType());
+        assertEquals(Color.BLACK, controller.getBoard().getCurrentPlayer());
+    }
+
+    @Test
+    @DisplayName("Roque et promotion")
+    void testCastlingAndPromotion() {
+        controller = new GameController(Fen.parse("4k3/1P6/8/8/8/8/8/4K2R w K - 0 1"));
+        assertEquals(MoveResult.MOVED, play("e1", "g1"));
+        assertEquals(PieceType.ROOK, controller.getBoard().getPieceAt(Fen.parseSquare("f1")).getType());
+        play("e8", "d7");
+
+        Position from = Fen.parseSquare("b7");
+        Position to = Fen.parseSquare("b8");
+        assertTrue(controller.requiresPromotion(from, to));
+        assertEquals(MoveResult.PROMOTION_REQUIRED, controller.applyMove(from, to, null));
+        assertEquals(MoveResult.MOVED, controller.applyMove(from, to, PieceType.KNIGHT));
+        assertEquals(PieceType.KNIGHT, controller.getBoard().getPieceAt(to).getType());
+        assertEquals(Color.BLACK, controller.getBoard().getCurrentPlayer());
+    }
+
+    @Test
+    @DisplayName("Nouvelle partie sur les mêmes objets")
+    void testNewGame() {
+        Board board = controller.getBoard();
+        play("e2", "e4");
+        controller.newGame();
+        assertSame(board, controller.getBoard());
+        assertEquals(Fen.START_POSITION, Fen.toFen(board));
+        assertEquals(0, controller.getMoveHistory().getMoveCount());
+        assertEquals(GameState.ONGOING, controller.state());
+    }
+
+    private static int[] encode(String... uciMoves) {
+        int[] moves = new int[uciMoves.length];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = Move.fromUci(uciMoves[i]);
+        }
+        return moves;
+    }
+
+    @Test
+    @DisplayName("Suite de coups jouée en une passe, arrêt au premier coup illégal")
+    void testApplyMoves() {
+        int[] mate = encode("e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6", "h5f7");
+        assertEquals(-1, controller.applyMoves(mate, mate.length));
+        assertEquals(GameState.CHECKMATE, controller.state());
+        assertEquals(7, controller.getMoveHistory().getMoveCount());
+
+        controller.newGame();
+        int[] illegal = encode("e2e4", "e7e5", "e4e5", "g1f3");
+        assertEquals(2, controller.applyMoves(illegal, illegal.length));
+        assertEquals(2, controller.getMoveHistory().getMoveCount());
+        assertEquals(Color.WHITE, controller.getBoard().getCurrentPlayer());
+
+        // L'historique rempli par lot permet ensuite la prise en passant coup par coup
+        controller.newGame();
+        int[] setup = encode("e2e4", "a7a6", "e4e5", "d7d5");
+        assertEquals(-1, controller.applyMoves(setup, setup.length));
+        assertEquals(MoveResult.MOVED, play("e5", "d6"));
+    }
+
+    @Test
+    @DisplayName("Rejeu d'une partie aléatoire de 200 demi-coups")
+    void testApplyMovesReplay() {
+        Board reference = new Board();
+        reference.initializeBoard();
+        MoveGenerator generator = new MoveGenerator();
+        Random random = new Random(7);
+        int[] moves = new int[200];
+        int count = 0;
+        while (count < moves.length) {
+            MoveList legal = new MoveList();
+            generator.generateLegal(reference, legal);
+            if (legal.size() == 0) {
+                break;
+            }
+            moves[count] = legal.get(random.nextInt(legal.size()));
+            MoveGenerator.makeMove(reference, moves[count++]);
+        }
+        assertEquals(-1, controller.applyMoves(moves, count));
+        assertEquals(Fen.toFen(reference), Fen.toFen(controller.getBoard()));
+        assertEquals(count, controller.getMoveHistory().getMoveCount());
+    }
+
+    @Test
+    @DisplayName("Annulation et rétablissement : prise en passant, promotion avec prise et roque")
+    void testUndoRedoSpecialMoves() {
+        controller = new GameController(Fen.parse("r3k3/1P6/8/8/5p2/8/4P3/4K2R w Kq - 0 1"));
+        Board board = controller.getBoard();
+        String start = Fen.toFen(board);
+        assertNull(controller.undo());
+
+        assertEquals(MoveResult.MOVED, play("e2", "e4"));
+        assertEquals(MoveResult.MOVED, play("f4", "e3"));
+        assertEquals(1, board.getCapturedPieces().size());
+        assertEquals(MoveResult.MOVED, controller.applyMove(Fen.parseSquare("b7"), Fen.parseSquare("a8"), PieceType.ROOK));
+        assertEquals(MoveResult.MOVED, play("e8", "d7"));
+        assertEquals(MoveResult.MOVED, play("e1", "g1"));
+        String end = Fen.toFen(board);
+        assertEquals(2, board.getCapturedPieces().size());
+
+        MoveHistory.Move castling = controller.undo();
+        assertEquals(4, castling.getChangedSquares().size());
+        assertFalse(board.getPieceAt(Fen.parseSquare("e1")).hasMoved());
+        assertFalse(board.getPieceAt(Fen.parseSquare("h1")).hasMoved());
+        controller.undo();
+        MoveHistory.Move promotion = controller.undo();
+        assertEquals(PieceType.ROOK, promotion.getPromotion());
+        assertEquals(PieceType.PAWN, board.getPieceAt(Fen.parseSquare("b7")).getType());
+        Piece rook = board.getPieceAt(Fen.parseSquare("a8"));
+        assertEquals(PieceType.ROOK, rook.getType());
+        assertEquals(Color.BLACK, rook.getColor());
+        MoveHistory.Move enPassant = controller.undo();
+        assertEquals(3, enPassant.getChangedSquares().size());
+        assertEquals(PieceType.PAWN, board.getPieceAt(Fen.parseSquare("e4")).getType());
+        controller.undo();
+        assertEquals(start, Fen.toFen(board));
+        assertTrue(board.getCapturedPieces().isEmpty());
+        assertFalse(controller.canUndo());
+
+        while (controller.canRedo()) {
+            assertNotNull(controller.redo());
+        }
+        assertEquals(end, Fen.toFen(board));
+        assertEquals(5, controller.getMoveHistory().getMoveCount());
+
+        // Jouer après une annulation abandonne les coups à rétablir
+        controller.undo();
+        assertEquals(MoveResult.MOVED, play("h1", "h2"));
+        assertFalse(controller.canRedo());
+    }
+
+    @Test
+    @DisplayName("Annuler toute une partie restaure chaque position")
+    void testUndoRandomGame() {
+        MoveGenerator generator = new MoveGenerator();
+        Random random = new Random(3);
+        java.util.List<String> fens = new java.util.ArrayList<>();
+        Board board = controller.getBoard();
+        fens.add(Fen.toFen(board));
+        for (int ply = 0; ply < 120; ply++) {
+            MoveList legal = new MoveList();
+            generator.generateLegal(board, legal);
+            if (legal.size() == 0) {
+                break;
+            }
+            int move = legal.get(random.nextInt(legal.size()));
+            PieceType promotion = Move.promotion(move);
+            assertEquals(MoveResult.MOVED, controller.applyMove(Move.fromPosition(move), Move.toPosition(move),
+                promotion != null ? promotion : PieceType.QUEEN));
+            fens.add(Fen.toFen(board));
+        }
+        for (int ply = fens.size() - 1; ply > 0; ply--) {
+            assertNotNull(controller.undo());
+            assertEquals(fens.get(ply - 1), Fen.toFen(board), "demi-coup " + ply);
+        }
+        for (int ply = 1; ply < fens.size(); ply++) {
+            controller.redo();
+            assertEquals(fens.get(ply), Fen.toFen(board), "demi-coup " + ply);
+        }
+    }
+
+    @Test
+    @DisplayName("Copie indépendante pour la validation hors du thread de l'interface")
+    void testCopy() {
+        assertEquals(MoveResult.MOVED, play("e2", "e4"));
+        assertEquals(MoveResult.MOVED, play("a7", "a6"));
+        assertEquals(MoveResult.MOVED, play("e4", "e5"));
+        assertEquals(MoveResult.MOVED, play("d7", "d5"));
+        String fen = Fen.toFen(controller.getBoard());
+
+        GameController copy = controller.copy();
+        assertEquals(fen, Fen.toFen(copy.getBoard()));
+        assertEquals(4, copy.getMoveHistory().getMoveCount());
+        // La prise en passant dépend de l'historique, qui doit être copié
+        assertEquals(MoveResult.MOVED, copy.applyMove(Fen.parseSquare("e5"), Fen.parseSquare("d6"), null));
+        assertEquals(GameState.ONGOING, copy.state());
+        assertEquals(fen, Fen.toFen(controller.getBoard()));
+        assertEquals(4, controller.getMoveHistory().getMoveCount());
+
+        controller.applyValidatedMove(Fen.parseSquare("e5"), Fen.parseSquare("d6"), null);
+        assertEquals(Fen.toFen(copy.getBoard()), Fen.toFen(controller.getBoard()));
+        assertNull(controller.getBoard().getPieceAt(Fen.parseSquare("d5")));
+        assertNotNull(controller.undo());
+        assertEquals(fen, Fen.toFen(controller.getBoard()));
+    }
+
+    @Test
+    @DisplayName("Coups légaux regroupés par case de départ et mis en cache par position")
+    void testLegalMoveMap() {
+        LegalMoveMap start = controller.legalMoveMap();
+        assertEquals(20, start.size());
+        long e2 = start.getTargets(Fen.parseSquare("e2"));
+        assertEquals(2, Long.bitCount(e2));
+        assertTrue(start.isLegal(Fen.parseSquare("e2"), Fen.parseSquare("e4")));
+        assertFalse(start.isLegal(Fen.parseSquare("e2"), Fen.parseSquare("e5")));
+        assertEquals(0L, start.getTargets(Fen.parseSquare("e7")));
+        assertSame(start, controller.legalMoveMap());
+
+        assertEquals(MoveResult.MOVED, play("g1", "f3"));
+        LegalMoveMap afterMove = controller.legalMoveMap();
+        assertNotSame(start, afterMove);
+        assertSame(afterMove, controller.copy().legalMoveMap());
+        controller.undo();
+        assertSame(start, controller.legalMoveMap());
+
+        // Les cases d'arrivée coïncident avec celles du validateur de règles
+        for (int index = 0; index < 64; index++) {
+            Position from = Position.of(index / 8, index % 8);
+            long expected = 0L;
+            for (Position to : controller.legalMoves(from)) {
+                expected |= 1L << to.getIndex();
+            }
+            assertEquals(expected, start.getTargets(from), "case " + from);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.chess.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le tri externe.
+ */
+@DisplayName("Tests pour la classe ExternalSorter")
+class ExternalSorterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Tri et combinaison sur plusieurs runs et plusieurs threads")
+    void testSortAndCombine() throws Exception {
+        // Clés négatives comprises : l'ordre attendu est celui des entiers non signés
+        TreeMap<String, Long> expected = new TreeMap<>();
+        List<long[]> merged = new ArrayList<>();
+        try (ExternalSorter sorter = new ExternalSorter(directory, 37)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                ExternalSorter.Writer writer = sorter.newWriter();
+                SplittableRandom random = new SplittableRandom(t);
+                long[][] records = new long[2000][];
+                for (int i = 0; i < records.length; i++) {
+                    long key = random.nextLong(50) - 25;
+                    long value = random.nextLong(3);
+                    records[i] = new long[] {key, value};
+                }
+                synchronized (expected) {
+                    for (long[] record : records) {
+                        expected.merge(Long.toUnsignedString(record[0]) + "/" + record[1], 2L, Long::sum);
+                    }
+                }
+                Thread thread = new Thread(() -> {
+                    for (long[] record : records) {
+                        writer.add(record[0], record[1], 2);
+                    }
+                    writer.flush();
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(sorter.getRunCount() > 4);
+
+            sorter.merge((key, value, weight) -> merged.add(new long[] {key, value, weight}));
+        }
+
+        assertMerged(expected, merged, 4 * 2000 * 2);
+    }
+
+    @Test
+    @DisplayName("Fusion en plusieurs passes quand les runs dépassent le degré de fusion")
+    void testMultiPassMerge() throws Exception {
+        TreeMap<String, Long> expected = new TreeMap<>();
+        List<long[]> merged = new ArrayList<>();
+        long[] filesDuringFinalPass = new long[1];
+        try (ExternalSorter sorter = new ExternalSorter(directory, 3, 4)) {
+            ExternalSorter.Writer writer = sorter.newWriter();
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < 1000; i++) {
+                long key = random.nextLong(200) - 100;
+                long value = random.nextLong(2);
+                long weight = 1 + random.nextLong(5);
+                expected.merge(Long.toUnsignedString(key) + "/" + value, weight, Long::sum);
+                writer.add(key, value, weight);
+            }
+            writer.flush();
+            assertTrue(sorter.getRunCount() > 4 * 4 * 4);
+
+            sorter.merge((key, value, weight) -> {
+                if (merged.isEmpty()) {
+                    try (var files = Files.list(directory)) {
+                        filesDuringFinalPass[0] = files.count();
+                    }
+                }
+                merged.add(new long[] {key, value, weight});
+            });
+        }
+
+        // Les passes intermédiaires ont supprimé leurs entrées : la dernière lit au plus 4 runs
+        assertTrue(filesDuringFinalPass[0] <= 4, "runs restants : " + filesDuringFinalPass[0]);
+        assertMerged(expected, merged, expected.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private void assertMerged(TreeMap<String, Long> expected, List<long[]> merged, long expectedTotal)
+            throws IOException {
+        assertEquals(expected.size(), merged.size());
+        long total = 0;
+        for (int i = 0; i < merged.size(); i++) {
+            long[] record = merged.get(i);
+            assertEquals(expected.get(Long.toUnsignedString(record[0]) + "/" + record[1]), record[2]);
+            total += record[2];
+            if (i > 0) {
+                long[] previous = merged.get(i - 1);
+                int byKey = Long.compareUnsigned(previous[0], record[0]);
+                assertTrue(byKey < 0 || (byKey == 0 && previous[1] < record[1]));
+            }
+        }
+        assertEquals(expectedTotal, total);
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.chess.metrics;
+
+import com.chess.board.Position;
+import com.chess.engine.Search;
+import com.chess.game.GameController;
+import com.chess.rules.MoveValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des points de mesure activés. Exécutés seuls, dans la JVM de l'exécution surefire
+ * « metrics » lancée avec -Dchess.metrics=true (voir pom.xml).
+ */
+@DisplayName("Tests des mesures activées par -Dchess.metrics=true")
+class MetricsEnabledTest {
+
+    @BeforeEach
+    void setUp() {
+        assertTrue(Metrics.ENABLED, "exécuter avec -Dchess.metrics=true");
+        Metrics.reset();
+    }
+
+    @Test
+    @DisplayName("Validation des coups et tests d'échec")
+    void testValidatorMetrics() {
+        GameController controller = new GameController();
+        MoveValidator validator = new MoveValidator(controller.getBoard(), controller.getMoveHistory());
+        assertTrue(validator.isValidMove(Position.of(1, 4), Position.of(3, 4)));
+        assertEquals(2, validator.getValidMoves(Position.of(0, 6)).length);
+
+        // getValidMoves repasse chacun de ses deux candidats par isValidMove
+        assertEquals(3, Metrics.Counter.VALIDATOR_CALLS.get());
+        assertEquals(2, Metrics.Counter.VALIDATOR_CANDIDATES.get());
+        assertTrue(Metrics.Counter.WOULD_BE_IN_CHECK_TESTS.get() >= 3);
+        assertEquals(3, Metrics.Timer.VALIDATOR_IS_VALID_MOVE.getHistogram().getCount());
+        assertEquals(1, Metrics.Timer.VALIDATOR_GET_VALID_MOVES.getHistogram().getCount());
+    }
+
+    @Test
+    @DisplayName("État de partie et cache des coups légaux")
+    void testGameStateMetrics() {
+        GameController controller = new GameController();
+        controller.legalMoveMap();
+        controller.legalMoveMap();
+        controller.state();
+
+        assertEquals(1, Metrics.Counter.LEGAL_MOVE_CACHE_MISSES.get());
+        assertEquals(1, Metrics.Counter.LEGAL_MOVE_CACHE_HITS.get());
+        assertEquals(0.5, Metrics.getLegalMoveCacheHitRate(), 1e-9);
+        assertEquals(1, Metrics.Counter.GAME_STATE_CALLS.get());
+        assertEquals(1, Metrics.Timer.GAME_STATE.getHistogram().getCount());
+        assertTrue(Metrics.Counter.CHECK_TESTS.get() > 0);
+    }
+
+    @Test
+    @DisplayName("Génération des coups et table de transposition pendant la recherche")
+    void testSearchMetrics() {
+        GameController controller = new GameController();
+        new Search().search(controller.getBoard(), 4);
+
+        assertTrue(Metrics.Counter.GENERATOR_MOVES.get() > 20);
+        assertTrue(Metrics.Counter.TRANSPOSITION_PROBES.get() > 0);
+        assertTrue(Metrics.Counter.TRANSPOSITION_HITS.get() > 0);
+        assertTrue(Metrics.Counter.TRANSPOSITION_HITS.get() <= Metrics.Counter.TRANSPOSITION_PROBES.get());
+        assertTrue(Metrics.dump().contains("transpositionTable.probes " + Metrics.Counter.TRANSPOSITION_PROBES.get()));
+    }
+}
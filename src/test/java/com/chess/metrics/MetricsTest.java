@@ -0,0 +1,94 @@
+package com.chess.metrics;
+
+import com.chess.game.GameController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les mesures du moteur de règles.
+ */
+@DisplayName("Tests pour les classes Metrics et LatencyHistogram")
+class MetricsTest {
+
+    @Test
+    @DisplayName("Intervalles contigus et centiles à 1/16 près")
+    void testLatencyHistogram() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            long value = (random.nextLong() & Long.MAX_VALUE) >>> random.nextInt(63);
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBound(index));
+            assertTrue(index == 0 || value > LatencyHistogram.upperBound(index - 1));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos * 100);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(500_050, histogram.getMean(), 1e-6);
+        assertEquals(1_000_000, histogram.getMax());
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 17 / 16, "médiane " + median);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Désactivées par défaut : les points de mesure ne comptent rien")
+    void testDisabledByDefault() {
+        assertFalse(Metrics.ENABLED);
+        Metrics.reset();
+        GameController controller = new GameController();
+        controller.legalMoveMap();
+        controller.legalMoveMap();
+        controller.state();
+        for (long value : Metrics.counters().values()) {
+            assertEquals(0, value);
+        }
+        assertEquals(0, Metrics.Timer.GAME_STATE.getHistogram().getCount());
+    }
+
+    @Test
+    @DisplayName("Relevé textuel et publication JMX")
+    void testDumpAndJmx() throws Exception {
+        Metrics.reset();
+        Metrics.Counter.LEGAL_MOVE_CACHE_HITS.add(3);
+        Metrics.Counter.LEGAL_MOVE_CACHE_MISSES.increment();
+        Metrics.Timer.GAME_STATE.getHistogram().record(1234);
+        assertEquals(0.75, Metrics.getLegalMoveCacheHitRate(), 1e-9);
+        assertEquals(3L, Metrics.counters().get("legalMoveCache.hits"));
+
+        String dump = Metrics.dump();
+        assertTrue(dump.contains("legalMoveCache.hits 3"));
+        assertTrue(dump.contains("gameState.getGameState count=1"));
+
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals(0.75, (Double) server.getAttribute(name, "LegalMoveCacheHitRate"), 1e-9);
+        assertEquals(Boolean.FALSE, server.getAttribute(name, "Enabled"));
+        TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+        assertEquals(Metrics.Counter.values().length, counters.size());
+        assertTrue(((String) server.invoke(name, "dump", null, null)).contains("legalMoveCache.hits 3"));
+        assertFalse(Metrics.dump().contains("metrics.jmxError"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0, Metrics.Counter.LEGAL_MOVE_CACHE_HITS.get());
+        assertEquals(0, Metrics.Timer.GAME_STATE.getHistogram().getCount());
+    }
+}
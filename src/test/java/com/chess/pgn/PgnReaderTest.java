@@ -0,0 +1,89 @@
+package com.chess.pgn;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la lecture PGN et la notation SAN.
+ */
+@DisplayName("Tests pour les classes PgnReader et SanParser")
+class PgnReaderTest {
+
+    private static final String PGN = """
+        [Event "Test"]
+        [White "Alice"]
+        [Black "Bob"]
+        [Result "1-0"]
+
+        1. e4 {ouverture} e5 2. Nf3 (2. f4 exf4 {gambit}) Nc6 $1 3. Bb5 a6 4.Ba4 Nf6
+        5. O-O Be7 ; commentaire de fin de ligne
+        6. Re1 b5 7. Bb3 d6 8. c3 O-O 1-0
+
+        [Event "Test 2"]
+        [Result "*"]
+
+        1. d4 d5 *
+        """;
+
+    @Test
+    @DisplayName("Lecture des en-têtes, coups et résultats")
+    void testReadGames() throws IOException {
+        try (PgnReader reader = new PgnReader(new StringReader(PGN))) {
+            PgnGame first = reader.nextGame();
+            assertEquals("Alice", first.getTag("White"));
+            assertEquals(PgnGame.WHITE_WINS, first.getResult());
+            assertEquals(16, first.getMoves().size());
+            assertEquals("Nc6", first.getMoves().get(3));
+            assertEquals("Ba4", first.getMoves().get(6));
+
+            PgnGame second = reader.nextGame();
+            assertEquals(PgnGame.UNKNOWN, second.getResult());
+            assertEquals(2, second.getMoves().size());
+            assertNull(reader.nextGame());
+        }
+    }
+
+    @Test
+    @DisplayName("Rejeu des coups SAN, roques compris")
+    void testReplaySan() throws IOException {
+        PgnGame game = new PgnReader(new StringReader(PGN)).nextGame();
+        Board board = new Board();
+        board.initializeBoard();
+        SanParser parser = new SanParser();
+        for (String san : game.getMoves()) {
+            int move = parser.parse(board, san);
+            assertNotEquals(Move.NONE, move, san);
+            assertEquals(san, parser.toSan(board, move));
+            MoveGenerator.makeMove(board, move);
+        }
+        assertEquals(PieceType.KING, board.getPieceAt(0, 6).getType());
+        assertEquals(PieceType.KING, board.getPieceAt(7, 6).getType());
+    }
+
+    @Test
+    @DisplayName("Désambiguïsation, promotion et coups invalides")
+    void testAmbiguityAndPromotion() {
+        Board board = Fen.parse("4k3/1P6/8/8/8/8/8/4KN1N w - - 0 1");
+        SanParser parser = new SanParser();
+
+        assertEquals(Move.NONE, parser.parse(board, "Ng3"));
+        int move = parser.parse(board, "Nhg3");
+        assertEquals(Move.encode(Position.of(0, 7), Position.of(2, 6), null), move);
+        assertEquals("Nhg3", parser.toSan(board, move));
+
+        int promotion = parser.parse(board, "b8=N+");
+        assertEquals(PieceType.KNIGHT, Move.promotion(promotion));
+        assertEquals("b8=N", parser.toSan(board, promotion));
+
+        assertEquals(Move.NONE, parser.parse(board, "Qd4"));
+        assertEquals(Move.NONE, parser.parse(board, "zz"));
+    }
+}
@@ -123,4 +123,33 @@ class GameStateCheckerTest {
         // Au début de la partie, les blancs devraient avoir des coups valides
         assertTrue(gameStateChecker.hasValidMoves(Color.WHITE));
     }
+    
+    @Test
+    @DisplayName("Règle des 50 coups : 100 demi-coups sans prise ni coup de pion")
+    void testFiftyMoveRule() {
+        board = Fen.parse("4k3/8/8/8/8/8/4P3/R3K3 w - - 98 1");
+        moveValidator = new MoveValidator(board, moveHistory);
+        gameStateChecker = new GameStateChecker(board, moveValidator);
+        
+        board.makeMove(new Position(0, 0), new Position(0, 1), null);
+        assertEquals(GameStateChecker.GameState.ONGOING, gameStateChecker.getGameState(moveHistory));
+        board.makeMove(new Position(7, 4), new Position(7, 3), null);
+        assertEquals(GameStateChecker.GameState.DRAW, gameStateChecker.getGameState(moveHistory));
+        
+        board.unmakeMove();
+        board.makeMove(new Position(7, 4), new Position(7, 5), null);
+        board.makeMove(new Position(1, 4), new Position(2, 4), null);
+        assertEquals(GameStateChecker.GameState.ONGOING, gameStateChecker.getGameState(moveHistory),
+                     "un coup de pion remet le compteur à zéro");
+    }
+    
+    @Test
+    @DisplayName("Calcul de l'état interrompu par le signal d'arrêt")
+    void testCancelledGameState() {
+        StopSignal stopSignal = new StopSignal();
+        assertEquals(GameStateChecker.GameState.ONGOING, gameStateChecker.getGameState(moveHistory, stopSignal));
+        stopSignal.stop();
+        assertThrows(java.util.concurrent.CancellationException.class,
+                     () -> gameStateChecker.getGameState(moveHistory, stopSignal));
+    }
 }
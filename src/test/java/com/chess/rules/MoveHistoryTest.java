@@ -0,0 +1,97 @@
+package com.chess.rules;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les instantanés et le positionnement (seek) de MoveHistory.
+ */
+@DisplayName("Tests pour les instantanés de MoveHistory")
+class MoveHistoryTest {
+
+    private static void play(Board board, MoveHistory history, int move) {
+        Position from = Move.fromPosition(move);
+        Position to = Move.toPosition(move);
+        Piece piece = board.getPieceAt(from);
+        Piece captured = MoveGenerator.isEnPassant(board, move)
+            ? board.getPieceAt(from.getRow(), to.getColumn())
+            : board.getPieceAt(to);
+        MoveGenerator.makeMove(board, move);
+        history.addMove(from, to, piece, captured, board);
+    }
+
+    @Test
+    @DisplayName("Seek vers chaque demi-coup d'une partie aléatoire")
+    void testSeekRandomGame() {
+        Board board = new Board();
+        board.initializeBoard();
+        MoveHistory history = new MoveHistory(8);
+        MoveGenerator generator = new MoveGenerator();
+        Random random = new Random(11);
+        List<String> fens = new ArrayList<>();
+        fens.add(Fen.toFen(board));
+        for (int ply = 0; ply < 150; ply++) {
+            MoveList legal = new MoveList();
+            generator.generateLegal(board, legal);
+            if (legal.size() == 0) {
+                break;
+            }
+            play(board, history, legal.get(random.nextInt(legal.size())));
+            fens.add(Fen.toFen(board));
+        }
+        int count = history.getMoveCount();
+        assertEquals(count / 8 + 1, history.getCheckpointCount());
+
+        Board viewer = new Board();
+        for (int ply = count; ply >= 0; ply--) {
+            history.seek(ply, viewer);
+            assertEquals(fens.get(ply), Fen.toFen(viewer), "demi-coup " + ply);
+        }
+        history.seek(count, viewer);
+        assertEquals(BoardSnapshot.of(board), BoardSnapshot.of(viewer));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.seek(count + 1, viewer));
+    }
+
+    @Test
+    @DisplayName("Seek depuis une position de départ FEN, avec promotion et roque")
+    void testSeekFromFen() {
+        Board board = Fen.parse("4k3/1P6/8/8/8/8/8/R3K2R w KQ - 0 1");
+        MoveHistory history = new MoveHistory(2);
+        history.start(board);
+        String start = Fen.toFen(board);
+        play(board, history, Move.fromUci("b7b8n"));
+        assertEquals(PieceType.KNIGHT, history.getMoves().get(0).getPromotion());
+        play(board, history, Move.fromUci("e8e7"));
+        play(board, history, Move.fromUci("e1g1"));
+        String end = Fen.toFen(board);
+        assertSame(history.getMoves().get(2), history.getLastMove());
+        assertEquals(4, history.getLastMove().getChangedSquares().size());
+
+        Board viewer = new Board();
+        history.seek(0, viewer);
+        assertEquals(start, Fen.toFen(viewer));
+        history.seek(1, viewer);
+        assertEquals(PieceType.KNIGHT, viewer.getPieceAt(Fen.parseSquare("b8")).getType());
+        history.seek(3, viewer);
+        assertEquals(end, Fen.toFen(viewer));
+        assertTrue(viewer.getPieceAt(Fen.parseSquare("g1")).hasMoved());
+
+        history.clear();
+        assertNull(history.getLastMove());
+        assertEquals(1, history.getCheckpointCount());
+        history.seek(0, viewer);
+        Board initial = new Board();
+        initial.initializeBoard();
+        assertEquals(Fen.toFen(initial), Fen.toFen(viewer));
+    }
+}
@@ -105,4 +105,15 @@ class MoveValidatorTest {
         // Le pion blanc devrait pouvoir capturer le pion noir
         assertTrue(moveValidator.isValidMove(new Position(3, 3), new Position(4, 4)));
     }
+
+    @Test
+    @DisplayName("L'énumération des coups est interrompue par le signal d'arrêt")
+    void testGetAllValidMovesCancellation() {
+        StopSignal stopSignal = new StopSignal();
+        assertEquals(20, moveValidator.getAllValidMoves(Color.WHITE, stopSignal).size());
+
+        stopSignal.stop();
+        assertThrows(java.util.concurrent.CancellationException.class,
+            () -> moveValidator.getAllValidMoves(Color.WHITE, stopSignal));
+    }
 }
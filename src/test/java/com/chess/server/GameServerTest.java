@@ -0,0 +1,159 @@
+package com.chess.server;
+
+import com.chess.board.Fen;
+import com.chess.rules.GameStateChecker.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le serveur de parties.
+ */
+@DisplayName("Tests pour les classes GameServer, SessionRegistry et SessionPool")
+class GameServerTest {
+    private static final String[] SCHOLARS_MATE = {"e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6", "h5f7"};
+    // 70 demi-coups sans prise, échec ni répétition : la partie reste en cours
+    static final String[] LONG_GAME = (
+        "a2a4 e7e6 a1a3 b7b6 d2d4 c8b7 c2c3 e6e5 e2e3 d7d5 a3a1 g8h6 e3e4 d8c8 b1d2 c8d7 c3c4 b7c6 "
+        + "a1a2 f8d6 f2f4 d6c5 d1c2 b6b5 f1d3 a7a6 a4a5 c5a3 h2h3 a3d6 g1f3 d7c8 g2g3 b8d7 e1e2 f7f6 "
+        + "c2b3 b5b4 e2f1 g7g5 f1g1 c8d8 d3e2 d6e7 d2f1 d7f8 g1g2 a8b8 a2a3 c6d7 c4c5 d7b5 e2d3 f6f5 "
+        + "d3c2 d8d7 c2d1 d7d6 a3a4 h6f7 c1d2 d6d7 b3a3 e7d8 h3h4 b8b7 f1h2 d7e7 f3g1 b7b8").split(" ");
+
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = new GameServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Protocole en mémoire : coups légaux, illégaux et fin de partie")
+    void testExecute() {
+        assertEquals("game 1", server.execute("new"));
+        assertEquals("ok ONGOING", server.execute("move 1 e2e4"));
+        assertEquals("illegal", server.execute("move 1 e2e4"));
+        assertEquals("fen rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", server.execute("fen 1"));
+        assertTrue(server.execute("move 1 zz").startsWith("error"));
+        assertTrue(server.execute("move 2 e2e4").startsWith("error"));
+        assertEquals("game 2", server.execute("new"));
+        assertEquals("ok CHECKMATE", server.execute("moves 2 " + String.join(" ", SCHOLARS_MATE)));
+        assertEquals("game 3", server.execute("new"));
+        assertEquals("illegal 1", server.execute("moves 3 e2e4 e2e4 e7e5"));
+        assertEquals("ended", server.execute("end 1"));
+        assertTrue(server.execute("state 1").startsWith("error"));
+    }
+
+    @Test
+    @DisplayName("Une partie de plus de 50 demi-coups accepte toujours les coups")
+    void testLongGame() {
+        assertEquals("game 1", server.execute("new"));
+        for (String move : LONG_GAME) {
+            assertEquals("ok ONGOING", server.execute("move 1 " + move), move);
+        }
+        assertEquals("fen 1r1bkn1r/2p1qn1p/p7/PbPpppp1/Rp1PPP1P/Q5P1/1P1B2KN/3B2NR w k - 5 1",
+                     server.execute("fen 1"));
+    }
+
+    @Test
+    @DisplayName("Les sessions terminées sont réutilisées en position de départ")
+    void testPooling() {
+        SessionRegistry registry = server.getRegistry();
+        GameSession first = registry.create();
+        play(first);
+        assertEquals(GameState.CHECKMATE, first.getState());
+        assertNull(first.play("a2a3"), "partie terminée");
+        long firstId = first.getId();
+        registry.end(firstId);
+
+        GameSession second = registry.create();
+        assertSame(first, second);
+        assertNotEquals(firstId, second.getId());
+        assertEquals(Fen.START_POSITION, second.getFen());
+        assertEquals(0, second.getMoveCount());
+        assertNull(second.play(firstId, "e2e4"), "coup destiné à l'ancienne partie");
+        assertEquals(1, registry.getPool().getCreatedCount());
+        assertEquals(1, registry.getPool().getReusedCount());
+    }
+
+    @Test
+    @DisplayName("Parties simultanées sur plusieurs threads")
+    void testConcurrentGames() throws Exception {
+        SessionRegistry registry = server.getRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GameState>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                results.add(executor.submit(() -> {
+                    GameSession session = registry.create();
+                    GameState state = play(session);
+                    registry.end(session.getId());
+                    return state;
+                }));
+            }
+            for (Future<GameState> result : results) {
+                assertEquals(GameState.CHECKMATE, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, registry.size());
+        assertTrue(registry.getPool().getCreatedCount() <= 400);
+        assertEquals(400, registry.getPool().getCreatedCount() + registry.getPool().getReusedCount());
+    }
+
+    private static GameState play(GameSession session) {
+        GameState state = null;
+        for (String move : SCHOLARS_MATE) {
+            state = session.play(move);
+            assertNotNull(state, move);
+        }
+        return state;
+    }
+
+    @Test
+    @DisplayName("Deux connexions jouent la même partie par socket")
+    void testSocket() throws IOException {
+        int port = server.listen(0);
+        try (Socket white = new Socket(InetAddress.getLoopbackAddress(), port);
+             Socket black = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter whiteOut = new PrintWriter(white.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader whiteIn = new BufferedReader(new InputStreamReader(white.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter blackOut = new PrintWriter(black.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader blackIn = new BufferedReader(new InputStreamReader(black.getInputStream(), StandardCharsets.UTF_8));
+
+            whiteOut.println("new");
+            String id = whiteIn.readLine().substring("game ".length());
+            for (int i = 0; i < SCHOLARS_MATE.length; i++) {
+                PrintWriter out = i % 2 == 0 ? whiteOut : blackOut;
+                BufferedReader in = i % 2 == 0 ? whiteIn : blackIn;
+                out.println("move " + id + " " + SCHOLARS_MATE[i]);
+                assertTrue(in.readLine().startsWith("ok"));
+            }
+            blackOut.println("state " + id);
+            assertEquals("state CHECKMATE", blackIn.readLine());
+            whiteOut.println("quit");
+            assertNull(whiteIn.readLine());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.chess.server;
+
+import com.chess.board.Fen;
+import com.chess.engine.Move;
+import com.chess.game.GameController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le journal des coups.
+ */
+@DisplayName("Tests pour la classe MoveJournal")
+class MoveJournalTest {
+    private static final String[] OPENING = {"e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Les parties en cours sont reconstituées, les parties terminées oubliées")
+    void testRecover() throws Exception {
+        Path path = directory.resolve("moves.journal");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (MoveJournal journal = new MoveJournal(path, 5)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long first = t * 100L;
+                tasks.add(executor.submit(() -> {
+                    for (long id = first; id < first + 100; id++) {
+                        journal.start(id, id % 10 == 1 ? "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1" : null);
+                        for (int ply = 0; ply < OPENING.length; ply++) {
+                            journal.move(id, ply, Move.fromUci(OPENING[ply]));
+                        }
+                        if (id % 3 == 0) {
+                            journal.undo(id, 4);
+                        }
+                        if (id % 7 == 0) {
+                            journal.end(id);
+                        }
+                        if (id % 50 == 0) {
+                            journal.sync();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            journal.sync();
+            assertTrue(journal.getSyncCount() > 0);
+        } finally {
+            executor.shutdown();
+        }
+
+        List<MoveJournal.Game> games = MoveJournal.recover(path);
+        assertEquals(400 - 58, games.size());
+        for (MoveJournal.Game game : games) {
+            long id = game.getId();
+            assertNotEquals(0, id % 7);
+            assertEquals(id % 10 == 1 ? "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1" : null, game.getStartFen());
+            assertEquals(id % 3 == 0 ? 4 : OPENING.length, game.getMoves().length);
+            assertEquals(Move.fromUci("e2e4"), game.getMoves()[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Un enregistrement interrompu par l'arrêt est retiré à la relecture")
+    void testTornRecord() throws IOException {
+        Path path = directory.resolve("torn.journal");
+        try (MoveJournal journal = new MoveJournal(path)) {
+            journal.start(1, null);
+            journal.move(1, 0, Move.fromUci("e2e4"));
+            journal.move(1, 1, Move.fromUci("e7e5"));
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        List<MoveJournal.Game> games = MoveJournal.recover(path);
+        assertEquals(1, games.size());
+        assertArrayEquals(new int[] {Move.fromUci("e2e4")}, games.get(0).getMoves());
+        assertTrue(Files.size(path) < size - 3);
+
+        // Les ajouts suivants reprennent après le dernier enregistrement complet
+        try (MoveJournal journal = new MoveJournal(path)) {
+            journal.move(1, 1, Move.fromUci("c7c5"));
+        }
+        assertArrayEquals(new int[] {Move.fromUci("e2e4"), Move.fromUci("c7c5")},
+                          MoveJournal.recover(path).get(0).getMoves());
+    }
+
+    @Test
+    @DisplayName("Un serveur redémarré retrouve ses parties en cours, annulations comprises")
+    void testServerRestart() throws IOException {
+        Path path = directory.resolve("server.journal");
+        String fenAfterRestart;
+        try (MoveJournal journal = new MoveJournal(path)) {
+            SessionRegistry registry = new SessionRegistry(new SessionPool(10), journal);
+            GameServer server = new GameServer(Executors.newSingleThreadExecutor(), registry);
+            assertEquals("game 1", server.execute("new"));
+            assertEquals("game 2", server.execute("new"));
+            assertEquals("game 3", server.execute("new"));
+            assertEquals("ok ONGOING", server.execute("moves 1 " + String.join(" ", OPENING)));
+            assertEquals("ok ONGOING", server.execute("moves 2 d2d4 d7d5"));
+            assertEquals("ended", server.execute("end 2"));
+            assertEquals("ok ONGOING", server.execute("move 3 c2c4"));
+            fenAfterRestart = server.execute("fen 1");
+            server.close();
+        }
+
+        // Une partie pilotée hors du serveur : son historique est journalisé par l'observateur
+        try (MoveJournal journal = new MoveJournal(path)) {
+            GameController controller = new GameController(Fen.parse("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1"));
+            controller.getMoveHistory().setListener(journal.listener(9));
+            controller.getMoveHistory().start(controller.getBoard());
+            assertEquals(-1, controller.applyMoves(new int[] {Move.fromUci("e2e4"), Move.fromUci("e8d7")}, 2));
+            assertNotNull(controller.undo());
+        }
+
+        List<MoveJournal.Game> games = MoveJournal.recover(path);
+        assertEquals(3, games.size());
+        try (MoveJournal journal = new MoveJournal(path)) {
+            SessionRegistry registry = new SessionRegistry(new SessionPool(10), journal);
+            assertEquals(0, registry.recover(games, 2));
+            GameServer server = new GameServer(Executors.newSingleThreadExecutor(), registry);
+            assertEquals(fenAfterRestart, server.execute("fen 1"));
+            assertTrue(server.execute("fen 2").startsWith("error"));
+            assertEquals("fen rnbqkbnr/pppppppp/8/8/2P5/8/PP1PPPPP/RNBQKBNR b KQkq c3 0 1", server.execute("fen 3"));
+            assertEquals("fen 4k3/8/8/8/4P3/8/8/4K3 b - e3 0 1", server.execute("fen 9"));
+            assertEquals("game 10", server.execute("new"));
+            assertEquals("ok ONGOING", server.execute("move 3 e7e5"));
+            server.close();
+        }
+
+        // Le coup joué après la reconstitution est lui aussi journalisé
+        for (MoveJournal.Game game : MoveJournal.recover(path)) {
+            if (game.getId() == 3) {
+                assertEquals(2, game.getMoves().length);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Une longue partie reconstituée accepte toujours les coups")
+    void testRecoverLongGame() throws IOException {
+        Path path = directory.resolve("long.journal");
+        String[] moves = GameServerTest.LONG_GAME;
+        try (MoveJournal journal = new MoveJournal(path)) {
+            SessionRegistry registry = new SessionRegistry(new SessionPool(2), journal);
+            GameServer server = new GameServer(Executors.newSingleThreadExecutor(), registry);
+            assertEquals("game 1", server.execute("new"));
+            String[] head = Arrays.copyOf(moves, moves.length - 2);
+            assertEquals("ok ONGOING", server.execute("moves 1 " + String.join(" ", head)));
+            server.close();
+        }
+
+        try (MoveJournal journal = new MoveJournal(path)) {
+            SessionRegistry registry = new SessionRegistry(new SessionPool(2), journal);
+            assertEquals(0, registry.recover(MoveJournal.recover(path), 1));
+            GameServer server = new GameServer(Executors.newSingleThreadExecutor(), registry);
+            assertEquals("state ONGOING", server.execute("state 1"));
+            assertEquals("ok ONGOING", server.execute("move 1 " + moves[moves.length - 2]));
+            assertEquals("ok ONGOING", server.execute("move 1 " + moves[moves.length - 1]));
+            server.close();
+        }
+        assertEquals(GameServerTest.LONG_GAME.length, MoveJournal.recover(path).get(0).getMoves().length);
+    }
+}
@@ -0,0 +1,104 @@
+package com.chess.stats;
+
+import com.chess.board.Color;
+import com.chess.board.PieceType;
+import com.chess.rules.GameStateChecker.GameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le calcul des statistiques de parties.
+ */
+@DisplayName("Tests pour les classes StatisticsPipeline et GameStatistics")
+class StatisticsPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Statistiques par ouverture, joueur et pièce, identiques quel que soit le nombre de threads")
+    void testRun() throws IOException {
+        Path first = directory.resolve("a.pgn");
+        Path second = directory.resolve("b.pgn");
+        StringBuilder games = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            games.append("[ECO \"C20\"]\n[White \"Alice\"]\n[Black \"Bob\"]\n[Result \"1-0\"]\n\n"
+                         + "1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0\n\n");
+            if (i < 20) {
+                games.append("[ECO \"B20\"]\n[White \"Bob\"]\n[Black \"Carol\"]\n[Result \"0-1\"]\n\n"
+                             + "1. e4 c5 2. d4 cxd4 3. Qxd4 Nc6 0-1\n\n");
+            }
+        }
+        Files.writeString(first, games);
+        Files.writeString(second, "[FEN \"k7/8/2Q5/8/8/8/8/K7 w - - 0 1\"]\n[Result \"1/2-1/2\"]\n\n1. Qb6 1/2-1/2\n\n"
+                                  + "[Result \"*\"]\n\n1. e4 Ke4 *\n");
+
+        StatisticsPipeline pipeline = new StatisticsPipeline(3);
+        GameStatistics statistics = pipeline.run(List.of(first, second));
+        assertEquals(1, pipeline.getGamesRejected());
+        assertEquals(51, statistics.getGameCount());
+        assertEquals(30 * 7 + 20 * 6 + 1, statistics.getPlyCount());
+        assertEquals(7, statistics.getLengthPercentile(50));
+        assertEquals(1, statistics.getLengthPercentile(0));
+
+        assertEquals(30, statistics.getTerminationCount(GameState.CHECKMATE));
+        assertEquals(1, statistics.getTerminationCount(GameState.STALEMATE));
+        assertEquals(20, statistics.getTerminationCount(GameState.ONGOING));
+        assertEquals(50, statistics.getCaptureCount(Color.BLACK, PieceType.PAWN));
+        assertEquals(20, statistics.getCaptureCount(Color.WHITE, PieceType.PAWN));
+        assertEquals(0, statistics.getCaptureCount(Color.WHITE, PieceType.QUEEN));
+        assertEquals(30, statistics.getCheckCount());
+        assertEquals(30, statistics.getGamesWithCheck());
+        assertEquals(30.0 / 331, statistics.getCheckFrequency(), 1e-9);
+
+        GameStatistics.Tally c20 = statistics.getOpenings().get("C20");
+        assertEquals(30, c20.getGames());
+        assertEquals(1.0, c20.getScore(), 1e-9);
+        assertEquals(20, statistics.getOpenings().get("B20").getLosses());
+        assertEquals(2, statistics.getOpenings().size());
+
+        GameStatistics.Tally bob = statistics.getPlayers().get("Bob");
+        assertEquals(50, bob.getGames());
+        assertEquals(50, bob.getLosses());
+        assertEquals(20, statistics.getPlayers().get("Carol").getWins());
+        assertEquals(30, statistics.getPlayers().get("Alice").getWins());
+
+        // La fusion des accumulateurs ne dépend pas de la répartition entre threads
+        StatisticsPipeline sequential = new StatisticsPipeline(1);
+        assertEquals(statistics.report(10), sequential.run(List.of(first, second)).report(10));
+        assertTrue(statistics.report(1).contains("Bob"));
+        assertFalse(statistics.report(1).contains("Alice"));
+    }
+
+    @Test
+    @DisplayName("Une longue partie inachevée n'est pas comptée nulle ; la règle des 50 coups l'est")
+    void testLongGames() throws IOException {
+        Path file = directory.resolve("long.pgn");
+        // 70 demi-coups sans prise ni échec : la partie est interrompue, pas nulle
+        String longGame = "[Result \"*\"]\n\n"
+            + "1. a4 e6 2. Ra3 b6 3. d4 Bb7 4. c3 e5 5. e3 d5 6. Ra1 Nh6 7. e4 Qc8 8. Nd2 Qd7 9. c4 Bc6\n"
+            + "10. Ra2 Bd6 11. f4 Bc5 12. Qc2 b5 13. Bd3 a6 14. a5 Ba3 15. h3 Bd6 16. Ngf3 Qc8 17. g3 Nd7\n"
+            + "18. Ke2 f6 19. Qb3 b4 20. Kf1 g5 21. Kg1 Qd8 22. Be2 Be7 23. Nf1 Nf8 24. Kg2 Rb8\n"
+            + "25. Ra3 Bd7 26. c5 Bb5 27. Bd3 f5 28. Bc2 Qd7 29. Bd1 Qd6 30. Ra4 Nf7 31. Bd2 Qd7\n"
+            + "32. Qa3 Bd8 33. h4 Rb7 34. N1h2 Qe7 35. Ng1 Rb8 *\n";
+        String fiftyMoves = "[FEN \"4k3/8/8/8/8/8/4P3/R3K3 w - - 98 1\"]\n[Result \"1/2-1/2\"]\n\n"
+            + "1. Rb1 Kd8 1/2-1/2\n";
+        Files.writeString(file, longGame + "\n" + fiftyMoves);
+
+        StatisticsPipeline pipeline = new StatisticsPipeline(2);
+        GameStatistics statistics = pipeline.run(List.of(file));
+        assertEquals(0, pipeline.getGamesRejected());
+        assertEquals(2, statistics.getGameCount());
+        assertEquals(1, statistics.getTerminationCount(GameState.ONGOING));
+        assertEquals(1, statistics.getTerminationCount(GameState.DRAW));
+        assertEquals(70, statistics.getLengthPercentile(100));
+    }
+}
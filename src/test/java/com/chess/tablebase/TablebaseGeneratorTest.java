@@ -0,0 +1,211 @@
+package com.chess.tablebase;
+
+import com.chess.board.*;
+import com.chess.engine.Move;
+import com.chess.engine.MoveGenerator;
+import com.chess.engine.MoveList;
+import com.chess.engine.Search;
+import com.chess.engine.SearchResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la génération et la consultation des tables de finale.
+ */
+@DisplayName("Tests pour les classes TablebaseGenerator et Tablebases")
+class TablebaseGeneratorTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Tablebases tablebases;
+
+    @BeforeAll
+    static void generate() throws IOException {
+        TablebaseGenerator generator = new TablebaseGenerator(directory, 4);
+        generator.generate("KQvK");
+        generator.generate("KRvK");
+        generator.generate("KvKP");
+        tablebases = new Tablebases(directory);
+    }
+
+    @AfterAll
+    static void close() throws IOException {
+        tablebases.close();
+    }
+
+    @Test
+    @DisplayName("Compositions canoniques et tables dépendantes")
+    void testMaterial() {
+        assertEquals("KPvK", Material.parse("KvKP").flip().getName());
+        assertFalse(Material.parse("KvKP").isCanonical());
+        assertTrue(Material.parse("KBNvK").isCanonical());
+        assertTrue(TablebaseGenerator.childrenOf(Material.parse("KPvK")).contains(Material.parse("KQvK")));
+        assertTrue(Files.exists(Tablebase.pathOf(directory, Material.parse("KvK"))));
+        assertTrue(Files.exists(Tablebase.pathOf(directory, Material.parse("KNvK"))));
+        assertTrue(tablebases.isAvailable("KvKR"));
+        assertFalse(tablebases.isAvailable("KBNvK"));
+    }
+
+    @Test
+    @DisplayName("Plus longs mats connus : KQK en 10 coups, KRK en 16 coups")
+    void testLongestMates() throws IOException {
+        assertEquals(19, longestWin("KQvK"));
+        assertEquals(31, longestWin("KRvK"));
+    }
+
+    private static int longestWin(String name) throws IOException {
+        try (Tablebase table = Tablebase.open(Tablebase.pathOf(directory, Material.parse(name)))) {
+            int longest = 0;
+            for (int i = 0; i < table.getEntryCount(); i++) {
+                TablebaseResult result = table.probe(i);
+                if (result != null && result.isWin()) {
+                    longest = Math.max(longest, result.getDistanceToMate());
+                }
+            }
+            return longest;
+        }
+    }
+
+    @Test
+    @DisplayName("Consultation depuis un plateau")
+    void testProbeBoard() {
+        assertTrue(probe("k7/8/8/8/8/8/8/K7 w - - 0 1").isDraw());
+        assertEquals(1, probe("k7/8/1K6/8/8/8/7Q/8 w - - 0 1").getDistanceToMate());
+        assertNull(probe("k7/8/1K6/8/8/8/8/7Q w - - 0 1"), "roi noir en échec sans le trait");
+        TablebaseResult mated = probe("k7/1Q6/1K6/8/8/8/8/8 b - - 0 1");
+        assertTrue(mated.isLoss());
+        assertEquals(0, mated.getDistanceToMate());
+        assertTrue(probe("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1").isDraw(), "pat");
+        assertTrue(probe("k7/8/8/8/8/8/P7/K7 w - - 0 1").isDraw(), "pion-tour, roi dans le coin");
+        assertTrue(probe("8/4P3/4K3/8/8/8/8/k7 w - - 0 1").isWin());
+        assertTrue(probe("K7/8/8/8/8/4k3/4p3/8 b - - 0 1").isWin(), "couleurs échangées");
+        assertNull(probe("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"));
+        assertNull(probe("k7/8/8/8/8/8/8/K1BN4 w - - 0 1"), "table absente");
+    }
+
+    private static TablebaseResult probe(String fen) {
+        return tablebases.probe(Fen.parse(fen));
+    }
+
+    @Test
+    @DisplayName("Cohérence avec les coups légaux du plateau")
+    void testConsistencyWithMoveGenerator() {
+        Random random = new Random(42);
+        checkRandomPositions(random, "QK", "k");
+        checkRandomPositions(random, "RK", "k");
+        checkRandomPositions(random, "PK", "k");
+        checkRandomPositions(random, "K", "pk");
+    }
+
+    private void checkRandomPositions(Random random, String whitePieces, String blackPieces) {
+        MoveGenerator generator = new MoveGenerator();
+        int checked = 0;
+        while (checked < 150) {
+            char[] squares = new char[64];
+            boolean valid = true;
+            String pieces = whitePieces + blackPieces;
+            for (char piece : pieces.toCharArray()) {
+                int square = random.nextInt(64);
+                boolean pawn = Character.toUpperCase(piece) == 'P';
+                if (squares[square] != 0 || pawn && (square < 8 || square >= 56)) {
+                    valid = false;
+                    break;
+                }
+                squares[square] = piece;
+            }
+            Color toMove = random.nextBoolean() ? Color.WHITE : Color.BLACK;
+            if (!valid) {
+                continue;
+            }
+            Board board = Fen.parse(toFen(squares, toMove));
+            if (board.isInCheck(toMove.opposite())) {
+                continue;
+            }
+            checkPosition(generator, board);
+            checked++;
+        }
+    }
+
+    private void checkPosition(MoveGenerator generator, Board board) {
+        TablebaseResult result = tablebases.probe(board);
+        assertNotNull(result, Fen.toFen(board));
+        MoveList moves = new MoveList();
+        generator.generateLegal(board, moves);
+        boolean reachesTarget = false;
+        boolean anyDraw = false;
+        for (int i = 0; i < moves.size(); i++) {
+            MoveGenerator.makeMove(board, moves.get(i));
+            TablebaseResult child = tablebases.probe(board);
+            board.unmakeMove();
+            String context = Fen.toFen(board) + " " + Move.toUci(moves.get(i));
+            assertNotNull(child, context);
+            anyDraw |= child.isDraw();
+            if (result.isWin()) {
+                assertFalse(child.isLoss() && child.getDistanceToMate() < result.getDistanceToMate() - 1, context);
+                reachesTarget |= child.isLoss() && child.getDistanceToMate() == result.getDistanceToMate() - 1;
+            } else if (result.isLoss()) {
+                assertTrue(child.isWin() && child.getDistanceToMate() <= result.getDistanceToMate() - 1, context);
+                reachesTarget |= child.getDistanceToMate() == result.getDistanceToMate() - 1;
+            } else {
+                assertFalse(child.isLoss(), context);
+            }
+        }
+        String fen = Fen.toFen(board);
+        if (moves.size() == 0) {
+            assertEquals(board.isInCheck(board.getCurrentPlayer()), result.isLoss(), fen);
+        } else if (result.isDraw()) {
+            assertTrue(anyDraw, fen);
+        } else {
+            assertTrue(reachesTarget, fen);
+        }
+    }
+
+    private static String toFen(char[] squares, Color toMove) {
+        StringBuilder fen = new StringBuilder();
+        for (int row = 7; row >= 0; row--) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                char piece = squares[row * 8 + column];
+                if (piece == 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                fen.append(piece);
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (row > 0) {
+                fen.append('/');
+            }
+        }
+        return fen.append(toMove == Color.WHITE ? " w - - 0 1" : " b - - 0 1").toString();
+    }
+
+    @Test
+    @DisplayName("La recherche utilise les tables de finale")
+    void testSearchUsesTablebases() {
+        Search search = new Search();
+        search.setTablebases(tablebases);
+        Board board = Fen.parse("k7/8/1K6/8/8/8/7Q/8 w - - 0 1");
+        SearchResult result = search.search(board, 2);
+        assertEquals(Search.MATE_SCORE - 1, result.getScore());
+        MoveGenerator.makeMove(board, result.getBestMove());
+        assertEquals(0, tablebases.probe(board).getDistanceToMate());
+    }
+}
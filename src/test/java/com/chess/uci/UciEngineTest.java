@@ -0,0 +1,122 @@
+package com.chess.uci;
+
+import com.chess.board.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'adaptateur UCI.
+ */
+@DisplayName("Tests pour la classe UciEngine")
+class UciEngineTest {
+
+    private ByteArrayOutputStream buffer;
+    private UciEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ByteArrayOutputStream();
+        engine = new UciEngine(new BufferedReader(new StringReader("")),
+                               new PrintStream(buffer, true, StandardCharsets.UTF_8));
+    }
+
+    private String output() {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Poignée de main UCI et options")
+    void testHandshake() {
+        engine.handleCommand("uci");
+        engine.handleCommand("setoption name Hash value 8");
+        engine.handleCommand("setoption name Threads value 2");
+        engine.handleCommand("isready");
+
+        String output = output();
+        assertTrue(output.contains("option name Hash"));
+        assertTrue(output.contains("option name Threads"));
+        assertTrue(output.contains("uciok"));
+        assertTrue(output.contains("readyok"));
+        assertFalse(engine.handleCommand("quit"));
+    }
+
+    @Test
+    @DisplayName("Les positions successives sont appliquées incrémentalement")
+    void testIncrementalPosition() {
+        engine.handleCommand("position startpos moves e2e4 e7e5");
+        Board board = engine.getBoard();
+        assertEquals(2, board.getUndoDepth());
+
+        engine.handleCommand("position startpos moves e2e4 e7e5 g1f3");
+        assertSame(board, engine.getBoard());
+        assertEquals(3, board.getUndoDepth());
+        assertEquals(PieceType.KNIGHT, board.getPieceAt(2, 5).getType());
+        assertEquals(Color.BLACK, board.getCurrentPlayer());
+
+        // Reprise d'un coup puis autre suite : seul le coup divergent est annulé
+        engine.handleCommand("position startpos moves e2e4 e7e5 b1c3");
+        assertSame(board, engine.getBoard());
+        assertEquals(3, board.getUndoDepth());
+        assertNull(board.getPieceAt(2, 5));
+        assertEquals(PieceType.KNIGHT, board.getPieceAt(2, 2).getType());
+
+        engine.handleCommand("position fen 4k3/8/8/8/8/8/4P3/4K3 w - - 0 1 moves e2e4");
+        assertNotSame(board, engine.getBoard());
+        assertEquals("4k3/8/8/8/4P3/8/8/4K3 b - e3 0 1", Fen.toFen(engine.getBoard()));
+    }
+
+    @Test
+    @DisplayName("La recherche renvoie un meilleur coup, y compris après stop")
+    void testGoAndStop() throws Exception {
+        engine.handleCommand("position startpos");
+        engine.handleCommand("go depth 3");
+        waitForBestMove(1);
+        assertTrue(output().contains("info depth 3"));
+
+        engine.handleCommand("go infinite");
+        Thread.sleep(50);
+        engine.handleCommand("stop");
+        assertEquals(2, countBestMoves());
+
+        // Un mat en un doit être annoncé comme tel
+        engine.handleCommand("position fen 6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        engine.handleCommand("go movetime 200");
+        waitForBestMove(3);
+        assertTrue(output().contains("bestmove a1a8"));
+        assertTrue(output().contains("score mate 1"));
+    }
+
+    @Test
+    @DisplayName("En mode infini, le meilleur coup attend stop même si la recherche est finie")
+    void testInfiniteWaitsForStop() throws Exception {
+        engine.handleCommand("position fen 6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        engine.handleCommand("go infinite depth 2");
+        Thread.sleep(300);
+        assertEquals(0, countBestMoves());
+        engine.handleCommand("stop");
+        assertEquals(1, countBestMoves());
+        assertTrue(output().contains("bestmove a1a8"));
+    }
+
+    private void waitForBestMove(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (countBestMoves() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, countBestMoves());
+    }
+
+    private long countBestMoves() {
+        return List.of(output().split("\n")).stream().filter(line -> line.startsWith("bestmove")).count();
+    }
+}